@@ -0,0 +1,131 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Logan Kulinski
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.coffee4j.controller;
+
+import com.coffee4j.Body;
+import com.coffee4j.Masses;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.jooq.Condition;
+import org.jooq.DSLContext;
+import org.jooq.Record;
+import org.jooq.SQLDialect;
+import org.jooq.impl.DSL;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import schema.generated.tables.*;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BrewReadBenchmark {
+    private static final Brew BREW = Brew.BREW;
+
+    private static final Coffee COFFEE = Coffee.COFFEE;
+
+    private static final Water WATER = Water.WATER;
+
+    private static final Brewer BREWER = Brewer.BREWER;
+
+    private static final Filter FILTER = Filter.FILTER;
+
+    private static final Vessel VESSEL = Vessel.VESSEL;
+
+    @Param({"10", "100"})
+    private int pageSize;
+
+    private DSLContext context;
+
+    private ObjectMapper objectMapper;
+
+    private List<Record> records;
+
+    private Body<List<Map<String, Object>>> body;
+
+    private Condition condition;
+
+    @Setup
+    public void setUp() {
+        this.context = DSL.using(SQLDialect.POSTGRES);
+
+        this.objectMapper = Jackson2ObjectMapperBuilder.json()
+                                                       .build();
+
+        this.records = new ArrayList<>(this.pageSize);
+
+        LocalDateTime timestamp = LocalDateTime.of(2022, 7, 28, 7, 30);
+
+        for (int i = 0; i < this.pageSize; i++) {
+            Record record = this.context.newRecord(BREW.ID, BREW.TIMESTAMP, COFFEE.ID, COFFEE.NAME, WATER.ID,
+                                                   WATER.NAME, BREWER.ID, BREWER.NAME, FILTER.ID, FILTER.NAME,
+                                                   VESSEL.ID, VESSEL.NAME, Masses.COFFEE_MASS_MG,
+                                                   Masses.WATER_MASS_MG)
+                                        .values(i + 1, timestamp.plusHours(i), 1, "Ethiopia Guji", 2, "Third Wave",
+                                                3, "V60", 4, "Cafec Abaca", 5, "Carafe", 20_000, 320_000);
+
+            this.records.add(record);
+        } //end for
+
+        List<Map<String, Object>> content = this.records.stream()
+                                                        .map(BrewController::getBrew)
+                                                        .toList();
+
+        this.body = Body.success(content);
+
+        this.condition = BrewController.getCondition(1, null, null, 1, null, 3, null, null, null, null, 1_000);
+    } //setUp
+
+    @Benchmark
+    public List<Map<String, Object>> getBrew() {
+        return this.records.stream()
+                           .map(BrewController::getBrew)
+                           .toList();
+    } //getBrew
+
+    @Benchmark
+    public byte[] serializeBody() throws JsonProcessingException {
+        return this.objectMapper.writeValueAsBytes(this.body);
+    } //serializeBody
+
+    @Benchmark
+    public Condition buildCondition() {
+        return BrewController.getCondition(1, null, null, 1, null, 3, null, null, null, null, 1_000);
+    } //buildCondition
+
+    @Benchmark
+    public String renderPageQuery() {
+        return BrewController.getPageQuery(this.context, 1, BREW, this.condition, this.pageSize)
+                             .getSQL();
+    } //renderPageQuery
+}
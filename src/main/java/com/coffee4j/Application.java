@@ -26,6 +26,7 @@ package com.coffee4j;
 
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.SpringApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * An instance of the Coffee4j application.
@@ -34,6 +35,7 @@ import org.springframework.boot.SpringApplication;
  * @version July 11, 2022
  */
 @SpringBootApplication
+@EnableScheduling
 public class Application {
     /**
      * Runs an instance of the Coffee4j application.
@@ -0,0 +1,120 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Logan Kulinski
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.coffee4j;
+
+import org.jooq.Field;
+import org.jooq.impl.DSL;
+import org.jooq.impl.SQLDataType;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Objects;
+
+/**
+ * Utilities for the brew masses of the Coffee4j application. Masses are stored as whole milligrams, so that they can be
+ * summed and divided as primitives, and are exchanged with clients as grams with four decimal places.
+ *
+ * @author Logan Kulinski, rashes_lineage02@icloud.com
+ * @version October 18, 2026
+ */
+public final class Masses {
+    /**
+     * The {@code brew.coffee_mass_mg} field of the {@link Masses} class.
+     */
+    public static final Field<Integer> COFFEE_MASS_MG;
+
+    /**
+     * The {@code brew.water_mass_mg} field of the {@link Masses} class.
+     */
+    public static final Field<Integer> WATER_MASS_MG;
+
+    /**
+     * The number of milligrams in a gram of the {@link Masses} class.
+     */
+    private static final int MILLIGRAMS_PER_GRAM;
+
+    /**
+     * The scale of the masses exchanged with clients of the {@link Masses} class.
+     */
+    private static final int SCALE;
+
+    static {
+        COFFEE_MASS_MG = DSL.field(DSL.name("brew", "coffee_mass_mg"), SQLDataType.INTEGER);
+
+        WATER_MASS_MG = DSL.field(DSL.name("brew", "water_mass_mg"), SQLDataType.INTEGER);
+
+        MILLIGRAMS_PER_GRAM = 1_000;
+
+        SCALE = 4;
+    } //static
+
+    /**
+     * Throws an {@link InstantiationException}, as an instance of the {@link Masses} class cannot be created.
+     *
+     * @throws InstantiationException if this constructor is invoked, as an instance of the {@link Masses} class cannot
+     * be created
+     */
+    private Masses() throws InstantiationException {
+        throw new InstantiationException("an instance of the Masses class cannot be created");
+    } //Masses
+
+    /**
+     * Returns the specified mass in grams as whole milligrams, rounded half up, as the former {@code numeric} columns
+     * rounded excess digits.
+     *
+     * @param grams the mass in grams to be used in the operation
+     * @return the specified mass in grams as whole milligrams
+     * @throws NullPointerException if the specified mass is {@code null}
+     * @throws ArithmeticException if the specified mass does not fit in an {@code int} of milligrams
+     */
+    public static int toMilligrams(BigDecimal grams) {
+        Objects.requireNonNull(grams, "the specified mass is null");
+
+        return grams.movePointRight(3)
+                    .setScale(0, RoundingMode.HALF_UP)
+                    .intValueExact();
+    } //toMilligrams
+
+    /**
+     * Returns the specified mass in milligrams as grams with four decimal places.
+     *
+     * @param milligrams the mass in milligrams to be used in the operation
+     * @return the specified mass in milligrams as grams with four decimal places
+     */
+    public static BigDecimal toGrams(long milligrams) {
+        return BigDecimal.valueOf(milligrams, 3)
+                         .setScale(SCALE, RoundingMode.UNNECESSARY);
+    } //toGrams
+
+    /**
+     * Returns the specified mass in milligrams as grams.
+     *
+     * @param milligrams the mass in milligrams to be used in the operation
+     * @return the specified mass in milligrams as grams
+     */
+    public static double toGramsDouble(long milligrams) {
+        return (double) milligrams / MILLIGRAMS_PER_GRAM;
+    } //toGramsDouble
+}
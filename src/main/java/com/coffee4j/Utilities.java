@@ -26,12 +26,39 @@ package com.coffee4j;
 
 import org.apache.logging.log4j.Logger;
 import org.apache.logging.log4j.LogManager;
-import java.nio.file.Path;
-import java.io.BufferedReader;
-import java.nio.file.Files;
+import java.io.InputStream;
 import java.util.Properties;
 import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import com.coffee4j.security.User;
+import com.coffee4j.deletion.Deletions;
+import com.coffee4j.events.ConnectionAcquiredEvent;
+import com.coffee4j.events.QueryEventListener;
+import com.coffee4j.metrics.QueryMetricsListener;
+import com.coffee4j.shard.Shards;
+import com.coffee4j.tracing.QueryTracingListener;
+import com.coffee4j.tracing.Tracing;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.context.Scope;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.jooq.Configuration;
+import org.jooq.DSLContext;
+import org.jooq.ExecuteListener;
+import org.jooq.SQLDialect;
+import org.jooq.Table;
+import org.jooq.conf.Settings;
+import org.jooq.exception.DataAccessException;
+import org.jooq.impl.DSL;
+import org.jooq.impl.DefaultConfiguration;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 
@@ -48,36 +75,157 @@ public final class Utilities {
     private static final Logger LOGGER;
 
     /**
-     * The database URI of the {@link Utilities} class.
+     * The database URI of the {@link Utilities} class. The {@code coffee4j.database-url} system property takes
+     * precedence over the {@code database.properties} classpath resource.
      */
     public static final String DATABASE_URL;
 
-    static {
-        LOGGER = LogManager.getLogger();
+    /**
+     * The application properties of the {@link Utilities} class.
+     */
+    private static final Properties PROPERTIES;
 
-        String databaseUrl = null;
+    /**
+     * The pooled data source of the {@link Utilities} class.
+     */
+    private static final HikariDataSource DATA_SOURCE;
 
-        try {
-            String pathString = "src/main/resources/database.properties";
+    /**
+     * The database URLs of the shards of the {@link Utilities} class. Shard {@code 0} is the home database, which also
+     * holds the shard directory, and the {@code coffee4j.shard.database-urls} property lists the others.
+     */
+    private static final List<String> SHARD_URLS;
 
-            Path path = Path.of(pathString);
+    /**
+     * The pooled data sources of the shards of the {@link Utilities} class, in the order of their URLs.
+     */
+    private static final List<HikariDataSource> SHARD_DATA_SOURCES;
 
-            BufferedReader reader = Files.newBufferedReader(path);
+    /**
+     * The pooled data source of the read replica of the {@link Utilities} class, or {@code null} if no replica is
+     * configured. The {@code coffee4j.replica.database-url} property names the replica.
+     */
+    private static final HikariDataSource REPLICA_DATA_SOURCE;
 
-            Properties properties = new Properties();
+    /**
+     * The map from user ID to the {@link System#nanoTime()} of their last write of the {@link Utilities} class.
+     */
+    private static final Map<Integer, Long> USER_ID_TO_LAST_WRITE;
 
-            properties.load(reader);
+    /**
+     * The length of time in nanoseconds after a write during which the writer's reads go to the primary of the
+     * {@link Utilities} class, so that they are not served a replica that has yet to replay the write.
+     */
+    private static final long READ_YOUR_WRITES_NANOS;
+
+    /**
+     * The jOOQ execute listener used to time queries of the {@link Utilities} class.
+     */
+    private static final ExecuteListener QUERY_LISTENER;
+
+    /**
+     * The jOOQ execute listener used to trace queries of the {@link Utilities} class.
+     */
+    private static final ExecuteListener TRACING_LISTENER;
+
+    /**
+     * The jOOQ execute listener used to emit flight recorder events of the {@link Utilities} class.
+     */
+    private static final ExecuteListener EVENT_LISTENER;
+
+    /**
+     * The jOOQ settings of the {@link Utilities} class. Schema names are not rendered, so that a query written against
+     * the {@code brew} table can be run against another relation aliased as {@code brew}.
+     */
+    private static final Settings SETTINGS;
+
+    static {
+        LOGGER = LogManager.getLogger();
+
+        String databaseUrl = System.getProperty("coffee4j.database-url");
+
+        if (databaseUrl == null) {
+            Properties databaseProperties = Utilities.loadProperties("/database.properties");
 
             String uriKey = "database_url";
 
-            databaseUrl = properties.getProperty(uriKey);
-        } catch (IOException e) {
-            LOGGER.atError()
-                  .withThrowable(e)
-                  .log();
-        } //end try catch
+            databaseUrl = databaseProperties.getProperty(uriKey);
+        } //end if
 
         DATABASE_URL = databaseUrl;
+
+        PROPERTIES = Utilities.loadProperties("/application.properties");
+
+        DATA_SOURCE = new HikariDataSource();
+
+        DATA_SOURCE.setPoolName("coffee4j");
+
+        DATA_SOURCE.setJdbcUrl(DATABASE_URL);
+
+        int maxPoolSize = (int) Utilities.getLongProperty("coffee4j.pool.max-size", 10);
+
+        DATA_SOURCE.setMaximumPoolSize(maxPoolSize);
+
+        List<String> shardUrls = new ArrayList<>();
+
+        List<HikariDataSource> shardDataSources = new ArrayList<>();
+
+        shardUrls.add(DATABASE_URL);
+
+        shardDataSources.add(DATA_SOURCE);
+
+        for (String shardUrl : Utilities.getProperty("coffee4j.shard.database-urls", "")
+                                        .split(",")) {
+            if (shardUrl.isBlank()) {
+                continue;
+            } //end if
+
+            HikariDataSource shardDataSource = new HikariDataSource();
+
+            shardDataSource.setPoolName("coffee4j-shard-%d".formatted(shardUrls.size()));
+
+            shardDataSource.setJdbcUrl(shardUrl.strip());
+
+            shardDataSource.setMaximumPoolSize(maxPoolSize);
+
+            shardUrls.add(shardUrl.strip());
+
+            shardDataSources.add(shardDataSource);
+        } //end for
+
+        SHARD_URLS = Collections.unmodifiableList(shardUrls);
+
+        SHARD_DATA_SOURCES = Collections.unmodifiableList(shardDataSources);
+
+        String replicaUrl = Utilities.getProperty("coffee4j.replica.database-url", "");
+
+        if (replicaUrl.isBlank()) {
+            REPLICA_DATA_SOURCE = null;
+        } else {
+            REPLICA_DATA_SOURCE = new HikariDataSource();
+
+            REPLICA_DATA_SOURCE.setPoolName("coffee4j-replica");
+
+            REPLICA_DATA_SOURCE.setJdbcUrl(replicaUrl.strip());
+
+            REPLICA_DATA_SOURCE.setMaximumPoolSize(maxPoolSize);
+
+            REPLICA_DATA_SOURCE.setReadOnly(true);
+        } //end if
+
+        USER_ID_TO_LAST_WRITE = new ConcurrentHashMap<>();
+
+        long readYourWritesMillis = Utilities.getLongProperty("coffee4j.replica.read-your-writes-ms", 5_000);
+
+        READ_YOUR_WRITES_NANOS = TimeUnit.MILLISECONDS.toNanos(readYourWritesMillis);
+
+        QUERY_LISTENER = new QueryMetricsListener();
+
+        TRACING_LISTENER = new QueryTracingListener();
+
+        EVENT_LISTENER = new QueryEventListener();
+
+        SETTINGS = new Settings().withRenderSchema(false);
     } //static
 
     /**
@@ -91,20 +239,391 @@ public final class Utilities {
     } //Utilities
 
     /**
-     * Returns the current logged-in user or {@code null} if there is none
+     * Returns a pooled connection to the database. Closing the connection returns it to the pool.
+     *
+     * @return a pooled connection to the database
+     * @throws SQLException if a connection could not be acquired
+     */
+    public static Connection getConnection() throws SQLException {
+        return Utilities.getConnection(DATA_SOURCE, "Utilities.getConnection");
+    } //getConnection
+
+    /**
+     * Returns the number of shards, which is {@code 1} unless the {@code coffee4j.shard.database-urls} property lists
+     * more databases.
+     *
+     * @return the number of shards
+     */
+    public static int getShardCount() {
+        return SHARD_DATA_SOURCES.size();
+    } //getShardCount
+
+    /**
+     * Returns the database URL of the specified shard.
+     *
+     * @param shard the shard to be used in the operation
+     * @return the database URL of the specified shard
+     * @throws IndexOutOfBoundsException if the specified shard does not exist
+     */
+    public static String getShardUrl(int shard) {
+        return SHARD_URLS.get(shard);
+    } //getShardUrl
+
+    /**
+     * Returns a pooled connection to the specified shard. Closing the connection returns it to the pool.
+     *
+     * @param shard the shard to be used in the operation
+     * @return a pooled connection to the specified shard
+     * @throws IndexOutOfBoundsException if the specified shard does not exist
+     * @throws SQLException if a connection could not be acquired
+     */
+    public static Connection getShardConnection(int shard) throws SQLException {
+        if (shard == 0) {
+            return Utilities.getConnection();
+        } //end if
+
+        return Utilities.getConnection(SHARD_DATA_SOURCES.get(shard), "Utilities.getShardConnection");
+    } //getShardConnection
+
+    /**
+     * Returns a pooled connection to the shard of the user with the specified ID, for their writes. With more than one
+     * shard, the connection is fenced from moves of the user by {@link Shards#fenceWrites(Connection, int, int)}.
+     * Closing the connection returns it to its pool.
+     *
+     * @param userId the user ID to be used in the operation
+     * @return a pooled connection to the shard of the user with the specified ID
+     * @throws SQLException if the user is being moved between shards, or if a connection could not be acquired
+     * @throws org.jooq.exception.DataAccessException if a database error occurs
+     */
+    public static Connection getConnection(int userId) throws SQLException {
+        int shard = Shards.getWriteShard(userId);
+
+        Connection connection = Utilities.getShardConnection(shard);
+
+        if (Utilities.getShardCount() == 1) {
+            return connection;
+        } //end if
+
+        boolean fenced = false;
+
+        try {
+            Connection fencedConnection = Shards.fenceWrites(connection, userId, shard);
+
+            fenced = true;
+
+            return fencedConnection;
+        } finally {
+            if (!fenced) {
+                connection.close();
+            } //end if
+        } //end try finally
+    } //getConnection
+
+    /**
+     * Returns a pooled connection for the reads of the user with the specified ID. The connection is to the shard of
+     * the user. On the home database, it is to the read replica instead, unless no replica is configured or the user
+     * has written within the last {@code coffee4j.replica.read-your-writes-ms} milliseconds. Closing the connection
+     * returns it to its pool.
+     *
+     * @param userId the user ID to be used in the operation
+     * @return a pooled connection for the reads of the user with the specified ID
+     * @throws SQLException if a connection could not be acquired
+     */
+    public static Connection getReadConnection(int userId) throws SQLException {
+        int shard = Shards.getShard(userId);
+
+        if ((shard != 0) || (REPLICA_DATA_SOURCE == null)) {
+            return Utilities.getShardConnection(shard);
+        } //end if
+
+        Long lastWrite = USER_ID_TO_LAST_WRITE.get(userId);
+
+        if (lastWrite != null) {
+            if ((System.nanoTime() - lastWrite) < READ_YOUR_WRITES_NANOS) {
+                return Utilities.getConnection();
+            } //end if
+
+            USER_ID_TO_LAST_WRITE.remove(userId, lastWrite);
+        } //end if
+
+        return Utilities.getConnection(REPLICA_DATA_SOURCE, "Utilities.getReadConnection");
+    } //getReadConnection
+
+    /**
+     * Records a write by the user with the specified ID, so that their reads go to the primary for the next
+     * {@code coffee4j.replica.read-your-writes-ms} milliseconds.
      *
+     * @param userId the user ID to be used in the operation
+     */
+    public static void recordWrite(int userId) {
+        if (REPLICA_DATA_SOURCE == null) {
+            return;
+        } //end if
+
+        USER_ID_TO_LAST_WRITE.put(userId, System.nanoTime());
+    } //recordWrite
+
+    /**
+     * Returns a connection from the specified pool within a span with the specified name.
+     *
+     * @param dataSource the data source to be used in the operation
+     * @param spanName the span name to be used in the operation
+     * @return a connection from the specified pool
+     * @throws SQLException if a connection could not be acquired
+     */
+    private static Connection getConnection(HikariDataSource dataSource, String spanName) throws SQLException {
+        Span span = Tracing.startSpan(spanName);
+
+        ConnectionAcquiredEvent event = new ConnectionAcquiredEvent();
+
+        event.begin();
+
+        boolean succeeded = false;
+
+        try (Scope scope = span.makeCurrent()) {
+            Connection connection = dataSource.getConnection();
+
+            succeeded = true;
+
+            return connection;
+        } catch (SQLException | RuntimeException e) {
+            Tracing.recordError(span, e);
+
+            throw e;
+        } finally {
+            span.end();
+
+            event.end();
+
+            if (event.shouldCommit()) {
+                HikariPoolMXBean pool = dataSource.getHikariPoolMXBean();
+
+                if (pool != null) {
+                    event.setActiveConnections(pool.getActiveConnections());
+
+                    event.setWaitingThreads(pool.getThreadsAwaitingConnection());
+                } //end if
+
+                event.setSucceeded(succeeded);
+
+                event.commit();
+            } //end if
+        } //end try catch finally
+    } //getConnection
+
+    /**
+     * Returns a PostgreSQL {@link DSLContext} using the specified connection. Every query of the context is timed by
+     * the {@link QueryMetricsListener} class, traced by the {@link QueryTracingListener} class, and recorded by the
+     * {@link QueryEventListener} class.
+     *
+     * @param connection the connection to be used in the operation
+     * @return a PostgreSQL {@link DSLContext} using the specified connection
+     */
+    public static DSLContext getContext(Connection connection) {
+        Configuration configuration = new DefaultConfiguration().set(connection)
+                                                                .set(SQLDialect.POSTGRES)
+                                                                .set(SETTINGS)
+                                                                .set(QUERY_LISTENER, TRACING_LISTENER, EVENT_LISTENER);
+
+        return DSL.using(configuration);
+    } //getContext
+
+    /**
+     * Attempts to acquire the session-level advisory lock with the specified namespace and key on the connection of
+     * the specified context, without waiting. An acquired lock must be released with
+     * {@link #unlock(DSLContext, int, int)} before the connection is returned to its pool.
+     *
+     * @param context the context to be used in the operation
+     * @param namespace the namespace to be used in the operation
+     * @param key the key to be used in the operation
+     * @return {@code true} if the lock was acquired, and {@code false} if another session holds it
+     * @throws NullPointerException if the specified context is {@code null}
+     * @throws org.jooq.exception.DataAccessException if a database error occurs
+     */
+    public static boolean tryLock(DSLContext context, int namespace, int key) {
+        Objects.requireNonNull(context, "the specified context is null");
+
+        return context.fetchSingle("select pg_try_advisory_lock(?, ?)", namespace, key)
+                      .get(0, Boolean.class);
+    } //tryLock
+
+    /**
+     * Releases the session-level advisory lock with the specified namespace and key on the connection of the
+     * specified context.
+     *
+     * @param context the context to be used in the operation
+     * @param namespace the namespace to be used in the operation
+     * @param key the key to be used in the operation
+     * @throws NullPointerException if the specified context is {@code null}
+     * @throws org.jooq.exception.DataAccessException if a database error occurs
+     */
+    public static void unlock(DSLContext context, int namespace, int key) {
+        Objects.requireNonNull(context, "the specified context is null");
+
+        context.execute("select pg_advisory_unlock(?, ?)", namespace, key);
+    } //unlock
+
+    /**
+     * Returns whether the user with the specified ID has been deleted. Their {@code user} row on the home database is
+     * marked as soon as the deletion is requested, wherever their data lives.
+     *
+     * @param userId the user ID to be used in the operation
+     * @return {@code true} if the user with the specified ID has been deleted, and {@code false} otherwise
+     * @throws SQLException if a connection could not be acquired
+     * @throws org.jooq.exception.DataAccessException if a database error occurs
+     */
+    private static boolean isDeleted(int userId) throws SQLException {
+        Deletions.Entity entity = Deletions.Entity.USER;
+
+        Table<?> table = entity.getTable();
+
+        try (Connection connection = Utilities.getConnection()) {
+            DSLContext context = Utilities.getContext(connection);
+
+            return context.fetchExists(table, entity.getIdField()
+                                                    .eq(userId)
+                                                    .and(Deletions.getDeletedAt(table)
+                                                                  .isNotNull()));
+        } //end try
+    } //isDeleted
+
+    /**
+     * Returns the current logged-in user or {@code null} if there is none. A user whose deletion has been requested
+     * is only returned if the specified flag is set, so that their session can no longer read or write their data,
+     * but can still follow the progress of the deletion. If it cannot be determined whether the user has been
+     * deleted, {@code null} is returned.
+     *
+     * @param allowDeleted whether a deleted user is to be returned
      * @return the current logged-in user or {@code null} if there is none
      */
+    public static User getLoggedInUser(boolean allowDeleted) {
+        Span span = Tracing.startSpan("Utilities.getLoggedInUser");
+
+        try (Scope scope = span.makeCurrent()) {
+            Authentication authentication = SecurityContextHolder.getContext()
+                                                                 .getAuthentication();
+
+            Object principal = authentication.getPrincipal();
+
+            if (!(principal instanceof User user)) {
+                return null;
+            } //end if
+
+            if (allowDeleted || !Utilities.isDeleted(user.id())) {
+                return user;
+            } //end if
+
+            return null;
+        } catch (SQLException | DataAccessException e) {
+            LOGGER.atError()
+                  .withThrowable(e)
+                  .log();
+
+            return null;
+        } finally {
+            span.end();
+        } //end try catch finally
+    } //getLoggedInUser
+
+    /**
+     * Returns the current logged-in user or {@code null} if there is none or their deletion has been requested.
+     *
+     * @return the current logged-in user or {@code null} if there is none or their deletion has been requested
+     */
     public static User getLoggedInUser() {
-        Authentication authentication = SecurityContextHolder.getContext()
-                                                             .getAuthentication();
+        return Utilities.getLoggedInUser(false);
+    } //getLoggedInUser
+
+    /**
+     * Returns the properties of the classpath resource with the specified name. A missing or unreadable resource is
+     * logged and yields an empty set of properties, so the application never depends on its working directory.
+     *
+     * @param name the name of the classpath resource to be used in the operation
+     * @return the properties of the classpath resource with the specified name
+     */
+    private static Properties loadProperties(String name) {
+        Properties properties = new Properties();
+
+        try (InputStream stream = Utilities.class.getResourceAsStream(name)) {
+            if (stream == null) {
+                LOGGER.atError()
+                      .log("The classpath resource {} could not be found", name);
+
+                return properties;
+            } //end if
+
+            properties.load(stream);
+        } catch (IOException e) {
+            LOGGER.atError()
+                  .withThrowable(e)
+                  .log();
+        } //end try catch
+
+        return properties;
+    } //loadProperties
+
+    /**
+     * Returns the value of the application property with the specified key. A system property with the same key takes
+     * precedence over the {@code application.properties} classpath resource.
+     *
+     * @param key the key to be used in the operation
+     * @param defaultValue the value to be returned if the property is not set
+     * @return the value of the application property with the specified key, or the specified default value if it is
+     * not set
+     * @throws NullPointerException if the specified key is {@code null}
+     */
+    public static String getProperty(String key, String defaultValue) {
+        Objects.requireNonNull(key, "the specified key is null");
 
-        Object principal = authentication.getPrincipal();
+        String value = PROPERTIES.getProperty(key, defaultValue);
 
-        if (principal instanceof User user) {
-            return user;
+        return System.getProperty(key, value);
+    } //getProperty
+
+    /**
+     * Returns the value of the {@code long} application property with the specified key. Malformed values are logged
+     * and ignored.
+     *
+     * @param key the key to be used in the operation
+     * @param defaultValue the value to be returned if the property is not set or is malformed
+     * @return the value of the {@code long} application property with the specified key, or the specified default
+     * value if it is not set or is malformed
+     * @throws NullPointerException if the specified key is {@code null}
+     */
+    public static long getLongProperty(String key, long defaultValue) {
+        String value = Utilities.getProperty(key, null);
+
+        if (value == null) {
+            return defaultValue;
         } //end if
 
-        return null;
-    } //getLoggedInUser
+        try {
+            return Long.parseLong(value.strip());
+        } catch (NumberFormatException e) {
+            LOGGER.atError()
+                  .withThrowable(e)
+                  .log();
+
+            return defaultValue;
+        } //end try catch
+    } //getLongProperty
+
+    /**
+     * Returns the value of the {@code boolean} application property with the specified key.
+     *
+     * @param key the key to be used in the operation
+     * @param defaultValue the value to be returned if the property is not set
+     * @return the value of the {@code boolean} application property with the specified key, or the specified default
+     * value if it is not set
+     * @throws NullPointerException if the specified key is {@code null}
+     */
+    public static boolean getBooleanProperty(String key, boolean defaultValue) {
+        String value = Utilities.getProperty(key, null);
+
+        if (value == null) {
+            return defaultValue;
+        } //end if
+
+        return Boolean.parseBoolean(value.strip());
+    } //getBooleanProperty
 }
\ No newline at end of file
@@ -0,0 +1,371 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Logan Kulinski
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.coffee4j.analytics;
+
+import com.coffee4j.Utilities;
+import com.coffee4j.events.CacheAccessEvent;
+import org.jooq.exception.DataAccessException;
+
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * The per-user cache of columnar brew snapshots of the Coffee4j application. A user's snapshot is built from the
+ * {@code brew} table on demand, kept current by brew writes, and evicted least recently used first once the cache
+ * exceeds its memory budget. The cache is configured by the {@code coffee4j.columnar-cache.enabled} and
+ * {@code coffee4j.columnar-cache.max-bytes} properties. When it is disabled, every request builds a fresh snapshot.
+ *
+ * @author Logan Kulinski, rashes_lineage02@icloud.com
+ * @version October 18, 2026
+ */
+public final class BrewColumnCache {
+    /**
+     * A slot of the cache. A slot exists only while its user has a cached snapshot or a snapshot of the user is being
+     * built. Every write stamps the slot of its user, so that a snapshot built concurrently with a write is not
+     * installed.
+     *
+     * @param stamp the stamp of this slot
+     * @param columns the snapshot of this slot, or {@code null} if there is none
+     * @param builders the number of snapshots of this slot that are being built
+     */
+    private record Slot(long stamp, BrewColumns columns, int builders) {
+    } //Slot
+
+    /**
+     * Whether the {@link BrewColumnCache} class is enabled.
+     */
+    private static final boolean ENABLED;
+
+    /**
+     * The memory budget of the {@link BrewColumnCache} class, in bytes.
+     */
+    private static final long MAX_BYTES;
+
+    /**
+     * The mapping from user ID to slot of the {@link BrewColumnCache} class.
+     */
+    private static final Map<Integer, Slot> USER_ID_TO_SLOT;
+
+    /**
+     * The access-ordered user IDs with a cached snapshot of the {@link BrewColumnCache} class, least recently used
+     * first. It is guarded by its own monitor, which is never held while a slot is being computed.
+     */
+    private static final LinkedHashMap<Integer, Boolean> USER_IDS;
+
+    /**
+     * The total size of the cached snapshots of the {@link BrewColumnCache} class, in bytes.
+     */
+    private static final AtomicLong TOTAL_BYTES;
+
+    /**
+     * The last stamp of the {@link BrewColumnCache} class.
+     */
+    private static final AtomicLong STAMP;
+
+    static {
+        ENABLED = Utilities.getBooleanProperty("coffee4j.columnar-cache.enabled", true);
+
+        MAX_BYTES = Utilities.getLongProperty("coffee4j.columnar-cache.max-bytes", 64L * 1_024 * 1_024);
+
+        USER_ID_TO_SLOT = new ConcurrentHashMap<>();
+
+        USER_IDS = new LinkedHashMap<>(16, 0.75F, true);
+
+        TOTAL_BYTES = new AtomicLong();
+
+        STAMP = new AtomicLong();
+    } //static
+
+    /**
+     * Throws an {@link InstantiationException}, as an instance of the {@link BrewColumnCache} class cannot be created.
+     *
+     * @throws InstantiationException if this constructor is invoked, as an instance of the {@link BrewColumnCache}
+     * class cannot be created
+     */
+    private BrewColumnCache() throws InstantiationException {
+        throw new InstantiationException("an instance of the BrewColumnCache class cannot be created");
+    } //BrewColumnCache
+
+    /**
+     * Returns a row using the specified brew values.
+     *
+     * @param id the ID to be used in the operation
+     * @param timestamp the timestamp to be used in the operation
+     * @param coffeeId the coffee ID to be used in the operation
+     * @param waterId the water ID to be used in the operation
+     * @param brewerId the brewer ID to be used in the operation
+     * @param filterId the filter ID to be used in the operation
+     * @param vesselId the vessel ID to be used in the operation
+     * @param coffeeMass the coffee mass in milligrams to be used in the operation
+     * @param waterMass the water mass in milligrams to be used in the operation
+     * @return a row using the specified brew values
+     * @throws NullPointerException if the specified timestamp is {@code null}
+     */
+    public static BrewColumns.Row getRow(int id, LocalDateTime timestamp, int coffeeId, int waterId, int brewerId,
+                                         int filterId, int vesselId, int coffeeMass, int waterMass) {
+        Objects.requireNonNull(timestamp, "the specified timestamp is null");
+
+        long epochSecond = timestamp.toEpochSecond(ZoneOffset.UTC);
+
+        return new BrewColumns.Row(id, epochSecond, coffeeId, waterId, brewerId, filterId, vesselId, coffeeMass,
+                                   waterMass);
+    } //getRow
+
+    /**
+     * Builds the snapshot of the user with the specified ID from the {@code brew} table. Large histories are scanned in
+     * parallel by the {@link ParallelBrewScanner} class.
+     *
+     * @param userId the user ID to be used in the operation
+     * @return the snapshot of the user with the specified ID
+     * @throws SQLException if a database connection could not be established
+     * @throws DataAccessException if a database error occurs
+     */
+    private static BrewColumns build(int userId) throws SQLException {
+        return ParallelBrewScanner.aggregate(userId, BrewColumns::new, BrewColumns::add, (lower, upper) -> {
+            lower.addAll(upper);
+
+            return lower;
+        });
+    } //build
+
+    /**
+     * Returns the specified slot of the user with the specified ID without its snapshot, releasing the snapshot from
+     * the memory budget. The slot is dropped if none of its snapshots are being built. This must only be invoked while
+     * the slot is being computed.
+     *
+     * @param userId the user ID to be used in the operation
+     * @param slot the slot to be used in the operation
+     * @param stamp the stamp to be used in the operation
+     * @return the specified slot without its snapshot, or {@code null} if it is dropped
+     */
+    private static Slot clear(int userId, Slot slot, long stamp) {
+        if (slot.columns() != null) {
+            long byteSize = slot.columns()
+                                .getByteSize();
+
+            TOTAL_BYTES.addAndGet(-byteSize);
+
+            synchronized (USER_IDS) {
+                USER_IDS.remove(userId);
+            } //end synchronized
+        } //end if
+
+        if (slot.builders() == 0) {
+            return null;
+        } //end if
+
+        return new Slot(stamp, null, slot.builders());
+    } //clear
+
+    /**
+     * Evicts the least recently used snapshots until the cache is within its memory budget.
+     */
+    private static void evict() {
+        while (TOTAL_BYTES.get() > MAX_BYTES) {
+            Integer victimUserId;
+
+            synchronized (USER_IDS) {
+                Iterator<Integer> iterator = USER_IDS.keySet()
+                                                     .iterator();
+
+                if (!iterator.hasNext()) {
+                    return;
+                } //end if
+
+                victimUserId = iterator.next();
+
+                iterator.remove();
+            } //end synchronized
+
+            USER_ID_TO_SLOT.computeIfPresent(victimUserId, (key, slot) -> BrewColumnCache.clear(key, slot,
+                                                                                                slot.stamp()));
+        } //end while
+    } //evict
+
+    /**
+     * Completes a build of the snapshot of the user with the specified ID that started at the specified stamp. The
+     * snapshot is installed only if no write to the user's brews was recorded while it was being built.
+     *
+     * @param userId the user ID to be used in the operation
+     * @param stamp the stamp to be used in the operation
+     * @param columns the snapshot to be used in the operation, or {@code null} if the build failed
+     */
+    private static void complete(int userId, long stamp, BrewColumns columns) {
+        USER_ID_TO_SLOT.computeIfPresent(userId, (key, slot) -> {
+            int builders = slot.builders() - 1;
+
+            if (slot.columns() != null) {
+                return new Slot(slot.stamp(), slot.columns(), builders);
+            } //end if
+
+            if ((columns == null) || (slot.stamp() != stamp) || (columns.getByteSize() > MAX_BYTES)) {
+                return (builders == 0) ? null : new Slot(slot.stamp(), null, builders);
+            } //end if
+
+            TOTAL_BYTES.addAndGet(columns.getByteSize());
+
+            synchronized (USER_IDS) {
+                USER_IDS.put(key, Boolean.TRUE);
+            } //end synchronized
+
+            return new Slot(stamp, columns, builders);
+        });
+
+        BrewColumnCache.evict();
+    } //complete
+
+    /**
+     * Returns the snapshot of the user with the specified ID, building it if it is not cached.
+     *
+     * @param userId the user ID to be used in the operation
+     * @return the snapshot of the user with the specified ID
+     * @throws SQLException if a database connection could not be established
+     * @throws DataAccessException if a database error occurs
+     */
+    public static BrewColumns get(int userId) throws SQLException {
+        if (!ENABLED) {
+            return BrewColumnCache.build(userId);
+        } //end if
+
+        Slot slot = USER_ID_TO_SLOT.get(userId);
+
+        boolean hit = (slot != null) && (slot.columns() != null);
+
+        CacheAccessEvent.emit("brew-columns", userId, hit);
+
+        if (!hit) {
+            slot = USER_ID_TO_SLOT.compute(userId, (key, currentSlot) -> {
+                if (currentSlot == null) {
+                    return new Slot(STAMP.incrementAndGet(), null, 1);
+                } else if (currentSlot.columns() != null) {
+                    return currentSlot;
+                } //end if
+
+                return new Slot(currentSlot.stamp(), null, currentSlot.builders() + 1);
+            });
+        } //end if
+
+        if (slot.columns() != null) {
+            synchronized (USER_IDS) {
+                USER_IDS.get(userId);
+            } //end synchronized
+
+            return slot.columns();
+        } //end if
+
+        BrewColumns columns = null;
+
+        try {
+            columns = BrewColumnCache.build(userId);
+        } finally {
+            BrewColumnCache.complete(userId, slot.stamp(), columns);
+        } //end try finally
+
+        return columns;
+    } //get
+
+    /**
+     * Applies the specified update to the snapshot of the user with the specified ID, if one is cached, and stamps the
+     * user's slot, if one exists.
+     *
+     * @param userId the user ID to be used in the operation
+     * @param update the update to be used in the operation
+     */
+    private static void update(int userId, Consumer<BrewColumns> update) {
+        USER_ID_TO_SLOT.computeIfPresent(userId, (key, slot) -> {
+            long stamp = STAMP.incrementAndGet();
+
+            if (slot.columns() == null) {
+                return new Slot(stamp, null, slot.builders());
+            } //end if
+
+            long byteSize = slot.columns()
+                                .getByteSize();
+
+            update.accept(slot.columns());
+
+            long updatedByteSize = slot.columns()
+                                       .getByteSize();
+
+            TOTAL_BYTES.addAndGet(updatedByteSize - byteSize);
+
+            return new Slot(stamp, slot.columns(), slot.builders());
+        });
+
+        BrewColumnCache.evict();
+    } //update
+
+    /**
+     * Records the creation of the specified brew row of the user with the specified ID.
+     *
+     * @param userId the user ID to be used in the operation
+     * @param row the row to be used in the operation
+     * @throws NullPointerException if the specified row is {@code null}
+     */
+    public static void add(int userId, BrewColumns.Row row) {
+        Objects.requireNonNull(row, "the specified row is null");
+
+        BrewColumnCache.update(userId, columns -> columns.add(row));
+    } //add
+
+    /**
+     * Records the deletion of the brew with the specified ID of the user with the specified ID.
+     *
+     * @param userId the user ID to be used in the operation
+     * @param id the ID to be used in the operation
+     */
+    public static void remove(int userId, int id) {
+        BrewColumnCache.update(userId, columns -> columns.remove(id));
+    } //remove
+
+    /**
+     * Discards the snapshot of the user with the specified ID. This must be invoked after any write to the user's
+     * brews that is not recorded by {@link #add(int, BrewColumns.Row)} or {@link #remove(int, int)}, such as brew
+     * updates and cascading deletes.
+     *
+     * @param userId the user ID to be used in the operation
+     */
+    public static void invalidate(int userId) {
+        USER_ID_TO_SLOT.computeIfPresent(userId, (key, slot) -> BrewColumnCache.clear(key, slot,
+                                                                                      STAMP.incrementAndGet()));
+    } //invalidate
+
+    /**
+     * Discards the snapshot of every user.
+     */
+    public static void invalidateAll() {
+        for (Integer userId : USER_ID_TO_SLOT.keySet()) {
+            BrewColumnCache.invalidate(userId);
+        } //end for
+    } //invalidateAll
+}
@@ -0,0 +1,630 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Logan Kulinski
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.coffee4j.analytics;
+
+import com.coffee4j.Masses;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * A columnar snapshot of one user's brew history. Each brew attribute is stored in its own primitive array, ordered by
+ * brew ID, so that aggregates are computed by tight loops over contiguous memory. Timestamps are stored as epoch
+ * seconds in UTC, and masses as whole milligrams. Instances of this class are thread-safe.
+ *
+ * @author Logan Kulinski, rashes_lineage02@icloud.com
+ * @version October 18, 2026
+ */
+public final class BrewColumns {
+    /**
+     * A row of a columnar snapshot.
+     *
+     * @param id the ID of this row
+     * @param timestamp the timestamp of this row, in epoch seconds
+     * @param coffeeId the coffee ID of this row
+     * @param waterId the water ID of this row
+     * @param brewerId the brewer ID of this row
+     * @param filterId the filter ID of this row
+     * @param vesselId the vessel ID of this row
+     * @param coffeeMass the coffee mass of this row, in milligrams
+     * @param waterMass the water mass of this row, in milligrams
+     */
+    public record Row(int id, long timestamp, int coffeeId, int waterId, int brewerId, int filterId, int vesselId,
+                      int coffeeMass, int waterMass) {
+    } //Row
+
+    /**
+     * A filter of the rows of a columnar snapshot.
+     *
+     * @param from the inclusive lower bound of the timestamps of this filter, in epoch seconds
+     * @param to the exclusive upper bound of the timestamps of this filter, in epoch seconds
+     * @param coffeeId the coffee ID of this filter, or {@code null} if any coffee matches
+     */
+    public record Filter(long from, long to, Integer coffeeId) {
+        /**
+         * The filter matching every row.
+         */
+        public static final Filter ALL = new Filter(Long.MIN_VALUE, Long.MAX_VALUE, null);
+    } //Filter
+
+    /**
+     * A measure of the rows of a columnar snapshot.
+     */
+    public enum Measure {
+        /**
+         * The singleton instance representing the brew ratio (water mass over coffee mass).
+         */
+        RATIO,
+
+        /**
+         * The singleton instance representing the coffee mass.
+         */
+        COFFEE_MASS,
+
+        /**
+         * The singleton instance representing the water mass.
+         */
+        WATER_MASS
+    } //Measure
+
+    /**
+     * A summary of the rows of a columnar snapshot.
+     *
+     * @param count the number of rows of this summary
+     * @param totalCoffeeMass the total coffee mass of this summary, in grams
+     * @param totalWaterMass the total water mass of this summary, in grams
+     * @param averageRatio the average brew ratio of this summary, or {@code 0} if there are no rows
+     * @param firstTimestamp the earliest timestamp of this summary, in epoch seconds
+     * @param lastTimestamp the latest timestamp of this summary, in epoch seconds
+     */
+    public record Summary(long count, double totalCoffeeMass, double totalWaterMass, double averageRatio,
+                          long firstTimestamp, long lastTimestamp) {
+    } //Summary
+
+    /**
+     * The approximate number of bytes per row of the {@link BrewColumns} class.
+     */
+    private static final int BYTES_PER_ROW;
+
+    /**
+     * The initial capacity of the {@link BrewColumns} class.
+     */
+    private static final int INITIAL_CAPACITY;
+
+    static {
+        BYTES_PER_ROW = (9 * Integer.BYTES) + Long.BYTES;
+
+        INITIAL_CAPACITY = 16;
+    } //static
+
+    /**
+     * The number of rows of this snapshot.
+     */
+    private int size;
+
+    /**
+     * The IDs of this snapshot.
+     */
+    private int[] ids;
+
+    /**
+     * The timestamps of this snapshot.
+     */
+    private long[] timestamps;
+
+    /**
+     * The coffee IDs of this snapshot.
+     */
+    private int[] coffeeIds;
+
+    /**
+     * The water IDs of this snapshot.
+     */
+    private int[] waterIds;
+
+    /**
+     * The brewer IDs of this snapshot.
+     */
+    private int[] brewerIds;
+
+    /**
+     * The filter IDs of this snapshot.
+     */
+    private int[] filterIds;
+
+    /**
+     * The vessel IDs of this snapshot.
+     */
+    private int[] vesselIds;
+
+    /**
+     * The coffee masses of this snapshot, in milligrams.
+     */
+    private int[] coffeeMasses;
+
+    /**
+     * The water masses of this snapshot, in milligrams.
+     */
+    private int[] waterMasses;
+
+    /**
+     * Constructs an instance of the {@link BrewColumns} class using the specified capacity.
+     *
+     * @param capacity the capacity to be used in construction
+     */
+    public BrewColumns(int capacity) {
+        int initialCapacity = Math.max(capacity, INITIAL_CAPACITY);
+
+        this.size = 0;
+
+        this.ids = new int[initialCapacity];
+
+        this.timestamps = new long[initialCapacity];
+
+        this.coffeeIds = new int[initialCapacity];
+
+        this.waterIds = new int[initialCapacity];
+
+        this.brewerIds = new int[initialCapacity];
+
+        this.filterIds = new int[initialCapacity];
+
+        this.vesselIds = new int[initialCapacity];
+
+        this.coffeeMasses = new int[initialCapacity];
+
+        this.waterMasses = new int[initialCapacity];
+    } //BrewColumns
+
+    /**
+     * Constructs an instance of the {@link BrewColumns} class.
+     */
+    public BrewColumns() {
+        this(INITIAL_CAPACITY);
+    } //BrewColumns
+
+    /**
+     * Returns the number of rows of this snapshot.
+     *
+     * @return the number of rows of this snapshot
+     */
+    public synchronized int size() {
+        return this.size;
+    } //size
+
+    /**
+     * Returns the approximate number of bytes retained by this snapshot.
+     *
+     * @return the approximate number of bytes retained by this snapshot
+     */
+    public synchronized long getByteSize() {
+        return (long) this.ids.length * BYTES_PER_ROW;
+    } //getByteSize
+
+    /**
+     * Ensures that this snapshot can hold one more row.
+     */
+    private void ensureCapacity() {
+        if (this.size < this.ids.length) {
+            return;
+        } //end if
+
+        int capacity = this.ids.length * 2;
+
+        this.resize(capacity);
+    } //ensureCapacity
+
+    /**
+     * Resizes the columns of this snapshot to the specified capacity.
+     *
+     * @param capacity the capacity to be used in the operation
+     */
+    private void resize(int capacity) {
+        if (capacity == this.ids.length) {
+            return;
+        } //end if
+
+        this.ids = Arrays.copyOf(this.ids, capacity);
+
+        this.timestamps = Arrays.copyOf(this.timestamps, capacity);
+
+        this.coffeeIds = Arrays.copyOf(this.coffeeIds, capacity);
+
+        this.waterIds = Arrays.copyOf(this.waterIds, capacity);
+
+        this.brewerIds = Arrays.copyOf(this.brewerIds, capacity);
+
+        this.filterIds = Arrays.copyOf(this.filterIds, capacity);
+
+        this.vesselIds = Arrays.copyOf(this.vesselIds, capacity);
+
+        this.coffeeMasses = Arrays.copyOf(this.coffeeMasses, capacity);
+
+        this.waterMasses = Arrays.copyOf(this.waterMasses, capacity);
+    } //resize
+
+    /**
+     * Shifts the rows of this snapshot starting at the specified index by the specified distance.
+     *
+     * @param index the index to be used in the operation
+     * @param distance the distance to be used in the operation, either {@code 1} or {@code -1}
+     */
+    private void shift(int index, int distance) {
+        int length = this.size - index;
+
+        System.arraycopy(this.ids, index, this.ids, index + distance, length);
+
+        System.arraycopy(this.timestamps, index, this.timestamps, index + distance, length);
+
+        System.arraycopy(this.coffeeIds, index, this.coffeeIds, index + distance, length);
+
+        System.arraycopy(this.waterIds, index, this.waterIds, index + distance, length);
+
+        System.arraycopy(this.brewerIds, index, this.brewerIds, index + distance, length);
+
+        System.arraycopy(this.filterIds, index, this.filterIds, index + distance, length);
+
+        System.arraycopy(this.vesselIds, index, this.vesselIds, index + distance, length);
+
+        System.arraycopy(this.coffeeMasses, index, this.coffeeMasses, index + distance, length);
+
+        System.arraycopy(this.waterMasses, index, this.waterMasses, index + distance, length);
+    } //shift
+
+    /**
+     * Stores the specified row at the specified index of this snapshot.
+     *
+     * @param index the index to be used in the operation
+     * @param row the row to be used in the operation
+     */
+    private void set(int index, Row row) {
+        this.ids[index] = row.id();
+
+        this.timestamps[index] = row.timestamp();
+
+        this.coffeeIds[index] = row.coffeeId();
+
+        this.waterIds[index] = row.waterId();
+
+        this.brewerIds[index] = row.brewerId();
+
+        this.filterIds[index] = row.filterId();
+
+        this.vesselIds[index] = row.vesselId();
+
+        this.coffeeMasses[index] = row.coffeeMass();
+
+        this.waterMasses[index] = row.waterMass();
+    } //set
+
+    /**
+     * Adds the specified row to this snapshot, keeping the rows ordered by ID. Rows are normally appended, as IDs are
+     * assigned in increasing order. A row whose ID is already present replaces the existing row.
+     *
+     * @param row the row to be used in the operation
+     * @throws NullPointerException if the specified row is {@code null}
+     */
+    public synchronized void add(Row row) {
+        Objects.requireNonNull(row, "the specified row is null");
+
+        int index = this.size;
+
+        if ((this.size > 0) && (this.ids[this.size - 1] >= row.id())) {
+            index = Arrays.binarySearch(this.ids, 0, this.size, row.id());
+
+            if (index >= 0) {
+                this.set(index, row);
+
+                return;
+            } //end if
+
+            index = -(index + 1);
+        } //end if
+
+        this.ensureCapacity();
+
+        this.shift(index, 1);
+
+        this.set(index, row);
+
+        this.size++;
+    } //add
+
+    /**
+     * Adds the rows of the specified snapshot to this snapshot, keeping the rows ordered by ID. When every ID of the
+     * specified snapshot is greater than those of this snapshot, as is the case for partitions of an ordered scan, the
+     * rows are copied in bulk.
+     *
+     * @param columns the snapshot to be used in the operation
+     * @throws NullPointerException if the specified snapshot is {@code null}
+     */
+    public void addAll(BrewColumns columns) {
+        Objects.requireNonNull(columns, "the specified snapshot is null");
+
+        List<Row> rows;
+
+        synchronized (columns) {
+            synchronized (this) {
+                int otherSize = columns.size;
+
+                if ((otherSize == 0) || ((this.size > 0) && (this.ids[this.size - 1] >= columns.ids[0]))) {
+                    rows = new ArrayList<>(otherSize);
+
+                    for (int i = 0; i < otherSize; i++) {
+                        rows.add(columns.getRow(i));
+                    } //end for
+                } else {
+                    int capacity = this.ids.length;
+
+                    while (capacity < (this.size + otherSize)) {
+                        capacity *= 2;
+                    } //end while
+
+                    this.resize(capacity);
+
+                    System.arraycopy(columns.ids, 0, this.ids, this.size, otherSize);
+
+                    System.arraycopy(columns.timestamps, 0, this.timestamps, this.size, otherSize);
+
+                    System.arraycopy(columns.coffeeIds, 0, this.coffeeIds, this.size, otherSize);
+
+                    System.arraycopy(columns.waterIds, 0, this.waterIds, this.size, otherSize);
+
+                    System.arraycopy(columns.brewerIds, 0, this.brewerIds, this.size, otherSize);
+
+                    System.arraycopy(columns.filterIds, 0, this.filterIds, this.size, otherSize);
+
+                    System.arraycopy(columns.vesselIds, 0, this.vesselIds, this.size, otherSize);
+
+                    System.arraycopy(columns.coffeeMasses, 0, this.coffeeMasses, this.size, otherSize);
+
+                    System.arraycopy(columns.waterMasses, 0, this.waterMasses, this.size, otherSize);
+
+                    this.size += otherSize;
+
+                    return;
+                } //end if
+            } //end synchronized
+        } //end synchronized
+
+        rows.forEach(this::add);
+    } //addAll
+
+    /**
+     * Returns the row at the specified index of this snapshot.
+     *
+     * @param index the index to be used in the operation
+     * @return the row at the specified index of this snapshot
+     */
+    private Row getRow(int index) {
+        return new Row(this.ids[index], this.timestamps[index], this.coffeeIds[index], this.waterIds[index],
+                       this.brewerIds[index], this.filterIds[index], this.vesselIds[index], this.coffeeMasses[index],
+                       this.waterMasses[index]);
+    } //getRow
+
+    /**
+     * Removes the row with the specified ID from this snapshot.
+     *
+     * @param id the ID to be used in the operation
+     * @return {@code true}, if a row was removed and {@code false} otherwise
+     */
+    public synchronized boolean remove(int id) {
+        int index = Arrays.binarySearch(this.ids, 0, this.size, id);
+
+        if (index < 0) {
+            return false;
+        } //end if
+
+        this.shift(index + 1, -1);
+
+        this.size--;
+
+        return true;
+    } //remove
+
+    /**
+     * Returns whether the row at the specified index matches the specified filter.
+     *
+     * @param filter the filter to be used in the operation
+     * @param index the index to be used in the operation
+     * @return {@code true}, if the row at the specified index matches the specified filter and {@code false} otherwise
+     */
+    private boolean matches(Filter filter, int index) {
+        long timestamp = this.timestamps[index];
+
+        if ((timestamp < filter.from()) || (timestamp >= filter.to())) {
+            return false;
+        } //end if
+
+        Integer coffeeId = filter.coffeeId();
+
+        return (coffeeId == null) || (this.coffeeIds[index] == coffeeId);
+    } //matches
+
+    /**
+     * Returns the value of the specified measure of the row at the specified index. Masses are in grams, and the ratio
+     * of a row without coffee mass is {@code NaN}.
+     *
+     * @param measure the measure to be used in the operation
+     * @param index the index to be used in the operation
+     * @return the value of the specified measure of the row at the specified index
+     */
+    private float getValue(Measure measure, int index) {
+        return switch (measure) {
+            case RATIO -> (this.coffeeMasses[index] == 0) ? Float.NaN
+                                                          : (float) this.waterMasses[index] / this.coffeeMasses[index];
+            case COFFEE_MASS -> (float) Masses.toGramsDouble(this.coffeeMasses[index]);
+            case WATER_MASS -> (float) Masses.toGramsDouble(this.waterMasses[index]);
+        };
+    } //getValue
+
+    /**
+     * Returns a summary of the rows of this snapshot that match the specified filter.
+     *
+     * @param filter the filter to be used in the operation
+     * @return a summary of the rows of this snapshot that match the specified filter
+     * @throws NullPointerException if the specified filter is {@code null}
+     */
+    public synchronized Summary summarize(Filter filter) {
+        Objects.requireNonNull(filter, "the specified filter is null");
+
+        long count = 0;
+
+        long totalCoffeeMass = 0;
+
+        long totalWaterMass = 0;
+
+        double totalRatio = 0.0;
+
+        long ratioCount = 0;
+
+        long firstTimestamp = Long.MAX_VALUE;
+
+        long lastTimestamp = Long.MIN_VALUE;
+
+        for (int i = 0; i < this.size; i++) {
+            if (!this.matches(filter, i)) {
+                continue;
+            } //end if
+
+            int coffeeMass = this.coffeeMasses[i];
+
+            int waterMass = this.waterMasses[i];
+
+            count++;
+
+            totalCoffeeMass += coffeeMass;
+
+            totalWaterMass += waterMass;
+
+            if (coffeeMass != 0) {
+                totalRatio += (double) waterMass / coffeeMass;
+
+                ratioCount++;
+            } //end if
+
+            firstTimestamp = Math.min(firstTimestamp, this.timestamps[i]);
+
+            lastTimestamp = Math.max(lastTimestamp, this.timestamps[i]);
+        } //end for
+
+        double averageRatio = (ratioCount == 0) ? 0.0 : totalRatio / ratioCount;
+
+        return new Summary(count, Masses.toGramsDouble(totalCoffeeMass), Masses.toGramsDouble(totalWaterMass),
+                           averageRatio, firstTimestamp, lastTimestamp);
+    } //summarize
+
+    /**
+     * Returns the minimum and maximum of the specified measure over the rows of this snapshot that match the specified
+     * filter, or {@code null} if no row matches.
+     *
+     * @param measure the measure to be used in the operation
+     * @param filter the filter to be used in the operation
+     * @return the minimum and maximum of the specified measure, or {@code null} if no row matches
+     * @throws NullPointerException if the specified measure or filter is {@code null}
+     */
+    public synchronized float[] getRange(Measure measure, Filter filter) {
+        Objects.requireNonNull(measure, "the specified measure is null");
+
+        Objects.requireNonNull(filter, "the specified filter is null");
+
+        float min = Float.POSITIVE_INFINITY;
+
+        float max = Float.NEGATIVE_INFINITY;
+
+        for (int i = 0; i < this.size; i++) {
+            if (!this.matches(filter, i)) {
+                continue;
+            } //end if
+
+            float value = this.getValue(measure, i);
+
+            if (value < min) {
+                min = value;
+            } //end if
+
+            if (value > max) {
+                max = value;
+            } //end if
+        } //end for
+
+        if (min > max) {
+            return null;
+        } //end if
+
+        return new float[] {min, max};
+    } //getRange
+
+    /**
+     * Returns a histogram of the specified measure over the rows of this snapshot that match the specified filter. The
+     * range from the specified minimum to the specified maximum is split into bins of equal width. Values outside of
+     * the range are ignored, except that the maximum itself falls into the last bin.
+     *
+     * @param measure the measure to be used in the operation
+     * @param filter the filter to be used in the operation
+     * @param min the minimum to be used in the operation
+     * @param max the maximum to be used in the operation
+     * @param binCount the number of bins to be used in the operation
+     * @return a histogram of the specified measure over the rows of this snapshot that match the specified filter
+     * @throws NullPointerException if the specified measure or filter is {@code null}
+     * @throws IllegalArgumentException if the specified number of bins is not positive, or the specified maximum is
+     * less than the specified minimum
+     */
+    public synchronized long[] getHistogram(Measure measure, Filter filter, float min, float max, int binCount) {
+        Objects.requireNonNull(measure, "the specified measure is null");
+
+        Objects.requireNonNull(filter, "the specified filter is null");
+
+        if (binCount <= 0) {
+            throw new IllegalArgumentException("the specified number of bins is not positive");
+        } else if (!(max >= min)) {
+            throw new IllegalArgumentException("the specified maximum is less than the specified minimum");
+        } //end if
+
+        long[] counts = new long[binCount];
+
+        float width = (max - min) / binCount;
+
+        for (int i = 0; i < this.size; i++) {
+            if (!this.matches(filter, i)) {
+                continue;
+            } //end if
+
+            float value = this.getValue(measure, i);
+
+            if (!(value >= min) || (value > max)) {
+                continue;
+            } //end if
+
+            int bin = (width == 0.0F) ? 0 : (int) ((value - min) / width);
+
+            counts[Math.min(bin, binCount - 1)]++;
+        } //end for
+
+        return counts;
+    } //getHistogram
+}
@@ -0,0 +1,621 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Logan Kulinski
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.coffee4j.analytics;
+
+import com.coffee4j.Masses;
+import com.coffee4j.archive.BrewArchive;
+import com.coffee4j.deletion.Deletions;
+import com.coffee4j.events.CacheAccessEvent;
+import org.jooq.*;
+import org.jooq.Record;
+import org.jooq.impl.DSL;
+import org.jooq.impl.SQLDataType;
+import schema.generated.tables.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The ad-hoc brew query engine of the Coffee4j application. A query groups a user's brews by up to a few allow-listed
+ * dimensions and computes allow-listed measures, and is compiled into a single {@code GROUP BY} statement that only
+ * joins the equipment tables it needs. Results are cached per user until the user's next write.
+ *
+ * @author Logan Kulinski, rashes_lineage02@icloud.com
+ * @version October 18, 2026
+ */
+public final class BrewQueryEngine {
+    /**
+     * A dimension of a brew query.
+     */
+    public enum Dimension {
+        /**
+         * The singleton instance representing the coffee dimension.
+         */
+        COFFEE("coffee"),
+
+        /**
+         * The singleton instance representing the water dimension.
+         */
+        WATER("water"),
+
+        /**
+         * The singleton instance representing the brewer dimension.
+         */
+        BREWER("brewer"),
+
+        /**
+         * The singleton instance representing the filter dimension.
+         */
+        FILTER("filter"),
+
+        /**
+         * The singleton instance representing the vessel dimension.
+         */
+        VESSEL("vessel"),
+
+        /**
+         * The singleton instance representing the day dimension.
+         */
+        DAY("day"),
+
+        /**
+         * The singleton instance representing the week dimension.
+         */
+        WEEK("week"),
+
+        /**
+         * The singleton instance representing the month dimension.
+         */
+        MONTH("month"),
+
+        /**
+         * The singleton instance representing the year dimension.
+         */
+        YEAR("year");
+
+        /**
+         * The name of this dimension.
+         */
+        private final String name;
+
+        /**
+         * Constructs an instance of the {@link Dimension} class using the specified name.
+         *
+         * @param name the name to be used in construction
+         */
+        Dimension(String name) {
+            this.name = name;
+        } //Dimension
+
+        /**
+         * Returns the name of this dimension.
+         *
+         * @return the name of this dimension
+         */
+        public String getName() {
+            return this.name;
+        } //getName
+
+        /**
+         * Returns the dimension with the specified name, or {@code null} if there is none.
+         *
+         * @param name the name to be used in the operation
+         * @return the dimension with the specified name, or {@code null} if there is none
+         */
+        public static Dimension of(String name) {
+            for (Dimension dimension : Dimension.values()) {
+                if (dimension.name.equals(name)) {
+                    return dimension;
+                } //end if
+            } //end for
+
+            return null;
+        } //of
+    } //Dimension
+
+    /**
+     * A measure of a brew query.
+     */
+    public enum Measure {
+        /**
+         * The singleton instance representing the number of brews.
+         */
+        COUNT("count"),
+
+        /**
+         * The singleton instance representing the total coffee mass.
+         */
+        SUM_COFFEE_MASS("sumCoffeeMass"),
+
+        /**
+         * The singleton instance representing the average coffee mass.
+         */
+        AVG_COFFEE_MASS("avgCoffeeMass"),
+
+        /**
+         * The singleton instance representing the total water mass.
+         */
+        SUM_WATER_MASS("sumWaterMass"),
+
+        /**
+         * The singleton instance representing the average water mass.
+         */
+        AVG_WATER_MASS("avgWaterMass"),
+
+        /**
+         * The singleton instance representing the average brew ratio (water mass over coffee mass).
+         */
+        AVG_RATIO("avgRatio");
+
+        /**
+         * The name of this measure.
+         */
+        private final String name;
+
+        /**
+         * Constructs an instance of the {@link Measure} class using the specified name.
+         *
+         * @param name the name to be used in construction
+         */
+        Measure(String name) {
+            this.name = name;
+        } //Measure
+
+        /**
+         * Returns the name of this measure.
+         *
+         * @return the name of this measure
+         */
+        public String getName() {
+            return this.name;
+        } //getName
+
+        /**
+         * Returns the measure with the specified name, or {@code null} if there is none.
+         *
+         * @param name the name to be used in the operation
+         * @return the measure with the specified name, or {@code null} if there is none
+         */
+        public static Measure of(String name) {
+            for (Measure measure : Measure.values()) {
+                if (measure.name.equals(name)) {
+                    return measure;
+                } //end if
+            } //end for
+
+            return null;
+        } //of
+    } //Measure
+
+    /**
+     * A brew query.
+     *
+     * @param dimensions the dimensions of this query
+     * @param measures the measures of this query
+     * @param from the inclusive lower bound of the timestamps of this query, or {@code null}
+     * @param to the exclusive upper bound of the timestamps of this query, or {@code null}
+     * @param limit the maximum number of groups of this query
+     */
+    public record Query(List<Dimension> dimensions, List<Measure> measures, LocalDateTime from, LocalDateTime to,
+                        int limit) {
+        /**
+         * Constructs an instance of the {@link Query} class.
+         *
+         * @param dimensions the dimensions to be used in construction
+         * @param measures the measures to be used in construction
+         * @param from the inclusive lower bound to be used in construction
+         * @param to the exclusive upper bound to be used in construction
+         * @param limit the limit to be used in construction
+         * @throws IllegalArgumentException if the specified dimensions or measures are empty, too many, or repeated, or
+         * the specified limit is out of range
+         */
+        public Query {
+            if (dimensions.isEmpty() || (dimensions.size() > MAX_DIMENSIONS)) {
+                String message = "between 1 and %d dimensions must be specified".formatted(MAX_DIMENSIONS);
+
+                throw new IllegalArgumentException(message);
+            } else if (measures.isEmpty()) {
+                throw new IllegalArgumentException("at least one measure must be specified");
+            } else if ((new HashSet<>(dimensions).size() != dimensions.size()) ||
+                (new HashSet<>(measures).size() != measures.size())) {
+                throw new IllegalArgumentException("dimensions and measures must not be repeated");
+            } else if ((limit < 1) || (limit > MAX_LIMIT)) {
+                throw new IllegalArgumentException("the limit must be between 1 and %d".formatted(MAX_LIMIT));
+            } //end if
+
+            dimensions = List.copyOf(dimensions);
+
+            measures = List.copyOf(measures);
+        } //Query
+    } //Query
+
+    /**
+     * A result of a brew query.
+     *
+     * @param rows the rows of this result
+     * @param truncated whether this result was truncated to the limit of its query
+     */
+    public record QueryResult(List<Map<String, Object>> rows, boolean truncated) {
+    } //QueryResult
+
+    /**
+     * A key of the result cache.
+     *
+     * @param userId the user ID of this key
+     * @param generation the cache generation of the user at the time the result was computed
+     * @param query the query of this key
+     */
+    private record CacheKey(int userId, long generation, Query query) {
+    } //CacheKey
+
+    /**
+     * The maximum number of dimensions of a query of the {@link BrewQueryEngine} class.
+     */
+    public static final int MAX_DIMENSIONS;
+
+    /**
+     * The maximum number of groups of a query of the {@link BrewQueryEngine} class.
+     */
+    public static final int MAX_LIMIT;
+
+    /**
+     * The timeout of a query of the {@link BrewQueryEngine} class, in seconds.
+     */
+    private static final int QUERY_TIMEOUT;
+
+    /**
+     * The maximum number of cached results of the {@link BrewQueryEngine} class.
+     */
+    private static final int MAX_CACHED_RESULTS;
+
+    /**
+     * The result cache of the {@link BrewQueryEngine} class, in access order.
+     */
+    private static final Map<CacheKey, QueryResult> RESULT_CACHE;
+
+    /**
+     * The mapping from user ID to cache generation of the {@link BrewQueryEngine} class.
+     */
+    private static final Map<Integer, Long> USER_ID_TO_GENERATION;
+
+    /**
+     * The {@code brew} table of the {@link BrewQueryEngine} class.
+     */
+    private static final Brew BREW;
+
+    /**
+     * The {@code coffee} table of the {@link BrewQueryEngine} class.
+     */
+    private static final Coffee COFFEE;
+
+    /**
+     * The {@code water} table of the {@link BrewQueryEngine} class.
+     */
+    private static final Water WATER;
+
+    /**
+     * The {@code brewer} table of the {@link BrewQueryEngine} class.
+     */
+    private static final Brewer BREWER;
+
+    /**
+     * The {@code filter} table of the {@link BrewQueryEngine} class.
+     */
+    private static final Filter FILTER;
+
+    /**
+     * The {@code vessel} table of the {@link BrewQueryEngine} class.
+     */
+    private static final Vessel VESSEL;
+
+    /**
+     * The number of milligrams in a gram of the {@link BrewQueryEngine} class.
+     */
+    private static final BigDecimal MILLIGRAMS_PER_GRAM;
+
+    /**
+     * The data type of a measure in grams of the {@link BrewQueryEngine} class.
+     */
+    private static final DataType<BigDecimal> GRAMS_TYPE;
+
+    static {
+        MAX_DIMENSIONS = 3;
+
+        MAX_LIMIT = 1_000;
+
+        QUERY_TIMEOUT = 5;
+
+        MAX_CACHED_RESULTS = 1_000;
+
+        RESULT_CACHE = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75F, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<CacheKey, QueryResult> eldest) {
+                return this.size() > MAX_CACHED_RESULTS;
+            } //removeEldestEntry
+        });
+
+        USER_ID_TO_GENERATION = new ConcurrentHashMap<>();
+
+        BREW = Brew.BREW;
+
+        COFFEE = Coffee.COFFEE;
+
+        WATER = Water.WATER;
+
+        BREWER = Brewer.BREWER;
+
+        FILTER = Filter.FILTER;
+
+        VESSEL = Vessel.VESSEL;
+
+        MILLIGRAMS_PER_GRAM = new BigDecimal("1000.0");
+
+        GRAMS_TYPE = SQLDataType.NUMERIC(18, 4);
+    } //static
+
+    /**
+     * Throws an {@link InstantiationException}, as an instance of the {@link BrewQueryEngine} class cannot be created.
+     *
+     * @throws InstantiationException if this constructor is invoked, as an instance of the {@link BrewQueryEngine}
+     * class cannot be created
+     */
+    private BrewQueryEngine() throws InstantiationException {
+        throw new InstantiationException("an instance of the BrewQueryEngine class cannot be created");
+    } //BrewQueryEngine
+
+    /**
+     * Invalidates the cached results of the user with the specified ID. Stale results are never read again, and age
+     * out of the cache.
+     *
+     * @param userId the user ID to be used in the operation
+     */
+    public static void invalidate(int userId) {
+        USER_ID_TO_GENERATION.merge(userId, 1L, Long::sum);
+    } //invalidate
+
+    /**
+     * Invalidates the cached results of every user.
+     */
+    public static void invalidateAll() {
+        USER_ID_TO_GENERATION.replaceAll((userId, generation) -> generation + 1);
+
+        RESULT_CACHE.clear();
+    } //invalidateAll
+
+    /**
+     * Returns the field of the time bucket of the specified unit.
+     *
+     * @param unit the unit to be used in the operation
+     * @return the field of the time bucket of the specified unit
+     */
+    private static Field<LocalDateTime> getTimeBucket(String unit) {
+        return DSL.field("date_trunc({0}, {1})", SQLDataType.LOCALDATETIME, DSL.inline(unit), BREW.TIMESTAMP);
+    } //getTimeBucket
+
+    /**
+     * Returns the specified aggregate of milligrams in grams. The aggregate itself runs over integers, and only its
+     * result is divided, so grouping a large number of brews does not pay for decimal arithmetic on every row.
+     *
+     * @param milligrams the aggregate of milligrams to be used in the operation
+     * @return the specified aggregate of milligrams in grams
+     */
+    private static Field<BigDecimal> getGrams(Field<BigDecimal> milligrams) {
+        return milligrams.div(DSL.inline(MILLIGRAMS_PER_GRAM))
+                         .cast(GRAMS_TYPE);
+    } //getGrams
+
+    /**
+     * Returns the field of the specified measure.
+     *
+     * @param measure the measure to be used in the operation
+     * @return the field of the specified measure
+     */
+    private static Field<?> getMeasureField(Measure measure) {
+        Field<?> field = switch (measure) {
+            case COUNT -> DSL.count();
+            case SUM_COFFEE_MASS -> BrewQueryEngine.getGrams(DSL.sum(Masses.COFFEE_MASS_MG));
+            case AVG_COFFEE_MASS -> BrewQueryEngine.getGrams(DSL.avg(Masses.COFFEE_MASS_MG));
+            case SUM_WATER_MASS -> BrewQueryEngine.getGrams(DSL.sum(Masses.WATER_MASS_MG));
+            case AVG_WATER_MASS -> BrewQueryEngine.getGrams(DSL.avg(Masses.WATER_MASS_MG));
+            case AVG_RATIO -> DSL.avg(Masses.WATER_MASS_MG.cast(SQLDataType.DOUBLE)
+                                                          .div(DSL.nullif(Masses.COFFEE_MASS_MG, 0)));
+        };
+
+        return field.as(measure.getName());
+    } //getMeasureField
+
+    /**
+     * Compiles the specified query of the user with the specified ID into a single statement. Archived brews are only
+     * included if the query's time range reaches them.
+     *
+     * @param context the context to be used in the operation
+     * @param userId the user ID to be used in the operation
+     * @param query the query to be used in the operation
+     * @return the statement of the specified query
+     */
+    private static ResultQuery<Record> compile(DSLContext context, int userId, Query query) {
+        List<SelectFieldOrAsterisk> selectFields = new ArrayList<>();
+
+        List<GroupField> groupFields = new ArrayList<>();
+
+        List<OrderField<?>> orderFields = new ArrayList<>();
+
+        Table<?> table = BrewArchive.getBrews(context, userId, query.from());
+
+        for (Dimension dimension : query.dimensions()) {
+            String name = dimension.getName();
+
+            Table<?> equipmentTable = null;
+
+            Field<Integer> idField = null;
+
+            Field<String> nameField = null;
+
+            Field<Integer> brewField = null;
+
+            switch (dimension) {
+                case COFFEE -> {
+                    equipmentTable = COFFEE;
+
+                    idField = COFFEE.ID;
+
+                    nameField = COFFEE.NAME;
+
+                    brewField = BREW.COFFEE_ID;
+                }
+                case WATER -> {
+                    equipmentTable = WATER;
+
+                    idField = WATER.ID;
+
+                    nameField = WATER.NAME;
+
+                    brewField = BREW.WATER_ID;
+                }
+                case BREWER -> {
+                    equipmentTable = BREWER;
+
+                    idField = BREWER.ID;
+
+                    nameField = BREWER.NAME;
+
+                    brewField = BREW.BREWER_ID;
+                }
+                case FILTER -> {
+                    equipmentTable = FILTER;
+
+                    idField = FILTER.ID;
+
+                    nameField = FILTER.NAME;
+
+                    brewField = BREW.FILTER_ID;
+                }
+                case VESSEL -> {
+                    equipmentTable = VESSEL;
+
+                    idField = VESSEL.ID;
+
+                    nameField = VESSEL.NAME;
+
+                    brewField = BREW.VESSEL_ID;
+                }
+                case DAY, WEEK, MONTH, YEAR -> {
+                    Field<LocalDateTime> bucketField = BrewQueryEngine.getTimeBucket(name);
+
+                    selectFields.add(bucketField.as(name));
+
+                    groupFields.add(bucketField);
+
+                    orderFields.add(bucketField);
+                }
+            } //end switch
+
+            if (equipmentTable != null) {
+                table = table.join(equipmentTable)
+                             .on(idField.eq(brewField));
+
+                selectFields.add(idField.as(name + "Id"));
+
+                selectFields.add(nameField.as(name + "Name"));
+
+                groupFields.add(idField);
+
+                groupFields.add(nameField);
+
+                orderFields.add(idField);
+            } //end if
+        } //end for
+
+        for (Measure measure : query.measures()) {
+            Field<?> measureField = BrewQueryEngine.getMeasureField(measure);
+
+            selectFields.add(measureField);
+        } //end for
+
+        Condition condition = BREW.USER_ID.eq(userId)
+                                          .and(Deletions.isBrewNotDeleted(userId));
+
+        if (query.from() != null) {
+            condition = condition.and(BREW.TIMESTAMP.greaterOrEqual(query.from()));
+        } //end if
+
+        if (query.to() != null) {
+            condition = condition.and(BREW.TIMESTAMP.lessThan(query.to()));
+        } //end if
+
+        return context.select(selectFields)
+                      .from(table)
+                      .where(condition)
+                      .groupBy(groupFields)
+                      .orderBy(orderFields)
+                      .limit(query.limit() + 1)
+                      .queryTimeout(QUERY_TIMEOUT);
+    } //compile
+
+    /**
+     * Executes the specified query of the user with the specified ID, or returns its cached result.
+     *
+     * @param context the context to be used in the operation
+     * @param userId the user ID to be used in the operation
+     * @param query the query to be used in the operation
+     * @return the result of the specified query
+     * @throws NullPointerException if the specified context or query is {@code null}
+     * @throws org.jooq.exception.DataAccessException if a database error occurs
+     */
+    public static QueryResult execute(DSLContext context, int userId, Query query) {
+        Objects.requireNonNull(context, "the specified context is null");
+
+        Objects.requireNonNull(query, "the specified query is null");
+
+        long generation = USER_ID_TO_GENERATION.getOrDefault(userId, 0L);
+
+        CacheKey key = new CacheKey(userId, generation, query);
+
+        QueryResult cachedResult = RESULT_CACHE.get(key);
+
+        CacheAccessEvent.emit("brew-query", userId, cachedResult != null);
+
+        if (cachedResult != null) {
+            return cachedResult;
+        } //end if
+
+        List<Map<String, Object>> rows = BrewQueryEngine.compile(context, userId, query)
+                                                        .fetchMaps();
+
+        boolean truncated = rows.size() > query.limit();
+
+        if (truncated) {
+            rows = rows.subList(0, query.limit());
+        } //end if
+
+        QueryResult result = new QueryResult(List.copyOf(rows), truncated);
+
+        RESULT_CACHE.put(key, result);
+
+        return result;
+    } //execute
+}
@@ -0,0 +1,328 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Logan Kulinski
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.coffee4j.analytics;
+
+import com.coffee4j.Masses;
+import com.coffee4j.archive.BrewArchive;
+import com.coffee4j.deletion.Deletions;
+import org.jooq.*;
+import org.jooq.Record;
+import org.jooq.impl.DSL;
+import org.jooq.impl.SQLDataType;
+import schema.generated.tables.Brew;
+import schema.generated.tables.Coffee;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * The persisted brew ratio sketches of the Coffee4j application. Each user has one {@link KllSketch} of brew ratios
+ * (water mass over coffee mass) per coffee, stored in the {@code brew_ratio_sketch} table. A sketch is updated in place
+ * when a brew is created, and discarded when a brew is updated or deleted, as sketches cannot forget values. Discarded
+ * and missing sketches are rebuilt from the hot and archived brews on the next read. Every writer must hold the user's
+ * sketch lock, which is released when the surrounding transaction ends.
+ *
+ * @author Logan Kulinski, rashes_lineage02@icloud.com
+ * @version October 18, 2026
+ */
+public final class BrewRatioSketches {
+    /**
+     * The {@code brew_ratio_sketch} table of the {@link BrewRatioSketches} class.
+     */
+    private static final Table<Record> BREW_RATIO_SKETCH;
+
+    /**
+     * The {@code brew_ratio_sketch.user_id} field of the {@link BrewRatioSketches} class.
+     */
+    private static final Field<Integer> USER_ID;
+
+    /**
+     * The {@code brew_ratio_sketch.coffee_id} field of the {@link BrewRatioSketches} class.
+     */
+    private static final Field<Integer> COFFEE_ID;
+
+    /**
+     * The {@code brew_ratio_sketch.sketch} field of the {@link BrewRatioSketches} class.
+     */
+    private static final Field<byte[]> SKETCH;
+
+    /**
+     * The {@code brew} table of the {@link BrewRatioSketches} class.
+     */
+    private static final Brew BREW;
+
+    /**
+     * The {@code coffee} table of the {@link BrewRatioSketches} class.
+     */
+    private static final Coffee COFFEE;
+
+    /**
+     * The advisory lock namespace of the {@link BrewRatioSketches} class.
+     */
+    private static final int LOCK_NAMESPACE;
+
+    /**
+     * The number of brews fetched per round trip when a sketch is rebuilt.
+     */
+    private static final int FETCH_SIZE;
+
+    static {
+        BREW_RATIO_SKETCH = DSL.table(DSL.name("brew_ratio_sketch"));
+
+        USER_ID = DSL.field(DSL.name("brew_ratio_sketch", "user_id"), SQLDataType.INTEGER);
+
+        COFFEE_ID = DSL.field(DSL.name("brew_ratio_sketch", "coffee_id"), SQLDataType.INTEGER);
+
+        SKETCH = DSL.field(DSL.name("brew_ratio_sketch", "sketch"), SQLDataType.BLOB);
+
+        BREW = Brew.BREW;
+
+        COFFEE = Coffee.COFFEE;
+
+        LOCK_NAMESPACE = 27;
+
+        FETCH_SIZE = 1_000;
+    } //static
+
+    /**
+     * Throws an {@link InstantiationException}, as an instance of the {@link BrewRatioSketches} class cannot be
+     * created.
+     *
+     * @throws InstantiationException if this constructor is invoked, as an instance of the {@link BrewRatioSketches}
+     * class cannot be created
+     */
+    private BrewRatioSketches() throws InstantiationException {
+        throw new InstantiationException("an instance of the BrewRatioSketches class cannot be created");
+    } //BrewRatioSketches
+
+    /**
+     * Returns the brew ratio of the specified masses, or {@code NaN} if the specified coffee mass is zero.
+     *
+     * @param coffeeMass the coffee mass in milligrams to be used in the operation
+     * @param waterMass the water mass in milligrams to be used in the operation
+     * @return the brew ratio of the specified masses, or {@code NaN} if the specified coffee mass is zero
+     */
+    public static float getRatio(int coffeeMass, int waterMass) {
+        if (coffeeMass == 0) {
+            return Float.NaN;
+        } //end if
+
+        return (float) ((double) waterMass / coffeeMass);
+    } //getRatio
+
+    /**
+     * Acquires the sketch lock of the user with the specified ID for the remainder of the current transaction.
+     *
+     * @param context the transactional context to be used in the operation
+     * @param userId the user ID to be used in the operation
+     * @throws NullPointerException if the specified context is {@code null}
+     */
+    public static void lock(DSLContext context, int userId) {
+        Objects.requireNonNull(context, "the specified context is null");
+
+        context.execute("select pg_advisory_xact_lock(?, ?)", LOCK_NAMESPACE, userId);
+    } //lock
+
+    /**
+     * Adds a brew with the specified masses to the sketch of the specified user and coffee. If the sketch does not
+     * exist yet, nothing is done, as it will be built from the {@code brew} table when it is first read. The caller
+     * must hold the user's sketch lock.
+     *
+     * @param context the transactional context to be used in the operation
+     * @param userId the user ID to be used in the operation
+     * @param coffeeId the coffee ID to be used in the operation
+     * @param coffeeMass the coffee mass in milligrams to be used in the operation
+     * @param waterMass the water mass in milligrams to be used in the operation
+     * @throws NullPointerException if the specified context is {@code null}
+     */
+    public static void add(DSLContext context, int userId, int coffeeId, int coffeeMass, int waterMass) {
+        Objects.requireNonNull(context, "the specified context is null");
+
+        float ratio = BrewRatioSketches.getRatio(coffeeMass, waterMass);
+
+        byte[] bytes = context.select(SKETCH)
+                              .from(BREW_RATIO_SKETCH)
+                              .where(USER_ID.eq(userId))
+                              .and(COFFEE_ID.eq(coffeeId))
+                              .fetchOne(SKETCH);
+
+        if (bytes == null) {
+            return;
+        } //end if
+
+        KllSketch sketch = KllSketch.fromByteArray(bytes);
+
+        sketch.update(ratio);
+
+        context.update(BREW_RATIO_SKETCH)
+               .set(SKETCH, sketch.toByteArray())
+               .where(USER_ID.eq(userId))
+               .and(COFFEE_ID.eq(coffeeId))
+               .execute();
+    } //add
+
+    /**
+     * Discards every sketch of the user with the specified ID. This must be invoked when brews of more than one coffee
+     * may change at once. The caller must hold the user's sketch lock.
+     *
+     * @param context the transactional context to be used in the operation
+     * @param userId the user ID to be used in the operation
+     * @throws NullPointerException if the specified context is {@code null}
+     */
+    public static void invalidate(DSLContext context, int userId) {
+        Objects.requireNonNull(context, "the specified context is null");
+
+        context.deleteFrom(BREW_RATIO_SKETCH)
+               .where(USER_ID.eq(userId))
+               .execute();
+    } //invalidate
+
+    /**
+     * Discards the sketches affected by a change to the brew with the specified ID, namely the sketch of its current
+     * coffee and, if it is not {@code null}, the sketch of the specified new coffee. This must be invoked before the
+     * brew is changed. The caller must hold the user's sketch lock.
+     *
+     * @param context the transactional context to be used in the operation
+     * @param userId the user ID to be used in the operation
+     * @param brewId the brew ID to be used in the operation
+     * @param newCoffeeId the new coffee ID to be used in the operation, or {@code null} if the coffee is unchanged
+     * @throws NullPointerException if the specified context is {@code null}
+     */
+    public static void invalidate(DSLContext context, int userId, int brewId, Integer newCoffeeId) {
+        Objects.requireNonNull(context, "the specified context is null");
+
+        Condition condition = COFFEE_ID.in(DSL.select(BREW.COFFEE_ID)
+                                              .from(BrewArchive.ALL_BREWS)
+                                              .where(BREW.ID.eq(brewId))
+                                              .and(BREW.USER_ID.eq(userId)));
+
+        if (newCoffeeId != null) {
+            condition = condition.or(COFFEE_ID.eq(newCoffeeId));
+        } //end if
+
+        context.deleteFrom(BREW_RATIO_SKETCH)
+               .where(USER_ID.eq(userId))
+               .and(condition)
+               .execute();
+    } //invalidate
+
+    /**
+     * Builds and stores the sketches of the user with the specified ID for every coffee of theirs that matches the
+     * specified condition. Brews of deleted equipment are left out. The caller must hold the user's sketch lock.
+     *
+     * @param context the transactional context to be used in the operation
+     * @param userId the user ID to be used in the operation
+     * @param missingCondition the condition selecting the coffees without a sketch
+     */
+    private static void build(DSLContext context, int userId, Condition missingCondition) {
+        List<Integer> coffeeIds = context.select(COFFEE.ID)
+                                         .from(COFFEE)
+                                         .where(missingCondition)
+                                         .fetch(COFFEE.ID);
+
+        if (coffeeIds.isEmpty()) {
+            return;
+        } //end if
+
+        Map<Integer, KllSketch> coffeeIdToSketch = new HashMap<>();
+
+        for (int coffeeId : coffeeIds) {
+            coffeeIdToSketch.put(coffeeId, new KllSketch());
+        } //end for
+
+        try (Cursor<Record3<Integer, Integer, Integer>> cursor = context.select(BREW.COFFEE_ID,
+                                                                                Masses.COFFEE_MASS_MG,
+                                                                                Masses.WATER_MASS_MG)
+                                                                        .from(BrewArchive.ALL_BREWS)
+                                                                        .where(BREW.USER_ID.eq(userId))
+                                                                        .and(BREW.COFFEE_ID.in(coffeeIds))
+                                                                        .and(Deletions.isBrewNotDeleted(userId))
+                                                                        .fetchSize(FETCH_SIZE)
+                                                                        .fetchLazy()) {
+            for (Record3<Integer, Integer, Integer> record : cursor) {
+                KllSketch sketch = coffeeIdToSketch.get(record.value1());
+
+                float ratio = BrewRatioSketches.getRatio(record.value2(), record.value3());
+
+                sketch.update(ratio);
+            } //end for
+        } //end try
+
+        coffeeIdToSketch.forEach((coffeeId, sketch) -> context.insertInto(BREW_RATIO_SKETCH)
+                                                              .set(USER_ID, userId)
+                                                              .set(COFFEE_ID, coffeeId)
+                                                              .set(SKETCH, sketch.toByteArray())
+                                                              .onConflictDoNothing()
+                                                              .execute());
+    } //build
+
+    /**
+     * Returns the sketches of the user with the specified ID, keyed by coffee ID. Missing sketches are built first,
+     * except for deleted coffees.
+     *
+     * @param context the context to be used in the operation
+     * @param userId the user ID to be used in the operation
+     * @return the sketches of the user with the specified ID, keyed by coffee ID
+     * @throws NullPointerException if the specified context is {@code null}
+     * @throws IllegalArgumentException if a stored sketch is malformed
+     */
+    public static Map<Integer, KllSketch> read(DSLContext context, int userId) {
+        Objects.requireNonNull(context, "the specified context is null");
+
+        Condition missingCondition = COFFEE.USER_ID.eq(userId)
+                                                   .and(Deletions.isNotDeleted(COFFEE))
+                                                   .andNotExists(DSL.selectOne()
+                                                                    .from(BREW_RATIO_SKETCH)
+                                                                    .where(USER_ID.eq(userId))
+                                                                    .and(COFFEE_ID.eq(COFFEE.ID)));
+
+        if (context.fetchExists(COFFEE, missingCondition)) {
+            context.transaction(configuration -> {
+                DSLContext transactionContext = DSL.using(configuration);
+
+                BrewRatioSketches.lock(transactionContext, userId);
+
+                BrewRatioSketches.build(transactionContext, userId, missingCondition);
+            });
+        } //end if
+
+        Result<Record2<Integer, byte[]>> result = context.select(COFFEE_ID, SKETCH)
+                                                         .from(BREW_RATIO_SKETCH)
+                                                         .where(USER_ID.eq(userId))
+                                                         .fetch();
+
+        Map<Integer, KllSketch> coffeeIdToSketch = new HashMap<>();
+
+        for (Record2<Integer, byte[]> record : result) {
+            KllSketch sketch = KllSketch.fromByteArray(record.value2());
+
+            coffeeIdToSketch.put(record.value1(), sketch);
+        } //end for
+
+        return coffeeIdToSketch;
+    } //read
+}
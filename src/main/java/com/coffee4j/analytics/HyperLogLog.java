@@ -0,0 +1,261 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Logan Kulinski
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.coffee4j.analytics;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * A HyperLogLog sketch used to estimate the number of distinct values added to it. Small sketches store their hashes
+ * exactly, and switch to {@code 2^precision} registers once they outgrow a few cache lines, so that sketches of rare
+ * values stay cheap. The relative standard error of the dense estimate is {@code 1.04 / sqrt(2^precision)}. Instances of
+ * this class are not thread-safe.
+ *
+ * @author Logan Kulinski, rashes_lineage02@icloud.com
+ * @version October 18, 2026
+ */
+public final class HyperLogLog {
+    /**
+     * The default precision of the {@link HyperLogLog} class.
+     */
+    public static final int DEFAULT_PRECISION;
+
+    /**
+     * The maximum number of exactly stored hashes of the {@link HyperLogLog} class.
+     */
+    private static final int SPARSE_LIMIT;
+
+    static {
+        DEFAULT_PRECISION = 12;
+
+        SPARSE_LIMIT = 64;
+    } //static
+
+    /**
+     * The precision of this sketch.
+     */
+    private final int precision;
+
+    /**
+     * The exactly stored hashes of this sketch, or {@code null} if it is dense.
+     */
+    private long[] hashes;
+
+    /**
+     * The number of exactly stored hashes of this sketch.
+     */
+    private int hashCount;
+
+    /**
+     * The registers of this sketch, or {@code null} if it is sparse.
+     */
+    private byte[] registers;
+
+    /**
+     * Constructs an instance of the {@link HyperLogLog} class using the specified precision.
+     *
+     * @param precision the precision to be used in construction
+     * @throws IllegalArgumentException if the specified precision is less than {@code 4} or greater than {@code 18}
+     */
+    public HyperLogLog(int precision) {
+        if ((precision < 4) || (precision > 18)) {
+            throw new IllegalArgumentException("the specified precision is out of range");
+        } //end if
+
+        this.precision = precision;
+
+        this.hashes = new long[8];
+
+        this.hashCount = 0;
+
+        this.registers = null;
+    } //HyperLogLog
+
+    /**
+     * Constructs an instance of the {@link HyperLogLog} class using the default precision.
+     */
+    public HyperLogLog() {
+        this(DEFAULT_PRECISION);
+    } //HyperLogLog
+
+    /**
+     * Returns a well-mixed 64-bit hash of the specified value.
+     *
+     * @param value the value to be used in the operation
+     * @return a well-mixed 64-bit hash of the specified value
+     */
+    public static long hash(long value) {
+        long hash = value;
+
+        hash ^= hash >>> 33;
+
+        hash *= 0xFF51AFD7ED558CCDL;
+
+        hash ^= hash >>> 33;
+
+        hash *= 0xC4CEB9FE1A85EC53L;
+
+        hash ^= hash >>> 33;
+
+        return hash;
+    } //hash
+
+    /**
+     * Updates the register selected by the specified hash.
+     *
+     * @param hash the hash to be used in the operation
+     */
+    private void addToRegisters(long hash) {
+        int index = (int) (hash >>> (Long.SIZE - this.precision));
+
+        long remainder = hash << this.precision;
+
+        int maxRank = Long.SIZE - this.precision + 1;
+
+        int rank = Math.min(Long.numberOfLeadingZeros(remainder) + 1, maxRank);
+
+        if (rank > this.registers[index]) {
+            this.registers[index] = (byte) rank;
+        } //end if
+    } //addToRegisters
+
+    /**
+     * Switches this sketch from exactly stored hashes to registers.
+     */
+    private void densify() {
+        if (this.registers != null) {
+            return;
+        } //end if
+
+        this.registers = new byte[1 << this.precision];
+
+        for (int i = 0; i < this.hashCount; i++) {
+            this.addToRegisters(this.hashes[i]);
+        } //end for
+
+        this.hashes = null;
+
+        this.hashCount = 0;
+    } //densify
+
+    /**
+     * Adds the specified hash to this sketch.
+     *
+     * @param hash the hash to be used in the operation
+     */
+    public void add(long hash) {
+        if (this.registers != null) {
+            this.addToRegisters(hash);
+
+            return;
+        } //end if
+
+        for (int i = 0; i < this.hashCount; i++) {
+            if (this.hashes[i] == hash) {
+                return;
+            } //end if
+        } //end for
+
+        if (this.hashCount == SPARSE_LIMIT) {
+            this.densify();
+
+            this.addToRegisters(hash);
+
+            return;
+        } //end if
+
+        if (this.hashCount == this.hashes.length) {
+            this.hashes = Arrays.copyOf(this.hashes, this.hashes.length * 2);
+        } //end if
+
+        this.hashes[this.hashCount] = hash;
+
+        this.hashCount++;
+    } //add
+
+    /**
+     * Merges the specified sketch into this sketch. The specified sketch is not modified.
+     *
+     * @param other the sketch to be used in the operation
+     * @throws NullPointerException if the specified sketch is {@code null}
+     * @throws IllegalArgumentException if the specified sketch has a different precision
+     */
+    public void merge(HyperLogLog other) {
+        Objects.requireNonNull(other, "the specified sketch is null");
+
+        if (other.precision != this.precision) {
+            throw new IllegalArgumentException("the specified sketch has a different precision");
+        } //end if
+
+        if (other.registers == null) {
+            for (int i = 0; i < other.hashCount; i++) {
+                this.add(other.hashes[i]);
+            } //end for
+
+            return;
+        } //end if
+
+        this.densify();
+
+        for (int i = 0; i < this.registers.length; i++) {
+            this.registers[i] = (byte) Math.max(this.registers[i], other.registers[i]);
+        } //end for
+    } //merge
+
+    /**
+     * Returns the estimated number of distinct values added to this sketch.
+     *
+     * @return the estimated number of distinct values added to this sketch
+     */
+    public long estimate() {
+        if (this.registers == null) {
+            return this.hashCount;
+        } //end if
+
+        int registerCount = this.registers.length;
+
+        double sum = 0.0;
+
+        int zeroCount = 0;
+
+        for (byte register : this.registers) {
+            sum += Math.scalb(1.0, -register);
+
+            if (register == 0) {
+                zeroCount++;
+            } //end if
+        } //end for
+
+        double alpha = 0.7213 / (1.0 + (1.079 / registerCount));
+
+        double estimate = alpha * registerCount * registerCount / sum;
+
+        if ((estimate <= (2.5 * registerCount)) && (zeroCount > 0)) {
+            estimate = registerCount * Math.log((double) registerCount / zeroCount);
+        } //end if
+
+        return Math.round(estimate);
+    } //estimate
+}
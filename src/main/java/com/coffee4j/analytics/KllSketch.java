@@ -0,0 +1,482 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Logan Kulinski
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.coffee4j.analytics;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.random.RandomGenerator;
+
+/**
+ * A KLL quantile sketch of {@code float} values. A sketch retains a bounded number of items in levels of compactors,
+ * where an item in level {@code h} stands for {@code 2^h} inserted values. Sketches can be merged and serialized, and
+ * estimate any quantile with a normalized rank error of about {@link #getNormalizedRankError()}. Instances of this class
+ * are not thread-safe.
+ *
+ * @author Logan Kulinski, rashes_lineage02@icloud.com
+ * @version October 18, 2026
+ */
+public final class KllSketch {
+    /**
+     * The default accuracy parameter of the {@link KllSketch} class.
+     */
+    public static final int DEFAULT_K;
+
+    /**
+     * The factor by which the capacity of each level shrinks relative to the level above it.
+     */
+    private static final double CAPACITY_DECAY;
+
+    /**
+     * The minimum capacity of a level of the {@link KllSketch} class.
+     */
+    private static final int MIN_CAPACITY;
+
+    /**
+     * The serial version of the {@link KllSketch} class.
+     */
+    private static final byte SERIAL_VERSION;
+
+    static {
+        DEFAULT_K = 200;
+
+        CAPACITY_DECAY = 2.0 / 3.0;
+
+        MIN_CAPACITY = 8;
+
+        SERIAL_VERSION = 1;
+    } //static
+
+    /**
+     * The accuracy parameter of this sketch.
+     */
+    private final int k;
+
+    /**
+     * The levels of this sketch.
+     */
+    private final List<float[]> levels;
+
+    /**
+     * The number of items in each level of this sketch.
+     */
+    private int[] levelSizes;
+
+    /**
+     * The number of retained items of this sketch.
+     */
+    private int retainedCount;
+
+    /**
+     * The number of retained items that triggers a compaction of this sketch.
+     */
+    private int maxRetainedCount;
+
+    /**
+     * The number of values inserted into this sketch.
+     */
+    private long count;
+
+    /**
+     * The random generator of this sketch.
+     */
+    private final RandomGenerator generator;
+
+    /**
+     * Constructs an instance of the {@link KllSketch} class using the specified accuracy parameter.
+     *
+     * @param k the accuracy parameter to be used in construction
+     * @throws IllegalArgumentException if the specified accuracy parameter is less than {@code 8} or greater than
+     * {@code 65535}
+     */
+    public KllSketch(int k) {
+        if ((k < MIN_CAPACITY) || (k > 0xFFFF)) {
+            throw new IllegalArgumentException("the specified accuracy parameter is out of range");
+        } //end if
+
+        this.k = k;
+
+        this.levels = new ArrayList<>();
+
+        this.levelSizes = new int[0];
+
+        this.retainedCount = 0;
+
+        this.maxRetainedCount = 0;
+
+        this.count = 0;
+
+        this.generator = RandomGenerator.getDefault();
+
+        this.grow();
+    } //KllSketch
+
+    /**
+     * Constructs an instance of the {@link KllSketch} class using the default accuracy parameter.
+     */
+    public KllSketch() {
+        this(DEFAULT_K);
+    } //KllSketch
+
+    /**
+     * Returns the accuracy parameter of this sketch.
+     *
+     * @return the accuracy parameter of this sketch
+     */
+    public int getK() {
+        return this.k;
+    } //getK
+
+    /**
+     * Returns the number of values inserted into this sketch.
+     *
+     * @return the number of values inserted into this sketch
+     */
+    public long getCount() {
+        return this.count;
+    } //getCount
+
+    /**
+     * Returns whether this sketch is empty.
+     *
+     * @return {@code true}, if this sketch is empty and {@code false} otherwise
+     */
+    public boolean isEmpty() {
+        return this.count == 0;
+    } //isEmpty
+
+    /**
+     * Returns the normalized rank error of this sketch, at 99% confidence. The constants are the empirical fit
+     * published for KLL sketches with the same capacity schedule.
+     *
+     * @return the normalized rank error of this sketch
+     */
+    public double getNormalizedRankError() {
+        return 2.296 / Math.pow(this.k, 0.9723);
+    } //getNormalizedRankError
+
+    /**
+     * Returns the capacity of the level at the specified height.
+     *
+     * @param height the height to be used in the operation
+     * @return the capacity of the level at the specified height
+     */
+    private int getCapacity(int height) {
+        int depth = this.levels.size() - height - 1;
+
+        int capacity = (int) Math.ceil(this.k * Math.pow(CAPACITY_DECAY, depth));
+
+        return Math.max(capacity, MIN_CAPACITY);
+    } //getCapacity
+
+    /**
+     * Adds a new top level to this sketch.
+     */
+    private void grow() {
+        this.levels.add(new float[MIN_CAPACITY]);
+
+        this.levelSizes = Arrays.copyOf(this.levelSizes, this.levels.size());
+
+        int maxRetainedCount = 0;
+
+        for (int height = 0; height < this.levels.size(); height++) {
+            maxRetainedCount += this.getCapacity(height);
+        } //end for
+
+        this.maxRetainedCount = maxRetainedCount;
+    } //grow
+
+    /**
+     * Appends the specified value to the level at the specified height.
+     *
+     * @param height the height to be used in the operation
+     * @param value the value to be used in the operation
+     */
+    private void append(int height, float value) {
+        float[] level = this.levels.get(height);
+
+        int size = this.levelSizes[height];
+
+        if (size == level.length) {
+            level = Arrays.copyOf(level, size * 2);
+
+            this.levels.set(height, level);
+        } //end if
+
+        level[size] = value;
+
+        this.levelSizes[height] = size + 1;
+
+        this.retainedCount++;
+    } //append
+
+    /**
+     * Compacts the lowest level of this sketch that is at capacity, promoting every other item of it to the level above.
+     */
+    private void compress() {
+        for (int height = 0; height < this.levels.size(); height++) {
+            int size = this.levelSizes[height];
+
+            if (size < this.getCapacity(height)) {
+                continue;
+            } //end if
+
+            if ((height + 1) == this.levels.size()) {
+                this.grow();
+            } //end if
+
+            float[] level = this.levels.get(height);
+
+            Arrays.sort(level, 0, size);
+
+            //An odd item out stays behind, so the total weight is preserved exactly
+            int remaining = size % 2;
+
+            int offset = this.generator.nextBoolean() ? 1 : 0;
+
+            for (int i = remaining + offset; i < size; i += 2) {
+                this.append(height + 1, level[i]);
+            } //end for
+
+            this.levelSizes[height] = remaining;
+
+            this.retainedCount -= size - remaining;
+
+            return;
+        } //end for
+    } //compress
+
+    /**
+     * Inserts the specified value into this sketch. {@code NaN} values are ignored.
+     *
+     * @param value the value to be used in the operation
+     */
+    public void update(float value) {
+        if (Float.isNaN(value)) {
+            return;
+        } //end if
+
+        this.append(0, value);
+
+        this.count++;
+
+        if (this.retainedCount >= this.maxRetainedCount) {
+            this.compress();
+        } //end if
+    } //update
+
+    /**
+     * Merges the specified sketch into this sketch. The specified sketch is not modified.
+     *
+     * @param other the sketch to be used in the operation
+     * @throws NullPointerException if the specified sketch is {@code null}
+     * @throws IllegalArgumentException if the specified sketch has a different accuracy parameter
+     */
+    public void merge(KllSketch other) {
+        Objects.requireNonNull(other, "the specified sketch is null");
+
+        if (other.k != this.k) {
+            throw new IllegalArgumentException("the specified sketch has a different accuracy parameter");
+        } //end if
+
+        while (this.levels.size() < other.levels.size()) {
+            this.grow();
+        } //end while
+
+        for (int height = 0; height < other.levels.size(); height++) {
+            float[] level = other.levels.get(height);
+
+            int size = other.levelSizes[height];
+
+            for (int i = 0; i < size; i++) {
+                this.append(height, level[i]);
+            } //end for
+        } //end for
+
+        this.count += other.count;
+
+        while (this.retainedCount >= this.maxRetainedCount) {
+            this.compress();
+        } //end while
+    } //merge
+
+    /**
+     * Returns the estimated values at the specified quantiles of this sketch. Each estimate is {@code NaN} if this
+     * sketch is empty.
+     *
+     * @param quantiles the quantiles to be used in the operation, each in the range {@code [0, 1]}
+     * @return the estimated values at the specified quantiles of this sketch
+     * @throws NullPointerException if the specified array of quantiles is {@code null}
+     * @throws IllegalArgumentException if a specified quantile is out of range
+     */
+    public float[] getQuantiles(double... quantiles) {
+        Objects.requireNonNull(quantiles, "the specified array of quantiles is null");
+
+        float[] estimates = new float[quantiles.length];
+
+        for (double quantile : quantiles) {
+            if (!(quantile >= 0.0) || (quantile > 1.0)) {
+                throw new IllegalArgumentException("a specified quantile is out of range");
+            } //end if
+        } //end for
+
+        if (this.count == 0) {
+            Arrays.fill(estimates, Float.NaN);
+
+            return estimates;
+        } //end if
+
+        float[] values = new float[this.retainedCount];
+
+        long[] weights = new long[this.retainedCount];
+
+        Integer[] order = new Integer[this.retainedCount];
+
+        int index = 0;
+
+        for (int height = 0; height < this.levels.size(); height++) {
+            float[] level = this.levels.get(height);
+
+            int size = this.levelSizes[height];
+
+            for (int i = 0; i < size; i++) {
+                values[index] = level[i];
+
+                weights[index] = 1L << height;
+
+                order[index] = index;
+
+                index++;
+            } //end for
+        } //end for
+
+        Arrays.sort(order, (a, b) -> Float.compare(values[a], values[b]));
+
+        for (int i = 0; i < quantiles.length; i++) {
+            double targetRank = quantiles[i] * this.count;
+
+            long cumulativeWeight = 0;
+
+            float estimate = values[order[order.length - 1]];
+
+            for (int position : order) {
+                cumulativeWeight += weights[position];
+
+                if (cumulativeWeight >= targetRank) {
+                    estimate = values[position];
+
+                    break;
+                } //end if
+            } //end for
+
+            estimates[i] = estimate;
+        } //end for
+
+        return estimates;
+    } //getQuantiles
+
+    /**
+     * Returns the serialized form of this sketch.
+     *
+     * @return the serialized form of this sketch
+     */
+    public byte[] toByteArray() {
+        int size = Byte.BYTES + Short.BYTES + Long.BYTES + Byte.BYTES;
+
+        size += this.levels.size() * Integer.BYTES;
+
+        size += this.retainedCount * Float.BYTES;
+
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+
+        buffer.put(SERIAL_VERSION)
+              .putShort((short) this.k)
+              .putLong(this.count)
+              .put((byte) this.levels.size());
+
+        for (int height = 0; height < this.levels.size(); height++) {
+            float[] level = this.levels.get(height);
+
+            int levelSize = this.levelSizes[height];
+
+            buffer.putInt(levelSize);
+
+            for (int i = 0; i < levelSize; i++) {
+                buffer.putFloat(level[i]);
+            } //end for
+        } //end for
+
+        return buffer.array();
+    } //toByteArray
+
+    /**
+     * Returns a sketch using the specified serialized form.
+     *
+     * @param bytes the serialized form to be used in the operation
+     * @return a sketch using the specified serialized form
+     * @throws NullPointerException if the specified serialized form is {@code null}
+     * @throws IllegalArgumentException if the specified serialized form is malformed
+     */
+    public static KllSketch fromByteArray(byte[] bytes) {
+        Objects.requireNonNull(bytes, "the specified serialized form is null");
+
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+
+        try {
+            byte version = buffer.get();
+
+            if (version != SERIAL_VERSION) {
+                throw new IllegalArgumentException("the specified serialized form has an unknown version");
+            } //end if
+
+            int k = Short.toUnsignedInt(buffer.getShort());
+
+            KllSketch sketch = new KllSketch(k);
+
+            sketch.count = buffer.getLong();
+
+            int levelCount = buffer.get();
+
+            while (sketch.levels.size() < levelCount) {
+                sketch.grow();
+            } //end while
+
+            for (int height = 0; height < levelCount; height++) {
+                int levelSize = buffer.getInt();
+
+                for (int i = 0; i < levelSize; i++) {
+                    sketch.append(height, buffer.getFloat());
+                } //end for
+            } //end for
+
+            return sketch;
+        } catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException("the specified serialized form is malformed", e);
+        } //end try catch
+    } //fromByteArray
+}
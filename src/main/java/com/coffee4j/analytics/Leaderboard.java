@@ -0,0 +1,388 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Logan Kulinski
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.coffee4j.analytics;
+
+import com.coffee4j.Utilities;
+import com.coffee4j.archive.BrewArchive;
+import com.coffee4j.deletion.Deletions;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.jooq.Cursor;
+import org.jooq.DSLContext;
+import org.jooq.Field;
+import org.jooq.Record3;
+import org.jooq.Table;
+import org.jooq.exception.DataAccessException;
+import org.jooq.impl.DSL;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import schema.generated.tables.Brew;
+import schema.generated.tables.Brewer;
+import schema.generated.tables.Coffee;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.text.Normalizer;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.regex.Pattern;
+
+/**
+ * The cross-user popularity leaderboard of the Coffee4j application. Since equipment names are chosen by each user,
+ * names are normalized before they are compared. The distinct users of each normalized name are counted with a
+ * {@link HyperLogLog} sketch, and its brews are counted exactly. The leaderboard is refreshed periodically and served
+ * from an in-memory snapshot.
+ *
+ * @author Logan Kulinski, rashes_lineage02@icloud.com
+ * @version October 18, 2026
+ */
+@Component
+public final class Leaderboard {
+    /**
+     * An entry of a leaderboard.
+     *
+     * @param name the normalized name of this entry
+     * @param userCount the estimated number of distinct users of this entry
+     * @param brewCount the number of brews of this entry
+     */
+    public record Entry(String name, long userCount, long brewCount) {
+        /**
+         * Constructs an instance of the {@link Entry} class.
+         *
+         * @param name the name to be used in construction
+         * @param userCount the user count to be used in construction
+         * @param brewCount the brew count to be used in construction
+         */
+        public Entry {
+            Objects.requireNonNull(name, "the specified name is null");
+        } //Entry
+    } //Entry
+
+    /**
+     * The ranking of one kind of equipment of a leaderboard.
+     *
+     * @param byUsers the entries of this ranking ordered by distinct users
+     * @param byBrews the entries of this ranking ordered by brews
+     */
+    public record Ranking(List<Entry> byUsers, List<Entry> byBrews) {
+        /**
+         * Constructs an instance of the {@link Ranking} class.
+         *
+         * @param byUsers the entries ordered by distinct users to be used in construction
+         * @param byBrews the entries ordered by brews to be used in construction
+         */
+        public Ranking {
+            byUsers = List.copyOf(byUsers);
+
+            byBrews = List.copyOf(byBrews);
+        } //Ranking
+    } //Ranking
+
+    /**
+     * A snapshot of a leaderboard.
+     *
+     * @param refreshedAt the time at which this snapshot was taken
+     * @param coffees the coffee ranking of this snapshot
+     * @param brewers the brewer ranking of this snapshot
+     */
+    public record Snapshot(LocalDateTime refreshedAt, Ranking coffees, Ranking brewers) {
+        /**
+         * Constructs an instance of the {@link Snapshot} class.
+         *
+         * @param refreshedAt the time to be used in construction
+         * @param coffees the coffee ranking to be used in construction
+         * @param brewers the brewer ranking to be used in construction
+         */
+        public Snapshot {
+            Objects.requireNonNull(refreshedAt, "the specified time is null");
+
+            Objects.requireNonNull(coffees, "the specified coffee ranking is null");
+
+            Objects.requireNonNull(brewers, "the specified brewer ranking is null");
+        } //Snapshot
+    } //Snapshot
+
+    /**
+     * The maximum number of entries per ranking of the {@link Leaderboard} class.
+     */
+    public static final int MAX_ENTRIES;
+
+    /**
+     * The minimum number of distinct users of a name for it to be listed, so that no single user's naming is exposed.
+     */
+    private static final long MIN_USER_COUNT;
+
+    /**
+     * The number of equipment rows fetched per round trip during a refresh.
+     */
+    private static final int FETCH_SIZE;
+
+    /**
+     * The whitespace pattern of the {@link Leaderboard} class.
+     */
+    private static final Pattern WHITESPACE_PATTERN;
+
+    /**
+     * The combining mark pattern of the {@link Leaderboard} class.
+     */
+    private static final Pattern COMBINING_MARK_PATTERN;
+
+    /**
+     * The {@code brew} table of the {@link Leaderboard} class.
+     */
+    private static final Brew BREW;
+
+    /**
+     * The {@code coffee} table of the {@link Leaderboard} class.
+     */
+    private static final Coffee COFFEE;
+
+    /**
+     * The {@code brewer} table of the {@link Leaderboard} class.
+     */
+    private static final Brewer BREWER;
+
+    /**
+     * Whether the snapshot of the {@link Leaderboard} class is stale and due for an early refresh.
+     */
+    private static final AtomicBoolean STALE;
+
+    /**
+     * The {@link Logger} of the {@link Leaderboard} class.
+     */
+    private static final Logger LOGGER;
+
+    static {
+        MAX_ENTRIES = 100;
+
+        MIN_USER_COUNT = 3;
+
+        FETCH_SIZE = 1_000;
+
+        WHITESPACE_PATTERN = Pattern.compile("\\s+");
+
+        COMBINING_MARK_PATTERN = Pattern.compile("\\p{M}+");
+
+        BREW = Brew.BREW;
+
+        COFFEE = Coffee.COFFEE;
+
+        BREWER = Brewer.BREWER;
+
+        STALE = new AtomicBoolean();
+
+        LOGGER = LogManager.getLogger();
+    } //static
+
+    /**
+     * The current snapshot of this leaderboard, or {@code null} if it has not been refreshed yet.
+     */
+    private volatile Snapshot snapshot;
+
+    /**
+     * Returns the current snapshot of this leaderboard, or {@code null} if it has not been refreshed yet.
+     *
+     * @return the current snapshot of this leaderboard, or {@code null} if it has not been refreshed yet
+     */
+    public Snapshot getSnapshot() {
+        return this.snapshot;
+    } //getSnapshot
+
+    /**
+     * Returns the normalized form of the specified name. Case, accents, and surrounding or repeated whitespace are
+     * ignored.
+     *
+     * @param name the name to be used in the operation
+     * @return the normalized form of the specified name
+     * @throws NullPointerException if the specified name is {@code null}
+     */
+    public static String normalize(String name) {
+        Objects.requireNonNull(name, "the specified name is null");
+
+        String decomposedName = Normalizer.normalize(name, Normalizer.Form.NFKD);
+
+        String strippedName = COMBINING_MARK_PATTERN.matcher(decomposedName)
+                                                    .replaceAll("");
+
+        String collapsedName = WHITESPACE_PATTERN.matcher(strippedName.strip())
+                                                 .replaceAll(" ");
+
+        return collapsedName.toLowerCase(Locale.ROOT);
+    } //normalize
+
+    /**
+     * Counts the users and brews of each normalized name of the specified kind of equipment into the specified maps.
+     * Brews are first counted per equipment row in the database, so only one row per piece of equipment in use is
+     * streamed to the application. Brews of deleted users and equipment are not counted.
+     *
+     * @param context the transactional context to be used in the operation
+     * @param table the equipment table to be used in the operation
+     * @param idField the ID field of the equipment table to be used in the operation
+     * @param userIdField the user ID field of the equipment table to be used in the operation
+     * @param nameField the name field of the equipment table to be used in the operation
+     * @param brewField the field of the {@code brew} table referencing the equipment table
+     * @param nameToUsers the map from normalized name to distinct users to be added to
+     * @param nameToBrewCount the map from normalized name to brew count to be added to
+     */
+    private static void count(DSLContext context, Table<?> table, Field<Integer> idField, Field<Integer> userIdField,
+                              Field<String> nameField, Field<Integer> brewField, Map<String, HyperLogLog> nameToUsers,
+                              Map<String, Long> nameToBrewCount) {
+        Field<Integer> brewCountField = DSL.count();
+
+        try (Cursor<Record3<Integer, String, Integer>> cursor = context.select(userIdField, nameField, brewCountField)
+                                                                       .from(table)
+                                                                       .join(BrewArchive.ALL_BREWS)
+                                                                       .on(brewField.eq(idField))
+                                                                       .where(Deletions.isBrewNotDeleted())
+                                                                       .groupBy(idField, userIdField, nameField)
+                                                                       .fetchSize(FETCH_SIZE)
+                                                                       .fetchLazy()) {
+            for (Record3<Integer, String, Integer> record : cursor) {
+                String name = Leaderboard.normalize(record.value2());
+
+                long userHash = HyperLogLog.hash(record.value1());
+
+                nameToUsers.computeIfAbsent(name, key -> new HyperLogLog())
+                           .add(userHash);
+
+                nameToBrewCount.merge(name, (long) record.value3(), Long::sum);
+            } //end for
+        } //end try
+    } //count
+
+    /**
+     * Returns the ranking of the specified counts of a kind of equipment.
+     *
+     * @param nameToUsers the map from normalized name to distinct users to be used in the operation
+     * @param nameToBrewCount the map from normalized name to brew count to be used in the operation
+     * @return the ranking of the specified counts of a kind of equipment
+     */
+    private static Ranking getRanking(Map<String, HyperLogLog> nameToUsers, Map<String, Long> nameToBrewCount) {
+        List<Entry> entries = new ArrayList<>();
+
+        nameToUsers.forEach((name, users) -> {
+            long userCount = users.estimate();
+
+            if (userCount < MIN_USER_COUNT) {
+                return;
+            } //end if
+
+            long brewCount = nameToBrewCount.get(name);
+
+            Entry entry = new Entry(name, userCount, brewCount);
+
+            entries.add(entry);
+        });
+
+        Comparator<Entry> userComparator = Comparator.comparingLong(Entry::userCount)
+                                                     .thenComparingLong(Entry::brewCount)
+                                                     .reversed();
+
+        Comparator<Entry> brewComparator = Comparator.comparingLong(Entry::brewCount)
+                                                     .thenComparingLong(Entry::userCount)
+                                                     .reversed();
+
+        List<Entry> byUsers = entries.stream()
+                                     .sorted(userComparator)
+                                     .limit(MAX_ENTRIES)
+                                     .toList();
+
+        List<Entry> byBrews = entries.stream()
+                                     .sorted(brewComparator)
+                                     .limit(MAX_ENTRIES)
+                                     .toList();
+
+        return new Ranking(byUsers, byBrews);
+    } //getRanking
+
+    /**
+     * Marks the snapshot of the {@link Leaderboard} class as stale, so that it is refreshed within seconds rather than
+     * at the next scheduled refresh. This must be invoked when brews leave the counts at once, such as when a user or
+     * piece of equipment is deleted.
+     */
+    public static void invalidate() {
+        STALE.set(true);
+    } //invalidate
+
+    /**
+     * Refreshes the snapshot of this leaderboard if it has been marked as stale since the last refresh.
+     */
+    @Scheduled(initialDelay = 10, fixedDelay = 10, timeUnit = TimeUnit.SECONDS)
+    public void refreshIfStale() {
+        if (STALE.get()) {
+            this.refresh();
+        } //end if
+    } //refreshIfStale
+
+    /**
+     * Refreshes the snapshot of this leaderboard from every shard. Each shard is counted within a single transaction.
+     * If the refresh fails, the previous snapshot is kept.
+     */
+    @Scheduled(initialDelay = 0, fixedDelay = 10, timeUnit = TimeUnit.MINUTES)
+    public void refresh() {
+        STALE.set(false);
+
+        LocalDateTime refreshedAt = LocalDateTime.now(ZoneOffset.UTC);
+
+        Map<String, HyperLogLog> coffeeNameToUsers = new HashMap<>();
+
+        Map<String, Long> coffeeNameToBrewCount = new HashMap<>();
+
+        Map<String, HyperLogLog> brewerNameToUsers = new HashMap<>();
+
+        Map<String, Long> brewerNameToBrewCount = new HashMap<>();
+
+        for (int shard = 0; shard < Utilities.getShardCount(); shard++) {
+            try (Connection connection = Utilities.getShardConnection(shard)) {
+                DSLContext context = Utilities.getContext(connection);
+
+                context.transaction(configuration -> {
+                    DSLContext transactionContext = DSL.using(configuration);
+
+                    Leaderboard.count(transactionContext, COFFEE, COFFEE.ID, COFFEE.USER_ID, COFFEE.NAME,
+                                      BREW.COFFEE_ID, coffeeNameToUsers, coffeeNameToBrewCount);
+
+                    Leaderboard.count(transactionContext, BREWER, BREWER.ID, BREWER.USER_ID, BREWER.NAME,
+                                      BREW.BREWER_ID, brewerNameToUsers, brewerNameToBrewCount);
+                });
+            } catch (SQLException | DataAccessException e) {
+                LOGGER.atError()
+                      .withThrowable(e)
+                      .log();
+
+                return;
+            } //end try catch
+        } //end for
+
+        Ranking coffees = Leaderboard.getRanking(coffeeNameToUsers, coffeeNameToBrewCount);
+
+        Ranking brewers = Leaderboard.getRanking(brewerNameToUsers, brewerNameToBrewCount);
+
+        this.snapshot = new Snapshot(refreshedAt, coffees, brewers);
+    } //refresh
+}
@@ -0,0 +1,319 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Logan Kulinski
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.coffee4j.analytics;
+
+import com.coffee4j.Masses;
+import com.coffee4j.Utilities;
+import com.coffee4j.archive.BrewArchive;
+import com.coffee4j.deletion.Deletions;
+import org.jooq.Cursor;
+import org.jooq.DSLContext;
+import org.jooq.Record3;
+import org.jooq.Record9;
+import org.jooq.exception.DataAccessException;
+import org.jooq.impl.DSL;
+import schema.generated.tables.Brew;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.BiConsumer;
+import java.util.function.BinaryOperator;
+import java.util.function.Supplier;
+
+/**
+ * The parallel brew history scanner of the Coffee4j application. A scan folds every brew of a user, hot or archived,
+ * into an aggregate. Small histories are scanned sequentially over one connection. Larger histories are split by ID
+ * range into partitions that are fetched concurrently over pooled connections, and whose partial aggregates are
+ * combined in ID order on a dedicated fork-join pool. The scanner is configured by the
+ * {@code coffee4j.parallel-scan.threshold} and {@code coffee4j.parallel-scan.parallelism} properties.
+ *
+ * @author Logan Kulinski, rashes_lineage02@icloud.com
+ * @version October 18, 2026
+ */
+public final class ParallelBrewScanner {
+    /**
+     * A partition scan of a user's brew history.
+     *
+     * @param <A> the type of the aggregate of this task
+     */
+    private static final class ScanTask<A> extends RecursiveTask<A> {
+        /**
+         * The user ID of this task.
+         */
+        private final int userId;
+
+        /**
+         * The inclusive lower bound of the brew IDs of this task.
+         */
+        private final int minId;
+
+        /**
+         * The inclusive upper bound of the brew IDs of this task.
+         */
+        private final int maxId;
+
+        /**
+         * The estimated number of brews of this task.
+         */
+        private final long estimatedCount;
+
+        /**
+         * The supplier of empty aggregates of this task.
+         */
+        private final Supplier<A> supplier;
+
+        /**
+         * The accumulator of this task.
+         */
+        private final BiConsumer<A, BrewColumns.Row> accumulator;
+
+        /**
+         * The combiner of this task.
+         */
+        private final BinaryOperator<A> combiner;
+
+        /**
+         * Constructs an instance of the {@link ScanTask} class.
+         *
+         * @param userId the user ID to be used in construction
+         * @param minId the inclusive lower bound to be used in construction
+         * @param maxId the inclusive upper bound to be used in construction
+         * @param estimatedCount the estimated number of brews to be used in construction
+         * @param supplier the supplier to be used in construction
+         * @param accumulator the accumulator to be used in construction
+         * @param combiner the combiner to be used in construction
+         */
+        private ScanTask(int userId, int minId, int maxId, long estimatedCount, Supplier<A> supplier,
+                         BiConsumer<A, BrewColumns.Row> accumulator, BinaryOperator<A> combiner) {
+            this.userId = userId;
+
+            this.minId = minId;
+
+            this.maxId = maxId;
+
+            this.estimatedCount = estimatedCount;
+
+            this.supplier = supplier;
+
+            this.accumulator = accumulator;
+
+            this.combiner = combiner;
+        } //ScanTask
+
+        /**
+         * Scans the brews of this task, splitting it in half while it is larger than one partition.
+         *
+         * @return the aggregate of the brews of this task
+         * @throws DataAccessException if a database error occurs
+         */
+        @Override
+        protected A compute() {
+            if ((this.estimatedCount <= PARTITION_SIZE) || (this.minId == this.maxId)) {
+                try {
+                    return ParallelBrewScanner.scan(this.userId, this.minId, this.maxId, this.supplier,
+                                                    this.accumulator);
+                } catch (SQLException e) {
+                    throw new DataAccessException("a brew partition could not be scanned", e);
+                } //end try catch
+            } //end if
+
+            int middleId = (int) (((long) this.minId + this.maxId) / 2);
+
+            long halfCount = this.estimatedCount / 2;
+
+            ScanTask<A> lowerTask = new ScanTask<>(this.userId, this.minId, middleId, halfCount, this.supplier,
+                                                   this.accumulator, this.combiner);
+
+            ScanTask<A> upperTask = new ScanTask<>(this.userId, middleId + 1, this.maxId, halfCount, this.supplier,
+                                                   this.accumulator, this.combiner);
+
+            lowerTask.fork();
+
+            A upperAggregate = upperTask.compute();
+
+            A lowerAggregate = lowerTask.join();
+
+            return this.combiner.apply(lowerAggregate, upperAggregate);
+        } //compute
+    } //ScanTask
+
+    /**
+     * The number of brews below which a history is scanned sequentially.
+     */
+    private static final long SEQUENTIAL_THRESHOLD;
+
+    /**
+     * The target number of brews per partition of a parallel scan.
+     */
+    private static final long PARTITION_SIZE;
+
+    /**
+     * The fork-join pool of the {@link ParallelBrewScanner} class.
+     */
+    private static final ForkJoinPool POOL;
+
+    /**
+     * The number of brews fetched per round trip.
+     */
+    private static final int FETCH_SIZE;
+
+    /**
+     * The {@code brew} table of the {@link ParallelBrewScanner} class.
+     */
+    private static final Brew BREW;
+
+    static {
+        SEQUENTIAL_THRESHOLD = Utilities.getLongProperty("coffee4j.parallel-scan.threshold", 50_000);
+
+        int parallelism = (int) Utilities.getLongProperty("coffee4j.parallel-scan.parallelism", 4);
+
+        PARTITION_SIZE = Math.max(SEQUENTIAL_THRESHOLD / parallelism, 1);
+
+        POOL = new ForkJoinPool(parallelism);
+
+        FETCH_SIZE = 10_000;
+
+        BREW = Brew.BREW;
+    } //static
+
+    /**
+     * Throws an {@link InstantiationException}, as an instance of the {@link ParallelBrewScanner} class cannot be
+     * created.
+     *
+     * @throws InstantiationException if this constructor is invoked, as an instance of the {@link ParallelBrewScanner}
+     * class cannot be created
+     */
+    private ParallelBrewScanner() throws InstantiationException {
+        throw new InstantiationException("an instance of the ParallelBrewScanner class cannot be created");
+    } //ParallelBrewScanner
+
+    /**
+     * Scans the brews of the user with the specified ID in the specified ID range sequentially, in ID order.
+     *
+     * @param userId the user ID to be used in the operation
+     * @param minId the inclusive lower bound of the brew IDs to be used in the operation
+     * @param maxId the inclusive upper bound of the brew IDs to be used in the operation
+     * @param supplier the supplier of empty aggregates to be used in the operation
+     * @param accumulator the accumulator to be used in the operation
+     * @param <A> the type of the aggregate
+     * @return the aggregate of the brews in the specified ID range
+     * @throws SQLException if a connection could not be acquired
+     * @throws DataAccessException if a database error occurs
+     */
+    private static <A> A scan(int userId, int minId, int maxId, Supplier<A> supplier,
+                              BiConsumer<A, BrewColumns.Row> accumulator) throws SQLException {
+        A aggregate = supplier.get();
+
+        try (Connection connection = Utilities.getConnection(userId)) {
+            DSLContext context = Utilities.getContext(connection);
+
+            context.transaction(configuration -> {
+                DSLContext transactionContext = DSL.using(configuration);
+
+                try (Cursor<Record9<Integer, LocalDateTime, Integer, Integer, Integer, Integer, Integer, Integer,
+                    Integer>> cursor = transactionContext.select(BREW.ID, BREW.TIMESTAMP, BREW.COFFEE_ID,
+                                                                 BREW.WATER_ID, BREW.BREWER_ID, BREW.FILTER_ID,
+                                                                 BREW.VESSEL_ID, Masses.COFFEE_MASS_MG,
+                                                                 Masses.WATER_MASS_MG)
+                                                         .from(BrewArchive.ALL_BREWS)
+                                                         .where(BREW.USER_ID.eq(userId))
+                                                         .and(BREW.ID.between(minId, maxId))
+                                                         .and(Deletions.isBrewNotDeleted(userId))
+                                                         .orderBy(BREW.ID)
+                                                         .fetchSize(FETCH_SIZE)
+                                                         .fetchLazy()) {
+                    for (Record9<Integer, LocalDateTime, Integer, Integer, Integer, Integer, Integer, Integer,
+                        Integer> record : cursor) {
+                        BrewColumns.Row row = BrewColumnCache.getRow(record.value1(), record.value2(),
+                                                                     record.value3(), record.value4(),
+                                                                     record.value5(), record.value6(),
+                                                                     record.value7(), record.value8(),
+                                                                     record.value9());
+
+                        accumulator.accept(aggregate, row);
+                    } //end for
+                } //end try
+            });
+        } //end try
+
+        return aggregate;
+    } //scan
+
+    /**
+     * Folds every brew of the user with the specified ID into an aggregate, skipping brews of deleted equipment.
+     * Partial aggregates always cover contiguous ID ranges, and are combined with the lower range first.
+     *
+     * @param userId the user ID to be used in the operation
+     * @param supplier the supplier of empty aggregates to be used in the operation
+     * @param accumulator the accumulator to be used in the operation
+     * @param combiner the combiner to be used in the operation
+     * @param <A> the type of the aggregate
+     * @return the aggregate of every brew of the user with the specified ID
+     * @throws NullPointerException if the specified supplier, accumulator, or combiner is {@code null}
+     * @throws SQLException if a connection could not be acquired
+     * @throws DataAccessException if a database error occurs
+     */
+    public static <A> A aggregate(int userId, Supplier<A> supplier, BiConsumer<A, BrewColumns.Row> accumulator,
+                                  BinaryOperator<A> combiner) throws SQLException {
+        Objects.requireNonNull(supplier, "the specified supplier is null");
+
+        Objects.requireNonNull(accumulator, "the specified accumulator is null");
+
+        Objects.requireNonNull(combiner, "the specified combiner is null");
+
+        Record3<Integer, Integer, Integer> bounds;
+
+        try (Connection connection = Utilities.getConnection(userId)) {
+            DSLContext context = Utilities.getContext(connection);
+
+            bounds = context.select(DSL.min(BREW.ID), DSL.max(BREW.ID), DSL.count())
+                            .from(BrewArchive.ALL_BREWS)
+                            .where(BREW.USER_ID.eq(userId))
+                            .fetchOne();
+        } //end try
+
+        if ((bounds == null) || (bounds.value3() == 0)) {
+            return supplier.get();
+        } //end if
+
+        int minId = bounds.value1();
+
+        int maxId = bounds.value2();
+
+        long count = bounds.value3();
+
+        if (count < SEQUENTIAL_THRESHOLD) {
+            return ParallelBrewScanner.scan(userId, minId, maxId, supplier, accumulator);
+        } //end if
+
+        ScanTask<A> task = new ScanTask<>(userId, minId, maxId, count, supplier, accumulator, combiner);
+
+        return POOL.invoke(task);
+    } //aggregate
+}
@@ -0,0 +1,288 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Logan Kulinski
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.coffee4j.archive;
+
+import com.coffee4j.Utilities;
+import com.coffee4j.deletion.Deletions;
+import com.coffee4j.shard.Shards;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.jooq.DSLContext;
+import org.jooq.Field;
+import org.jooq.Record;
+import org.jooq.Record2;
+import org.jooq.Table;
+import org.jooq.exception.DataAccessException;
+import org.jooq.impl.DSL;
+import org.jooq.impl.SQLDataType;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import schema.generated.tables.Brew;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The brew archive of the Coffee4j application. Brews older than {@code coffee4j.archive.age-days} are periodically
+ * moved from the {@code brew} table into the {@code brew_archive} table, in batches of
+ * {@code coffee4j.archive.batch-size}. Only a prefix of each user's brews by ID is ever archived, so every archived
+ * brew of a user has a lower ID than every hot brew of that user. Reads that need older history query the archive
+ * through {@link #ARCHIVED_BREWS} or {@link #ALL_BREWS}, which are aliased as {@code brew} so that the fields of the
+ * {@code brew} table can be used unchanged.
+ *
+ * @author Logan Kulinski, rashes_lineage02@icloud.com
+ * @version October 18, 2026
+ */
+@Component
+@ConditionalOnProperty(name = "coffee4j.archive.enabled", matchIfMissing = true)
+public final class BrewArchive {
+    /**
+     * The archived brews of the {@link BrewArchive} class, aliased as {@code brew}.
+     */
+    public static final Table<Record> ARCHIVED_BREWS;
+
+    /**
+     * The hot and archived brews of the {@link BrewArchive} class, aliased as {@code brew}.
+     */
+    public static final Table<Record> ALL_BREWS;
+
+    /**
+     * The {@code brew_archive_user} table of the {@link BrewArchive} class.
+     */
+    private static final Table<Record> BREW_ARCHIVE_USER;
+
+    /**
+     * The {@code user_id} field of the {@code brew_archive_user} table of the {@link BrewArchive} class.
+     */
+    private static final Field<Integer> USER_ID;
+
+    /**
+     * The {@code brew_count} field of the {@code brew_archive_user} table of the {@link BrewArchive} class.
+     */
+    private static final Field<Integer> BREW_COUNT;
+
+    /**
+     * The {@code max_timestamp} field of the {@code brew_archive_user} table of the {@link BrewArchive} class.
+     */
+    private static final Field<LocalDateTime> MAX_TIMESTAMP;
+
+    /**
+     * The statement that moves a batch of a user's oldest brews below a cutoff ID into the archive.
+     */
+    private static final String MOVE_SQL;
+
+    /**
+     * The minimum age of an archived brew of the {@link BrewArchive} class, in days.
+     */
+    private static final long AGE_DAYS;
+
+    /**
+     * The number of brews moved per statement of the {@link BrewArchive} class.
+     */
+    private static final int BATCH_SIZE;
+
+    /**
+     * The advisory lock namespace of the {@link BrewArchive} class.
+     */
+    private static final int LOCK_NAMESPACE;
+
+    /**
+     * The {@code brew} table of the {@link BrewArchive} class.
+     */
+    private static final Brew BREW;
+
+    /**
+     * The {@link Logger} of the {@link BrewArchive} class.
+     */
+    private static final Logger LOGGER;
+
+    static {
+        ARCHIVED_BREWS = DSL.table(DSL.name("brew_archive"))
+                            .as(DSL.name("brew"));
+
+        ALL_BREWS = DSL.table(DSL.name("brew_all"))
+                       .as(DSL.name("brew"));
+
+        BREW_ARCHIVE_USER = DSL.table(DSL.name("brew_archive_user"));
+
+        USER_ID = DSL.field(DSL.name("brew_archive_user", "user_id"), SQLDataType.INTEGER);
+
+        BREW_COUNT = DSL.field(DSL.name("brew_archive_user", "brew_count"), SQLDataType.INTEGER);
+
+        MAX_TIMESTAMP = DSL.field(DSL.name("brew_archive_user", "max_timestamp"), SQLDataType.LOCALDATETIME);
+
+        String columns = "id, user_id, timestamp, coffee_id, water_id, brewer_id, filter_id, vessel_id, "
+            + "coffee_mass_mg, water_mass_mg";
+
+        MOVE_SQL = "with moved as (delete from brew where user_id = ? and id in (select id from brew where user_id = ? "
+            + "and id < ? order by id limit ?) returning " + columns + ") insert into brew_archive (" + columns
+            + ") select " + columns + " from moved";
+
+        AGE_DAYS = Utilities.getLongProperty("coffee4j.archive.age-days", 90);
+
+        BATCH_SIZE = (int) Utilities.getLongProperty("coffee4j.archive.batch-size", 10_000);
+
+        LOCK_NAMESPACE = 28;
+
+        BREW = Brew.BREW;
+
+        LOGGER = LogManager.getLogger();
+    } //static
+
+    /**
+     * Returns the number of visible archived brews of the user with the specified ID, as a scalar expression. The
+     * count kept in {@code brew_archive_user} is used unless the user has a pending deletion, in which case the archive
+     * is counted without the brews of deleted equipment.
+     *
+     * @param userId the user ID to be used in the operation
+     * @return the number of visible archived brews of the user with the specified ID, as a scalar expression
+     */
+    public static Field<Integer> getBrewCount(int userId) {
+        Field<Integer> storedCount = DSL.field(DSL.select(BREW_COUNT)
+                                                  .from(BREW_ARCHIVE_USER)
+                                                  .where(USER_ID.eq(userId)));
+
+        Field<Integer> visibleCount = DSL.field(DSL.selectCount()
+                                                   .from(ARCHIVED_BREWS)
+                                                   .where(BREW.USER_ID.eq(userId))
+                                                   .and(Deletions.isBrewNotDeleted(userId)));
+
+        return DSL.when(Deletions.hasPendingDeletion(userId), visibleCount)
+                  .otherwise(DSL.coalesce(storedCount, 0));
+    } //getBrewCount
+
+    /**
+     * Returns the brews that a read of the user with the specified ID from the specified time onwards must cover. The
+     * archive is only included if the user has an archived brew at or after the specified time, which is found using
+     * the user's latest archived timestamp rather than the archive itself.
+     *
+     * @param context the context to be used in the operation
+     * @param userId the user ID to be used in the operation
+     * @param from the inclusive lower bound of the timestamps to be used in the operation, or {@code null} if the read
+     * is unbounded
+     * @return the brews that a read of the user with the specified ID from the specified time onwards must cover
+     * @throws NullPointerException if the specified context is {@code null}
+     * @throws DataAccessException if a database error occurs
+     */
+    public static Table<?> getBrews(DSLContext context, int userId, LocalDateTime from) {
+        Objects.requireNonNull(context, "the specified context is null");
+
+        if (from == null) {
+            return ALL_BREWS;
+        } //end if
+
+        boolean archived = context.fetchExists(BREW_ARCHIVE_USER, USER_ID.eq(userId)
+                                                                         .and(MAX_TIMESTAMP.greaterOrEqual(from)));
+
+        return archived ? ALL_BREWS : BREW;
+    } //getBrews
+
+    /**
+     * Moves the brews of the user with the specified ID that are older than the specified time into the archive. The
+     * cutoff is the ID of the user's oldest brew at or after the specified time, so that only a prefix of the user's
+     * brews by ID is moved, and brews created during the move are never moved.
+     *
+     * @param context the context to be used in the operation
+     * @param userId the user ID to be used in the operation
+     * @param threshold the time to be used in the operation
+     * @return the number of brews moved
+     * @throws DataAccessException if a database error occurs
+     */
+    private static long archive(DSLContext context, int userId, LocalDateTime threshold) {
+        Record2<Integer, Integer> bounds = context.select(DSL.min(BREW.ID)
+                                                             .filterWhere(BREW.TIMESTAMP.greaterOrEqual(threshold)),
+                                                          DSL.max(BREW.ID))
+                                                  .from(BREW)
+                                                  .where(BREW.USER_ID.eq(userId))
+                                                  .fetchOne();
+
+        if ((bounds == null) || (bounds.value2() == null)) {
+            return 0;
+        } //end if
+
+        int cutoffId = (bounds.value1() == null) ? (bounds.value2() + 1) : bounds.value1();
+
+        long movedCount = 0;
+
+        int batchCount;
+
+        do {
+            batchCount = context.execute(MOVE_SQL, userId, userId, cutoffId, BATCH_SIZE);
+
+            movedCount += batchCount;
+        } while (batchCount == BATCH_SIZE);
+
+        return movedCount;
+    } //archive
+
+    /**
+     * Moves every brew older than the configured age into the archive, on every shard. Each batch is moved in its own
+     * statement, so a failure leaves every brew either hot or archived, and the next run continues where this one
+     * stopped. A shard is skipped while another node is archiving it.
+     */
+    @Scheduled(initialDelay = 5, fixedDelay = 60, timeUnit = TimeUnit.MINUTES)
+    public void archive() {
+        LocalDateTime threshold = LocalDateTime.now(ZoneOffset.UTC)
+                                               .minusDays(AGE_DAYS);
+
+        long movedCount = 0;
+
+        for (int shard = 0; shard < Utilities.getShardCount(); shard++) {
+            try (Connection homeConnection = Utilities.getConnection();
+                 Connection connection = Utilities.getShardConnection(shard)) {
+                DSLContext homeContext = Utilities.getContext(homeConnection);
+
+                List<Integer> userIds = Shards.getUserIds(homeContext, shard);
+
+                DSLContext context = Utilities.getContext(connection);
+
+                if (!Utilities.tryLock(context, LOCK_NAMESPACE, 0)) {
+                    continue;
+                } //end if
+
+                try {
+                    for (int userId : userIds) {
+                        movedCount += BrewArchive.archive(context, userId, threshold);
+                    } //end for
+                } finally {
+                    Utilities.unlock(context, LOCK_NAMESPACE, 0);
+                } //end try finally
+            } catch (SQLException | DataAccessException e) {
+                LOGGER.atError()
+                      .withThrowable(e)
+                      .log();
+            } //end try catch
+        } //end for
+
+        LOGGER.atInfo()
+              .log("Archived {} brews older than {}", movedCount, threshold);
+    } //archive
+}
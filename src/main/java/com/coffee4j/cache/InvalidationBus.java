@@ -0,0 +1,229 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Logan Kulinski
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package com.coffee4j.cache;
+
+import com.coffee4j.Utilities;
+import com.coffee4j.analytics.BrewColumnCache;
+import com.coffee4j.controller.BrewController;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.jooq.DSLContext;
+import org.jooq.exception.DataAccessException;
+import org.jooq.impl.DSL;
+import org.jooq.impl.SQLDataType;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.UUID;
+
+/**
+ * The cross-node cache invalidation bus of the Coffee4j application. Every version bump of the {@link ResultCache}
+ * class is published after its write has committed with a Postgres {@code NOTIFY} on the home database, and every node
+ * listens on a dedicated connection, advancing its versions and discarding the user's other cached data as
+ * notifications arrive. A node ignores its own notifications. Whenever the listener connects, notifications may have
+ * been missed, so every cache of the node is invalidated. The bus is configured by the
+ * {@code coffee4j.invalidation.enabled} and {@code coffee4j.invalidation.retry-ms} properties.
+ *
+ * @author Logan Kulinski, rashes_lineage02@icloud.com
+ * @version October 18, 2026
+ */
+@Component
+public final class InvalidationBus {
+    /**
+     * The notification channel of the {@link InvalidationBus} class.
+     */
+    private static final String CHANNEL;
+
+    /**
+     * Whether the {@link InvalidationBus} class is enabled.
+     */
+    private static final boolean ENABLED;
+
+    /**
+     * The delay before the listener reconnects after a failure of the {@link InvalidationBus} class, in milliseconds.
+     */
+    private static final long RETRY_MILLIS;
+
+    /**
+     * The maximum time a poll for notifications blocks of the {@link InvalidationBus} class, in milliseconds.
+     */
+    private static final int POLL_MILLIS;
+
+    /**
+     * The ID of this node of the {@link InvalidationBus} class.
+     */
+    private static final String NODE_ID;
+
+    /**
+     * The {@link Logger} of the {@link InvalidationBus} class.
+     */
+    private static final Logger LOGGER;
+
+    static {
+        CHANNEL = "coffee4j_invalidation";
+
+        ENABLED = Utilities.getBooleanProperty("coffee4j.invalidation.enabled", true);
+
+        RETRY_MILLIS = Utilities.getLongProperty("coffee4j.invalidation.retry-ms", 1_000);
+
+        POLL_MILLIS = 10_000;
+
+        NODE_ID = UUID.randomUUID()
+                      .toString();
+
+        LOGGER = LogManager.getLogger();
+    } //static
+
+    /**
+     * Constructs an instance of the {@link InvalidationBus} class, starting the listener of this node.
+     */
+    public InvalidationBus() {
+        if (!ENABLED || (Utilities.DATABASE_URL == null)) {
+            return;
+        } //end if
+
+        Thread thread = new Thread(InvalidationBus::listen, "coffee4j-invalidation");
+
+        thread.setDaemon(true);
+
+        thread.start();
+    } //InvalidationBus
+
+    /**
+     * Publishes the specified version of the table with the specified name of the user with the specified ID to the
+     * other nodes. A failure is logged, and leaves the other nodes' caches stale until their next write of the table.
+     *
+     * @param userId the user ID to be used in the operation
+     * @param tableName the table name to be used in the operation
+     * @param version the version to be used in the operation
+     */
+    static void publish(int userId, String tableName, long version) {
+        if (!ENABLED) {
+            return;
+        } //end if
+
+        String payload = "%s,%d,%s,%d".formatted(NODE_ID, userId, tableName, version);
+
+        try (Connection connection = Utilities.getConnection()) {
+            DSLContext context = Utilities.getContext(connection);
+
+            context.select(DSL.function("pg_notify", SQLDataType.VARCHAR, DSL.val(CHANNEL), DSL.val(payload)))
+                   .execute();
+        } catch (SQLException | DataAccessException e) {
+            LOGGER.atError()
+                  .withThrowable(e)
+                  .log();
+        } //end try catch
+    } //publish
+
+    /**
+     * Applies the specified notification payload of another node.
+     *
+     * @param payload the payload to be used in the operation
+     */
+    private static void receive(String payload) {
+        String[] parts = payload.split(",");
+
+        if ((parts.length != 4) || parts[0].equals(NODE_ID)) {
+            return;
+        } //end if
+
+        int userId;
+
+        long version;
+
+        try {
+            userId = Integer.parseInt(parts[1]);
+
+            version = Long.parseLong(parts[3]);
+        } catch (NumberFormatException e) {
+            LOGGER.atError()
+                  .withThrowable(e)
+                  .log();
+
+            return;
+        } //end try catch
+
+        ResultCache.advance(userId, parts[2], version);
+
+        BrewController.invalidateCaches(userId);
+
+        BrewColumnCache.invalidate(userId);
+
+        Utilities.recordWrite(userId);
+    } //receive
+
+    /**
+     * Listens for the notifications of the other nodes on a dedicated connection until this thread is interrupted,
+     * reconnecting after every failure.
+     */
+    private static void listen() {
+        while (!Thread.currentThread()
+                      .isInterrupted()) {
+            try (Connection connection = DriverManager.getConnection(Utilities.DATABASE_URL)) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + CHANNEL);
+                } //end try
+
+                ResultCache.advanceAll();
+
+                BrewController.invalidateAllCaches();
+
+                BrewColumnCache.invalidateAll();
+
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+
+                while (!Thread.currentThread()
+                              .isInterrupted()) {
+                    PGNotification[] notifications = pgConnection.getNotifications(POLL_MILLIS);
+
+                    if (notifications == null) {
+                        continue;
+                    } //end if
+
+                    for (PGNotification notification : notifications) {
+                        InvalidationBus.receive(notification.getParameter());
+                    } //end for
+                } //end while
+            } catch (SQLException e) {
+                LOGGER.atError()
+                      .withThrowable(e)
+                      .log();
+            } //end try catch
+
+            try {
+                Thread.sleep(RETRY_MILLIS);
+            } catch (InterruptedException e) {
+                return;
+            } //end try catch
+        } //end while
+    } //listen
+}
@@ -0,0 +1,473 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Logan Kulinski
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.coffee4j.cache;
+
+import com.coffee4j.Utilities;
+import com.coffee4j.events.CacheAccessEvent;
+import org.jooq.Table;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.context.request.ServletWebRequest;
+import schema.generated.tables.*;
+
+import javax.servlet.http.HttpServletResponse;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The per-user cache of read endpoint results of the Coffee4j application. A result is keyed by its user, the
+ * normalized parameters of its request, and the versions of the tables it was read from. Every create, update, or
+ * delete bumps the version of the written table for its user, so a stale result is never read again and ages out of
+ * the cache. Results are evicted least recently used first once the cache exceeds
+ * {@code coffee4j.result-cache.max-entries} entries or {@code coffee4j.result-cache.max-bytes} estimated bytes. A
+ * version is the time of the write in microseconds since the epoch, or later if the clock has not advanced, and a table
+ * that has not been written since the application started has the start time as its version. Every bump is published
+ * to the other nodes by the {@link InvalidationBus} class, which advances their versions in turn. The versions also
+ * serve as the validators of conditional reads, so an unchanged collection is answered without touching the database.
+ *
+ * @author Logan Kulinski, rashes_lineage02@icloud.com
+ * @version October 18, 2026
+ */
+public final class ResultCache {
+    /**
+     * A cached page of rows.
+     *
+     * @param rows the rows of this page
+     * @param rowCount the total number of rows of the collection of this page
+     */
+    public record Page(List<Map<String, Object>> rows, int rowCount) {
+        /**
+         * Constructs an instance of the {@link Page} class.
+         *
+         * @param rows the rows to be used in construction
+         * @param rowCount the row count to be used in construction
+         * @throws NullPointerException if the specified rows are {@code null}
+         */
+        public Page {
+            Objects.requireNonNull(rows, "the specified rows are null");
+
+            rows = List.copyOf(rows);
+        } //Page
+    } //Page
+
+    /**
+     * The key of a table version.
+     *
+     * @param userId the user ID of this key
+     * @param table the table name of this key
+     */
+    private record VersionKey(int userId, String table) {
+    } //VersionKey
+
+    /**
+     * The key of a cached page.
+     *
+     * @param userId the user ID of this key
+     * @param version the combined version of the tables of this key
+     * @param query the endpoint name and request parameters of this key
+     */
+    private record CacheKey(int userId, long version, List<?> query) {
+    } //CacheKey
+
+    /**
+     * The tables whose versions are tracked by the {@link ResultCache} class.
+     */
+    public static final List<Table<?>> TABLES;
+
+    /**
+     * Whether the {@link ResultCache} class is enabled.
+     */
+    private static final boolean ENABLED;
+
+    /**
+     * The maximum number of cached pages of the {@link ResultCache} class.
+     */
+    private static final int MAX_ENTRIES;
+
+    /**
+     * The memory budget of the {@link ResultCache} class, in estimated bytes.
+     */
+    private static final long MAX_BYTES;
+
+
+    /**
+     * The mapping from table version key to version of the {@link ResultCache} class.
+     */
+    private static final Map<VersionKey, Long> VERSIONS;
+
+    /**
+     * The cached pages of the {@link ResultCache} class, in access order. Guarded by the map itself.
+     */
+    private static final LinkedHashMap<CacheKey, Page> PAGES;
+
+    /**
+     * The mapping from cache key to estimated byte size of the {@link ResultCache} class. Guarded by
+     * {@link #PAGES}.
+     */
+    private static final Map<CacheKey, Long> KEY_TO_BYTES;
+
+    /**
+     * The estimated byte size of every cached page of the {@link ResultCache} class. Guarded by {@link #PAGES}.
+     */
+    private static long totalBytes;
+
+    /**
+     * The minimum version of every table of the {@link ResultCache} class, raised when versions may have been missed.
+     */
+    private static volatile long baseVersion;
+
+    static {
+        TABLES = List.of(Brew.BREW, Coffee.COFFEE, Water.WATER, Brewer.BREWER, Filter.FILTER, Vessel.VESSEL,
+                         User.USER);
+
+        ENABLED = Utilities.getBooleanProperty("coffee4j.result-cache.enabled", true);
+
+        MAX_ENTRIES = (int) Utilities.getLongProperty("coffee4j.result-cache.max-entries", 10_000);
+
+        MAX_BYTES = Utilities.getLongProperty("coffee4j.result-cache.max-bytes", 32L * 1_024 * 1_024);
+
+        VERSIONS = new ConcurrentHashMap<>();
+
+        PAGES = new LinkedHashMap<>(16, 0.75F, true);
+
+        KEY_TO_BYTES = new HashMap<>();
+
+        baseVersion = ResultCache.now();
+    } //static
+
+    /**
+     * Throws an {@link InstantiationException}, as an instance of the {@link ResultCache} class cannot be created.
+     *
+     * @throws InstantiationException if this constructor is invoked, as an instance of the {@link ResultCache} class
+     * cannot be created
+     */
+    private ResultCache() throws InstantiationException {
+        throw new InstantiationException("an instance of the ResultCache class cannot be created");
+    } //ResultCache
+
+    /**
+     * Returns the current time in microseconds since the epoch.
+     *
+     * @return the current time in microseconds since the epoch
+     */
+    private static long now() {
+        return ChronoUnit.MICROS.between(Instant.EPOCH, Instant.now());
+    } //now
+
+    /**
+     * Returns the version of the specified table of the user with the specified ID.
+     *
+     * @param userId the user ID to be used in the operation
+     * @param table the table to be used in the operation
+     * @return the version of the specified table of the user with the specified ID
+     * @throws NullPointerException if the specified table is {@code null}
+     */
+    public static long getVersion(int userId, Table<?> table) {
+        Objects.requireNonNull(table, "the specified table is null");
+
+        VersionKey key = new VersionKey(userId, table.getName());
+
+        Long version = VERSIONS.get(key);
+
+        return (version == null) ? baseVersion : Math.max(version, baseVersion);
+    } //getVersion
+
+    /**
+     * Returns the combined version of the specified tables of the user with the specified ID. As versions only
+     * increase, the combined version changes whenever any of the tables is written.
+     *
+     * @param userId the user ID to be used in the operation
+     * @param tables the tables to be used in the operation
+     * @return the combined version of the specified tables of the user with the specified ID
+     * @throws NullPointerException if the specified tables, or any of them, are {@code null}
+     */
+    public static long getVersion(int userId, List<? extends Table<?>> tables) {
+        Objects.requireNonNull(tables, "the specified tables are null");
+
+        long version = 0;
+
+        for (Table<?> table : tables) {
+            version += ResultCache.getVersion(userId, table);
+        } //end for
+
+        return version;
+    } //getVersion
+
+    /**
+     * Checks the specified request against the specified tables of the user with the specified ID, and sets the
+     * {@code ETag}, {@code Last-Modified}, and {@code Cache-Control} headers of its response. The entity tag is the
+     * user ID and the combined version of the tables, and the last modification time is the time of the latest of
+     * their versions. Only the entity tag is validated, as {@code If-Modified-Since} has a granularity of one second
+     * and would hide writes made later in the same second. This must be invoked before the tables are read, so that
+     * the validators never claim a newer state than the response holds.
+     *
+     * @param request the request to be used in the operation
+     * @param userId the user ID to be used in the operation
+     * @param tables the tables to be used in the operation
+     * @return {@code true} if the client's copy is current and a {@code 304 Not Modified} response is to be sent,
+     * and {@code false} otherwise
+     * @throws NullPointerException if the specified request or tables, or any of them, are {@code null}
+     */
+    public static boolean checkNotModified(ServletWebRequest request, int userId, List<? extends Table<?>> tables) {
+        Objects.requireNonNull(request, "the specified request is null");
+
+        Objects.requireNonNull(tables, "the specified tables are null");
+
+        long version = 0;
+
+        long latestVersion = 0;
+
+        for (Table<?> table : tables) {
+            long tableVersion = ResultCache.getVersion(userId, table);
+
+            version += tableVersion;
+
+            latestVersion = Math.max(latestVersion, tableVersion);
+        } //end for
+
+        String eTag = "W/\"%d-%d\"".formatted(userId, version);
+
+        long lastModified = TimeUnit.MICROSECONDS.toMillis(latestVersion);
+
+        boolean notModified = request.checkNotModified(eTag);
+
+        HttpServletResponse response = request.getResponse();
+
+        if (response != null) {
+            response.setHeader(HttpHeaders.CACHE_CONTROL, "private, no-cache");
+
+            response.setDateHeader(HttpHeaders.LAST_MODIFIED, lastModified);
+        } //end if
+
+        return notModified;
+    } //checkNotModified
+
+    /**
+     * Advances the version of the specified key to the specified version, or past its current version if that is not
+     * lower.
+     *
+     * @param key the key to be used in the operation
+     * @param version the version to be used in the operation
+     * @return the new version of the specified key
+     */
+    private static long advance(VersionKey key, long version) {
+        return VERSIONS.compute(key, (currentKey, currentVersion) -> {
+            long floor = (currentVersion == null) ? baseVersion : Math.max(currentVersion, baseVersion);
+
+            return Math.max(floor + 1, version);
+        });
+    } //advance
+
+    /**
+     * Bumps the version of the specified table of the user with the specified ID, after it has been written, and
+     * publishes the new version to the other nodes.
+     *
+     * @param userId the user ID to be used in the operation
+     * @param table the table to be used in the operation
+     * @return the new version of the specified table of the user with the specified ID
+     * @throws NullPointerException if the specified table is {@code null}
+     */
+    public static long bump(int userId, Table<?> table) {
+        Objects.requireNonNull(table, "the specified table is null");
+
+        VersionKey key = new VersionKey(userId, table.getName());
+
+        long version = ResultCache.advance(key, ResultCache.now());
+
+        InvalidationBus.publish(userId, table.getName(), version);
+
+        return version;
+    } //bump
+
+    /**
+     * Advances the version of the table with the specified name of the user with the specified ID, after another node
+     * has written it. The version always changes, even if the other node's clock is behind, so that no result read
+     * before the write is served again.
+     *
+     * @param userId the user ID to be used in the operation
+     * @param tableName the table name to be used in the operation
+     * @param version the version published by the other node
+     * @throws NullPointerException if the specified table name is {@code null}
+     */
+    public static void advance(int userId, String tableName, long version) {
+        Objects.requireNonNull(tableName, "the specified table name is null");
+
+        VersionKey key = new VersionKey(userId, tableName);
+
+        ResultCache.advance(key, version);
+    } //advance
+
+    /**
+     * Advances the version of every table of every user past every version seen so far, and discards every cached
+     * page. This must be invoked whenever writes of other nodes may have been missed.
+     */
+    public static void advanceAll() {
+        long floor = ResultCache.now();
+
+        for (long version : VERSIONS.values()) {
+            floor = Math.max(floor, version + 1);
+        } //end for
+
+        baseVersion = Math.max(floor, baseVersion + 1);
+
+        synchronized (PAGES) {
+            PAGES.clear();
+
+            KEY_TO_BYTES.clear();
+
+            totalBytes = 0;
+        } //end synchronized
+    } //advanceAll
+
+    /**
+     * Bumps the version of every table of the user with the specified ID, after their data has been replaced as a
+     * whole.
+     *
+     * @param userId the user ID to be used in the operation
+     */
+    public static void bumpAll(int userId) {
+        for (Table<?> table : TABLES) {
+            ResultCache.bump(userId, table);
+        } //end for
+    } //bumpAll
+
+    /**
+     * Returns an estimate of the heap size of the specified value, in bytes.
+     *
+     * @param value the value to be used in the operation
+     * @return an estimate of the heap size of the specified value, in bytes
+     */
+    private static long estimateBytes(Object value) {
+        if (value instanceof String string) {
+            return 40 + (2L * string.length());
+        } else if (value instanceof List<?> list) {
+            long bytes = 40;
+
+            for (Object element : list) {
+                bytes += 8 + ResultCache.estimateBytes(element);
+            } //end for
+
+            return bytes;
+        } else if (value instanceof Map<?, ?> map) {
+            long bytes = 48;
+
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                bytes += 32 + ResultCache.estimateBytes(entry.getKey()) + ResultCache.estimateBytes(entry.getValue());
+            } //end for
+
+            return bytes;
+        } else if (value == null) {
+            return 0;
+        } //end if
+
+        return 24;
+    } //estimateBytes
+
+    /**
+     * Returns the cached page of the specified query of the user with the specified ID at the specified version, or
+     * {@code null} if there is none.
+     *
+     * @param userId the user ID to be used in the operation
+     * @param version the combined version to be used in the operation
+     * @param query the endpoint name and request parameters to be used in the operation
+     * @return the cached page of the specified query, or {@code null} if there is none
+     * @throws NullPointerException if the specified query is {@code null}
+     */
+    public static Page get(int userId, long version, List<?> query) {
+        Objects.requireNonNull(query, "the specified query is null");
+
+        if (!ENABLED) {
+            return null;
+        } //end if
+
+        CacheKey key = new CacheKey(userId, version, query);
+
+        Page page;
+
+        synchronized (PAGES) {
+            page = PAGES.get(key);
+        } //end synchronized
+
+        CacheAccessEvent.emit("result", userId, page != null);
+
+        return page;
+    } //get
+
+    /**
+     * Caches the specified page of the specified query of the user with the specified ID at the specified version.
+     * The version must have been read before the page was, so that a page read concurrently with a write is cached
+     * under the version preceding the write.
+     *
+     * @param userId the user ID to be used in the operation
+     * @param version the combined version to be used in the operation
+     * @param query the endpoint name and request parameters to be used in the operation
+     * @param page the page to be used in the operation
+     * @throws NullPointerException if the specified query or page is {@code null}
+     */
+    public static void put(int userId, long version, List<?> query, Page page) {
+        Objects.requireNonNull(query, "the specified query is null");
+
+        Objects.requireNonNull(page, "the specified page is null");
+
+        if (!ENABLED) {
+            return;
+        } //end if
+
+        CacheKey key = new CacheKey(userId, version, query);
+
+        long bytes = 64 + ResultCache.estimateBytes(query) + ResultCache.estimateBytes(page.rows());
+
+        if (bytes > MAX_BYTES) {
+            return;
+        } //end if
+
+        synchronized (PAGES) {
+            PAGES.put(key, page);
+
+            Long previousBytes = KEY_TO_BYTES.put(key, bytes);
+
+            totalBytes += bytes - ((previousBytes == null) ? 0 : previousBytes);
+
+            Iterator<Map.Entry<CacheKey, Page>> iterator = PAGES.entrySet()
+                                                                .iterator();
+
+            while (((PAGES.size() > MAX_ENTRIES) || (totalBytes > MAX_BYTES)) && iterator.hasNext()) {
+                CacheKey eldestKey = iterator.next()
+                                             .getKey();
+
+                iterator.remove();
+
+                totalBytes -= KEY_TO_BYTES.remove(eldestKey);
+            } //end while
+        } //end synchronized
+    } //put
+}
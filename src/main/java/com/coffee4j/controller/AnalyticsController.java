@@ -0,0 +1,665 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Logan Kulinski
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.coffee4j.controller;
+
+import com.coffee4j.Body;
+import com.coffee4j.Utilities;
+import com.coffee4j.analytics.BrewColumnCache;
+import com.coffee4j.analytics.BrewColumns;
+import com.coffee4j.analytics.BrewQueryEngine;
+import com.coffee4j.analytics.BrewRatioSketches;
+import com.coffee4j.analytics.KllSketch;
+import com.coffee4j.analytics.Leaderboard;
+import com.coffee4j.security.User;
+import com.coffee4j.shard.Shards;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.jooq.DSLContext;
+import org.jooq.exception.DataAccessException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+
+/**
+ * The REST controller used to read aggregate statistics of the Coffee4j brew data.
+ *
+ * @author Logan Kulinski, rashes_lineage02@icloud.com
+ * @version October 18, 2026
+ */
+@RestController
+@RequestMapping("/api/analytics")
+public final class AnalyticsController {
+    /**
+     * The percentiles reported by the {@link AnalyticsController} class.
+     */
+    private static final double[] PERCENTILES;
+
+    /**
+     * The names of the percentiles reported by the {@link AnalyticsController} class.
+     */
+    private static final String[] PERCENTILE_NAMES;
+
+    /**
+     * The maximum number of histogram bins of the {@link AnalyticsController} class.
+     */
+    private static final int MAX_BIN_COUNT;
+
+    /**
+     * The {@link Logger} of the {@link AnalyticsController} class.
+     */
+    private static final Logger LOGGER;
+
+    static {
+        PERCENTILES = new double[] {0.1, 0.5, 0.9};
+
+        PERCENTILE_NAMES = new String[] {"p10", "p50", "p90"};
+
+        MAX_BIN_COUNT = 1_000;
+
+        LOGGER = LogManager.getLogger();
+    } //static
+
+    /**
+     * The leaderboard of this controller.
+     */
+    private final Leaderboard leaderboard;
+
+    /**
+     * Constructs an instance of the {@link AnalyticsController} class.
+     *
+     * @param leaderboard the leaderboard to be used in construction
+     * @throws NullPointerException if the specified leaderboard is {@code null}
+     */
+    public AnalyticsController(Leaderboard leaderboard) {
+        this.leaderboard = Objects.requireNonNull(leaderboard, "the specified leaderboard is null");
+    } //AnalyticsController
+
+    /**
+     * Returns the count and estimated percentiles of the specified sketch. Percentiles are omitted if the specified
+     * sketch is empty.
+     *
+     * @param sketch the sketch to be used in the operation
+     * @return the count and estimated percentiles of the specified sketch
+     * @throws NullPointerException if the specified sketch is {@code null}
+     */
+    private Map<String, Object> getPercentiles(KllSketch sketch) {
+        Objects.requireNonNull(sketch, "the specified sketch is null");
+
+        Map<String, Object> percentiles = new LinkedHashMap<>();
+
+        percentiles.put("count", sketch.getCount());
+
+        if (sketch.isEmpty()) {
+            return percentiles;
+        } //end if
+
+        float[] estimates = sketch.getQuantiles(PERCENTILES);
+
+        for (int i = 0; i < estimates.length; i++) {
+            percentiles.put(PERCENTILE_NAMES[i], estimates[i]);
+        } //end for
+
+        return percentiles;
+    } //getPercentiles
+
+    /**
+     * Attempts to read the brew ratio percentiles of the current logged-in user. A coffee ID can be used to filter the
+     * per-coffee data. Assuming data exists, the count, 10th, 50th, and 90th percentiles of the brew ratio (water mass
+     * over coffee mass) are returned overall and for each coffee, along with the normalized rank error of the
+     * estimates. The sketches are read from the primary of the user's current shard, as missing ones are stored once
+     * built, so the percentiles stay readable while the user is being moved.
+     *
+     * @param coffeeId the coffee ID to be used in the operation
+     * @return a {@link ResponseEntity} containing the outcome of the read operation
+     */
+    @GetMapping("/percentiles")
+    public ResponseEntity<Body<?>> readPercentiles(@RequestParam(required = false) Integer coffeeId) {
+        User user = Utilities.getLoggedInUser();
+
+        if (user == null) {
+            return new ResponseEntity<>(HttpStatus.UNAUTHORIZED);
+        } //end if
+
+        int userId = user.id();
+
+        Map<Integer, KllSketch> coffeeIdToSketch;
+
+        int shard;
+
+        try {
+            shard = Shards.getShard(userId);
+        } catch (SQLException | DataAccessException e) {
+            LOGGER.atError()
+                  .withThrowable(e)
+                  .log();
+
+            String content = "The brew ratio percentiles could not be read";
+
+            Body<String> body = Body.error(content);
+
+            return new ResponseEntity<>(body, HttpStatus.INTERNAL_SERVER_ERROR);
+        } //end try catch
+
+        try (Connection connection = Utilities.getShardConnection(shard)) {
+            DSLContext context = Utilities.getContext(connection);
+
+            coffeeIdToSketch = BrewRatioSketches.read(context, userId);
+        } catch (SQLException | DataAccessException | IllegalArgumentException e) {
+            LOGGER.atError()
+                  .withThrowable(e)
+                  .log();
+
+            String content = "The brew ratio percentiles could not be read";
+
+            Body<String> body = Body.error(content);
+
+            return new ResponseEntity<>(body, HttpStatus.INTERNAL_SERVER_ERROR);
+        } //end try catch
+
+        KllSketch overallSketch = new KllSketch();
+
+        List<Map<String, Object>> coffees = new ArrayList<>();
+
+        for (Map.Entry<Integer, KllSketch> entry : coffeeIdToSketch.entrySet()) {
+            int entryCoffeeId = entry.getKey();
+
+            KllSketch sketch = entry.getValue();
+
+            overallSketch.merge(sketch);
+
+            if (sketch.isEmpty() || ((coffeeId != null) && (coffeeId != entryCoffeeId))) {
+                continue;
+            } //end if
+
+            Map<String, Object> coffee = new LinkedHashMap<>();
+
+            coffee.put("id", entryCoffeeId);
+
+            coffee.putAll(this.getPercentiles(sketch));
+
+            coffees.add(coffee);
+        } //end for
+
+        Map<String, Object> content = Map.of(
+            "rankError", overallSketch.getNormalizedRankError(),
+            "overall", this.getPercentiles(overallSketch),
+            "coffees", coffees
+        );
+
+        Body<Map<String, Object>> body = Body.success(content);
+
+        return new ResponseEntity<>(body, HttpStatus.OK);
+    } //readPercentiles
+
+    /**
+     * Attempts to read the cross-user popularity leaderboard using the specified type, sort, and limit. The type is
+     * either {@code coffee} or {@code brewer}, and entries are sorted either by distinct {@code users} or by
+     * {@code brews}. Names are normalized across users, and only names used by several users are listed. Assuming data
+     * exists, the name, estimated number of distinct users, and number of brews of each entry are returned, along
+     * with the time of the last refresh.
+     *
+     * @param type the type to be used in the operation
+     * @param sort the sort to be used in the operation
+     * @param limit the limit to be used in the operation
+     * @return a {@link ResponseEntity} containing the outcome of the read operation
+     */
+    @GetMapping("/leaderboard")
+    public ResponseEntity<Body<?>> readLeaderboard(@RequestParam(defaultValue = "coffee") String type,
+                                                   @RequestParam(defaultValue = "users") String sort,
+                                                   @RequestParam(defaultValue = "10") int limit) {
+        User user = Utilities.getLoggedInUser();
+
+        if (user == null) {
+            return new ResponseEntity<>(HttpStatus.UNAUTHORIZED);
+        } //end if
+
+        if ((limit < 0) || (limit > Leaderboard.MAX_ENTRIES)) {
+            String content = "The specified limit must be between 0 and %d".formatted(Leaderboard.MAX_ENTRIES);
+
+            Body<String> body = Body.error(content);
+
+            return new ResponseEntity<>(body, HttpStatus.BAD_REQUEST);
+        } //end if
+
+        Leaderboard.Snapshot snapshot = this.leaderboard.getSnapshot();
+
+        if (snapshot == null) {
+            String content = "The leaderboard is not available yet";
+
+            Body<String> body = Body.error(content);
+
+            return new ResponseEntity<>(body, HttpStatus.SERVICE_UNAVAILABLE);
+        } //end if
+
+        Leaderboard.Ranking ranking = switch (type) {
+            case "coffee" -> snapshot.coffees();
+            case "brewer" -> snapshot.brewers();
+            default -> null;
+        };
+
+        if (ranking == null) {
+            String content = "The specified type must be \"coffee\" or \"brewer\"";
+
+            Body<String> body = Body.error(content);
+
+            return new ResponseEntity<>(body, HttpStatus.BAD_REQUEST);
+        } //end if
+
+        List<Leaderboard.Entry> entries = switch (sort) {
+            case "users" -> ranking.byUsers();
+            case "brews" -> ranking.byBrews();
+            default -> null;
+        };
+
+        if (entries == null) {
+            String content = "The specified sort must be \"users\" or \"brews\"";
+
+            Body<String> body = Body.error(content);
+
+            return new ResponseEntity<>(body, HttpStatus.BAD_REQUEST);
+        } //end if
+
+        List<Leaderboard.Entry> limitedEntries = entries.subList(0, Math.min(limit, entries.size()));
+
+        Map<String, Object> content = Map.of(
+            "refreshedAt", snapshot.refreshedAt(),
+            "entries", limitedEntries
+        );
+
+        Body<Map<String, Object>> body = Body.success(content);
+
+        return new ResponseEntity<>(body, HttpStatus.OK);
+    } //readLeaderboard
+
+    /**
+     * Returns a filter using the specified timestamp {@link String}s and coffee ID.
+     *
+     * @param fromString the inclusive lower bound timestamp {@link String} to be used in the operation, or {@code null}
+     * @param toString the exclusive upper bound timestamp {@link String} to be used in the operation, or {@code null}
+     * @param coffeeId the coffee ID to be used in the operation, or {@code null}
+     * @return a filter using the specified timestamp {@link String}s and coffee ID
+     * @throws DateTimeParseException if a specified timestamp {@link String} is malformed
+     */
+    private BrewColumns.Filter getFilter(String fromString, String toString, Integer coffeeId) {
+        long from = Long.MIN_VALUE;
+
+        long to = Long.MAX_VALUE;
+
+        if (fromString != null) {
+            from = LocalDateTime.parse(fromString)
+                                .toEpochSecond(ZoneOffset.UTC);
+        } //end if
+
+        if (toString != null) {
+            to = LocalDateTime.parse(toString)
+                              .toEpochSecond(ZoneOffset.UTC);
+        } //end if
+
+        return new BrewColumns.Filter(from, to, coffeeId);
+    } //getFilter
+
+    /**
+     * Attempts to read a summary of the brew data of the current logged-in user. A timestamp range or coffee ID can be
+     * used to filter the data. The count, total coffee and water masses, average brew ratio, and first and last
+     * timestamps of the matching brews are returned. The summary is computed from the user's columnar brew snapshot.
+     *
+     * @param fromString the inclusive lower bound timestamp {@link String} to be used in the operation
+     * @param toString the exclusive upper bound timestamp {@link String} to be used in the operation
+     * @param coffeeId the coffee ID to be used in the operation
+     * @return a {@link ResponseEntity} containing the outcome of the read operation
+     */
+    @GetMapping("/summary")
+    public ResponseEntity<Body<?>> readSummary(@RequestParam(name = "from", required = false) String fromString,
+                                               @RequestParam(name = "to", required = false) String toString,
+                                               @RequestParam(required = false) Integer coffeeId) {
+        User user = Utilities.getLoggedInUser();
+
+        if (user == null) {
+            return new ResponseEntity<>(HttpStatus.UNAUTHORIZED);
+        } //end if
+
+        int userId = user.id();
+
+        BrewColumns.Filter filter;
+
+        try {
+            filter = this.getFilter(fromString, toString, coffeeId);
+        } catch (DateTimeParseException e) {
+            LOGGER.atDebug()
+                  .log("Rejected a malformed timestamp: {}", e.getParsedString());
+
+            String content = "The specified timestamp is malformed";
+
+            Body<String> body = Body.error(content);
+
+            return new ResponseEntity<>(body, HttpStatus.BAD_REQUEST);
+        } //end try catch
+
+        BrewColumns columns;
+
+        try {
+            columns = BrewColumnCache.get(userId);
+        } catch (SQLException | DataAccessException e) {
+            LOGGER.atError()
+                  .withThrowable(e)
+                  .log();
+
+            String content = "The brew summary could not be read";
+
+            Body<String> body = Body.error(content);
+
+            return new ResponseEntity<>(body, HttpStatus.INTERNAL_SERVER_ERROR);
+        } //end try catch
+
+        BrewColumns.Summary summary = columns.summarize(filter);
+
+        Map<String, Object> content = new LinkedHashMap<>();
+
+        content.put("count", summary.count());
+
+        content.put("totalCoffeeMass", summary.totalCoffeeMass());
+
+        content.put("totalWaterMass", summary.totalWaterMass());
+
+        content.put("averageRatio", summary.averageRatio());
+
+        if (summary.count() > 0) {
+            LocalDateTime firstTimestamp = LocalDateTime.ofEpochSecond(summary.firstTimestamp(), 0, ZoneOffset.UTC);
+
+            LocalDateTime lastTimestamp = LocalDateTime.ofEpochSecond(summary.lastTimestamp(), 0, ZoneOffset.UTC);
+
+            content.put("firstTimestamp", firstTimestamp);
+
+            content.put("lastTimestamp", lastTimestamp);
+        } //end if
+
+        Body<Map<String, Object>> body = Body.success(content);
+
+        return new ResponseEntity<>(body, HttpStatus.OK);
+    } //readSummary
+
+    /**
+     * Attempts to read a histogram of the brew data of the current logged-in user using the specified measure and
+     * number of bins. The measure is {@code ratio}, {@code coffeeMass}, or {@code waterMass}. A timestamp range or
+     * coffee ID can be used to filter the data, and the histogram range defaults to the range of the matching values.
+     * The minimum, maximum, and count of each bin are returned. The histogram is computed from the user's columnar brew
+     * snapshot.
+     *
+     * @param measureString the measure {@link String} to be used in the operation
+     * @param binCount the number of bins to be used in the operation
+     * @param min the minimum to be used in the operation
+     * @param max the maximum to be used in the operation
+     * @param fromString the inclusive lower bound timestamp {@link String} to be used in the operation
+     * @param toString the exclusive upper bound timestamp {@link String} to be used in the operation
+     * @param coffeeId the coffee ID to be used in the operation
+     * @return a {@link ResponseEntity} containing the outcome of the read operation
+     */
+    @GetMapping("/histogram")
+    public ResponseEntity<Body<?>> readHistogram(@RequestParam(name = "measure", defaultValue = "ratio")
+                                                 String measureString,
+                                                 @RequestParam(name = "bins", defaultValue = "20") int binCount,
+                                                 @RequestParam(required = false) Float min,
+                                                 @RequestParam(required = false) Float max,
+                                                 @RequestParam(name = "from", required = false) String fromString,
+                                                 @RequestParam(name = "to", required = false) String toString,
+                                                 @RequestParam(required = false) Integer coffeeId) {
+        User user = Utilities.getLoggedInUser();
+
+        if (user == null) {
+            return new ResponseEntity<>(HttpStatus.UNAUTHORIZED);
+        } //end if
+
+        BrewColumns.Measure measure = switch (measureString) {
+            case "ratio" -> BrewColumns.Measure.RATIO;
+            case "coffeeMass" -> BrewColumns.Measure.COFFEE_MASS;
+            case "waterMass" -> BrewColumns.Measure.WATER_MASS;
+            default -> null;
+        };
+
+        if (measure == null) {
+            String content = "The specified measure must be \"ratio\", \"coffeeMass\", or \"waterMass\"";
+
+            Body<String> body = Body.error(content);
+
+            return new ResponseEntity<>(body, HttpStatus.BAD_REQUEST);
+        } //end if
+
+        if ((binCount <= 0) || (binCount > MAX_BIN_COUNT)) {
+            String content = "The specified number of bins must be between 1 and %d".formatted(MAX_BIN_COUNT);
+
+            Body<String> body = Body.error(content);
+
+            return new ResponseEntity<>(body, HttpStatus.BAD_REQUEST);
+        } //end if
+
+        int userId = user.id();
+
+        BrewColumns.Filter filter;
+
+        try {
+            filter = this.getFilter(fromString, toString, coffeeId);
+        } catch (DateTimeParseException e) {
+            LOGGER.atDebug()
+                  .log("Rejected a malformed timestamp: {}", e.getParsedString());
+
+            String content = "The specified timestamp is malformed";
+
+            Body<String> body = Body.error(content);
+
+            return new ResponseEntity<>(body, HttpStatus.BAD_REQUEST);
+        } //end try catch
+
+        BrewColumns columns;
+
+        try {
+            columns = BrewColumnCache.get(userId);
+        } catch (SQLException | DataAccessException e) {
+            LOGGER.atError()
+                  .withThrowable(e)
+                  .log();
+
+            String content = "The brew histogram could not be read";
+
+            Body<String> body = Body.error(content);
+
+            return new ResponseEntity<>(body, HttpStatus.INTERNAL_SERVER_ERROR);
+        } //end try catch
+
+        float[] range = columns.getRange(measure, filter);
+
+        if (range == null) {
+            Body<List<Map<String, Object>>> body = Body.success(List.of());
+
+            return new ResponseEntity<>(body, HttpStatus.OK);
+        } //end if
+
+        float histogramMin = (min == null) ? range[0] : min;
+
+        float histogramMax = (max == null) ? range[1] : max;
+
+        if (!(histogramMax >= histogramMin)) {
+            String content = "The specified maximum must not be less than the specified minimum";
+
+            Body<String> body = Body.error(content);
+
+            return new ResponseEntity<>(body, HttpStatus.BAD_REQUEST);
+        } //end if
+
+        long[] counts = columns.getHistogram(measure, filter, histogramMin, histogramMax, binCount);
+
+        float width = (histogramMax - histogramMin) / binCount;
+
+        List<Map<String, Object>> content = new ArrayList<>(binCount);
+
+        for (int i = 0; i < binCount; i++) {
+            float binMin = histogramMin + (i * width);
+
+            float binMax = (i == (binCount - 1)) ? histogramMax : binMin + width;
+
+            Map<String, Object> bin = Map.of(
+                "min", binMin,
+                "max", binMax,
+                "count", counts[i]
+            );
+
+            content.add(bin);
+        } //end for
+
+        Body<List<Map<String, Object>>> body = Body.success(content);
+
+        return new ResponseEntity<>(body, HttpStatus.OK);
+    } //readHistogram
+
+    /**
+     * Attempts to run an ad-hoc query over the brew data of the current logged-in user. Brews are grouped by the
+     * specified dimensions ({@code coffee}, {@code water}, {@code brewer}, {@code filter}, {@code vessel}, {@code day},
+     * {@code week}, {@code month}, or {@code year}), and the specified measures ({@code count}, {@code sumCoffeeMass},
+     * {@code avgCoffeeMass}, {@code sumWaterMass}, {@code avgWaterMass}, or {@code avgRatio}) are computed for each
+     * group. A timestamp range can be used to filter the data. Assuming data exists, the groups are returned in
+     * dimension order, along with whether they were truncated to the specified limit.
+     *
+     * @param dimensionNames the dimension names to be used in the operation
+     * @param measureNames the measure names to be used in the operation
+     * @param fromString the inclusive lower bound timestamp {@link String} to be used in the operation
+     * @param toString the exclusive upper bound timestamp {@link String} to be used in the operation
+     * @param limit the limit to be used in the operation
+     * @return a {@link ResponseEntity} containing the outcome of the query operation
+     */
+    @GetMapping("/query")
+    public ResponseEntity<Body<?>> query(@RequestParam(name = "dimensions") List<String> dimensionNames,
+                                         @RequestParam(name = "measures", defaultValue = "count")
+                                         List<String> measureNames,
+                                         @RequestParam(name = "from", required = false) String fromString,
+                                         @RequestParam(name = "to", required = false) String toString,
+                                         @RequestParam(defaultValue = "100") int limit) {
+        User user = Utilities.getLoggedInUser();
+
+        if (user == null) {
+            return new ResponseEntity<>(HttpStatus.UNAUTHORIZED);
+        } //end if
+
+        List<BrewQueryEngine.Dimension> dimensions = new ArrayList<>();
+
+        for (String dimensionName : dimensionNames) {
+            BrewQueryEngine.Dimension dimension = BrewQueryEngine.Dimension.of(dimensionName);
+
+            if (dimension == null) {
+                String content = "The dimension \"%s\" is not supported".formatted(dimensionName);
+
+                Body<String> body = Body.error(content);
+
+                return new ResponseEntity<>(body, HttpStatus.BAD_REQUEST);
+            } //end if
+
+            dimensions.add(dimension);
+        } //end for
+
+        List<BrewQueryEngine.Measure> measures = new ArrayList<>();
+
+        for (String measureName : measureNames) {
+            BrewQueryEngine.Measure measure = BrewQueryEngine.Measure.of(measureName);
+
+            if (measure == null) {
+                String content = "The measure \"%s\" is not supported".formatted(measureName);
+
+                Body<String> body = Body.error(content);
+
+                return new ResponseEntity<>(body, HttpStatus.BAD_REQUEST);
+            } //end if
+
+            measures.add(measure);
+        } //end for
+
+        LocalDateTime from;
+
+        LocalDateTime to;
+
+        try {
+            from = (fromString == null) ? null : LocalDateTime.parse(fromString);
+
+            to = (toString == null) ? null : LocalDateTime.parse(toString);
+        } catch (DateTimeParseException e) {
+            LOGGER.atDebug()
+                  .log("Rejected a malformed timestamp: {}", e.getParsedString());
+
+            String content = "The specified timestamp is malformed";
+
+            Body<String> body = Body.error(content);
+
+            return new ResponseEntity<>(body, HttpStatus.BAD_REQUEST);
+        } //end try catch
+
+        BrewQueryEngine.Query query;
+
+        try {
+            query = new BrewQueryEngine.Query(dimensions, measures, from, to, limit);
+        } catch (IllegalArgumentException e) {
+            String content = "The specified query is invalid: %s".formatted(e.getMessage());
+
+            Body<String> body = Body.error(content);
+
+            return new ResponseEntity<>(body, HttpStatus.BAD_REQUEST);
+        } //end try catch
+
+        int userId = user.id();
+
+        BrewQueryEngine.QueryResult result;
+
+        try (Connection connection = Utilities.getReadConnection(userId)) {
+            DSLContext context = Utilities.getContext(connection);
+
+            result = BrewQueryEngine.execute(context, userId, query);
+        } catch (SQLException | DataAccessException e) {
+            LOGGER.atError()
+                  .withThrowable(e)
+                  .log();
+
+            String content = "The specified query could not be run";
+
+            Body<String> body = Body.error(content);
+
+            return new ResponseEntity<>(body, HttpStatus.INTERNAL_SERVER_ERROR);
+        } //end try catch
+
+        Map<String, Object> content = Map.of(
+            "rows", result.rows(),
+            "truncated", result.truncated()
+        );
+
+        Body<Map<String, Object>> body = Body.success(content);
+
+        return new ResponseEntity<>(body, HttpStatus.OK);
+    } //query
+}
\ No newline at end of file
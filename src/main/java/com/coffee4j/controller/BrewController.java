@@ -25,7 +25,15 @@
 package com.coffee4j.controller;
 
 import com.coffee4j.Body;
+import com.coffee4j.Masses;
 import com.coffee4j.Utilities;
+import com.coffee4j.analytics.BrewColumnCache;
+import com.coffee4j.analytics.BrewColumns;
+import com.coffee4j.analytics.BrewQueryEngine;
+import com.coffee4j.analytics.BrewRatioSketches;
+import com.coffee4j.archive.BrewArchive;
+import com.coffee4j.cache.ResultCache;
+import com.coffee4j.deletion.Deletions;
 import com.coffee4j.security.User;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -37,13 +45,13 @@ import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 import schema.generated.tables.*;
 import schema.generated.tables.records.BrewRecord;
 
 import java.math.BigDecimal;
 import java.net.URI;
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.SQLException;
 import java.time.Instant;
 import java.time.LocalDateTime;
@@ -61,6 +69,11 @@ import java.util.stream.Collectors;
 @RestController
 @RequestMapping("/api/brew")
 public final class BrewController {
+    /**
+     * The tables a page of brews is read from of the {@link BrewController} class.
+     */
+    public static final List<Table<?>> PAGE_TABLES;
+
     /**
      * The {@code brew} table of the {@link BrewController} class.
      */
@@ -110,8 +123,28 @@ public final class BrewController {
         VESSEL = Vessel.VESSEL;
 
         LOGGER = LogManager.getLogger();
+
+        PAGE_TABLES = List.of(BREW, COFFEE, WATER, BREWER, FILTER, VESSEL);
     } //static
 
+    /**
+     * Invalidates the cached analytics query results of the user with the specified ID. This must be invoked after
+     * any write that could change the user's brew data, including changes to the names of their equipment.
+     *
+     * @param userId the user ID to be used in the operation
+     */
+    public static void invalidateCaches(int userId) {
+        BrewQueryEngine.invalidate(userId);
+    } //invalidateCaches
+
+    /**
+     * Invalidates the cached analytics query results of every user. This must be invoked whenever writes of other
+     * nodes may have been missed.
+     */
+    public static void invalidateAllCaches() {
+        BrewQueryEngine.invalidateAll();
+    } //invalidateAllCaches
+
     /**
      * Attempts to create a new brew. A coffee ID, water ID, brewer ID, filter ID, vessel ID, coffee mass, and water
      * mass are required for creation.
@@ -136,27 +169,56 @@ public final class BrewController {
             return new ResponseEntity<>(HttpStatus.UNAUTHORIZED);
         } //end if
 
+        int coffeeMilligrams;
+
+        int waterMilligrams;
+
+        try {
+            coffeeMilligrams = Masses.toMilligrams(coffeeMass);
+
+            waterMilligrams = Masses.toMilligrams(waterMass);
+        } catch (ArithmeticException e) {
+            String content = "The specified masses are too large";
+
+            Body<String> body = Body.error(content);
+
+            return new ResponseEntity<>(body, HttpStatus.BAD_REQUEST);
+        } //end try catch
+
         int userId = user.id();
 
         LocalDateTime timestamp = LocalDateTime.now(ZoneOffset.UTC);
         
         BrewRecord record;
 
-        try (Connection connection = DriverManager.getConnection(Utilities.DATABASE_URL)) {
-            DSLContext context = DSL.using(connection, SQLDialect.POSTGRES);
-
-            record = context.insertInto(BREW)
-                            .set(BREW.USER_ID, userId)
-                            .set(BREW.TIMESTAMP, timestamp)
-                            .set(BREW.COFFEE_ID, coffeeId)
-                            .set(BREW.WATER_ID, waterId)
-                            .set(BREW.BREWER_ID, brewerId)
-                            .set(BREW.FILTER_ID, filterId)
-                            .set(BREW.VESSEL_ID, vesselId)
-                            .set(BREW.COFFEE_MASS, coffeeMass)
-                            .set(BREW.WATER_MASS, waterMass)
-                            .returning(BREW.ID)
-                            .fetchOne();
+        try (Connection connection = Utilities.getConnection(userId)) {
+            DSLContext context = Utilities.getContext(connection);
+
+            record = context.transactionResult(configuration -> {
+                DSLContext transactionContext = DSL.using(configuration);
+
+                BrewRatioSketches.lock(transactionContext, userId);
+
+                BrewRecord insertedRecord = transactionContext.insertInto(BREW)
+                                                              .set(BREW.USER_ID, userId)
+                                                              .set(BREW.TIMESTAMP, timestamp)
+                                                              .set(BREW.COFFEE_ID, coffeeId)
+                                                              .set(BREW.WATER_ID, waterId)
+                                                              .set(BREW.BREWER_ID, brewerId)
+                                                              .set(BREW.FILTER_ID, filterId)
+                                                              .set(BREW.VESSEL_ID, vesselId)
+                                                              .set(Masses.COFFEE_MASS_MG, coffeeMilligrams)
+                                                              .set(Masses.WATER_MASS_MG, waterMilligrams)
+                                                              .returning(BREW.ID)
+                                                              .fetchOne();
+
+                if (insertedRecord != null) {
+                    BrewRatioSketches.add(transactionContext, userId, coffeeId, coffeeMilligrams,
+                                          waterMilligrams);
+                } //end if
+
+                return insertedRecord;
+            });
         } catch (SQLException | DataAccessException e) {
             LOGGER.atError()
                   .withThrowable(e)
@@ -177,12 +239,21 @@ public final class BrewController {
             return new ResponseEntity<>(body, HttpStatus.BAD_REQUEST);
         } //end if
 
+        int id = record.getId();
+
+        ResultCache.bump(userId, BREW);
+
+        BrewController.invalidateCaches(userId);
+
+        BrewColumns.Row row = BrewColumnCache.getRow(id, timestamp, coffeeId, waterId, brewerId, filterId, vesselId,
+                                                     coffeeMilligrams, waterMilligrams);
+
+        BrewColumnCache.add(userId, row);
+
         String content = "A brew with the specified parameters was successfully created";
 
         Body<String> body = Body.success(content);
 
-        int id = record.getId();
-
         String locationString = "http://localhost:8080/api/brew?id=%d".formatted(id);
 
         URI location = URI.create(locationString);
@@ -201,7 +272,7 @@ public final class BrewController {
      * @return a brew using the specified record
      * @throws NullPointerException if the specified record is {@code null}
      */
-    private Map<String, Object> getBrew(Record record) {
+    static Map<String, Object> getBrew(Record record) {
         Objects.requireNonNull(record, "the specified record is null");
 
         int id = record.get(BREW.ID);
@@ -228,9 +299,9 @@ public final class BrewController {
 
         String vesselName = record.get(VESSEL.NAME);
 
-        BigDecimal coffeeMass = record.get(BREW.COFFEE_MASS);
+        BigDecimal coffeeMass = Masses.toGrams(record.get(Masses.COFFEE_MASS_MG));
 
-        BigDecimal waterMass = record.get(BREW.WATER_MASS);
+        BigDecimal waterMass = Masses.toGrams(record.get(Masses.WATER_MASS_MG));
 
         return Map.of(
             "id", id,
@@ -260,11 +331,112 @@ public final class BrewController {
         );
     } //getBrew
 
+    /**
+     * Returns the condition of a read using the specified filters. A {@code null} filter is not applied.
+     *
+     * @param userId the user ID to be used in the operation
+     * @param id the ID to be used in the operation
+     * @param timestamp the timestamp to be used in the operation
+     * @param coffeeId the coffee ID to be used in the operation
+     * @param waterId the water ID to be used in the operation
+     * @param brewerId the brewer ID to be used in the operation
+     * @param filterId the filter ID to be used in the operation
+     * @param vesselId the vessel ID to be used in the operation
+     * @param coffeeMilligrams the coffee mass in milligrams to be used in the operation
+     * @param waterMilligrams the water mass in milligrams to be used in the operation
+     * @param offsetId the offset ID to be used in the operation
+     * @return the condition of a read using the specified filters
+     */
+    static Condition getCondition(int userId, Integer id, LocalDateTime timestamp, Integer coffeeId, Integer waterId,
+                                  Integer brewerId, Integer filterId, Integer vesselId, Integer coffeeMilligrams,
+                                  Integer waterMilligrams, Integer offsetId) {
+        Condition condition = DSL.noCondition();
+
+        if (offsetId != null) {
+            condition = condition.and(BREW.ID.lessThan(offsetId));
+        } //end if
+
+        condition = condition.and(BREW.USER_ID.eq(userId));
+
+        if (id != null) {
+            condition = condition.and(BREW.ID.eq(id));
+        } //end if
+
+        if (timestamp != null) {
+            condition = condition.and(BREW.TIMESTAMP.eq(timestamp));
+        } //end if
+
+        if (coffeeId != null) {
+            condition = condition.and(COFFEE.ID.eq(coffeeId));
+        } //end if
+
+        if (waterId != null) {
+            condition = condition.and(WATER.ID.eq(waterId));
+        } //end if
+
+        if (brewerId != null) {
+            condition = condition.and(BREWER.ID.eq(brewerId));
+        } //end if
+
+        if (filterId != null) {
+            condition = condition.and(FILTER.ID.eq(filterId));
+        } //end if
+
+        if (vesselId != null) {
+            condition = condition.and(VESSEL.ID.eq(vesselId));
+        } //end if
+
+        if (coffeeMilligrams != null) {
+            condition = condition.and(Masses.COFFEE_MASS_MG.eq(coffeeMilligrams));
+        } //end if
+
+        if (waterMilligrams != null) {
+            condition = condition.and(Masses.WATER_MASS_MG.eq(waterMilligrams));
+        } //end if
+
+        return condition;
+    } //getCondition
+
+    /**
+     * Returns the query of a page of brews using the specified context, brews, condition, and limit. Each brew is
+     * joined with its coffee, water, brewer, filter, and vessel, and the newest brews come first. Brews of a deleted
+     * user or deleted equipment are hidden until they are removed.
+     *
+     * @param context the context to be used in the operation
+     * @param userId the user ID to be used in the operation
+     * @param brews the brews to be used in the operation, either the {@code brew} table or a relation aliased as it
+     * @param condition the condition to be used in the operation
+     * @param limit the limit to be used in the operation
+     * @return the query of a page of brews using the specified context, brews, condition, and limit
+     */
+    static ResultQuery<? extends Record> getPageQuery(DSLContext context, int userId, Table<?> brews,
+                                                      Condition condition, int limit) {
+        return context.select(BREW.ID, BREW.TIMESTAMP, COFFEE.ID, COFFEE.NAME, WATER.ID, WATER.NAME, BREWER.ID,
+                              BREWER.NAME, FILTER.ID, FILTER.NAME, VESSEL.ID, VESSEL.NAME,
+                              Masses.COFFEE_MASS_MG, Masses.WATER_MASS_MG)
+                      .from(brews)
+                      .join(COFFEE)
+                      .on(COFFEE.ID.eq(BREW.COFFEE_ID))
+                      .join(WATER)
+                      .on(WATER.ID.eq(BREW.WATER_ID))
+                      .join(BREWER)
+                      .on(BREWER.ID.eq(BREW.BREWER_ID))
+                      .join(FILTER)
+                      .on(FILTER.ID.eq(BREW.FILTER_ID))
+                      .join(VESSEL)
+                      .on(VESSEL.ID.eq(BREW.VESSEL_ID))
+                      .where(condition)
+                      .and(Deletions.isBrewNotDeleted(userId))
+                      .orderBy(BREW.ID.desc())
+                      .limit(limit);
+    } //getPageQuery
+
     /**
      * Attempts to read the brew data of the current logged-in user. An ID, timestamp, coffee ID, water ID, brewer ID,
      * filter ID, vessel ID, coffee mass, or water mass can be used to filter the data. Assuming data exists, the ID,
      * timestamp, coffee ID, coffee name, water ID, water name, brewer ID, brew name, filter ID, filter name, vessel
-     * ID, vessel name, coffee mass, and water mass of each brew are returned.
+     * ID, vessel name, coffee mass, and water mass of each brew are returned. Hot brews are read first, and archived
+     * brews are only read if the user has any and the hot brews do not fill the page.
      *
      * @param id the ID to be used in the operation
      * @param timestampString the timestamp {@link String} to be used in the operation
@@ -275,6 +447,9 @@ public final class BrewController {
      * @param vesselId the vessel ID to be used in the operation
      * @param coffeeMass the coffee mass to be used in the operation
      * @param waterMass the water mass to be used in the operation
+     * @param offsetId the offset ID to be used in the operation
+     * @param limit the limit to be used in the operation
+     * @param request the request to be used in the operation
      * @return a {@link ResponseEntity} containing the outcome of the read operation
      */
     @GetMapping
@@ -288,7 +463,8 @@ public final class BrewController {
                                         @RequestParam(required = false) BigDecimal coffeeMass,
                                         @RequestParam(required = false) BigDecimal waterMass,
                                         @RequestParam(required = false) Integer offsetId,
-                                        @RequestParam(defaultValue = "10") int limit) {
+                                        @RequestParam(defaultValue = "10") int limit,
+                                        ServletWebRequest request) {
         User user = Utilities.getLoggedInUser();
 
         if (user == null) {
@@ -297,124 +473,227 @@ public final class BrewController {
 
         int userId = user.id();
 
-        Condition condition = DSL.noCondition();
+        LocalDateTime timestamp = null;
 
-        if (offsetId != null) {
-            condition = condition.and(BREW.ID.lessThan(offsetId));
+        if (timestampString != null) {
+            try {
+                timestamp = LocalDateTime.parse(timestampString);
+            } catch (DateTimeParseException e) {
+                LOGGER.atDebug()
+                      .log("Rejected a malformed timestamp: {}", e.getParsedString());
+
+                String content = "The specified timestamp is malformed";
+
+                Body<String> body = Body.error(content);
+
+                return new ResponseEntity<>(body, HttpStatus.BAD_REQUEST);
+            } //end try catch
         } //end if
 
-        condition = condition.and(BREW.USER_ID.eq(userId));
+        Integer coffeeMilligrams;
 
-        if (id != null) {
-            condition = BREW.ID.eq(id);
+        Integer waterMilligrams;
+
+        try {
+            coffeeMilligrams = (coffeeMass == null) ? null : Masses.toMilligrams(coffeeMass);
+
+            waterMilligrams = (waterMass == null) ? null : Masses.toMilligrams(waterMass);
+        } catch (ArithmeticException e) {
+            String content = "The specified masses are too large";
+
+            Body<String> body = Body.error(content);
+
+            return new ResponseEntity<>(body, HttpStatus.BAD_REQUEST);
+        } //end try catch
+
+        Condition condition = BrewController.getCondition(userId, id, timestamp, coffeeId, waterId, brewerId, filterId,
+                                                          vesselId, coffeeMilligrams, waterMilligrams, offsetId);
+
+        if (ResultCache.checkNotModified(request, userId, PAGE_TABLES)) {
+            return new ResponseEntity<>(HttpStatus.NOT_MODIFIED);
         } //end if
 
-        if (timestampString != null) {
-            LocalDateTime timestamp;
+        List<?> query = Arrays.asList("brew", id, timestamp, coffeeId, waterId, brewerId, filterId, vesselId,
+                                      coffeeMilligrams, waterMilligrams, offsetId, limit);
 
-            try {
-                timestamp = LocalDateTime.parse(timestampString);
-            } catch (DateTimeParseException e) {
+        long version = ResultCache.getVersion(userId, PAGE_TABLES);
+
+        ResultCache.Page page = ResultCache.get(userId, version, query);
+
+        if (page == null) {
+            List<Record> records;
+
+            int rowCount;
+
+            try (Connection connection = Utilities.getReadConnection(userId)) {
+                DSLContext context = Utilities.getContext(connection);
+
+                Field<Integer> storedCount = DSL.field(DSL.selectCount()
+                                                          .from(BREW)
+                                                          .where(BREW.USER_ID.eq(userId)));
+
+                Field<Integer> visibleCount = DSL.field(DSL.selectCount()
+                                                           .from(BREW)
+                                                           .where(BREW.USER_ID.eq(userId))
+                                                           .and(Deletions.isBrewNotDeleted(userId)));
+
+                Field<Integer> hotCount = DSL.when(Deletions.hasPendingDeletion(userId), visibleCount)
+                                             .otherwise(storedCount);
+
+                Record2<Integer, Integer> counts = context.select(hotCount, BrewArchive.getBrewCount(userId))
+                                                          .fetchSingle();
+
+                rowCount = counts.value1() + counts.value2();
+
+                records = new ArrayList<>(BrewController.getPageQuery(context, userId, BREW, condition, limit)
+                                                        .fetch());
+
+                if ((records.size() < limit) && (counts.value2() > 0)) {
+                    Condition archiveCondition = condition;
+
+                    if (!records.isEmpty()) {
+                        int lastId = records.get(records.size() - 1)
+                                            .get(BREW.ID);
+
+                        archiveCondition = archiveCondition.and(BREW.ID.lessThan(lastId));
+                    } //end if
+
+                    records.addAll(BrewController.getPageQuery(context, userId, BrewArchive.ARCHIVED_BREWS,
+                                                               archiveCondition, limit - records.size())
+                                                 .fetch());
+                } //end if
+            } catch (SQLException | DataAccessException e) {
                 LOGGER.atError()
                       .withThrowable(e)
                       .log();
 
-                String content = "The specified timestamp is malformed";
+                String content = "A brew with the specified parameters could not be read";
 
                 Body<String> body = Body.error(content);
 
-                return new ResponseEntity<>(body, HttpStatus.BAD_REQUEST);
+                return new ResponseEntity<>(body, HttpStatus.INTERNAL_SERVER_ERROR);
             } //end try catch
 
-            condition = condition.and(BREW.TIMESTAMP.eq(timestamp));
-        } //end if
+            List<Map<String, Object>> rows = records.stream()
+                                                    .map(BrewController::getBrew)
+                                                    .toList();
 
-        if (coffeeId != null) {
-            condition = condition.and(COFFEE.ID.eq(coffeeId));
-        } //end if
+            page = new ResultCache.Page(rows, rowCount);
 
-        if (waterId != null) {
-            condition = condition.and(WATER.ID.eq(waterId));
+            ResultCache.put(userId, version, query, page);
         } //end if
 
-        if (brewerId != null) {
-            condition = condition.and(BREWER.ID.eq(brewerId));
-        } //end if
+        List<Map<String, Object>> content = page.rows();
 
-        if (filterId != null) {
-            condition = condition.and(FILTER.ID.eq(filterId));
-        } //end if
+        Body<List<Map<String, Object>>> body = Body.success(content);
 
-        if (vesselId != null) {
-            condition = condition.and(VESSEL.ID.eq(vesselId));
+        HttpHeaders httpHeaders = new HttpHeaders();
+
+        String recordCount = String.valueOf(page.rowCount());
+
+        httpHeaders.add("X-Record-Count", recordCount);
+
+        return new ResponseEntity<>(body, httpHeaders, HttpStatus.OK);
+    } //read
+
+    /**
+     * Returns the latest brew of the user with the specified ID, or an empty map if they have no brews. The user's
+     * brews are walked newest first along the {@code (user_id, id desc)} index, joining each brew's equipment by
+     * primary key, until one that belongs to no deleted entity is found. Unless a deletion is pending, that is the
+     * first brew visited. The archive is only read if no hot brew qualifies.
+     *
+     * @param userId the user ID to be used in the operation
+     * @return the latest brew of the user with the specified ID, or an empty map if they have no brews
+     * @throws SQLException if a connection could not be acquired
+     * @throws DataAccessException if a database error occurs
+     */
+    private static Map<String, Object> readLatestBrew(int userId) throws SQLException {
+        Record record;
+
+        try (Connection connection = Utilities.getReadConnection(userId)) {
+            DSLContext context = Utilities.getContext(connection);
+
+            Condition condition = BREW.USER_ID.eq(userId);
+
+            record = BrewController.getPageQuery(context, userId, BREW, condition, 1)
+                                   .fetchOne();
+
+            if (record == null) {
+                record = BrewController.getPageQuery(context, userId, BrewArchive.ARCHIVED_BREWS, condition, 1)
+                                       .fetchOne();
+            } //end if
+        } //end try
+
+        if (record == null) {
+            return Map.of();
         } //end if
 
-        if (coffeeMass != null) {
-            condition = condition.and(BREW.COFFEE_MASS.eq(coffeeMass));
+        return BrewController.getBrew(record);
+    } //readLatestBrew
+
+    /**
+     * Attempts to read the latest brew of the current logged-in user, which is used to prefill the brew form.
+     * Assuming data exists, the ID, timestamp, coffee ID, coffee name, water ID, water name, brewer ID, brew name,
+     * filter ID, filter name, vessel ID, vessel name, coffee mass, and water mass of the brew are returned. The result
+     * is cached by the {@link ResultCache} class until the user's next write.
+     *
+     * @param request the request to be used in the operation
+     * @return a {@link ResponseEntity} containing the outcome of the read operation
+     */
+    @GetMapping("/latest")
+    public ResponseEntity<Body<?>> readLatest(ServletWebRequest request) {
+        User user = Utilities.getLoggedInUser();
+
+        if (user == null) {
+            return new ResponseEntity<>(HttpStatus.UNAUTHORIZED);
         } //end if
 
-        if (waterMass != null) {
-            condition = condition.and(BREW.WATER_MASS.eq(waterMass));
+        int userId = user.id();
+
+        if (ResultCache.checkNotModified(request, userId, PAGE_TABLES)) {
+            return new ResponseEntity<>(HttpStatus.NOT_MODIFIED);
         } //end if
 
-        Result<? extends Record> result;
-
-        int rowCount;
-
-        try (Connection connection = DriverManager.getConnection(Utilities.DATABASE_URL)) {
-            DSLContext context = DSL.using(connection, SQLDialect.POSTGRES);
-
-            result = context.select(BREW.ID, BREW.TIMESTAMP, COFFEE.ID, COFFEE.NAME, WATER.ID, WATER.NAME, BREWER.ID,
-                                    BREWER.NAME, FILTER.ID, FILTER.NAME, VESSEL.ID, VESSEL.NAME, BREW.COFFEE_MASS,
-                                    BREW.WATER_MASS)
-                            .from(BREW)
-                            .join(COFFEE)
-                            .on(COFFEE.ID.eq(BREW.COFFEE_ID))
-                            .join(WATER)
-                            .on(WATER.ID.eq(BREW.WATER_ID))
-                            .join(BREWER)
-                            .on(BREWER.ID.eq(BREW.BREWER_ID))
-                            .join(FILTER)
-                            .on(FILTER.ID.eq(BREW.FILTER_ID))
-                            .join(VESSEL)
-                            .on(VESSEL.ID.eq(BREW.VESSEL_ID))
-                            .where(condition)
-                            .orderBy(BREW.ID.desc())
-                            .limit(limit)
-                            .fetch();
-
-            rowCount = context.fetchCount(BREW, BREW.USER_ID.eq(userId));
-        } catch (SQLException | DataAccessException e) {
-            LOGGER.atError()
-                  .withThrowable(e)
-                  .log();
+        List<?> query = List.of("latest");
 
-            String content = "A brew with the specified parameters could not be read";
+        long version = ResultCache.getVersion(userId, PAGE_TABLES);
 
-            Body<String> body = Body.error(content);
+        ResultCache.Page page = ResultCache.get(userId, version, query);
 
-            return new ResponseEntity<>(body, HttpStatus.INTERNAL_SERVER_ERROR);
-        } //end try catch
+        if (page == null) {
+            Map<String, Object> latestBrew;
 
-        List<Map<String, Object>> content = result.stream()
-                                                  .map(this::getBrew)
-                                                  .toList();
+            try {
+                latestBrew = BrewController.readLatestBrew(userId);
+            } catch (SQLException | DataAccessException e) {
+                LOGGER.atError()
+                      .withThrowable(e)
+                      .log();
 
-        Body<List<Map<String, Object>>> body = Body.success(content);
+                String content = "The latest brew could not be read";
 
-        HttpHeaders httpHeaders = new HttpHeaders();
+                Body<String> body = Body.error(content);
 
-        String recordCount = String.valueOf(rowCount);
+                return new ResponseEntity<>(body, HttpStatus.INTERNAL_SERVER_ERROR);
+            } //end try catch
 
-        httpHeaders.add("X-Record-Count", recordCount);
+            page = new ResultCache.Page(List.of(latestBrew), latestBrew.isEmpty() ? 0 : 1);
 
-        return new ResponseEntity<>(body, httpHeaders, HttpStatus.OK);
-    } //read
+            ResultCache.put(userId, version, query, page);
+        } //end if
+
+        Map<String, Object> content = page.rows()
+                                          .get(0);
+
+        Body<Map<String, Object>> body = Body.success(content);
+
+        return new ResponseEntity<>(body, HttpStatus.OK);
+    } //readLatest
 
     /**
      * Attempts to update the brew data of the current logged-in user. A brew's timestamp, coffee ID, water ID, brewer
      * ID, filter ID, vessel ID, coffee mass, and water mass can be updated. An ID and at least one new value are
-     * required for updating.
+     * required for updating. An archived brew is updated in place in the archive.
      *
      * @param id the ID to be used in the operation
      * @param timestampString the timestamp {@link String} to be used in the operation
@@ -451,9 +730,8 @@ public final class BrewController {
             try {
                 instant = Instant.parse(timestampString);
             } catch (DateTimeParseException e) {
-                LOGGER.atError()
-                      .withThrowable(e)
-                      .log();
+                LOGGER.atDebug()
+                      .log("Rejected a malformed timestamp: {}", e.getParsedString());
 
                 String content = "The specified timestamp is malformed";
 
@@ -487,13 +765,21 @@ public final class BrewController {
             fieldToNewValue.put(BREW.VESSEL_ID, vesselId);
         } //end if
 
-        if (coffeeMass != null) {
-            fieldToNewValue.put(BREW.COFFEE_MASS, coffeeMass);
-        } //end if
+        try {
+            if (coffeeMass != null) {
+                fieldToNewValue.put(Masses.COFFEE_MASS_MG, Masses.toMilligrams(coffeeMass));
+            } //end if
 
-        if (waterMass != null) {
-            fieldToNewValue.put(BREW.WATER_MASS, waterMass);
-        } //end if
+            if (waterMass != null) {
+                fieldToNewValue.put(Masses.WATER_MASS_MG, Masses.toMilligrams(waterMass));
+            } //end if
+        } catch (ArithmeticException e) {
+            String content = "The specified masses are too large";
+
+            Body<String> body = Body.error(content);
+
+            return new ResponseEntity<>(body, HttpStatus.BAD_REQUEST);
+        } //end try catch
 
         if (fieldToNewValue.isEmpty()) {
             String content = "At least one value must be updated";
@@ -507,14 +793,34 @@ public final class BrewController {
 
         int rowsChanged;
 
-        try (Connection connection = DriverManager.getConnection(Utilities.DATABASE_URL)) {
-            DSLContext context = DSL.using(connection, SQLDialect.POSTGRES);
+        try (Connection connection = Utilities.getConnection(userId)) {
+            DSLContext context = Utilities.getContext(connection);
+
+            rowsChanged = context.transactionResult(configuration -> {
+                DSLContext transactionContext = DSL.using(configuration);
+
+                if ((coffeeId != null) || (coffeeMass != null) || (waterMass != null)) {
+                    BrewRatioSketches.lock(transactionContext, userId);
+
+                    BrewRatioSketches.invalidate(transactionContext, userId, id, coffeeId);
+                } //end if
 
-            rowsChanged = context.update(BREW)
-                                 .set(fieldToNewValue)
-                                 .where(BREW.ID.eq(id))
-                                 .and(BREW.USER_ID.eq(userId))
-                                 .execute();
+                int hotRowsChanged = transactionContext.update(BREW)
+                                                       .set(fieldToNewValue)
+                                                       .where(BREW.ID.eq(id))
+                                                       .and(BREW.USER_ID.eq(userId))
+                                                       .execute();
+
+                if (hotRowsChanged > 0) {
+                    return hotRowsChanged;
+                } //end if
+
+                return transactionContext.update(BrewArchive.ARCHIVED_BREWS)
+                                         .set(fieldToNewValue)
+                                         .where(BREW.ID.eq(id))
+                                         .and(BREW.USER_ID.eq(userId))
+                                         .execute();
+            });
         } catch (SQLException | DataAccessException e) {
             LOGGER.atError()
                   .withThrowable(e)
@@ -535,6 +841,12 @@ public final class BrewController {
             return new ResponseEntity<>(body, HttpStatus.BAD_REQUEST);
         } //end if
 
+        ResultCache.bump(userId, BREW);
+
+        BrewController.invalidateCaches(userId);
+
+        BrewColumnCache.invalidate(userId);
+
         String content = "A brew with the specified parameters was successfully updated";
 
         Body<String> body = Body.success(content);
@@ -543,8 +855,8 @@ public final class BrewController {
     } //update
 
     /**
-     * Attempts to delete the brew data of the current logged-in user. A single brew can be deleted. An ID is required
-     * for deletion.
+     * Attempts to delete the brew data of the current logged-in user. A single brew, hot or archived, can be deleted.
+     * An ID is required for deletion.
      *
      * @param id the ID to be used in the operation
      * @return a {@link ResponseEntity} containing the outcome of the delete operation
@@ -561,13 +873,30 @@ public final class BrewController {
 
         int rowsChanged;
 
-        try (Connection connection = DriverManager.getConnection(Utilities.DATABASE_URL)) {
-            DSLContext context = DSL.using(connection, SQLDialect.POSTGRES);
+        try (Connection connection = Utilities.getConnection(userId)) {
+            DSLContext context = Utilities.getContext(connection);
+
+            rowsChanged = context.transactionResult(configuration -> {
+                DSLContext transactionContext = DSL.using(configuration);
+
+                BrewRatioSketches.lock(transactionContext, userId);
 
-            rowsChanged = context.deleteFrom(BREW)
-                                 .where(BREW.ID.eq(id))
-                                 .and(BREW.USER_ID.eq(userId))
-                                 .execute();
+                BrewRatioSketches.invalidate(transactionContext, userId, id, null);
+
+                int hotRowsChanged = transactionContext.deleteFrom(BREW)
+                                                       .where(BREW.ID.eq(id))
+                                                       .and(BREW.USER_ID.eq(userId))
+                                                       .execute();
+
+                if (hotRowsChanged > 0) {
+                    return hotRowsChanged;
+                } //end if
+
+                return transactionContext.deleteFrom(BrewArchive.ARCHIVED_BREWS)
+                                         .where(BREW.ID.eq(id))
+                                         .and(BREW.USER_ID.eq(userId))
+                                         .execute();
+            });
         } catch (SQLException | DataAccessException e) {
             LOGGER.atError()
                   .withThrowable(e)
@@ -588,6 +917,12 @@ public final class BrewController {
             return new ResponseEntity<>(body, HttpStatus.BAD_REQUEST);
         } //end if
 
+        ResultCache.bump(userId, BREW);
+
+        BrewController.invalidateCaches(userId);
+
+        BrewColumnCache.remove(userId, id);
+
         String content = "A brew with the specified parameters was successfully deleted";
 
         Body<String> body = Body.success(content);
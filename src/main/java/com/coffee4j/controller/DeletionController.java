@@ -0,0 +1,127 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Logan Kulinski
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.coffee4j.controller;
+
+import com.coffee4j.Body;
+import com.coffee4j.Utilities;
+import com.coffee4j.deletion.Deletions;
+import com.coffee4j.security.User;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.jooq.Condition;
+import org.jooq.DSLContext;
+import org.jooq.Record;
+import org.jooq.Result;
+import org.jooq.exception.DataAccessException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The REST controller used to follow the background deletions of the Coffee4j user and equipment data.
+ *
+ * @author Logan Kulinski, rashes_lineage02@icloud.com
+ * @version October 18, 2026
+ */
+@RestController
+@RequestMapping("/api/deletion")
+public final class DeletionController {
+    /**
+     * The {@link Logger} of the {@link DeletionController} class.
+     */
+    private static final Logger LOGGER;
+
+    static {
+        LOGGER = LogManager.getLogger();
+    } //static
+
+    /**
+     * Attempts to read the deletions of the current logged-in user using the specified limit, newest first. An ID can
+     * be used to filter the data. Assuming data exists, the ID, entity, entity ID, number of brews deleted so far,
+     * creation time, and completion time of each deletion are returned. The completion time is {@code null} while the
+     * deletion is in progress. Unlike every other data endpoint, this stays readable once the user's own deletion has
+     * been requested.
+     *
+     * @param id the ID to be used in the operation
+     * @param limit the limit to be used in the operation
+     * @return a {@link ResponseEntity} containing the outcome of the read operation
+     */
+    @GetMapping
+    public ResponseEntity<Body<?>> read(@RequestParam(required = false) Integer id,
+                                        @RequestParam(defaultValue = "10") int limit) {
+        User user = Utilities.getLoggedInUser(true);
+
+        if (user == null) {
+            return new ResponseEntity<>(HttpStatus.UNAUTHORIZED);
+        } //end if
+
+        int userId = user.id();
+
+        Condition condition = Deletions.USER_ID.eq(userId);
+
+        if (id != null) {
+            condition = condition.and(Deletions.ID.eq(id));
+        } //end if
+
+        Result<? extends Record> result;
+
+        try (Connection connection = Utilities.getReadConnection(userId)) {
+            DSLContext context = Utilities.getContext(connection);
+
+            result = context.select(Deletions.ID, Deletions.ENTITY, Deletions.ENTITY_ID.as("entityId"),
+                                    Deletions.BREWS_DELETED.as("brewsDeleted"), Deletions.CREATED_AT.as("createdAt"),
+                                    Deletions.COMPLETED_AT.as("completedAt"))
+                            .from(Deletions.DELETION)
+                            .where(condition)
+                            .orderBy(Deletions.ID.desc())
+                            .limit(limit)
+                            .fetch();
+        } catch (SQLException | DataAccessException e) {
+            LOGGER.atError()
+                  .withThrowable(e)
+                  .log();
+
+            String content = "A deletion with the specified parameters could not be read";
+
+            Body<String> body = Body.error(content);
+
+            return new ResponseEntity<>(body, HttpStatus.INTERNAL_SERVER_ERROR);
+        } //end try catch
+
+        List<Map<String, Object>> content = result.intoMaps();
+
+        Body<List<Map<String, Object>>> body = Body.success(content);
+
+        return new ResponseEntity<>(body, HttpStatus.OK);
+    } //read
+}
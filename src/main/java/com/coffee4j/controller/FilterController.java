@@ -26,6 +26,9 @@ package com.coffee4j.controller;
 
 import com.coffee4j.Body;
 import com.coffee4j.Utilities;
+import com.coffee4j.analytics.BrewColumnCache;
+import com.coffee4j.cache.ResultCache;
+import com.coffee4j.deletion.Deletions;
 import com.coffee4j.security.User;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -33,20 +36,20 @@ import org.jooq.Condition;
 import org.jooq.DSLContext;
 import org.jooq.Record;
 import org.jooq.Result;
-import org.jooq.SQLDialect;
 import org.jooq.exception.DataAccessException;
 import org.jooq.impl.DSL;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 import schema.generated.tables.Filter;
 import schema.generated.tables.records.FilterRecord;
 
 import java.net.URI;
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.SQLException;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 
@@ -108,8 +111,8 @@ public final class FilterController {
 
         FilterRecord record;
 
-        try (Connection connection = DriverManager.getConnection(Utilities.DATABASE_URL)) {
-            DSLContext context = DSL.using(connection, SQLDialect.POSTGRES);
+        try (Connection connection = Utilities.getConnection(userId)) {
+            DSLContext context = Utilities.getContext(connection);
 
             record = context.insertInto(FILTER)
                             .set(FILTER.USER_ID, userId)
@@ -136,6 +139,8 @@ public final class FilterController {
             return new ResponseEntity<>(body, HttpStatus.BAD_REQUEST);
         } //end if
 
+        ResultCache.bump(userId, FILTER);
+
         String content = "A filter with the specified parameters was successfully created";
 
         Body<String> body = Body.success(content);
@@ -161,13 +166,15 @@ public final class FilterController {
      * @param name the name to be used in the operation
      * @param offsetId the offset ID to be used in the operation
      * @param limit the limit to be used in the operation
+     * @param request the request to be used in the operation
      * @return a {@link ResponseEntity} containing the outcome of the read operation
      */
     @GetMapping
     public ResponseEntity<Body<?>> read(@RequestParam(required = false) Integer id,
                                         @RequestParam(required = false) String name,
                                         @RequestParam(required = false) Integer offsetId,
-                                        @RequestParam(defaultValue = "10") int limit) {
+                                        @RequestParam(defaultValue = "10") int limit,
+                                        ServletWebRequest request) {
         User user = Utilities.getLoggedInUser();
 
         if (user == null) {
@@ -182,7 +189,8 @@ public final class FilterController {
             condition = condition.and(FILTER.ID.lessThan(offsetId));
         } //end if
 
-        condition = condition.and(FILTER.USER_ID.eq(userId));
+        condition = condition.and(FILTER.USER_ID.eq(userId))
+                             .and(Deletions.isNotDeleted(FILTER));
 
         if (id != null) {
             condition = condition.and(FILTER.ID.eq(id));
@@ -192,40 +200,57 @@ public final class FilterController {
             condition = condition.and(FILTER.NAME.eq(name));
         } //end if
 
-        Result<? extends Record> result;
+        if (ResultCache.checkNotModified(request, userId, List.of(FILTER))) {
+            return new ResponseEntity<>(HttpStatus.NOT_MODIFIED);
+        } //end if
 
-        int rowCount;
+        List<?> query = Arrays.asList("filter", id, name, offsetId, limit);
 
-        try (Connection connection = DriverManager.getConnection(Utilities.DATABASE_URL)) {
-            DSLContext context = DSL.using(connection, SQLDialect.POSTGRES);
+        long version = ResultCache.getVersion(userId, FILTER);
 
-            result = context.select(FILTER.ID, FILTER.NAME)
-                            .from(FILTER)
-                            .where(condition)
-                            .orderBy(FILTER.ID.desc())
-                            .limit(limit)
-                            .fetch();
+        ResultCache.Page page = ResultCache.get(userId, version, query);
 
-            rowCount = context.fetchCount(FILTER, FILTER.USER_ID.eq(userId));
-        } catch (SQLException | DataAccessException e) {
-            LOGGER.atError()
-                  .withThrowable(e)
-                  .log();
+        if (page == null) {
+            Result<? extends Record> result;
 
-            String content = "A filter with the specified parameters could not be read";
+            int rowCount;
 
-            Body<String> body = Body.error(content);
+            try (Connection connection = Utilities.getReadConnection(userId)) {
+                DSLContext context = Utilities.getContext(connection);
 
-            return new ResponseEntity<>(body, HttpStatus.INTERNAL_SERVER_ERROR);
-        } //end try catch
+                result = context.select(FILTER.ID, FILTER.NAME)
+                                .from(FILTER)
+                                .where(condition)
+                                .orderBy(FILTER.ID.desc())
+                                .limit(limit)
+                                .fetch();
 
-        List<Map<String, Object>> content = result.intoMaps();
+                rowCount = context.fetchCount(FILTER, FILTER.USER_ID.eq(userId)
+                                                      .and(Deletions.isNotDeleted(FILTER)));
+            } catch (SQLException | DataAccessException e) {
+                LOGGER.atError()
+                      .withThrowable(e)
+                      .log();
+
+                String content = "A filter with the specified parameters could not be read";
+
+                Body<String> body = Body.error(content);
+
+                return new ResponseEntity<>(body, HttpStatus.INTERNAL_SERVER_ERROR);
+            } //end try catch
+
+            page = new ResultCache.Page(result.intoMaps(), rowCount);
+
+            ResultCache.put(userId, version, query, page);
+        } //end if
+
+        List<Map<String, Object>> content = page.rows();
 
         Body<List<Map<String, Object>>> body = Body.success(content);
 
         HttpHeaders httpHeaders = new HttpHeaders();
 
-        String recordCount = String.valueOf(rowCount);
+        String recordCount = String.valueOf(page.rowCount());
 
         httpHeaders.add("X-Record-Count", recordCount);
 
@@ -260,13 +285,14 @@ public final class FilterController {
 
         int rowsChanged;
 
-        try (Connection connection = DriverManager.getConnection(Utilities.DATABASE_URL)) {
-            DSLContext context = DSL.using(connection, SQLDialect.POSTGRES);
+        try (Connection connection = Utilities.getConnection(userId)) {
+            DSLContext context = Utilities.getContext(connection);
 
             rowsChanged = context.update(FILTER)
                                  .set(FILTER.NAME, name)
                                  .where(FILTER.ID.eq(id))
                                  .and(FILTER.USER_ID.eq(userId))
+                                 .and(Deletions.isNotDeleted(FILTER))
                                  .execute();
         } catch (SQLException | DataAccessException e) {
             LOGGER.atError()
@@ -288,6 +314,10 @@ public final class FilterController {
             return new ResponseEntity<>(body, HttpStatus.BAD_REQUEST);
         } //end if
 
+        ResultCache.bump(userId, FILTER);
+
+        BrewController.invalidateCaches(userId);
+
         String content = "A filter with the specified parameters was successfully updated";
 
         Body<String> body = Body.success(content);
@@ -297,7 +327,8 @@ public final class FilterController {
 
     /**
      * Attempts to delete the filter data of the current logged-in user. A single filter can be deleted. An ID is
-     * required for deletion.
+     * required for deletion. The filter is hidden at once, and it and its brews are removed in the background. The
+     * location of the deletion's progress is returned.
      *
      * @param id the ID to be used in the operation
      * @return a {@link ResponseEntity} containing the outcome of the delete operation
@@ -312,15 +343,12 @@ public final class FilterController {
 
         int userId = user.id();
 
-        int rowsChanged;
+        Integer deletionId;
 
-        try (Connection connection = DriverManager.getConnection(Utilities.DATABASE_URL)) {
-            DSLContext context = DSL.using(connection, SQLDialect.POSTGRES);
+        try (Connection connection = Utilities.getConnection(userId)) {
+            DSLContext context = Utilities.getContext(connection);
 
-            rowsChanged = context.deleteFrom(FILTER)
-                                 .where(FILTER.ID.eq(id))
-                                 .and(FILTER.USER_ID.eq(userId))
-                                 .execute();
+            deletionId = Deletions.schedule(context, Deletions.Entity.FILTER, id, userId);
         } catch (SQLException | DataAccessException e) {
             LOGGER.atError()
                   .withThrowable(e)
@@ -333,7 +361,7 @@ public final class FilterController {
             return new ResponseEntity<>(body, HttpStatus.INTERNAL_SERVER_ERROR);
         } //end try catch
 
-        if (rowsChanged == 0) {
+        if (deletionId == null) {
             String content = "A filter with the specified parameters could not be deleted";
 
             Body<String> body = Body.error(content);
@@ -341,10 +369,24 @@ public final class FilterController {
             return new ResponseEntity<>(body, HttpStatus.BAD_REQUEST);
         } //end if
 
-        String content = "A filter with the specified parameters was successfully deleted";
+        ResultCache.bump(userId, FILTER);
+
+        BrewController.invalidateCaches(userId);
+
+        BrewColumnCache.invalidate(userId);
+
+        String content = "A filter with the specified parameters is being deleted";
 
         Body<String> body = Body.success(content);
 
-        return new ResponseEntity<>(body, HttpStatus.OK);
+        String locationString = "http://localhost:8080/api/deletion?id=%d".formatted(deletionId);
+
+        URI location = URI.create(locationString);
+
+        HttpHeaders httpHeaders = new HttpHeaders();
+
+        httpHeaders.setLocation(location);
+
+        return new ResponseEntity<>(body, httpHeaders, HttpStatus.ACCEPTED);
     } //delete
 }
\ No newline at end of file
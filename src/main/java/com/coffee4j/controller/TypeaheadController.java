@@ -26,13 +26,13 @@ package com.coffee4j.controller;
 
 import com.coffee4j.Body;
 import com.coffee4j.Utilities;
+import com.coffee4j.deletion.Deletions;
 import com.coffee4j.security.User;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.jooq.*;
 import org.jooq.Record;
 import org.jooq.exception.DataAccessException;
-import org.jooq.impl.DSL;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -42,7 +42,6 @@ import org.springframework.web.bind.annotation.RestController;
 import schema.generated.tables.*;
 
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.SQLException;
 import java.util.List;
 import java.util.Map;
@@ -120,7 +119,8 @@ public final class TypeaheadController {
 
         int userId = user.id();
 
-        Condition condition = COFFEE.USER_ID.eq(userId);
+        Condition condition = COFFEE.USER_ID.eq(userId)
+                                 .and(Deletions.isNotDeleted(COFFEE));
 
         if (searchTerm != null) {
             condition = condition.and(COFFEE.NAME.startsWithIgnoreCase(searchTerm));
@@ -128,8 +128,8 @@ public final class TypeaheadController {
 
         Result<? extends Record> result;
 
-        try (Connection connection = DriverManager.getConnection(Utilities.DATABASE_URL)) {
-            DSLContext context = DSL.using(connection, SQLDialect.POSTGRES);
+        try (Connection connection = Utilities.getReadConnection(userId)) {
+            DSLContext context = Utilities.getContext(connection);
 
             result = context.select(COFFEE.ID, COFFEE.NAME)
                             .from(COFFEE)
@@ -176,7 +176,8 @@ public final class TypeaheadController {
 
         int userId = user.id();
 
-        Condition condition = WATER.USER_ID.eq(userId);
+        Condition condition = WATER.USER_ID.eq(userId)
+                                 .and(Deletions.isNotDeleted(WATER));
 
         if (searchTerm != null) {
             condition = condition.and(WATER.NAME.startsWithIgnoreCase(searchTerm));
@@ -184,8 +185,8 @@ public final class TypeaheadController {
 
         Result<? extends Record> result;
 
-        try (Connection connection = DriverManager.getConnection(Utilities.DATABASE_URL)) {
-            DSLContext context = DSL.using(connection, SQLDialect.POSTGRES);
+        try (Connection connection = Utilities.getReadConnection(userId)) {
+            DSLContext context = Utilities.getContext(connection);
 
             result = context.select(WATER.ID, WATER.NAME)
                             .from(WATER)
@@ -232,7 +233,8 @@ public final class TypeaheadController {
 
         int userId = user.id();
 
-        Condition condition = BREWER.USER_ID.eq(userId);
+        Condition condition = BREWER.USER_ID.eq(userId)
+                                 .and(Deletions.isNotDeleted(BREWER));
 
         if (searchTerm != null) {
             condition = condition.and(BREWER.NAME.startsWithIgnoreCase(searchTerm));
@@ -240,8 +242,8 @@ public final class TypeaheadController {
 
         Result<? extends Record> result;
 
-        try (Connection connection = DriverManager.getConnection(Utilities.DATABASE_URL)) {
-            DSLContext context = DSL.using(connection, SQLDialect.POSTGRES);
+        try (Connection connection = Utilities.getReadConnection(userId)) {
+            DSLContext context = Utilities.getContext(connection);
 
             result = context.select(BREWER.ID, BREWER.NAME)
                             .from(BREWER)
@@ -288,7 +290,8 @@ public final class TypeaheadController {
 
         int userId = user.id();
 
-        Condition condition = FILTER.USER_ID.eq(userId);
+        Condition condition = FILTER.USER_ID.eq(userId)
+                                 .and(Deletions.isNotDeleted(FILTER));
 
         if (searchTerm != null) {
             condition = condition.and(FILTER.NAME.startsWithIgnoreCase(searchTerm));
@@ -296,8 +299,8 @@ public final class TypeaheadController {
 
         Result<? extends Record> result;
 
-        try (Connection connection = DriverManager.getConnection(Utilities.DATABASE_URL)) {
-            DSLContext context = DSL.using(connection, SQLDialect.POSTGRES);
+        try (Connection connection = Utilities.getReadConnection(userId)) {
+            DSLContext context = Utilities.getContext(connection);
 
             result = context.select(FILTER.ID, FILTER.NAME)
                             .from(FILTER)
@@ -344,7 +347,8 @@ public final class TypeaheadController {
 
         int userId = user.id();
 
-        Condition condition = VESSEL.USER_ID.eq(userId);
+        Condition condition = VESSEL.USER_ID.eq(userId)
+                                 .and(Deletions.isNotDeleted(VESSEL));
 
         if (searchTerm != null) {
             condition = condition.and(VESSEL.NAME.startsWithIgnoreCase(searchTerm));
@@ -352,8 +356,8 @@ public final class TypeaheadController {
 
         Result<? extends Record> result;
 
-        try (Connection connection = DriverManager.getConnection(Utilities.DATABASE_URL)) {
-            DSLContext context = DSL.using(connection, SQLDialect.POSTGRES);
+        try (Connection connection = Utilities.getReadConnection(userId)) {
+            DSLContext context = Utilities.getContext(connection);
 
             result = context.select(VESSEL.ID, VESSEL.NAME)
                             .from(VESSEL)
@@ -26,13 +26,17 @@ package com.coffee4j.controller;
 
 import com.coffee4j.Body;
 import com.coffee4j.Utilities;
+import com.coffee4j.analytics.BrewColumnCache;
+import com.coffee4j.cache.ResultCache;
+import com.coffee4j.deletion.Deletions;
+import com.coffee4j.events.PasswordHashEvent;
 import com.coffee4j.security.User;
+import com.coffee4j.shard.Shards;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.jooq.DSLContext;
 import org.jooq.Field;
 import org.jooq.Record;
-import org.jooq.SQLDialect;
 import org.jooq.exception.DataAccessException;
 import org.jooq.impl.DSL;
 import org.springframework.http.HttpHeaders;
@@ -40,11 +44,14 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.crypto.bcrypt.BCrypt;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 import java.net.URI;
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -79,6 +86,42 @@ public final class UserController {
         LOGGER = LogManager.getLogger();
     } //static
 
+    /**
+     * Copies the {@code user} row of the new user with the specified ID to their shard, unless they live on the home
+     * database. If the copy fails, the user is removed from the home database again.
+     *
+     * @param context the home database context to be used in the operation
+     * @param id the ID to be used in the operation
+     * @param username the username to be used in the operation
+     * @param passwordHash the password hash to be used in the operation
+     * @throws SQLException if a connection could not be acquired
+     * @throws DataAccessException if a database error occurs
+     */
+    private static void createShardUser(DSLContext context, int id, String username, String passwordHash)
+        throws SQLException {
+        int shard = Shards.getShard(id);
+
+        if (shard == 0) {
+            return;
+        } //end if
+
+        try (Connection connection = Utilities.getShardConnection(shard)) {
+            DSLContext shardContext = Utilities.getContext(connection);
+
+            shardContext.insertInto(USER)
+                        .set(USER.ID, id)
+                        .set(USER.USERNAME, username)
+                        .set(USER.PASSWORD_HASH, passwordHash)
+                        .execute();
+        } catch (SQLException | DataAccessException e) {
+            context.deleteFrom(USER)
+                   .where(USER.ID.eq(id))
+                   .execute();
+
+            throw e;
+        } //end try catch
+    } //createShardUser
+
     /**
      * Attempts to create a new user. A username and password are required for creation.
      *
@@ -96,19 +139,40 @@ public final class UserController {
             return new ResponseEntity<>(body, HttpStatus.BAD_REQUEST);
         } //end if
 
+        PasswordHashEvent event = new PasswordHashEvent("hash", 0);
+
+        event.begin();
+
         String salt = BCrypt.gensalt();
 
         String passwordHash = BCrypt.hashpw(password, salt);
 
-        int rowsChanged;
+        event.commit();
 
-        try (Connection connection = DriverManager.getConnection(Utilities.DATABASE_URL)) {
-            DSLContext context = DSL.using(connection, SQLDialect.POSTGRES);
+        Integer id;
 
-            rowsChanged = context.insertInto(USER)
-                                 .set(USER.USERNAME, username)
-                                 .set(USER.PASSWORD_HASH, passwordHash)
-                                 .execute();
+        try (Connection connection = Utilities.getConnection()) {
+            DSLContext context = Utilities.getContext(connection);
+
+            id = context.transactionResult(configuration -> {
+                DSLContext transactionContext = DSL.using(configuration);
+
+                Integer newId = transactionContext.insertInto(USER)
+                                                  .set(USER.USERNAME, username)
+                                                  .set(USER.PASSWORD_HASH, passwordHash)
+                                                  .returningResult(USER.ID)
+                                                  .fetchOne(USER.ID);
+
+                if (newId != null) {
+                    Shards.place(transactionContext, newId);
+                } //end if
+
+                return newId;
+            });
+
+            if (id != null) {
+                UserController.createShardUser(context, id, username, passwordHash);
+            } //end if
         } catch (SQLException | DataAccessException e) {
             LOGGER.atError()
                   .withThrowable(e)
@@ -121,7 +185,7 @@ public final class UserController {
             return new ResponseEntity<>(body, HttpStatus.INTERNAL_SERVER_ERROR);
         } //end try catch
 
-        if (rowsChanged == 0) {
+        if (id == null) {
             String content = "A user with the specified parameters could not be created";
 
             Body<String> body = Body.error(content);
@@ -148,10 +212,11 @@ public final class UserController {
      * Attempts to read the user data of the current logged-in user. Assuming data exists, the ID and username of the
      * current logged-in user are returned.
      *
+     * @param request the request to be used in the operation
      * @return a {@link ResponseEntity} containing the outcome of the read operation
      */
     @GetMapping
-    public ResponseEntity<Body<?>> read() {
+    public ResponseEntity<Body<?>> read(ServletWebRequest request) {
         User user = Utilities.getLoggedInUser();
 
         if (user == null) {
@@ -160,14 +225,19 @@ public final class UserController {
 
         int id = user.id();
 
+        if (ResultCache.checkNotModified(request, id, List.of(USER))) {
+            return new ResponseEntity<>(HttpStatus.NOT_MODIFIED);
+        } //end if
+
         Record record;
 
-        try (Connection connection = DriverManager.getConnection(Utilities.DATABASE_URL)) {
-            DSLContext context = DSL.using(connection, SQLDialect.POSTGRES);
+        try (Connection connection = Utilities.getConnection()) {
+            DSLContext context = Utilities.getContext(connection);
 
             record = context.select(USER.ID, USER.USERNAME)
                             .from(USER)
                             .where(USER.ID.eq(id))
+                            .and(Deletions.isNotDeleted(USER))
                             .fetchOne();
         } catch (SQLException | DataAccessException e) {
             LOGGER.atError()
@@ -220,10 +290,16 @@ public final class UserController {
         } //end if
 
         if (password != null) {
+            PasswordHashEvent event = new PasswordHashEvent("hash", user.id());
+
+            event.begin();
+
             String salt = BCrypt.gensalt();
 
             String passwordHash = BCrypt.hashpw(password, salt);
 
+            event.commit();
+
             fieldToNewValue.put(USER.PASSWORD_HASH, passwordHash);
         } //end if
 
@@ -239,13 +315,27 @@ public final class UserController {
 
         int rowsChanged;
 
-        try (Connection connection = DriverManager.getConnection(Utilities.DATABASE_URL)) {
-            DSLContext context = DSL.using(connection, SQLDialect.POSTGRES);
+        try (Connection connection = Utilities.getConnection()) {
+            int shard = Shards.getWriteShard(id);
+
+            DSLContext context = Utilities.getContext(connection);
 
             rowsChanged = context.update(USER)
                                  .set(fieldToNewValue)
                                  .where(USER.ID.eq(id))
+                                 .and(Deletions.isNotDeleted(USER))
                                  .execute();
+
+            if ((rowsChanged > 0) && (shard != 0)) {
+                try (Connection shardConnection = Utilities.getShardConnection(shard)) {
+                    DSLContext shardContext = Utilities.getContext(shardConnection);
+
+                    shardContext.update(USER)
+                                .set(fieldToNewValue)
+                                .where(USER.ID.eq(id))
+                                .execute();
+                } //end try
+            } //end if
         } catch (SQLException | DataAccessException e) {
             LOGGER.atError()
                   .withThrowable(e)
@@ -266,6 +356,8 @@ public final class UserController {
             return new ResponseEntity<>(body, HttpStatus.BAD_REQUEST);
         } //end if
 
+        ResultCache.bump(id, USER);
+
         String content = "The user's data was successfully updated";
 
         Body<String> body = Body.success(content);
@@ -274,7 +366,31 @@ public final class UserController {
     } //update
 
     /**
-     * Attempts to delete the user data of the current logged-in user.
+     * Marks the {@code user} row of the user with the specified ID in the home database as deleted, so that they can
+     * no longer log in. The deletion itself is queued on the user's shard.
+     *
+     * @param id the ID to be used in the operation
+     * @throws SQLException if a connection could not be acquired
+     * @throws DataAccessException if a database error occurs
+     */
+    private static void markHomeUserDeleted(int id) throws SQLException {
+        LocalDateTime now = LocalDateTime.now(ZoneOffset.UTC);
+
+        try (Connection connection = Utilities.getConnection()) {
+            DSLContext context = Utilities.getContext(connection);
+
+            context.update(USER)
+                   .set(Deletions.getDeletedAt(USER), now)
+                   .where(USER.ID.eq(id))
+                   .and(Deletions.isNotDeleted(USER))
+                   .execute();
+        } //end try
+    } //markHomeUserDeleted
+
+    /**
+     * Attempts to delete the user data of the current logged-in user. The user can no longer log in once this
+     * returns, and their equipment and brews are removed in the background. The location of the deletion's progress
+     * is returned.
      *
      * @return a {@link ResponseEntity} containing the outcome of the delete operation
      */
@@ -288,14 +404,16 @@ public final class UserController {
 
         int id = user.id();
 
-        int rowsChanged;
+        Integer deletionId;
 
-        try (Connection connection = DriverManager.getConnection(Utilities.DATABASE_URL)) {
-            DSLContext context = DSL.using(connection, SQLDialect.POSTGRES);
+        try (Connection connection = Utilities.getConnection(id)) {
+            DSLContext context = Utilities.getContext(connection);
 
-            rowsChanged = context.delete(USER)
-                                 .where(USER.ID.eq(id))
-                                 .execute();
+            deletionId = Deletions.schedule(context, Deletions.Entity.USER, id, id);
+
+            if ((deletionId != null) && (Shards.getShard(id) != 0)) {
+                UserController.markHomeUserDeleted(id);
+            } //end if
         } catch (SQLException | DataAccessException e) {
             LOGGER.atError()
                   .withThrowable(e)
@@ -308,7 +426,7 @@ public final class UserController {
             return new ResponseEntity<>(body, HttpStatus.INTERNAL_SERVER_ERROR);
         } //end try catch
 
-        if (rowsChanged == 0) {
+        if (deletionId == null) {
             String content = "The user's data could not be deleted";
 
             Body<String> body = Body.error(content);
@@ -316,10 +434,24 @@ public final class UserController {
             return new ResponseEntity<>(body, HttpStatus.BAD_REQUEST);
         } //end if
 
-        String content = "The user's data was successfully deleted";
+        ResultCache.bumpAll(id);
+
+        BrewController.invalidateCaches(id);
+
+        BrewColumnCache.invalidate(id);
+
+        String content = "The user's data is being deleted";
 
         Body<String> body = Body.success(content);
 
-        return new ResponseEntity<>(body, HttpStatus.OK);
+        String locationString = "http://localhost:8080/api/deletion?id=%d".formatted(deletionId);
+
+        URI location = URI.create(locationString);
+
+        HttpHeaders httpHeaders = new HttpHeaders();
+
+        httpHeaders.setLocation(location);
+
+        return new ResponseEntity<>(body, httpHeaders, HttpStatus.ACCEPTED);
     } //delete
 }
\ No newline at end of file
@@ -26,6 +26,9 @@ package com.coffee4j.controller;
 
 import com.coffee4j.Body;
 import com.coffee4j.Utilities;
+import com.coffee4j.analytics.BrewColumnCache;
+import com.coffee4j.cache.ResultCache;
+import com.coffee4j.deletion.Deletions;
 import com.coffee4j.security.User;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -37,13 +40,14 @@ import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 import schema.generated.tables.Water;
 import schema.generated.tables.records.WaterRecord;
 
 import java.net.URI;
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.SQLException;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 
@@ -105,8 +109,8 @@ public final class WaterController {
 
         WaterRecord record;
 
-        try (Connection connection = DriverManager.getConnection(Utilities.DATABASE_URL)) {
-            DSLContext context = DSL.using(connection, SQLDialect.POSTGRES);
+        try (Connection connection = Utilities.getConnection(userId)) {
+            DSLContext context = Utilities.getContext(connection);
 
             record = context.insertInto(WATER)
                             .set(WATER.USER_ID, userId)
@@ -133,6 +137,8 @@ public final class WaterController {
             return new ResponseEntity<>(body, HttpStatus.BAD_REQUEST);
         } //end if
 
+        ResultCache.bump(userId, WATER);
+
         String content = "A water with the specified parameters was successfully created";
 
         Body<String> body = Body.success(content);
@@ -158,13 +164,15 @@ public final class WaterController {
      * @param name the name to be used in the operation
      * @param offsetId the offset ID to be used in the operation
      * @param limit the limit to be used in the operation
+     * @param request the request to be used in the operation
      * @return a {@link ResponseEntity} containing the outcome of the read operation
      */
     @GetMapping
     public ResponseEntity<Body<?>> read(@RequestParam(required = false) Integer id,
                                         @RequestParam(required = false) String name,
                                         @RequestParam(required = false) Integer offsetId,
-                                        @RequestParam(defaultValue = "10") int limit) {
+                                        @RequestParam(defaultValue = "10") int limit,
+                                        ServletWebRequest request) {
         User user = Utilities.getLoggedInUser();
 
         if (user == null) {
@@ -179,7 +187,8 @@ public final class WaterController {
             condition = condition.and(WATER.ID.lessThan(offsetId));
         } //end if
 
-        condition = condition.and(WATER.USER_ID.eq(userId));
+        condition = condition.and(WATER.USER_ID.eq(userId))
+                             .and(Deletions.isNotDeleted(WATER));
 
         if (id != null) {
             condition = condition.and(WATER.ID.eq(id));
@@ -189,40 +198,57 @@ public final class WaterController {
             condition = condition.and(WATER.NAME.eq(name));
         } //end if
 
-        Result<? extends Record> result;
+        if (ResultCache.checkNotModified(request, userId, List.of(WATER))) {
+            return new ResponseEntity<>(HttpStatus.NOT_MODIFIED);
+        } //end if
 
-        int rowCount;
+        List<?> query = Arrays.asList("water", id, name, offsetId, limit);
 
-        try (Connection connection = DriverManager.getConnection(Utilities.DATABASE_URL)) {
-            DSLContext context = DSL.using(connection, SQLDialect.POSTGRES);
+        long version = ResultCache.getVersion(userId, WATER);
 
-            result = context.select(WATER.ID, WATER.NAME)
-                            .from(WATER)
-                            .where(condition)
-                            .orderBy(WATER.ID.desc())
-                            .limit(limit)
-                            .fetch();
+        ResultCache.Page page = ResultCache.get(userId, version, query);
 
-            rowCount = context.fetchCount(WATER, WATER.USER_ID.eq(userId));
-        } catch (SQLException | DataAccessException e) {
-            LOGGER.atError()
-                  .withThrowable(e)
-                  .log();
+        if (page == null) {
+            Result<? extends Record> result;
 
-            String content = "A water with the specified parameters could not be read";
+            int rowCount;
 
-            Body<String> body = Body.error(content);
+            try (Connection connection = Utilities.getReadConnection(userId)) {
+                DSLContext context = Utilities.getContext(connection);
 
-            return new ResponseEntity<>(body, HttpStatus.INTERNAL_SERVER_ERROR);
-        } //end try catch
+                result = context.select(WATER.ID, WATER.NAME)
+                                .from(WATER)
+                                .where(condition)
+                                .orderBy(WATER.ID.desc())
+                                .limit(limit)
+                                .fetch();
 
-        List<Map<String, Object>> content = result.intoMaps();
+                rowCount = context.fetchCount(WATER, WATER.USER_ID.eq(userId)
+                                                      .and(Deletions.isNotDeleted(WATER)));
+            } catch (SQLException | DataAccessException e) {
+                LOGGER.atError()
+                      .withThrowable(e)
+                      .log();
+
+                String content = "A water with the specified parameters could not be read";
+
+                Body<String> body = Body.error(content);
+
+                return new ResponseEntity<>(body, HttpStatus.INTERNAL_SERVER_ERROR);
+            } //end try catch
+
+            page = new ResultCache.Page(result.intoMaps(), rowCount);
+
+            ResultCache.put(userId, version, query, page);
+        } //end if
+
+        List<Map<String, Object>> content = page.rows();
 
         Body<List<Map<String, Object>>> body = Body.success(content);
 
         HttpHeaders httpHeaders = new HttpHeaders();
 
-        String recordCount = String.valueOf(rowCount);
+        String recordCount = String.valueOf(page.rowCount());
 
         httpHeaders.add("X-Record-Count", recordCount);
 
@@ -257,13 +283,14 @@ public final class WaterController {
 
         int rowsChanged;
 
-        try (Connection connection = DriverManager.getConnection(Utilities.DATABASE_URL)) {
-            DSLContext context = DSL.using(connection, SQLDialect.POSTGRES);
+        try (Connection connection = Utilities.getConnection(userId)) {
+            DSLContext context = Utilities.getContext(connection);
 
             rowsChanged = context.update(WATER)
                                  .set(WATER.NAME, name)
                                  .where(WATER.ID.eq(id))
                                  .and(WATER.USER_ID.eq(userId))
+                                 .and(Deletions.isNotDeleted(WATER))
                                  .execute();
         } catch (SQLException | DataAccessException e) {
             LOGGER.atError()
@@ -285,6 +312,10 @@ public final class WaterController {
             return new ResponseEntity<>(body, HttpStatus.BAD_REQUEST);
         } //end if
 
+        ResultCache.bump(userId, WATER);
+
+        BrewController.invalidateCaches(userId);
+
         String content = "A water with the specified parameters was successfully updated";
 
         Body<String> body = Body.success(content);
@@ -293,8 +324,9 @@ public final class WaterController {
     } //update
 
     /**
-     * Attempts to delete the water data of the current logged-in user. A single water can be deleted. An ID is
-     * required for deletion.
+     * Attempts to delete the water data of the current logged-in user. A single water can be deleted. An ID is required
+     * for deletion. The water is hidden at once, and it and its brews are removed in the background. The location of
+     * the deletion's progress is returned.
      *
      * @param id the ID to be used in the operation
      * @return a {@link ResponseEntity} containing the outcome of the delete operation
@@ -309,15 +341,12 @@ public final class WaterController {
 
         int userId = user.id();
 
-        int rowsChanged;
+        Integer deletionId;
 
-        try (Connection connection = DriverManager.getConnection(Utilities.DATABASE_URL)) {
-            DSLContext context = DSL.using(connection, SQLDialect.POSTGRES);
+        try (Connection connection = Utilities.getConnection(userId)) {
+            DSLContext context = Utilities.getContext(connection);
 
-            rowsChanged = context.deleteFrom(WATER)
-                                 .where(WATER.ID.eq(id))
-                                 .and(WATER.USER_ID.eq(userId))
-                                 .execute();
+            deletionId = Deletions.schedule(context, Deletions.Entity.WATER, id, userId);
         } catch (SQLException | DataAccessException e) {
             LOGGER.atError()
                   .withThrowable(e)
@@ -330,7 +359,7 @@ public final class WaterController {
             return new ResponseEntity<>(body, HttpStatus.INTERNAL_SERVER_ERROR);
         } //end try catch
 
-        if (rowsChanged == 0) {
+        if (deletionId == null) {
             String content = "A water with the specified parameters could not be deleted";
 
             Body<String> body = Body.error(content);
@@ -338,10 +367,24 @@ public final class WaterController {
             return new ResponseEntity<>(body, HttpStatus.BAD_REQUEST);
         } //end if
 
-        String content = "A water with the specified parameters was successfully deleted";
+        ResultCache.bump(userId, WATER);
+
+        BrewController.invalidateCaches(userId);
+
+        BrewColumnCache.invalidate(userId);
+
+        String content = "A water with the specified parameters is being deleted";
 
         Body<String> body = Body.success(content);
 
-        return new ResponseEntity<>(body, HttpStatus.OK);
+        String locationString = "http://localhost:8080/api/deletion?id=%d".formatted(deletionId);
+
+        URI location = URI.create(locationString);
+
+        HttpHeaders httpHeaders = new HttpHeaders();
+
+        httpHeaders.setLocation(location);
+
+        return new ResponseEntity<>(body, httpHeaders, HttpStatus.ACCEPTED);
     } //delete
 }
\ No newline at end of file
@@ -0,0 +1,357 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Logan Kulinski
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.coffee4j.deletion;
+
+import com.coffee4j.Utilities;
+import com.coffee4j.analytics.BrewColumnCache;
+import com.coffee4j.analytics.BrewRatioSketches;
+import com.coffee4j.archive.BrewArchive;
+import com.coffee4j.cache.ResultCache;
+import com.coffee4j.controller.BrewController;
+import com.coffee4j.shard.Shards;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.jooq.DSLContext;
+import org.jooq.Field;
+import org.jooq.Record4;
+import org.jooq.Result;
+import org.jooq.Table;
+import org.jooq.exception.DataAccessException;
+import org.jooq.impl.DSL;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import schema.generated.tables.Brew;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The background worker of the deferred deletions of the Coffee4j application. Each queued deletion is carried out in
+ * chunks of {@code coffee4j.deletion.chunk-size} rows, each deleted in its own transaction, so no statement holds locks
+ * on many brews at once. The brews of the entity are deleted first, hot and then archived, followed by the equipment
+ * of a deleted user, and finally the entity itself. Progress is recorded after every chunk, and an interrupted
+ * deletion resumes where it stopped on the next run.
+ *
+ * @author Logan Kulinski, rashes_lineage02@icloud.com
+ * @version October 18, 2026
+ */
+@Component
+public final class DeletionWorker {
+    /**
+     * The maximum number of rows deleted per transaction of the {@link DeletionWorker} class.
+     */
+    private static final int CHUNK_SIZE;
+
+    /**
+     * The equipment of a user, deleted before the user.
+     */
+    private static final List<Deletions.Entity> EQUIPMENT;
+
+    /**
+     * The {@code brew} table of the {@link DeletionWorker} class.
+     */
+    private static final Brew BREW;
+
+    /**
+     * The advisory lock namespace of the {@link DeletionWorker} class.
+     */
+    private static final int LOCK_NAMESPACE;
+
+    /**
+     * The {@link Logger} of the {@link DeletionWorker} class.
+     */
+    private static final Logger LOGGER;
+
+    static {
+        CHUNK_SIZE = (int) Utilities.getLongProperty("coffee4j.deletion.chunk-size", 1_000);
+
+        EQUIPMENT = List.of(Deletions.Entity.COFFEE, Deletions.Entity.WATER, Deletions.Entity.BREWER,
+                            Deletions.Entity.FILTER, Deletions.Entity.VESSEL);
+
+        BREW = Brew.BREW;
+
+        LOCK_NAMESPACE = 29;
+
+        LOGGER = LogManager.getLogger();
+    } //static
+
+    /**
+     * Deletes one chunk of the brews matching the specified field and ID from the specified brews, and adds the number
+     * of deleted brews to the progress of the deletion with the specified ID, if there is one. The user's ratio
+     * sketches are discarded, as they may have counted the deleted brews.
+     *
+     * @param context the context to be used in the operation
+     * @param deletionId the deletion ID to be used in the operation, or {@code null} if there is no deletion
+     * @param userId the user ID to be used in the operation
+     * @param brews the brews to be used in the operation, either the {@code brew} table or a relation aliased as it
+     * @param brewField the field of the brews to be matched
+     * @param entityId the entity ID to be matched
+     * @return the number of deleted brews
+     * @throws DataAccessException if a database error occurs
+     */
+    private static int deleteBrews(DSLContext context, Integer deletionId, int userId, Table<?> brews,
+                                   Field<Integer> brewField, int entityId) {
+        int chunkCount = context.transactionResult(configuration -> {
+            DSLContext transactionContext = DSL.using(configuration);
+
+            BrewRatioSketches.lock(transactionContext, userId);
+
+            int deletedCount = transactionContext.deleteFrom(brews)
+                                                 .where(BREW.USER_ID.eq(userId))
+                                                 .and(BREW.ID.in(DSL.select(BREW.ID)
+                                                                    .from(brews)
+                                                                    .where(BREW.USER_ID.eq(userId))
+                                                                    .and(brewField.eq(entityId))
+                                                                    .limit(CHUNK_SIZE)))
+                                                 .execute();
+
+            BrewRatioSketches.invalidate(transactionContext, userId);
+
+            if (deletionId != null) {
+                transactionContext.update(Deletions.DELETION)
+                                  .set(Deletions.BREWS_DELETED, Deletions.BREWS_DELETED.plus(deletedCount))
+                                  .where(Deletions.ID.eq(deletionId))
+                                  .execute();
+            } //end if
+
+            return deletedCount;
+        });
+
+        ResultCache.bump(userId, BREW);
+
+        return chunkCount;
+    } //deleteBrews
+
+    /**
+     * Deletes one chunk of the specified equipment of the user with the specified ID.
+     *
+     * @param context the context to be used in the operation
+     * @param equipment the equipment to be used in the operation
+     * @param userId the user ID to be used in the operation
+     * @return the number of deleted rows
+     * @throws DataAccessException if a database error occurs
+     */
+    private static int deleteEquipment(DSLContext context, Deletions.Entity equipment, int userId) {
+        Field<Integer> idField = equipment.getIdField();
+
+        Field<Integer> userIdField = equipment.getUserIdField();
+
+        return context.deleteFrom(equipment.getTable())
+                      .where(idField.in(DSL.select(idField)
+                                           .from(equipment.getTable())
+                                           .where(userIdField.eq(userId))
+                                           .limit(CHUNK_SIZE)))
+                      .execute();
+    } //deleteEquipment
+
+    /**
+     * Deletes the brews of the specified entity, hot and then archived, followed by the equipment of a user, in chunks
+     * that are each deleted in their own transaction unless the specified context is already within one.
+     *
+     * @param context the context to be used in the operation
+     * @param deletionId the deletion ID to be used in the operation, or {@code null} if there is no deletion
+     * @param entity the entity to be used in the operation
+     * @param entityId the entity ID to be used in the operation
+     * @param userId the user ID to be used in the operation
+     * @throws DataAccessException if a database error occurs
+     */
+    private static void deleteDependents(DSLContext context, Integer deletionId, Deletions.Entity entity, int entityId,
+                                         int userId) {
+        for (Table<?> brews : List.of(BREW, BrewArchive.ARCHIVED_BREWS)) {
+            int deletedCount;
+
+            do {
+                deletedCount = DeletionWorker.deleteBrews(context, deletionId, userId, brews, entity.getBrewField(),
+                                                          entityId);
+            } while (deletedCount == CHUNK_SIZE);
+        } //end for
+
+        if (entity == Deletions.Entity.USER) {
+            for (Deletions.Entity equipment : EQUIPMENT) {
+                int deletedCount;
+
+                do {
+                    deletedCount = DeletionWorker.deleteEquipment(context, equipment, userId);
+                } while (deletedCount == CHUNK_SIZE);
+            } //end for
+        } //end if
+    } //deleteDependents
+
+    /**
+     * Deletes the brews and equipment of the user with the specified ID from the specified shard context in the same
+     * chunks as a queued deletion, leaving their {@code user} row in place. This is used to remove the copy of a user
+     * that was left behind on a shard by a move.
+     *
+     * @param context the shard context to be used in the operation
+     * @param userId the user ID to be used in the operation
+     * @throws DataAccessException if a database error occurs
+     */
+    public static void purge(DSLContext context, int userId) {
+        DeletionWorker.deleteDependents(context, null, Deletions.Entity.USER, userId, userId);
+    } //purge
+
+    /**
+     * Carries out the deletion with the specified ID of the specified entity. Once a user on another shard has been
+     * removed, their {@code user} row is removed from the home database as well.
+     *
+     * @param context the shard context to be used in the operation
+     * @param shard the shard to be used in the operation
+     * @param deletionId the deletion ID to be used in the operation
+     * @param entity the entity to be used in the operation
+     * @param entityId the entity ID to be used in the operation
+     * @param userId the user ID to be used in the operation
+     * @throws SQLException if a connection to the home database could not be acquired
+     * @throws DataAccessException if a database error occurs
+     */
+    private static void process(DSLContext context, int shard, int deletionId, Deletions.Entity entity, int entityId,
+                                int userId) throws SQLException {
+        DeletionWorker.deleteDependents(context, deletionId, entity, entityId, userId);
+
+        LocalDateTime completedAt = LocalDateTime.now(ZoneOffset.UTC);
+
+        context.transaction(configuration -> {
+            DSLContext transactionContext = DSL.using(configuration);
+
+            transactionContext.deleteFrom(entity.getTable())
+                              .where(entity.getIdField()
+                                           .eq(entityId))
+                              .execute();
+
+            transactionContext.update(Deletions.DELETION)
+                              .set(Deletions.COMPLETED_AT, completedAt)
+                              .where(Deletions.ID.eq(deletionId))
+                              .execute();
+        });
+
+        if ((entity == Deletions.Entity.USER) && (shard != 0)) {
+            try (Connection connection = Utilities.getConnection()) {
+                DSLContext homeContext = Utilities.getContext(connection);
+
+                homeContext.deleteFrom(entity.getTable())
+                           .where(entity.getIdField()
+                                        .eq(entityId))
+                           .execute();
+            } //end try
+
+            Shards.forget(userId);
+        } //end if
+
+        if (entity == Deletions.Entity.USER) {
+            ResultCache.bumpAll(userId);
+        } else {
+            ResultCache.bump(userId, entity.getTable());
+        } //end if
+
+        BrewController.invalidateCaches(userId);
+
+        BrewColumnCache.invalidate(userId);
+    } //process
+
+    /**
+     * Carries out every queued deletion of the specified shard using the specified context, oldest first. A failed
+     * deletion is logged and skipped, so it does not hold up the deletions queued after it, and is retried on the next
+     * run.
+     *
+     * @param context the shard context to be used in the operation
+     * @param shard the shard to be used in the operation
+     * @throws DataAccessException if the queue could not be read
+     */
+    private static void run(DSLContext context, int shard) {
+        Result<Record4<Integer, String, Integer, Integer>> deletions;
+
+        deletions = context.select(Deletions.ID, Deletions.ENTITY, Deletions.ENTITY_ID, Deletions.USER_ID)
+                           .from(Deletions.DELETION)
+                           .where(Deletions.COMPLETED_AT.isNull())
+                           .orderBy(Deletions.ID)
+                           .fetch();
+
+        for (Record4<Integer, String, Integer, Integer> deletion : deletions) {
+            Deletions.Entity entity = Deletions.Entity.of(deletion.value2());
+
+            if (entity == null) {
+                continue;
+            } //end if
+
+            try {
+                DeletionWorker.process(context, shard, deletion.value1(), entity, deletion.value3(),
+                                       deletion.value4());
+            } catch (SQLException | DataAccessException e) {
+                LOGGER.atError()
+                      .withThrowable(e)
+                      .log();
+
+                continue;
+            } //end try catch
+
+            LOGGER.atInfo()
+                  .log("Completed the deletion of {} {}", entity.getName(), deletion.value3());
+        } //end for
+    } //run
+
+    /**
+     * Carries out every queued deletion of the specified shard, oldest first. The shard is skipped while another node
+     * is working through its queue.
+     *
+     * @param shard the shard to be used in the operation
+     * @throws SQLException if a connection could not be acquired
+     * @throws DataAccessException if a database error occurs
+     */
+    private static void run(int shard) throws SQLException {
+        try (Connection connection = Utilities.getShardConnection(shard)) {
+            DSLContext context = Utilities.getContext(connection);
+
+            if (!Utilities.tryLock(context, LOCK_NAMESPACE, 0)) {
+                return;
+            } //end if
+
+            try {
+                DeletionWorker.run(context, shard);
+            } finally {
+                Utilities.unlock(context, LOCK_NAMESPACE, 0);
+            } //end try finally
+        } //end try
+    } //run
+
+    /**
+     * Carries out every queued deletion of every shard, oldest first. A failed deletion is logged and retried on the
+     * next run.
+     */
+    @Scheduled(initialDelay = 10, fixedDelay = 10, timeUnit = TimeUnit.SECONDS)
+    public void run() {
+        for (int shard = 0; shard < Utilities.getShardCount(); shard++) {
+            try {
+                DeletionWorker.run(shard);
+            } catch (SQLException | DataAccessException e) {
+                LOGGER.atError()
+                      .withThrowable(e)
+                      .log();
+            } //end try catch
+        } //end for
+    } //run
+}
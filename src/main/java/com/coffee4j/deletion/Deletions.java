@@ -0,0 +1,401 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Logan Kulinski
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.coffee4j.deletion;
+
+import com.coffee4j.analytics.BrewRatioSketches;
+import com.coffee4j.analytics.Leaderboard;
+import org.jooq.Condition;
+import org.jooq.DSLContext;
+import org.jooq.Field;
+import org.jooq.Record;
+import org.jooq.Table;
+import org.jooq.impl.DSL;
+import org.jooq.impl.SQLDataType;
+import schema.generated.tables.*;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Objects;
+
+/**
+ * Utilities for the deferred deletion of users and equipment of the Coffee4j application. A deleted entity is marked
+ * with a {@code deleted_at} timestamp, which hides it from reads, and a deletion is queued in the {@code deletion}
+ * table. The {@link DeletionWorker} class then removes the entity's brews in chunks, recording its progress, before it
+ * removes the entity itself.
+ *
+ * @author Logan Kulinski, rashes_lineage02@icloud.com
+ * @version October 18, 2026
+ */
+public final class Deletions {
+    /**
+     * An entity that is deleted in the background.
+     */
+    public enum Entity {
+        /**
+         * The singleton instance representing a user.
+         */
+        USER(User.USER, User.USER.ID, User.USER.ID, Brew.BREW.USER_ID),
+
+        /**
+         * The singleton instance representing a coffee.
+         */
+        COFFEE(Coffee.COFFEE, Coffee.COFFEE.ID, Coffee.COFFEE.USER_ID, Brew.BREW.COFFEE_ID),
+
+        /**
+         * The singleton instance representing a water.
+         */
+        WATER(Water.WATER, Water.WATER.ID, Water.WATER.USER_ID, Brew.BREW.WATER_ID),
+
+        /**
+         * The singleton instance representing a brewer.
+         */
+        BREWER(Brewer.BREWER, Brewer.BREWER.ID, Brewer.BREWER.USER_ID, Brew.BREW.BREWER_ID),
+
+        /**
+         * The singleton instance representing a filter.
+         */
+        FILTER(Filter.FILTER, Filter.FILTER.ID, Filter.FILTER.USER_ID, Brew.BREW.FILTER_ID),
+
+        /**
+         * The singleton instance representing a vessel.
+         */
+        VESSEL(Vessel.VESSEL, Vessel.VESSEL.ID, Vessel.VESSEL.USER_ID, Brew.BREW.VESSEL_ID);
+
+        /**
+         * The table of this entity.
+         */
+        private final Table<?> table;
+
+        /**
+         * The ID field of this entity.
+         */
+        private final Field<Integer> idField;
+
+        /**
+         * The owning user ID field of this entity.
+         */
+        private final Field<Integer> userIdField;
+
+        /**
+         * The field of the {@code brew} table referencing this entity.
+         */
+        private final Field<Integer> brewField;
+
+        /**
+         * Constructs an instance of the {@link Entity} class using the specified table and fields.
+         *
+         * @param table the table to be used in construction
+         * @param idField the ID field to be used in construction
+         * @param userIdField the owning user ID field to be used in construction
+         * @param brewField the field of the {@code brew} table to be used in construction
+         */
+        Entity(Table<?> table, Field<Integer> idField, Field<Integer> userIdField, Field<Integer> brewField) {
+            this.table = table;
+
+            this.idField = idField;
+
+            this.userIdField = userIdField;
+
+            this.brewField = brewField;
+        } //Entity
+
+        /**
+         * Returns the name of this entity, which is the name of its table.
+         *
+         * @return the name of this entity
+         */
+        public String getName() {
+            return this.table.getName();
+        } //getName
+
+        /**
+         * Returns the table of this entity.
+         *
+         * @return the table of this entity
+         */
+        public Table<?> getTable() {
+            return this.table;
+        } //getTable
+
+        /**
+         * Returns the ID field of this entity.
+         *
+         * @return the ID field of this entity
+         */
+        public Field<Integer> getIdField() {
+            return this.idField;
+        } //getIdField
+
+        /**
+         * Returns the owning user ID field of this entity.
+         *
+         * @return the owning user ID field of this entity
+         */
+        public Field<Integer> getUserIdField() {
+            return this.userIdField;
+        } //getUserIdField
+
+        /**
+         * Returns the field of the {@code brew} table referencing this entity.
+         *
+         * @return the field of the {@code brew} table referencing this entity
+         */
+        public Field<Integer> getBrewField() {
+            return this.brewField;
+        } //getBrewField
+
+        /**
+         * Returns the entity with the specified name, or {@code null} if there is none.
+         *
+         * @param name the name to be used in the operation
+         * @return the entity with the specified name, or {@code null} if there is none
+         */
+        public static Entity of(String name) {
+            for (Entity entity : Entity.values()) {
+                if (entity.getName()
+                          .equals(name)) {
+                    return entity;
+                } //end if
+            } //end for
+
+            return null;
+        } //of
+    } //Entity
+
+    /**
+     * The {@code deletion} table of the {@link Deletions} class.
+     */
+    public static final Table<Record> DELETION;
+
+    /**
+     * The {@code deletion.id} field of the {@link Deletions} class.
+     */
+    public static final Field<Integer> ID;
+
+    /**
+     * The {@code deletion.user_id} field of the {@link Deletions} class.
+     */
+    public static final Field<Integer> USER_ID;
+
+    /**
+     * The {@code deletion.entity} field of the {@link Deletions} class.
+     */
+    public static final Field<String> ENTITY;
+
+    /**
+     * The {@code deletion.entity_id} field of the {@link Deletions} class.
+     */
+    public static final Field<Integer> ENTITY_ID;
+
+    /**
+     * The {@code deletion.created_at} field of the {@link Deletions} class.
+     */
+    public static final Field<LocalDateTime> CREATED_AT;
+
+    /**
+     * The {@code deletion.brews_deleted} field of the {@link Deletions} class.
+     */
+    public static final Field<Integer> BREWS_DELETED;
+
+    /**
+     * The {@code deletion.completed_at} field of the {@link Deletions} class.
+     */
+    public static final Field<LocalDateTime> COMPLETED_AT;
+
+    static {
+        DELETION = DSL.table(DSL.name("deletion"));
+
+        ID = DSL.field(DSL.name("deletion", "id"), SQLDataType.INTEGER);
+
+        USER_ID = DSL.field(DSL.name("deletion", "user_id"), SQLDataType.INTEGER);
+
+        ENTITY = DSL.field(DSL.name("deletion", "entity"), SQLDataType.VARCHAR);
+
+        ENTITY_ID = DSL.field(DSL.name("deletion", "entity_id"), SQLDataType.INTEGER);
+
+        CREATED_AT = DSL.field(DSL.name("deletion", "created_at"), SQLDataType.LOCALDATETIME);
+
+        BREWS_DELETED = DSL.field(DSL.name("deletion", "brews_deleted"), SQLDataType.INTEGER);
+
+        COMPLETED_AT = DSL.field(DSL.name("deletion", "completed_at"), SQLDataType.LOCALDATETIME);
+    } //static
+
+    /**
+     * Throws an {@link InstantiationException}, as an instance of the {@link Deletions} class cannot be created.
+     *
+     * @throws InstantiationException if this constructor is invoked, as an instance of the {@link Deletions} class
+     * cannot be created
+     */
+    private Deletions() throws InstantiationException {
+        throw new InstantiationException("an instance of the Deletions class cannot be created");
+    } //Deletions
+
+    /**
+     * Returns the {@code deleted_at} field of the specified table.
+     *
+     * @param table the table to be used in the operation
+     * @return the {@code deleted_at} field of the specified table
+     * @throws NullPointerException if the specified table is {@code null}
+     */
+    public static Field<LocalDateTime> getDeletedAt(Table<?> table) {
+        Objects.requireNonNull(table, "the specified table is null");
+
+        return DSL.field(DSL.name(table.getName(), "deleted_at"), SQLDataType.LOCALDATETIME);
+    } //getDeletedAt
+
+    /**
+     * Returns the condition that the rows of the specified table have not been deleted.
+     *
+     * @param table the table to be used in the operation
+     * @return the condition that the rows of the specified table have not been deleted
+     * @throws NullPointerException if the specified table is {@code null}
+     */
+    public static Condition isNotDeleted(Table<?> table) {
+        return Deletions.getDeletedAt(table)
+                        .isNull();
+    } //isNotDeleted
+
+    /**
+     * Returns the condition that the brews of the user with the specified ID, aliased as {@code brew}, belong to none
+     * of the user's deleted entities. Each entity contributes an uncorrelated {@code not in} over the user's deleted
+     * rows of its table, which is evaluated once per statement and is empty unless a deletion is pending.
+     *
+     * @param userId the user ID to be used in the operation
+     * @return the condition that the brews of the user with the specified ID belong to no deleted entity
+     */
+    public static Condition isBrewNotDeleted(int userId) {
+        Condition condition = DSL.noCondition();
+
+        for (Entity entity : Entity.values()) {
+            Table<?> table = entity.getTable();
+
+            condition = condition.and(entity.getBrewField()
+                                            .notIn(DSL.select(entity.getIdField())
+                                                      .from(table)
+                                                      .where(entity.getUserIdField()
+                                                                   .eq(userId))
+                                                      .and(Deletions.getDeletedAt(table)
+                                                                    .isNotNull())));
+        } //end for
+
+        return condition;
+    } //isBrewNotDeleted
+
+    /**
+     * Returns the condition that the user with the specified ID has a deletion that has not been completed, and so
+     * may have brews that {@link #isBrewNotDeleted(int)} hides.
+     *
+     * @param userId the user ID to be used in the operation
+     * @return the condition that the user with the specified ID has a deletion that has not been completed
+     */
+    public static Condition hasPendingDeletion(int userId) {
+        return DSL.exists(DSL.selectOne()
+                             .from(DELETION)
+                             .where(USER_ID.eq(userId))
+                             .and(COMPLETED_AT.isNull()));
+    } //hasPendingDeletion
+
+    /**
+     * Returns the condition that brews of any user, aliased as {@code brew}, belong to no deleted entity. This is meant
+     * for scans across users; scans of one user should use {@link #isBrewNotDeleted(int)}.
+     *
+     * @return the condition that brews of any user belong to no deleted entity
+     */
+    public static Condition isBrewNotDeleted() {
+        Condition condition = DSL.noCondition();
+
+        for (Entity entity : Entity.values()) {
+            Table<?> table = entity.getTable();
+
+            condition = condition.andNotExists(DSL.selectOne()
+                                                  .from(table)
+                                                  .where(entity.getIdField()
+                                                               .eq(entity.getBrewField()))
+                                                  .and(Deletions.getDeletedAt(table)
+                                                                .isNotNull()));
+        } //end for
+
+        return condition;
+    } //isBrewNotDeleted
+
+    /**
+     * Marks the specified entity of the user with the specified ID as deleted and queues its deletion. Nothing is done
+     * if the entity does not exist, does not belong to the user, or has already been marked. The user's ratio sketches
+     * are discarded and the leaderboard is marked stale at once, so that the entity's brews leave every analysis
+     * before the worker removes them.
+     *
+     * @param context the context to be used in the operation
+     * @param entity the entity to be used in the operation
+     * @param entityId the entity ID to be used in the operation
+     * @param userId the user ID to be used in the operation
+     * @return the ID of the queued deletion, or {@code null} if nothing was marked
+     * @throws NullPointerException if the specified context or entity is {@code null}
+     * @throws org.jooq.exception.DataAccessException if a database error occurs
+     */
+    public static Integer schedule(DSLContext context, Entity entity, int entityId, int userId) {
+        Objects.requireNonNull(context, "the specified context is null");
+
+        Objects.requireNonNull(entity, "the specified entity is null");
+
+        LocalDateTime now = LocalDateTime.now(ZoneOffset.UTC);
+
+        Integer deletionId = context.transactionResult(configuration -> {
+            DSLContext transactionContext = DSL.using(configuration);
+
+            Table<?> table = entity.getTable();
+
+            BrewRatioSketches.lock(transactionContext, userId);
+
+            int rowsChanged = transactionContext.update(table)
+                                                .set(Deletions.getDeletedAt(table), now)
+                                                .where(entity.getIdField()
+                                                             .eq(entityId))
+                                                .and(entity.getUserIdField()
+                                                           .eq(userId))
+                                                .and(Deletions.isNotDeleted(table))
+                                                .execute();
+
+            if (rowsChanged == 0) {
+                return null;
+            } //end if
+
+            BrewRatioSketches.invalidate(transactionContext, userId);
+
+            return transactionContext.insertInto(DELETION)
+                                     .set(USER_ID, userId)
+                                     .set(ENTITY, entity.getName())
+                                     .set(ENTITY_ID, entityId)
+                                     .set(CREATED_AT, now)
+                                     .returningResult(ID)
+                                     .fetchOne(ID);
+        });
+
+        if (deletionId != null) {
+            Leaderboard.invalidate();
+        } //end if
+
+        return deletionId;
+    } //schedule
+}
@@ -0,0 +1,86 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Logan Kulinski
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.coffee4j.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A JDK Flight Recorder event of the Coffee4j application, emitted when a cache has been looked up.
+ *
+ * @author Logan Kulinski, rashes_lineage02@icloud.com
+ * @version October 18, 2026
+ */
+@Name("com.coffee4j.CacheAccess")
+@Label("Cache Access")
+@Category("Coffee4j")
+@Description("A lookup of a Coffee4j cache, either a hit or a miss")
+@StackTrace(false)
+public final class CacheAccessEvent extends Event {
+    /**
+     * The cache name of this event.
+     */
+    @Label("Cache")
+    private String cache;
+
+    /**
+     * The ID of the user of this event.
+     */
+    @Label("User ID")
+    private int userId;
+
+    /**
+     * Whether the lookup of this event was a hit.
+     */
+    @Label("Hit")
+    private boolean hit;
+
+    /**
+     * Emits an event for a lookup of the specified cache by the user with the specified ID.
+     *
+     * @param cache the cache name to be used in the operation
+     * @param userId the user ID to be used in the operation
+     * @param hit whether the lookup was a hit
+     */
+    public static void emit(String cache, int userId, boolean hit) {
+        CacheAccessEvent event = new CacheAccessEvent();
+
+        if (!event.isEnabled()) {
+            return;
+        } //end if
+
+        event.cache = cache;
+
+        event.userId = userId;
+
+        event.hit = hit;
+
+        event.commit();
+    } //emit
+}
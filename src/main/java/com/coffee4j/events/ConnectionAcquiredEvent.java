@@ -0,0 +1,91 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Logan Kulinski
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.coffee4j.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A JDK Flight Recorder event of the Coffee4j application, emitted when a connection has been acquired from the
+ * connection pool.
+ *
+ * @author Logan Kulinski, rashes_lineage02@icloud.com
+ * @version October 18, 2026
+ */
+@Name("com.coffee4j.ConnectionAcquired")
+@Label("Connection Acquired")
+@Category("Coffee4j")
+@Description("A connection acquired from the Coffee4j connection pool")
+@StackTrace(false)
+public final class ConnectionAcquiredEvent extends Event {
+    /**
+     * The number of active connections of the pool after the acquisition of this event.
+     */
+    @Label("Active Connections")
+    private int activeConnections;
+
+    /**
+     * The number of threads waiting for a connection after the acquisition of this event.
+     */
+    @Label("Waiting Threads")
+    private int waitingThreads;
+
+    /**
+     * Whether the acquisition of this event succeeded.
+     */
+    @Label("Succeeded")
+    private boolean succeeded;
+
+    /**
+     * Sets the number of active connections of this event to the specified number.
+     *
+     * @param activeConnections the number of active connections to be used in the operation
+     */
+    public void setActiveConnections(int activeConnections) {
+        this.activeConnections = activeConnections;
+    } //setActiveConnections
+
+    /**
+     * Sets the number of waiting threads of this event to the specified number.
+     *
+     * @param waitingThreads the number of waiting threads to be used in the operation
+     */
+    public void setWaitingThreads(int waitingThreads) {
+        this.waitingThreads = waitingThreads;
+    } //setWaitingThreads
+
+    /**
+     * Sets whether the acquisition of this event succeeded.
+     *
+     * @param succeeded whether the acquisition succeeded
+     */
+    public void setSucceeded(boolean succeeded) {
+        this.succeeded = succeeded;
+    } //setSucceeded
+}
@@ -0,0 +1,107 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Logan Kulinski
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.coffee4j.events;
+
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * A JDK Flight Recorder configuration of the Coffee4j application, which emits a {@link RequestHandledEvent} for every
+ * request. The filter runs after Spring Security, so that the logged-in user is known.
+ *
+ * @author Logan Kulinski, rashes_lineage02@icloud.com
+ * @version October 18, 2026
+ */
+@Configuration
+public class EventConfiguration {
+    /**
+     * The servlet filter that emits a {@link RequestHandledEvent} for every request.
+     */
+    private static final class RequestEventFilter extends OncePerRequestFilter {
+        /**
+         * Handles the specified request within a {@link RequestHandledEvent}.
+         *
+         * @param request the request to be used in the operation
+         * @param response the response to be used in the operation
+         * @param filterChain the filter chain to be used in the operation
+         * @throws ServletException if a servlet error occurs
+         * @throws IOException if an I/O error occurs
+         */
+        @Override
+        protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                        FilterChain filterChain) throws ServletException, IOException {
+            RequestHandledEvent event = new RequestHandledEvent();
+
+            if (!event.isEnabled()) {
+                filterChain.doFilter(request, response);
+
+                return;
+            } //end if
+
+            event.begin();
+
+            try {
+                filterChain.doFilter(request, response);
+            } finally {
+                event.end();
+
+                if (event.shouldCommit()) {
+                    Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+
+                    String route = (pattern == null) ? request.getRequestURI() : pattern.toString();
+
+                    event.setMethod(request.getMethod());
+
+                    event.setRoute(route);
+
+                    event.setStatus(response.getStatus());
+
+                    event.setUserId(QueryEventListener.getUserId());
+
+                    event.commit();
+                } //end if
+            } //end try finally
+        } //doFilterInternal
+    } //RequestEventFilter
+
+    /**
+     * Returns the registration of the request event filter.
+     *
+     * @return the registration of the request event filter
+     */
+    @Bean
+    public FilterRegistrationBean<OncePerRequestFilter> requestEventFilter() {
+        return new FilterRegistrationBean<>(new RequestEventFilter());
+    } //requestEventFilter
+}
@@ -0,0 +1,70 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Logan Kulinski
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.coffee4j.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A JDK Flight Recorder event of the Coffee4j application, emitted when a password has been hashed or verified with
+ * BCrypt.
+ *
+ * @author Logan Kulinski, rashes_lineage02@icloud.com
+ * @version October 18, 2026
+ */
+@Name("com.coffee4j.PasswordHash")
+@Label("BCrypt Hash")
+@Category("Coffee4j")
+@Description("A BCrypt password hash or verification")
+@StackTrace(false)
+public final class PasswordHashEvent extends Event {
+    /**
+     * The operation of this event, either {@code hash} or {@code verify}.
+     */
+    @Label("Operation")
+    private String operation;
+
+    /**
+     * The ID of the user of this event, or {@code 0} if it is unknown.
+     */
+    @Label("User ID")
+    private int userId;
+
+    /**
+     * Constructs an instance of the {@link PasswordHashEvent} class using the specified operation and user ID.
+     *
+     * @param operation the operation to be used in construction
+     * @param userId the user ID to be used in construction
+     */
+    public PasswordHashEvent(String operation, int userId) {
+        this.operation = operation;
+
+        this.userId = userId;
+    } //PasswordHashEvent
+}
@@ -0,0 +1,119 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Logan Kulinski
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.coffee4j.events;
+
+import com.coffee4j.metrics.QueryMetricsListener;
+import com.coffee4j.security.User;
+import org.jooq.ExecuteContext;
+import org.jooq.ExecuteListener;
+import org.jooq.Result;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+/**
+ * The jOOQ execute listener used to emit a {@link QueryExecutedEvent} for every query of the Coffee4j application.
+ * When no recording is enabling the event, the listener does no work beyond creating the event.
+ *
+ * @author Logan Kulinski, rashes_lineage02@icloud.com
+ * @version October 18, 2026
+ */
+public final class QueryEventListener implements ExecuteListener {
+    /**
+     * The key of the event in the data of an execute context.
+     */
+    private static final String EVENT_KEY;
+
+    static {
+        EVENT_KEY = "coffee4j.event";
+    } //static
+
+    /**
+     * Returns the ID of the current logged-in user, or {@code 0} if there is none.
+     *
+     * @return the ID of the current logged-in user, or {@code 0} if there is none
+     */
+    static int getUserId() {
+        Authentication authentication = SecurityContextHolder.getContext()
+                                                             .getAuthentication();
+
+        if ((authentication != null) && (authentication.getPrincipal() instanceof User user)) {
+            return user.id();
+        } //end if
+
+        return 0;
+    } //getUserId
+
+    /**
+     * Begins the event of the query of the specified execute context.
+     *
+     * @param context the execute context to be used in the operation
+     */
+    @Override
+    public void start(ExecuteContext context) {
+        QueryExecutedEvent event = new QueryExecutedEvent();
+
+        if (!event.isEnabled()) {
+            return;
+        } //end if
+
+        event.begin();
+
+        context.data(EVENT_KEY, event);
+    } //start
+
+    /**
+     * Commits the event of the query of the specified execute context, if it exceeds the threshold of the recording.
+     *
+     * @param context the execute context to be used in the operation
+     */
+    @Override
+    public void end(ExecuteContext context) {
+        if (!(context.data(EVENT_KEY) instanceof QueryExecutedEvent event)) {
+            return;
+        } //end if
+
+        event.end();
+
+        if (!event.shouldCommit()) {
+            return;
+        } //end if
+
+        String sql = context.sql();
+
+        event.setKind(QueryMetricsListener.getKind(sql));
+
+        event.setSql(sql);
+
+        Result<?> result = context.result();
+
+        int rows = (result == null) ? context.rows() : result.size();
+
+        event.setRows(rows);
+
+        event.setUserId(QueryEventListener.getUserId());
+
+        event.commit();
+    } //end
+}
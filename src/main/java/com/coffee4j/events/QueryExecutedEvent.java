@@ -0,0 +1,105 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Logan Kulinski
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.coffee4j.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A JDK Flight Recorder event of the Coffee4j application, emitted when a jOOQ query has been executed.
+ *
+ * @author Logan Kulinski, rashes_lineage02@icloud.com
+ * @version October 18, 2026
+ */
+@Name("com.coffee4j.QueryExecuted")
+@Label("Query Executed")
+@Category("Coffee4j")
+@Description("A jOOQ query executed by the Coffee4j application, with its SQL but not its bind values")
+@StackTrace(false)
+public final class QueryExecutedEvent extends Event {
+    /**
+     * The statement kind of this event, such as {@code select} or {@code select count}.
+     */
+    @Label("Kind")
+    private String kind;
+
+    /**
+     * The SQL of this event, with bind placeholders.
+     */
+    @Label("SQL")
+    private String sql;
+
+    /**
+     * The number of rows fetched or changed of this event, or {@code -1} if it is unknown.
+     */
+    @Label("Rows")
+    private int rows;
+
+    /**
+     * The ID of the logged-in user of this event, or {@code 0} if there is none.
+     */
+    @Label("User ID")
+    private int userId;
+
+    /**
+     * Sets the statement kind of this event to the specified kind.
+     *
+     * @param kind the kind to be used in the operation
+     */
+    public void setKind(String kind) {
+        this.kind = kind;
+    } //setKind
+
+    /**
+     * Sets the SQL of this event to the specified SQL.
+     *
+     * @param sql the SQL to be used in the operation
+     */
+    public void setSql(String sql) {
+        this.sql = sql;
+    } //setSql
+
+    /**
+     * Sets the number of rows of this event to the specified number.
+     *
+     * @param rows the number of rows to be used in the operation
+     */
+    public void setRows(int rows) {
+        this.rows = rows;
+    } //setRows
+
+    /**
+     * Sets the ID of the logged-in user of this event to the specified ID.
+     *
+     * @param userId the user ID to be used in the operation
+     */
+    public void setUserId(int userId) {
+        this.userId = userId;
+    } //setUserId
+}
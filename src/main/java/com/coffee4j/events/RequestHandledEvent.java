@@ -0,0 +1,105 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Logan Kulinski
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.coffee4j.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A JDK Flight Recorder event of the Coffee4j application, emitted when an HTTP request has been handled.
+ *
+ * @author Logan Kulinski, rashes_lineage02@icloud.com
+ * @version October 18, 2026
+ */
+@Name("com.coffee4j.RequestHandled")
+@Label("Request Handled")
+@Category("Coffee4j")
+@Description("An HTTP request handled by the Coffee4j application")
+@StackTrace(false)
+public final class RequestHandledEvent extends Event {
+    /**
+     * The HTTP method of this event.
+     */
+    @Label("Method")
+    private String method;
+
+    /**
+     * The route of this event.
+     */
+    @Label("Route")
+    private String route;
+
+    /**
+     * The response status of this event.
+     */
+    @Label("Status")
+    private int status;
+
+    /**
+     * The ID of the logged-in user of this event, or {@code 0} if there is none.
+     */
+    @Label("User ID")
+    private int userId;
+
+    /**
+     * Sets the HTTP method of this event to the specified method.
+     *
+     * @param method the method to be used in the operation
+     */
+    public void setMethod(String method) {
+        this.method = method;
+    } //setMethod
+
+    /**
+     * Sets the route of this event to the specified route.
+     *
+     * @param route the route to be used in the operation
+     */
+    public void setRoute(String route) {
+        this.route = route;
+    } //setRoute
+
+    /**
+     * Sets the response status of this event to the specified status.
+     *
+     * @param status the status to be used in the operation
+     */
+    public void setStatus(int status) {
+        this.status = status;
+    } //setStatus
+
+    /**
+     * Sets the ID of the logged-in user of this event to the specified ID.
+     *
+     * @param userId the user ID to be used in the operation
+     */
+    public void setUserId(int userId) {
+        this.userId = userId;
+    } //setUserId
+}
@@ -0,0 +1,259 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Logan Kulinski
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.coffee4j.logging;
+
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.core.Filter;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.config.Node;
+import org.apache.logging.log4j.core.config.plugins.Plugin;
+import org.apache.logging.log4j.core.config.plugins.PluginAttribute;
+import org.apache.logging.log4j.core.config.plugins.PluginFactory;
+import org.apache.logging.log4j.core.filter.AbstractFilter;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A Log4j filter that rate limits repeated errors. Errors are grouped by logger, exception type, and throwing frame.
+ * Within each interval, the first {@code burst} errors of a group are logged, after which only one in every
+ * {@code sampleRate} is. When a new interval starts, the number of errors suppressed in the previous one is logged as a
+ * warning. Events without a throwable, or below {@code ERROR}, are never filtered.
+ *
+ * @author Logan Kulinski, rashes_lineage02@icloud.com
+ * @version October 18, 2026
+ */
+@Plugin(name = "RepeatedErrorFilter", category = Node.CATEGORY, elementType = Filter.ELEMENT_TYPE)
+public final class RepeatedErrorFilter extends AbstractFilter {
+    /**
+     * The counters of a group of repeated errors within the current interval.
+     */
+    private static final class Window {
+        /**
+         * The start time of the interval of this window, in nanoseconds.
+         */
+        private long startTime;
+
+        /**
+         * The number of errors of this window.
+         */
+        private long count;
+
+        /**
+         * The number of suppressed errors of this window.
+         */
+        private long suppressedCount;
+
+        /**
+         * Constructs an instance of the {@link Window} class using the specified start time.
+         *
+         * @param startTime the start time to be used in construction
+         */
+        private Window(long startTime) {
+            this.startTime = startTime;
+
+            this.count = 0;
+
+            this.suppressedCount = 0;
+        } //Window
+    } //Window
+
+    /**
+     * The maximum number of groups of the {@link RepeatedErrorFilter} class, above which every group is reset.
+     */
+    private static final int MAX_GROUPS;
+
+    /**
+     * The {@link Logger} of the {@link RepeatedErrorFilter} class.
+     */
+    private static final Logger LOGGER;
+
+    static {
+        MAX_GROUPS = 1_000;
+
+        LOGGER = LogManager.getLogger();
+    } //static
+
+    /**
+     * The length of the interval of this filter, in nanoseconds.
+     */
+    private final long interval;
+
+    /**
+     * The number of errors of a group logged in full per interval of this filter.
+     */
+    private final long burst;
+
+    /**
+     * The sample rate of this filter, once a group has exceeded its burst.
+     */
+    private final long sampleRate;
+
+    /**
+     * The windows of this filter, keyed by group.
+     */
+    private final Map<String, Window> groupToWindow;
+
+    /**
+     * The total number of suppressed errors of this filter.
+     */
+    private final AtomicLong suppressedTotal;
+
+    /**
+     * Constructs an instance of the {@link RepeatedErrorFilter} class using the specified interval, burst, and sample
+     * rate.
+     *
+     * @param interval the interval to be used in construction, in nanoseconds
+     * @param burst the burst to be used in construction
+     * @param sampleRate the sample rate to be used in construction
+     */
+    private RepeatedErrorFilter(long interval, long burst, long sampleRate) {
+        super(Result.NEUTRAL, Result.DENY);
+
+        this.interval = interval;
+
+        this.burst = burst;
+
+        this.sampleRate = sampleRate;
+
+        this.groupToWindow = new ConcurrentHashMap<>();
+
+        this.suppressedTotal = new AtomicLong();
+    } //RepeatedErrorFilter
+
+    /**
+     * Creates an instance of the {@link RepeatedErrorFilter} class using the specified attributes.
+     *
+     * @param intervalSeconds the interval to be used in the operation, in seconds
+     * @param burst the burst to be used in the operation
+     * @param sampleRate the sample rate to be used in the operation
+     * @return an instance of the {@link RepeatedErrorFilter} class
+     */
+    @PluginFactory
+    public static RepeatedErrorFilter createFilter(@PluginAttribute(value = "intervalSeconds",
+                                                                    defaultLong = 60) long intervalSeconds,
+                                                   @PluginAttribute(value = "burst", defaultLong = 5) long burst,
+                                                   @PluginAttribute(value = "sampleRate",
+                                                                    defaultLong = 100) long sampleRate) {
+        long interval = TimeUnit.SECONDS.toNanos(Math.max(intervalSeconds, 1));
+
+        return new RepeatedErrorFilter(interval, Math.max(burst, 0), Math.max(sampleRate, 1));
+    } //createFilter
+
+    /**
+     * Returns the group of the specified event, being its logger, exception type, and throwing frame.
+     *
+     * @param event the event to be used in the operation
+     * @param throwable the throwable of the event to be used in the operation
+     * @return the group of the specified event
+     */
+    private static String getGroup(LogEvent event, Throwable throwable) {
+        StackTraceElement[] stackTrace = throwable.getStackTrace();
+
+        String frame = (stackTrace.length == 0) ? "" : stackTrace[0].toString();
+
+        return "%s|%s|%s".formatted(event.getLoggerName(), throwable.getClass()
+                                                                   .getName(), frame);
+    } //getGroup
+
+    /**
+     * Returns the total number of errors suppressed by this filter.
+     *
+     * @return the total number of errors suppressed by this filter
+     */
+    public long getSuppressedTotal() {
+        return this.suppressedTotal.get();
+    } //getSuppressedTotal
+
+    /**
+     * Filters the specified event.
+     *
+     * @param event the event to be used in the operation
+     * @return {@link Result#DENY}, if the event is a suppressed repeated error and {@link Result#NEUTRAL} otherwise
+     */
+    @Override
+    public Result filter(LogEvent event) {
+        Throwable throwable = event.getThrown();
+
+        if ((throwable == null) || !event.getLevel()
+                                         .isMoreSpecificThan(Level.ERROR)) {
+            return Result.NEUTRAL;
+        } //end if
+
+        if (this.groupToWindow.size() > MAX_GROUPS) {
+            this.groupToWindow.clear();
+        } //end if
+
+        String group = RepeatedErrorFilter.getGroup(event, throwable);
+
+        long now = System.nanoTime();
+
+        Window window = this.groupToWindow.computeIfAbsent(group, key -> new Window(now));
+
+        long previousSuppressedCount = 0;
+
+        boolean suppressed;
+
+        synchronized (window) {
+            if ((now - window.startTime) >= this.interval) {
+                previousSuppressedCount = window.suppressedCount;
+
+                window.startTime = now;
+
+                window.count = 0;
+
+                window.suppressedCount = 0;
+            } //end if
+
+            window.count++;
+
+            long excess = window.count - this.burst;
+
+            suppressed = (excess > 0) && ((excess % this.sampleRate) != 0);
+
+            if (suppressed) {
+                window.suppressedCount++;
+            } //end if
+        } //end synchronized
+
+        if (previousSuppressedCount > 0) {
+            LOGGER.atWarn()
+                  .log("Suppressed {} repeated errors of {} in the previous interval", previousSuppressedCount,
+                       group);
+        } //end if
+
+        if (suppressed) {
+            this.suppressedTotal.incrementAndGet();
+
+            return this.onMismatch;
+        } //end if
+
+        return this.onMatch;
+    } //filter
+}
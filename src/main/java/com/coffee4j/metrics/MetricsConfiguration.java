@@ -0,0 +1,108 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Logan Kulinski
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.coffee4j.metrics;
+
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import org.springframework.boot.actuate.metrics.web.servlet.DefaultWebMvcTagsProvider;
+import org.springframework.boot.actuate.metrics.web.servlet.WebMvcTagsProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.method.HandlerMethod;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * A metrics configuration of the Coffee4j application. Every request is timed by Spring Boot Actuator under the
+ * {@code http.server.requests} metric, which is tagged with its method, URI, and status. This configuration adds a
+ * {@code controller} tag naming the handling controller, and tags form logins, which are handled by Spring Security
+ * rather than a controller, with the {@code /perform_login} URI and the {@code login} controller.
+ *
+ * @author Logan Kulinski, rashes_lineage02@icloud.com
+ * @version October 18, 2026
+ */
+@Configuration
+public class MetricsConfiguration {
+    /**
+     * The login processing URI of the {@link MetricsConfiguration} class.
+     */
+    private static final String LOGIN_URI;
+
+    static {
+        LOGIN_URI = "/perform_login";
+    } //static
+
+    /**
+     * Returns the {@code controller} and {@code uri} tags of the specified request.
+     *
+     * @param request the request to be used in the operation
+     * @param handler the handler to be used in the operation
+     * @return the {@code controller} and {@code uri} tags of the specified request
+     */
+    private static Tags getTags(HttpServletRequest request, Object handler) {
+        if (handler instanceof HandlerMethod handlerMethod) {
+            String controller = handlerMethod.getBeanType()
+                                             .getSimpleName();
+
+            return Tags.of("controller", controller);
+        } //end if
+
+        String path = request.getRequestURI()
+                             .substring(request.getContextPath()
+                                               .length());
+
+        if (LOGIN_URI.equals(path)) {
+            return Tags.of(Tag.of("controller", "login"), Tag.of("uri", LOGIN_URI));
+        } //end if
+
+        return Tags.of("controller", "none");
+    } //getTags
+
+    /**
+     * Returns the {@link WebMvcTagsProvider} of the Coffee4j application.
+     *
+     * @return the {@link WebMvcTagsProvider} of the Coffee4j application
+     */
+    @Bean
+    public WebMvcTagsProvider webMvcTagsProvider() {
+        return new DefaultWebMvcTagsProvider() {
+            @Override
+            public Iterable<Tag> getTags(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                         Throwable exception) {
+                Iterable<Tag> tags = super.getTags(request, response, handler, exception);
+
+                return Tags.concat(tags, MetricsConfiguration.getTags(request, handler));
+            } //getTags
+
+            @Override
+            public Iterable<Tag> getLongRequestTags(HttpServletRequest request, Object handler) {
+                Iterable<Tag> tags = super.getLongRequestTags(request, handler);
+
+                return Tags.concat(tags, MetricsConfiguration.getTags(request, handler));
+            } //getLongRequestTags
+        };
+    } //webMvcTagsProvider
+}
@@ -0,0 +1,424 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Logan Kulinski
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.coffee4j.metrics;
+
+import com.coffee4j.Utilities;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.jooq.ExecuteContext;
+import org.jooq.ExecuteListener;
+import org.jooq.Param;
+import org.jooq.Query;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.StringJoiner;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The jOOQ execute listener used to time the queries of the Coffee4j application. The render, prepare, execute, and
+ * fetch phases of every query are published under the {@code coffee4j.jooq.query} timer, tagged with the phase, the
+ * calling method, and the kind of statement, so that a page query and a count query of the same endpoint are told
+ * apart. Queries slower than {@code coffee4j.slow-query.threshold-ms} are logged, sampled by
+ * {@code coffee4j.slow-query.sample-percent}, with their SQL and the types of their bind values, but never the values
+ * themselves.
+ *
+ * @author Logan Kulinski, rashes_lineage02@icloud.com
+ * @version October 18, 2026
+ */
+public final class QueryMetricsListener implements ExecuteListener {
+    /**
+     * A timed phase of a query.
+     */
+    private enum Phase {
+        /**
+         * The rendering of the SQL of a query.
+         */
+        RENDER,
+
+        /**
+         * The preparation of the statement of a query.
+         */
+        PREPARE,
+
+        /**
+         * The execution of the statement of a query.
+         */
+        EXECUTE,
+
+        /**
+         * The fetching of the results of a query.
+         */
+        FETCH;
+
+        /**
+         * The key of the start time of this phase in the data of an execute context.
+         */
+        private final String startKey;
+
+        /**
+         * The key of the duration of this phase in the data of an execute context.
+         */
+        private final String durationKey;
+
+        /**
+         * Constructs an instance of the {@link Phase} enum.
+         */
+        Phase() {
+            String name = this.name()
+                              .toLowerCase(Locale.ROOT);
+
+            this.startKey = "coffee4j.%s.start".formatted(name);
+
+            this.durationKey = "coffee4j.%s.duration".formatted(name);
+        } //Phase
+    } //Phase
+
+    /**
+     * The key of the caller in the data of an execute context.
+     */
+    private static final String CALLER_KEY;
+
+    /**
+     * The key of the start time in the data of an execute context.
+     */
+    private static final String START_KEY;
+
+    /**
+     * The duration above which a query is considered slow, in nanoseconds.
+     */
+    private static final long SLOW_QUERY_THRESHOLD;
+
+    /**
+     * The percentage of slow queries that are logged.
+     */
+    private static final long SLOW_QUERY_SAMPLE_PERCENT;
+
+    /**
+     * The {@link StackWalker} used to find the caller of a query.
+     */
+    private static final StackWalker STACK_WALKER;
+
+    /**
+     * The {@link Logger} of the {@link QueryMetricsListener} class.
+     */
+    private static final Logger LOGGER;
+
+    static {
+        CALLER_KEY = "coffee4j.caller";
+
+        START_KEY = "coffee4j.start";
+
+        long thresholdMillis = Utilities.getLongProperty("coffee4j.slow-query.threshold-ms", 500);
+
+        SLOW_QUERY_THRESHOLD = TimeUnit.MILLISECONDS.toNanos(thresholdMillis);
+
+        SLOW_QUERY_SAMPLE_PERCENT = Utilities.getLongProperty("coffee4j.slow-query.sample-percent", 100);
+
+        STACK_WALKER = StackWalker.getInstance(StackWalker.Option.RETAIN_CLASS_REFERENCE);
+
+        LOGGER = LogManager.getLogger();
+    } //static
+
+    /**
+     * Returns whether the specified stack frame belongs to a Coffee4j class other than this class.
+     *
+     * @param frame the stack frame to be used in the operation
+     * @return {@code true}, if the specified stack frame belongs to a Coffee4j class other than this class and
+     * {@code false} otherwise
+     */
+    private static boolean isCallerFrame(StackWalker.StackFrame frame) {
+        Class<?> clazz = frame.getDeclaringClass();
+
+        return (clazz != QueryMetricsListener.class) && clazz.getName()
+                                                             .startsWith("com.coffee4j.");
+    } //isCallerFrame
+
+    /**
+     * Returns the name of the method of the specified stack frame, qualified by the simple name of its class.
+     *
+     * @param frame the stack frame to be used in the operation
+     * @return the name of the method of the specified stack frame, qualified by the simple name of its class
+     */
+    private static String getMethodName(StackWalker.StackFrame frame) {
+        String simpleName = frame.getDeclaringClass()
+                                 .getSimpleName();
+
+        return "%s.%s".formatted(simpleName, frame.getMethodName());
+    } //getMethodName
+
+    /**
+     * Returns the name of the first Coffee4j method on the current stack outside of this class, or {@code unknown} if
+     * there is none.
+     *
+     * @return the name of the first Coffee4j method on the current stack outside of this class
+     */
+    private static String getCaller() {
+        Optional<String> caller = STACK_WALKER.walk(frames -> frames.filter(QueryMetricsListener::isCallerFrame)
+                                                                    .findFirst()
+                                                                    .map(QueryMetricsListener::getMethodName));
+
+        return caller.orElse("unknown");
+    } //getCaller
+
+    /**
+     * Returns the kind of the statement with the specified SQL, such as {@code select} or {@code select count}.
+     *
+     * @param sql the SQL to be used in the operation
+     * @return the kind of the statement with the specified SQL
+     */
+    public static String getKind(String sql) {
+        if (sql == null) {
+            return "unknown";
+        } //end if
+
+        String strippedSql = sql.stripLeading()
+                                .toLowerCase(Locale.ROOT);
+
+        if (strippedSql.startsWith("select count(")) {
+            return "select count";
+        } //end if
+
+        int index = 0;
+
+        while ((index < strippedSql.length()) && Character.isLetter(strippedSql.charAt(index))) {
+            index++;
+        } //end while
+
+        return (index == 0) ? "unknown" : strippedSql.substring(0, index);
+    } //getKind
+
+    /**
+     * Returns the shape of the bind values of the specified query, being the SQL type of each value.
+     *
+     * @param query the query to be used in the operation
+     * @return the shape of the bind values of the specified query
+     */
+    private static String getParameterShape(Query query) {
+        if (query == null) {
+            return "[]";
+        } //end if
+
+        StringJoiner joiner = new StringJoiner(", ", "[", "]");
+
+        Map<String, Param<?>> params = query.getParams();
+
+        for (Param<?> param : params.values()) {
+            if (param.isInline()) {
+                continue;
+            } //end if
+
+            String typeName = param.getDataType()
+                                   .getTypeName();
+
+            joiner.add(typeName);
+        } //end for
+
+        return joiner.toString();
+    } //getParameterShape
+
+    /**
+     * Marks the start of the specified phase using the specified execute context.
+     *
+     * @param context the execute context to be used in the operation
+     * @param phase the phase to be used in the operation
+     */
+    private static void startPhase(ExecuteContext context, Phase phase) {
+        context.data(phase.startKey, System.nanoTime());
+    } //startPhase
+
+    /**
+     * Marks the end of the specified phase using the specified execute context. The durations of repeated phases,
+     * such as the executions of a batch, are summed.
+     *
+     * @param context the execute context to be used in the operation
+     * @param phase the phase to be used in the operation
+     */
+    private static void endPhase(ExecuteContext context, Phase phase) {
+        if (!(context.data(phase.startKey) instanceof Long startTime)) {
+            return;
+        } //end if
+
+        long duration = System.nanoTime() - startTime;
+
+        if (context.data(phase.durationKey) instanceof Long previousDuration) {
+            duration += previousDuration;
+        } //end if
+
+        context.data(phase.durationKey, duration);
+    } //endPhase
+
+    /**
+     * Marks the start of the query of the specified execute context, and records its caller.
+     *
+     * @param context the execute context to be used in the operation
+     */
+    @Override
+    public void start(ExecuteContext context) {
+        context.data(START_KEY, System.nanoTime());
+
+        context.data(CALLER_KEY, QueryMetricsListener.getCaller());
+    } //start
+
+    /**
+     * Marks the start of the render phase of the query of the specified execute context.
+     *
+     * @param context the execute context to be used in the operation
+     */
+    @Override
+    public void renderStart(ExecuteContext context) {
+        QueryMetricsListener.startPhase(context, Phase.RENDER);
+    } //renderStart
+
+    /**
+     * Marks the end of the render phase of the query of the specified execute context.
+     *
+     * @param context the execute context to be used in the operation
+     */
+    @Override
+    public void renderEnd(ExecuteContext context) {
+        QueryMetricsListener.endPhase(context, Phase.RENDER);
+    } //renderEnd
+
+    /**
+     * Marks the start of the prepare phase of the query of the specified execute context.
+     *
+     * @param context the execute context to be used in the operation
+     */
+    @Override
+    public void prepareStart(ExecuteContext context) {
+        QueryMetricsListener.startPhase(context, Phase.PREPARE);
+    } //prepareStart
+
+    /**
+     * Marks the end of the prepare phase of the query of the specified execute context.
+     *
+     * @param context the execute context to be used in the operation
+     */
+    @Override
+    public void prepareEnd(ExecuteContext context) {
+        QueryMetricsListener.endPhase(context, Phase.PREPARE);
+    } //prepareEnd
+
+    /**
+     * Marks the start of the execute phase of the query of the specified execute context.
+     *
+     * @param context the execute context to be used in the operation
+     */
+    @Override
+    public void executeStart(ExecuteContext context) {
+        QueryMetricsListener.startPhase(context, Phase.EXECUTE);
+    } //executeStart
+
+    /**
+     * Marks the end of the execute phase of the query of the specified execute context.
+     *
+     * @param context the execute context to be used in the operation
+     */
+    @Override
+    public void executeEnd(ExecuteContext context) {
+        QueryMetricsListener.endPhase(context, Phase.EXECUTE);
+    } //executeEnd
+
+    /**
+     * Marks the start of the fetch phase of the query of the specified execute context.
+     *
+     * @param context the execute context to be used in the operation
+     */
+    @Override
+    public void fetchStart(ExecuteContext context) {
+        QueryMetricsListener.startPhase(context, Phase.FETCH);
+    } //fetchStart
+
+    /**
+     * Marks the end of the fetch phase of the query of the specified execute context.
+     *
+     * @param context the execute context to be used in the operation
+     */
+    @Override
+    public void fetchEnd(ExecuteContext context) {
+        QueryMetricsListener.endPhase(context, Phase.FETCH);
+    } //fetchEnd
+
+    /**
+     * Publishes the phase durations of the query of the specified execute context, and logs the query if it is slow.
+     *
+     * @param context the execute context to be used in the operation
+     */
+    @Override
+    public void end(ExecuteContext context) {
+        if (!(context.data(START_KEY) instanceof Long startTime)) {
+            return;
+        } //end if
+
+        long duration = System.nanoTime() - startTime;
+
+        String caller = String.valueOf(context.data(CALLER_KEY));
+
+        String sql = context.sql();
+
+        String kind = QueryMetricsListener.getKind(sql);
+
+        for (Phase phase : Phase.values()) {
+            if (!(context.data(phase.durationKey) instanceof Long phaseDuration)) {
+                continue;
+            } //end if
+
+            String phaseName = phase.name()
+                                    .toLowerCase(Locale.ROOT);
+
+            Timer.builder("coffee4j.jooq.query")
+                 .description("The duration of a phase of a jOOQ query")
+                 .tag("phase", phaseName)
+                 .tag("caller", caller)
+                 .tag("kind", kind)
+                 .publishPercentileHistogram()
+                 .register(Metrics.globalRegistry)
+                 .record(phaseDuration, TimeUnit.NANOSECONDS);
+        } //end for
+
+        if (duration < SLOW_QUERY_THRESHOLD) {
+            return;
+        } //end if
+
+        if (ThreadLocalRandom.current()
+                             .nextLong(100) >= SLOW_QUERY_SAMPLE_PERCENT) {
+            return;
+        } //end if
+
+        String parameterShape = QueryMetricsListener.getParameterShape(context.query());
+
+        Duration slowDuration = Duration.ofNanos(duration);
+
+        LOGGER.atWarn()
+              .log("Slow query ({} ms) from {}: {} with parameters {}", slowDuration.toMillis(), caller, sql,
+                   parameterShape);
+    } //end
+}
@@ -0,0 +1,100 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Logan Kulinski
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.coffee4j.migration;
+
+import com.coffee4j.Utilities;
+import org.flywaydb.core.Flyway;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A schema migration configuration of the Coffee4j application. The versioned scripts in {@code db/migration} are
+ * applied to the home database and to every other shard while the application context starts, before the web server
+ * accepts requests. A database created before migrations existed is baselined at version 1. Scripts containing only
+ * {@code create index concurrently} statements are run outside a transaction, so indexes can be added without blocking
+ * writes to their tables. The {@code shard} placeholder of the scripts is set to the index of the migrated shard.
+ *
+ * @author Logan Kulinski, rashes_lineage02@icloud.com
+ * @version October 18, 2026
+ */
+@Configuration
+@ConditionalOnProperty(name = "coffee4j.migrations.enabled", matchIfMissing = true)
+public class MigrationConfiguration {
+    /**
+     * Returns a {@link Flyway} instance that migrates the specified shard.
+     *
+     * @param shard the shard to be used in the operation
+     * @return a {@link Flyway} instance that migrates the specified shard
+     */
+    private static Flyway getFlyway(int shard) {
+        String databaseUrl = Utilities.getShardUrl(shard);
+
+        Map<String, String> placeholders = Map.of("shard", String.valueOf(shard));
+
+        return Flyway.configure()
+                     .dataSource(databaseUrl, null, null)
+                     .locations("classpath:db/migration")
+                     .placeholders(placeholders)
+                     .baselineOnMigrate(true)
+                     .baselineVersion("1")
+                     .load();
+    } //getFlyway
+
+    /**
+     * Returns the {@link Flyway} instance that migrates the home database of the {@link Utilities} class. Its
+     * {@code migrate} method is invoked when the bean is initialized.
+     *
+     * @return the {@link Flyway} instance that migrates the home database of the {@link Utilities} class
+     */
+    @Bean(initMethod = "migrate")
+    public Flyway flyway() {
+        return MigrationConfiguration.getFlyway(0);
+    } //flyway
+
+    /**
+     * Migrates every shard other than the home database, and returns the {@link Flyway} instances that did so.
+     *
+     * @return the {@link Flyway} instances that migrated every shard other than the home database
+     */
+    @Bean
+    public List<Flyway> shardFlyways() {
+        List<Flyway> flyways = new ArrayList<>();
+
+        for (int shard = 1; shard < Utilities.getShardCount(); shard++) {
+            Flyway flyway = MigrationConfiguration.getFlyway(shard);
+
+            flyway.migrate();
+
+            flyways.add(flyway);
+        } //end for
+
+        return flyways;
+    } //shardFlyways
+}
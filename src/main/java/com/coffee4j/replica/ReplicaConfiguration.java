@@ -0,0 +1,120 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Logan Kulinski
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.coffee4j.replica;
+
+import com.coffee4j.Utilities;
+import com.coffee4j.security.User;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * A read replica configuration of the Coffee4j application, which records every write request of a logged-in user
+ * with {@link Utilities#recordWrite(int)}, so that the user's reads go to the primary until the replica has caught up.
+ * The filter runs after Spring Security, so that the logged-in user is known.
+ *
+ * @author Logan Kulinski, rashes_lineage02@icloud.com
+ * @version October 18, 2026
+ */
+@Configuration
+public class ReplicaConfiguration {
+    /**
+     * The servlet filter that records the write requests of logged-in users.
+     */
+    private static final class WriteTrackingFilter extends OncePerRequestFilter {
+        /**
+         * Returns the ID of the current logged-in user, or {@code 0} if there is none.
+         *
+         * @return the ID of the current logged-in user, or {@code 0} if there is none
+         */
+        private static int getUserId() {
+            Authentication authentication = SecurityContextHolder.getContext()
+                                                                 .getAuthentication();
+
+            if ((authentication != null) && (authentication.getPrincipal() instanceof User user)) {
+                return user.id();
+            } //end if
+
+            return 0;
+        } //getUserId
+
+        /**
+         * Handles the specified request, recording a write by the logged-in user if it is not a {@code GET},
+         * {@code HEAD}, or {@code OPTIONS} request. The write is recorded both before and after the request is
+         * handled, so that the user's concurrent reads go to the primary while it runs and the window only closes
+         * once it has committed.
+         *
+         * @param request the request to be used in the operation
+         * @param response the response to be used in the operation
+         * @param filterChain the filter chain to be used in the operation
+         * @throws ServletException if a servlet error occurs
+         * @throws IOException if an I/O error occurs
+         */
+        @Override
+        protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                        FilterChain filterChain) throws ServletException, IOException {
+            String method = request.getMethod();
+
+            int userId = WriteTrackingFilter.getUserId();
+
+            boolean write = !(HttpMethod.GET.matches(method) || HttpMethod.HEAD.matches(method)
+                || HttpMethod.OPTIONS.matches(method));
+
+            if (!write || (userId == 0)) {
+                filterChain.doFilter(request, response);
+
+                return;
+            } //end if
+
+            Utilities.recordWrite(userId);
+
+            try {
+                filterChain.doFilter(request, response);
+            } finally {
+                Utilities.recordWrite(userId);
+            } //end try finally
+        } //doFilterInternal
+    } //WriteTrackingFilter
+
+    /**
+     * Returns the registration of the write tracking filter.
+     *
+     * @return the registration of the write tracking filter
+     */
+    @Bean
+    public FilterRegistrationBean<OncePerRequestFilter> writeTrackingFilter() {
+        return new FilterRegistrationBean<>(new WriteTrackingFilter());
+    } //writeTrackingFilter
+}
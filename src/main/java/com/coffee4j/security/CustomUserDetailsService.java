@@ -25,17 +25,15 @@
 package com.coffee4j.security;
 
 import com.coffee4j.Utilities;
+import com.coffee4j.deletion.Deletions;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.jooq.DSLContext;
 import org.jooq.Record;
-import org.jooq.SQLDialect;
-import org.jooq.impl.DSL;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.SQLException;
 import java.util.Objects;
 
@@ -75,12 +73,13 @@ public final class CustomUserDetailsService implements UserDetailsService {
 
         Record record;
 
-        try (Connection connection = DriverManager.getConnection(Utilities.DATABASE_URL)) {
-            DSLContext context = DSL.using(connection, SQLDialect.POSTGRES);
+        try (Connection connection = Utilities.getConnection()) {
+            DSLContext context = Utilities.getContext(connection);
 
             record = context.select()
                             .from(USER)
                             .where(USER.USERNAME.eq(username))
+                            .and(Deletions.isNotDeleted(USER))
                             .fetchOne();
         } catch (SQLException e) {
             LOGGER.atError()
@@ -24,6 +24,8 @@
 
 package com.coffee4j.security;
 
+import com.coffee4j.events.PasswordHashEvent;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -35,6 +37,10 @@ import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
 /**
  * A web security configuration of the Coffee4j application.
  *
@@ -45,13 +51,58 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 @EnableWebSecurity
 public class WebSecurityConfiguration extends WebSecurityConfigurerAdapter {
     /**
-     * Returns an instance of {@link BCryptPasswordEncoder}.
+     * The addresses, in CIDR notation, allowed to scrape metrics of this web security configuration.
+     */
+    private final List<String> scrapeAddresses;
+
+    /**
+     * Constructs an instance of the {@link WebSecurityConfiguration} class using the specified scrape addresses.
+     *
+     * @param scrapeAddresses the addresses, in CIDR notation, allowed to scrape metrics
+     * @throws NullPointerException if the specified scrape addresses are {@code null}
+     */
+    public WebSecurityConfiguration(@Value("${coffee4j.metrics.scrape-addresses:127.0.0.1/32,::1/128}")
+                                    List<String> scrapeAddresses) {
+        Objects.requireNonNull(scrapeAddresses, "the specified scrape addresses are null");
+
+        this.scrapeAddresses = List.copyOf(scrapeAddresses);
+    } //WebSecurityConfiguration
+
+    /**
+     * Returns an instance of {@link BCryptPasswordEncoder}. Every hash and verification emits a
+     * {@link PasswordHashEvent}.
      *
      * @return an instance of {@link BCryptPasswordEncoder}
      */
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        return new BCryptPasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                PasswordHashEvent event = new PasswordHashEvent("hash", 0);
+
+                event.begin();
+
+                String encodedPassword = super.encode(rawPassword);
+
+                event.commit();
+
+                return encodedPassword;
+            } //encode
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                PasswordHashEvent event = new PasswordHashEvent("verify", 0);
+
+                event.begin();
+
+                boolean matches = super.matches(rawPassword, encodedPassword);
+
+                event.commit();
+
+                return matches;
+            } //matches
+        };
     } //passwordEncoder
 
     /**
@@ -68,13 +119,24 @@ public class WebSecurityConfiguration extends WebSecurityConfigurerAdapter {
     } //configure
 
     /**
-     * Configures web security using the specified HTTP security instance.
+     * Configures web security using the specified HTTP security instance. Only the health endpoint is public; metrics
+     * can only be scraped from the configured scrape addresses, as they expose per-endpoint timings and traffic.
      *
      * @param http the HTTP security instance to be used in the operation
      * @throws Exception if an error occurs
      */
     @Override
     protected void configure(HttpSecurity http) throws Exception {
+        String scrapeAccess = this.scrapeAddresses.stream()
+                                                  .map(String::strip)
+                                                  .filter(address -> !address.isEmpty())
+                                                  .map("hasIpAddress('%s')"::formatted)
+                                                  .collect(Collectors.joining(" or "));
+
+        if (scrapeAccess.isEmpty()) {
+            scrapeAccess = "denyAll";
+        } //end if
+
         http.csrf()
             .disable()
             .cors()
@@ -82,6 +144,10 @@ public class WebSecurityConfiguration extends WebSecurityConfigurerAdapter {
             .authorizeRequests()
             .antMatchers(HttpMethod.POST, "/perform_login")
             .permitAll()
+            .antMatchers(HttpMethod.GET, "/actuator/health")
+            .permitAll()
+            .antMatchers(HttpMethod.GET, "/actuator/prometheus")
+            .access(scrapeAccess)
             .anyRequest()
             .authenticated()
             .and()
@@ -0,0 +1,355 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Logan Kulinski
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.coffee4j.shard;
+
+import com.coffee4j.Masses;
+import com.coffee4j.Utilities;
+import com.coffee4j.archive.BrewArchive;
+import com.coffee4j.deletion.DeletionWorker;
+import com.coffee4j.deletion.Deletions;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.jooq.Condition;
+import org.jooq.Cursor;
+import org.jooq.DSLContext;
+import org.jooq.Field;
+import org.jooq.InsertValuesStep10;
+import org.jooq.Record2;
+import org.jooq.Record9;
+import org.jooq.Result;
+import org.jooq.Table;
+import org.jooq.exception.DataAccessException;
+import org.jooq.impl.DSL;
+import schema.generated.tables.Brew;
+import schema.generated.tables.User;
+import schema.generated.tables.records.BrewRecord;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Moves users between the shards of the Coffee4j application while the application keeps serving requests. The user
+ * is first marked as moving, which refuses their writes, while their reads carry on against the old shard. Writes
+ * hold a shared advisory lock of the user, which the move takes exclusively before copying, so a write that began
+ * before the user was marked is either finished first or refused. Their equipment and brews are then copied to the new
+ * shard from a single snapshot, in a single transaction, the directory is switched over, and the old copy is removed
+ * once no node can still be reading it.
+ * Equipment and brews keep their IDs. Every shard allocates equipment IDs from its own range, so copied equipment
+ * cannot collide with the equipment of the new shard, and the brew sequence of the new shard is advanced past the
+ * copied brews, so the user's later brews still sort after their earlier ones. Other users are unaffected.
+ *
+ * @author Logan Kulinski, rashes_lineage02@icloud.com
+ * @version October 18, 2026
+ */
+public final class ShardMover {
+    /**
+     * The equipment of a user, copied before their brews.
+     */
+    private static final List<Deletions.Entity> EQUIPMENT;
+
+    /**
+     * The number of brews inserted per statement of the {@link ShardMover} class.
+     */
+    private static final int BATCH_SIZE;
+
+    /**
+     * The {@code brew} table of the {@link ShardMover} class.
+     */
+    private static final Brew BREW;
+
+    /**
+     * The {@code user} table of the {@link ShardMover} class.
+     */
+    private static final User USER;
+
+    /**
+     * The {@link Logger} of the {@link ShardMover} class.
+     */
+    private static final Logger LOGGER;
+
+    static {
+        EQUIPMENT = List.of(Deletions.Entity.COFFEE, Deletions.Entity.WATER, Deletions.Entity.BREWER,
+                            Deletions.Entity.FILTER, Deletions.Entity.VESSEL);
+
+        BATCH_SIZE = 1_000;
+
+        BREW = Brew.BREW;
+
+        USER = User.USER;
+
+        LOGGER = LogManager.getLogger();
+    } //static
+
+    /**
+     * Throws an {@link InstantiationException}, as an instance of the {@link ShardMover} class cannot be created.
+     *
+     * @throws InstantiationException if this constructor is invoked, as an instance of the {@link ShardMover} class
+     * cannot be created
+     */
+    private ShardMover() throws InstantiationException {
+        throw new InstantiationException("an instance of the ShardMover class cannot be created");
+    } //ShardMover
+
+    /**
+     * Removes the equipment, brews, and deletions of the user with the specified ID from the specified shard, along
+     * with their {@code user} row unless the shard is the home database. The equipment and brews are removed in the
+     * chunks of the {@link DeletionWorker} class, each in its own transaction unless the specified context is already
+     * within one, so that no statement holds locks on the user's whole history at once.
+     *
+     * @param context the shard context to be used in the operation
+     * @param userId the user ID to be used in the operation
+     * @param shard the shard to be used in the operation
+     * @throws DataAccessException if a database error occurs
+     */
+    private static void purge(DSLContext context, int userId, int shard) {
+        DeletionWorker.purge(context, userId);
+
+        context.transaction(configuration -> {
+            DSLContext transactionContext = DSL.using(configuration);
+
+            transactionContext.deleteFrom(Deletions.DELETION)
+                              .where(Deletions.USER_ID.eq(userId))
+                              .execute();
+
+            if (shard != 0) {
+                transactionContext.deleteFrom(USER)
+                                  .where(USER.ID.eq(userId))
+                                  .execute();
+            } //end if
+        });
+    } //purge
+
+    /**
+     * Copies the equipment and brews of the user with the specified ID from the specified source context to the
+     * specified target context, replacing any copy left on the target by an earlier, failed move. The brew sequence of
+     * the target is then advanced past the copied brews, with brew inserts on the target blocked until the copy
+     * commits, so that no concurrent insert can draw an ID that the sequence is moved back over.
+     *
+     * @param source the source context to be used in the operation, within a repeatable read transaction
+     * @param target the target context to be used in the operation, within a transaction
+     * @param userId the user ID to be used in the operation
+     * @param targetShard the target shard to be used in the operation
+     * @return the number of copied brews
+     * @throws DataAccessException if the user cannot be moved, or if a database error occurs
+     */
+    private static int copy(DSLContext source, DSLContext target, int userId, int targetShard) {
+        Record2<String, String> user = source.select(USER.USERNAME, USER.PASSWORD_HASH)
+                                             .from(USER)
+                                             .where(USER.ID.eq(userId))
+                                             .and(Deletions.isNotDeleted(USER))
+                                             .fetchOne();
+
+        if (user == null) {
+            throw new DataAccessException("the user with ID %d does not exist".formatted(userId));
+        } //end if
+
+        Condition pendingCondition = Deletions.USER_ID.eq(userId)
+                                                      .and(Deletions.COMPLETED_AT.isNull());
+
+        boolean deleting = source.fetchExists(Deletions.DELETION, pendingCondition);
+
+        if (deleting) {
+            throw new DataAccessException("the user with ID %d has pending deletions".formatted(userId));
+        } //end if
+
+        ShardMover.purge(target, userId, targetShard);
+
+        if (targetShard != 0) {
+            target.insertInto(USER)
+                  .set(USER.ID, userId)
+                  .set(USER.USERNAME, user.value1())
+                  .set(USER.PASSWORD_HASH, user.value2())
+                  .execute();
+        } //end if
+
+        for (Deletions.Entity equipment : EQUIPMENT) {
+            Table<?> table = equipment.getTable();
+
+            Field<Integer> idField = equipment.getIdField();
+
+            Field<Integer> userIdField = equipment.getUserIdField();
+
+            Field<String> nameField = table.field("name", String.class);
+
+            Result<Record2<Integer, String>> rows = source.select(idField, nameField)
+                                                          .from(table)
+                                                          .where(userIdField.eq(userId))
+                                                          .orderBy(idField)
+                                                          .fetch();
+
+            for (Record2<Integer, String> row : rows) {
+                target.insertInto(table)
+                      .set(idField, row.value1())
+                      .set(userIdField, userId)
+                      .set(nameField, row.value2())
+                      .execute();
+            } //end for
+        } //end for
+
+        int brewCount = 0;
+
+        int maxBrewId = 0;
+
+        try (Cursor<Record9<Integer, LocalDateTime, Integer, Integer, Integer, Integer, Integer, Integer, Integer>>
+                 cursor = source.select(BREW.ID, BREW.TIMESTAMP, BREW.COFFEE_ID, BREW.WATER_ID, BREW.BREWER_ID,
+                                        BREW.FILTER_ID, BREW.VESSEL_ID, Masses.COFFEE_MASS_MG, Masses.WATER_MASS_MG)
+                                .from(BrewArchive.ALL_BREWS)
+                                .where(BREW.USER_ID.eq(userId))
+                                .orderBy(BREW.ID)
+                                .fetchSize(BATCH_SIZE)
+                                .fetchLazy()) {
+            while (cursor.hasNext()) {
+                InsertValuesStep10<BrewRecord, Integer, Integer, LocalDateTime, Integer, Integer, Integer, Integer,
+                    Integer, Integer, Integer> step = target.insertInto(BREW, BREW.ID, BREW.USER_ID, BREW.TIMESTAMP,
+                                                                        BREW.COFFEE_ID, BREW.WATER_ID,
+                                                                        BREW.BREWER_ID, BREW.FILTER_ID,
+                                                                        BREW.VESSEL_ID, Masses.COFFEE_MASS_MG,
+                                                                        Masses.WATER_MASS_MG);
+
+                Result<Record9<Integer, LocalDateTime, Integer, Integer, Integer, Integer, Integer, Integer,
+                    Integer>> rows = cursor.fetchNext(BATCH_SIZE);
+
+                for (Record9<Integer, LocalDateTime, Integer, Integer, Integer, Integer, Integer, Integer,
+                    Integer> row : rows) {
+                    step = step.values(row.value1(), userId, row.value2(), row.value3(), row.value4(), row.value5(),
+                                       row.value6(), row.value7(), row.value8(), row.value9());
+
+                    maxBrewId = Math.max(maxBrewId, row.value1());
+                } //end for
+
+                brewCount += step.execute();
+            } //end while
+        } //end try
+
+        if (brewCount > 0) {
+            target.execute("lock table brew in share row exclusive mode");
+
+            target.fetchSingle("select setval('brew_id_seq', greatest(last_value, ?)) from brew_id_seq", maxBrewId);
+        } //end if
+
+        return brewCount;
+    } //copy
+
+    /**
+     * Waits until every node has seen the latest change to the directory.
+     *
+     * @throws InterruptedException if the current thread is interrupted while waiting
+     */
+    private static void awaitDirectory() throws InterruptedException {
+        long ttlNanos = Shards.getDirectoryTtlNanos();
+
+        TimeUnit.NANOSECONDS.sleep(2 * ttlNanos);
+    } //awaitDirectory
+
+    /**
+     * Moves the user with the specified ID to the specified shard. The user's writes are refused while they are being
+     * moved, and if the copy fails they are returned to their old shard. The writes in progress on the old shard are
+     * waited for under the lock of {@link Shards#lockWrites(DSLContext, int)} before the copy's snapshot is taken, and
+     * every later write reads the directory again under that lock, so no write can commit to the old shard after it has
+     * been copied.
+     *
+     * @param userId the user ID to be used in the operation
+     * @param shard the shard to be used in the operation
+     * @return the number of moved brews, or {@code 0} if the user already lives on the specified shard
+     * @throws IllegalArgumentException if the specified shard does not exist
+     * @throws SQLException if a connection could not be acquired
+     * @throws DataAccessException if the user cannot be moved, or if a database error occurs
+     * @throws InterruptedException if the current thread is interrupted while waiting for readers of the old shard
+     */
+    public static int move(int userId, int shard) throws SQLException, InterruptedException {
+        if ((shard < 0) || (shard >= Utilities.getShardCount())) {
+            throw new IllegalArgumentException("the specified shard does not exist");
+        } //end if
+
+        Shards.forget(userId);
+
+        int sourceShard = Shards.getShard(userId);
+
+        if (sourceShard == shard) {
+            return 0;
+        } //end if
+
+        Shards.setPlacement(userId, sourceShard, true);
+
+        boolean copied = false;
+
+        int brewCount;
+
+        try (Connection lockConnection = Utilities.getShardConnection(sourceShard)) {
+            DSLContext lockContext = Utilities.getContext(lockConnection);
+
+            Shards.lockWrites(lockContext, userId);
+
+            try {
+                try (Connection sourceConnection = Utilities.getShardConnection(sourceShard);
+                     Connection targetConnection = Utilities.getShardConnection(shard)) {
+                    sourceConnection.setTransactionIsolation(Connection.TRANSACTION_REPEATABLE_READ);
+
+                    sourceConnection.setReadOnly(true);
+
+                    DSLContext sourceContext = Utilities.getContext(sourceConnection);
+
+                    DSLContext targetContext = Utilities.getContext(targetConnection);
+
+                    brewCount = sourceContext.transactionResult(sourceConfiguration -> {
+                        DSLContext source = DSL.using(sourceConfiguration);
+
+                        return targetContext.transactionResult(targetConfiguration -> {
+                            DSLContext target = DSL.using(targetConfiguration);
+
+                            return ShardMover.copy(source, target, userId, shard);
+                        });
+                    });
+                } //end try
+
+                Shards.setPlacement(userId, shard, false);
+
+                copied = true;
+            } finally {
+                if (!copied) {
+                    Shards.setPlacement(userId, sourceShard, false);
+                } //end if
+
+                Shards.unlockWrites(lockContext, userId);
+            } //end try finally
+        } //end try
+
+        LOGGER.atInfo()
+              .log("Moved user {} and {} brews from shard {} to shard {}", userId, brewCount, sourceShard, shard);
+
+        ShardMover.awaitDirectory();
+
+        try (Connection connection = Utilities.getShardConnection(sourceShard)) {
+            DSLContext context = Utilities.getContext(connection);
+
+            ShardMover.purge(context, userId, sourceShard);
+        } //end try
+
+        return brewCount;
+    } //move
+}
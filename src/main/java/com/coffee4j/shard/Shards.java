@@ -0,0 +1,423 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Logan Kulinski
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.coffee4j.shard;
+
+import com.coffee4j.Utilities;
+import com.coffee4j.analytics.BrewColumnCache;
+import com.coffee4j.cache.ResultCache;
+import com.coffee4j.controller.BrewController;
+import org.jooq.DSLContext;
+import org.jooq.Field;
+import org.jooq.Record;
+import org.jooq.Record2;
+import org.jooq.Table;
+import org.jooq.impl.DSL;
+import org.jooq.impl.SQLDataType;
+import schema.generated.tables.User;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Utilities for the user-sharded storage of the Coffee4j application. Every row belongs to a single user, so each
+ * user's equipment and brews live together on one shard, and no query spans shards. The {@code user_shard} directory
+ * of the home database maps a user to their shard, and a user without an entry lives on the home database. Logins and
+ * usernames are served by the home database, and every other shard keeps a copy of the {@code user} row of each of its
+ * users, which anchors their foreign keys. Directory entries are cached for
+ * {@code coffee4j.shard.directory-ttl-ms} milliseconds, and with a single shard the directory is never read.
+ *
+ * @author Logan Kulinski, rashes_lineage02@icloud.com
+ * @version October 18, 2026
+ */
+public final class Shards {
+    /**
+     * The cached directory entry of a user.
+     *
+     * @param shard the shard of the user
+     * @param moving whether the user is being moved to another shard
+     * @param loadedAt the {@link System#nanoTime()} at which this entry was read
+     */
+    private record Placement(int shard, boolean moving, long loadedAt) {
+    } //Placement
+
+    /**
+     * The {@code user_shard} table of the {@link Shards} class.
+     */
+    public static final Table<Record> USER_SHARD;
+
+    /**
+     * The {@code user_id} field of the {@code user_shard} table of the {@link Shards} class.
+     */
+    public static final Field<Integer> USER_ID;
+
+    /**
+     * The {@code shard} field of the {@code user_shard} table of the {@link Shards} class.
+     */
+    public static final Field<Integer> SHARD;
+
+    /**
+     * The {@code moving} field of the {@code user_shard} table of the {@link Shards} class.
+     */
+    public static final Field<Boolean> MOVING;
+
+    /**
+     * The advisory lock namespace of the {@link Shards} class, under which user writes are fenced from moves.
+     */
+    private static final int LOCK_NAMESPACE;
+
+    /**
+     * The {@code user} table of the {@link Shards} class.
+     */
+    private static final User USER;
+
+    /**
+     * The length of time in nanoseconds for which a directory entry is cached of the {@link Shards} class.
+     */
+    private static final long DIRECTORY_TTL_NANOS;
+
+    /**
+     * The map from user ID to cached directory entry of the {@link Shards} class.
+     */
+    private static final Map<Integer, Placement> USER_ID_TO_PLACEMENT;
+
+    static {
+        USER_SHARD = DSL.table(DSL.name("user_shard"));
+
+        USER_ID = DSL.field(DSL.name("user_shard", "user_id"), SQLDataType.INTEGER);
+
+        SHARD = DSL.field(DSL.name("user_shard", "shard"), SQLDataType.INTEGER);
+
+        MOVING = DSL.field(DSL.name("user_shard", "moving"), SQLDataType.BOOLEAN);
+
+        LOCK_NAMESPACE = 30;
+
+        USER = User.USER;
+
+        long directoryTtlMillis = Utilities.getLongProperty("coffee4j.shard.directory-ttl-ms", 1_000);
+
+        DIRECTORY_TTL_NANOS = TimeUnit.MILLISECONDS.toNanos(directoryTtlMillis);
+
+        USER_ID_TO_PLACEMENT = new ConcurrentHashMap<>();
+    } //static
+
+    /**
+     * Throws an {@link InstantiationException}, as an instance of the {@link Shards} class cannot be created.
+     *
+     * @throws InstantiationException if this constructor is invoked, as an instance of the {@link Shards} class
+     * cannot be created
+     */
+    private Shards() throws InstantiationException {
+        throw new InstantiationException("an instance of the Shards class cannot be created");
+    } //Shards
+
+    /**
+     * Returns the length of time in nanoseconds for which a directory entry is cached. A change to the directory is
+     * seen by every node once this has passed.
+     *
+     * @return the length of time in nanoseconds for which a directory entry is cached
+     */
+    public static long getDirectoryTtlNanos() {
+        return DIRECTORY_TTL_NANOS;
+    } //getDirectoryTtlNanos
+
+    /**
+     * Returns the directory entry of the user with the specified ID, reading it from the home database if the cached
+     * entry is missing or has expired. If the user's shard has changed since the cached entry was read, the user's
+     * in-process caches are discarded, as they were filled from the old shard.
+     *
+     * @param userId the user ID to be used in the operation
+     * @return the directory entry of the user with the specified ID
+     * @throws SQLException if a connection could not be acquired
+     * @throws org.jooq.exception.DataAccessException if a database error occurs
+     */
+    private static Placement getPlacement(int userId) throws SQLException {
+        long now = System.nanoTime();
+
+        Placement placement = USER_ID_TO_PLACEMENT.get(userId);
+
+        if ((placement != null) && ((now - placement.loadedAt()) < DIRECTORY_TTL_NANOS)) {
+            return placement;
+        } //end if
+
+        Record2<Integer, Boolean> record;
+
+        try (Connection connection = Utilities.getConnection()) {
+            DSLContext context = Utilities.getContext(connection);
+
+            record = context.select(SHARD, MOVING)
+                            .from(USER_SHARD)
+                            .where(USER_ID.eq(userId))
+                            .fetchOne();
+        } //end try
+
+        Placement newPlacement;
+
+        if (record == null) {
+            newPlacement = new Placement(0, false, now);
+        } else {
+            newPlacement = new Placement(record.value1(), record.value2(), now);
+        } //end if
+
+        if ((placement != null) && (placement.shard() != newPlacement.shard())) {
+            ResultCache.bumpAll(userId);
+
+            BrewController.invalidateCaches(userId);
+
+            BrewColumnCache.invalidate(userId);
+        } //end if
+
+        USER_ID_TO_PLACEMENT.put(userId, newPlacement);
+
+        return newPlacement;
+    } //getPlacement
+
+    /**
+     * Returns the shard of the user with the specified ID, for their reads.
+     *
+     * @param userId the user ID to be used in the operation
+     * @return the shard of the user with the specified ID
+     * @throws SQLException if a connection could not be acquired
+     * @throws org.jooq.exception.DataAccessException if a database error occurs
+     */
+    public static int getShard(int userId) throws SQLException {
+        if (Utilities.getShardCount() == 1) {
+            return 0;
+        } //end if
+
+        return Shards.getPlacement(userId)
+                     .shard();
+    } //getShard
+
+    /**
+     * Returns the shard of the user with the specified ID, for their writes. Writes are refused while the user is
+     * being moved, as they could be lost by the copy.
+     *
+     * @param userId the user ID to be used in the operation
+     * @return the shard of the user with the specified ID
+     * @throws SQLException if the user is being moved between shards, or if a connection could not be acquired
+     * @throws org.jooq.exception.DataAccessException if a database error occurs
+     */
+    public static int getWriteShard(int userId) throws SQLException {
+        if (Utilities.getShardCount() == 1) {
+            return 0;
+        } //end if
+
+        Placement placement = Shards.getPlacement(userId);
+
+        if (placement.moving()) {
+            String message = "the user with ID %d is being moved between shards".formatted(userId);
+
+            throw new SQLTransientException(message);
+        } //end if
+
+        return placement.shard();
+    } //getWriteShard
+
+    /**
+     * Fences the writes of the user with the specified ID on the specified connection to the specified shard from
+     * moves of the user. A shared advisory lock of the user is taken on the connection, and the user's placement is
+     * then read again from the directory, bypassing the cache, so that a write whose placement was read before a move
+     * began is refused rather than committed to a shard that has already been copied. The lock is held until the
+     * returned connection is closed, and a move waits for it before copying the user.
+     *
+     * @param connection the connection to be used in the operation
+     * @param userId the user ID to be used in the operation
+     * @param shard the shard of the specified connection
+     * @return a connection that releases the lock when it is closed
+     * @throws SQLException if the user is being moved or has been moved to another shard, or if a connection could not
+     * be acquired
+     * @throws org.jooq.exception.DataAccessException if a database error occurs
+     */
+    public static Connection fenceWrites(Connection connection, int userId, int shard) throws SQLException {
+        DSLContext context = Utilities.getContext(connection);
+
+        boolean locked = context.fetchSingle("select pg_try_advisory_lock_shared(?, ?)", LOCK_NAMESPACE, userId)
+                                .get(0, Boolean.class);
+
+        if (!locked) {
+            String message = "the user with ID %d is being moved between shards".formatted(userId);
+
+            throw new SQLTransientException(message);
+        } //end if
+
+        boolean fenced = false;
+
+        try {
+            Shards.forget(userId);
+
+            if (Shards.getWriteShard(userId) != shard) {
+                String message = "the user with ID %d has been moved between shards".formatted(userId);
+
+                throw new SQLTransientException(message);
+            } //end if
+
+            fenced = true;
+        } finally {
+            if (!fenced) {
+                context.execute("select pg_advisory_unlock_shared(?, ?)", LOCK_NAMESPACE, userId);
+            } //end if
+        } //end try finally
+
+        InvocationHandler handler = (proxy, method, args) -> {
+            if (method.getName()
+                      .equals("close") && (method.getParameterCount() == 0)) {
+                try {
+                    if (!connection.isClosed()) {
+                        context.execute("select pg_advisory_unlock_shared(?, ?)", LOCK_NAMESPACE, userId);
+                    } //end if
+                } finally {
+                    connection.close();
+                } //end try finally
+
+                return null;
+            } //end if
+
+            try {
+                return method.invoke(connection, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            } //end try catch
+        };
+
+        ClassLoader classLoader = Connection.class.getClassLoader();
+
+        Class<?>[] interfaces = {Connection.class};
+
+        return (Connection) Proxy.newProxyInstance(classLoader, interfaces, handler);
+    } //fenceWrites
+
+    /**
+     * Blocks new writes of the user with the specified ID on the shard of the specified context, and waits for the
+     * writes in progress there to finish. The lock is held by the session of the context until
+     * {@link #unlockWrites(DSLContext, int)} is invoked.
+     *
+     * @param context the shard context to be used in the operation
+     * @param userId the user ID to be used in the operation
+     * @throws org.jooq.exception.DataAccessException if a database error occurs
+     */
+    public static void lockWrites(DSLContext context, int userId) {
+        context.execute("select pg_advisory_lock(?, ?)", LOCK_NAMESPACE, userId);
+    } //lockWrites
+
+    /**
+     * Releases the lock taken by {@link #lockWrites(DSLContext, int)} for the user with the specified ID.
+     *
+     * @param context the shard context to be used in the operation
+     * @param userId the user ID to be used in the operation
+     * @throws org.jooq.exception.DataAccessException if a database error occurs
+     */
+    public static void unlockWrites(DSLContext context, int userId) {
+        context.execute("select pg_advisory_unlock(?, ?)", LOCK_NAMESPACE, userId);
+    } //unlockWrites
+
+    /**
+     * Places the new user with the specified ID on a shard, chosen round-robin by their ID, and records it in the
+     * directory. The user's {@code user} row must already exist in the home database.
+     *
+     * @param context the home database context to be used in the operation
+     * @param userId the user ID to be used in the operation
+     * @return the shard of the user with the specified ID
+     * @throws org.jooq.exception.DataAccessException if a database error occurs
+     */
+    public static int place(DSLContext context, int userId) {
+        int shardCount = Utilities.getShardCount();
+
+        if (shardCount == 1) {
+            return 0;
+        } //end if
+
+        int shard = Math.floorMod(userId, shardCount);
+
+        context.insertInto(USER_SHARD)
+               .set(USER_ID, userId)
+               .set(SHARD, shard)
+               .set(MOVING, false)
+               .execute();
+
+        return shard;
+    } //place
+
+    /**
+     * Records the specified shard and moving flag of the user with the specified ID in the directory.
+     *
+     * @param userId the user ID to be used in the operation
+     * @param shard the shard to be used in the operation
+     * @param moving whether the user is being moved to another shard
+     * @throws SQLException if a connection could not be acquired
+     * @throws org.jooq.exception.DataAccessException if a database error occurs
+     */
+    public static void setPlacement(int userId, int shard, boolean moving) throws SQLException {
+        try (Connection connection = Utilities.getConnection()) {
+            DSLContext context = Utilities.getContext(connection);
+
+            context.insertInto(USER_SHARD)
+                   .set(USER_ID, userId)
+                   .set(SHARD, shard)
+                   .set(MOVING, moving)
+                   .onConflict(USER_ID)
+                   .doUpdate()
+                   .set(SHARD, shard)
+                   .set(MOVING, moving)
+                   .execute();
+        } //end try
+
+        USER_ID_TO_PLACEMENT.remove(userId);
+    } //setPlacement
+
+    /**
+     * Returns the IDs of the users living on the specified shard, according to the directory.
+     *
+     * @param context the home database context to be used in the operation
+     * @param shard the shard to be used in the operation
+     * @return the IDs of the users living on the specified shard
+     * @throws org.jooq.exception.DataAccessException if a database error occurs
+     */
+    public static List<Integer> getUserIds(DSLContext context, int shard) {
+        return context.select(USER.ID)
+                      .from(USER)
+                      .leftJoin(USER_SHARD)
+                      .on(USER_ID.eq(USER.ID))
+                      .where(DSL.coalesce(SHARD, DSL.inline(0))
+                                .eq(shard))
+                      .fetch(USER.ID);
+    } //getUserIds
+
+    /**
+     * Discards the cached directory entry of the user with the specified ID.
+     *
+     * @param userId the user ID to be used in the operation
+     */
+    public static void forget(int userId) {
+        USER_ID_TO_PLACEMENT.remove(userId);
+    } //forget
+}
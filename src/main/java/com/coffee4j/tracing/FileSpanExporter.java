@@ -0,0 +1,217 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Logan Kulinski
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.coffee4j.tracing;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A span exporter that appends one JSON object per span to a file, for inspecting traces locally without a collector.
+ * Each object holds the trace, span, and parent span IDs, the name, kind, and status, the start time and duration in
+ * microseconds, and the attributes of a span.
+ *
+ * @author Logan Kulinski, rashes_lineage02@icloud.com
+ * @version October 18, 2026
+ */
+final class FileSpanExporter implements SpanExporter {
+    /**
+     * The {@link ObjectMapper} of the {@link FileSpanExporter} class.
+     */
+    private static final ObjectMapper OBJECT_MAPPER;
+
+    /**
+     * The {@link Logger} of the {@link FileSpanExporter} class.
+     */
+    private static final Logger LOGGER;
+
+    static {
+        OBJECT_MAPPER = new ObjectMapper();
+
+        LOGGER = LogManager.getLogger();
+    } //static
+
+    /**
+     * The path of this exporter.
+     */
+    private final Path path;
+
+    /**
+     * The writer of this exporter, or {@code null} if it has not been opened or has been shut down.
+     */
+    private BufferedWriter writer;
+
+    /**
+     * Whether this exporter has been shut down.
+     */
+    private boolean shutdown;
+
+    /**
+     * Constructs an instance of the {@link FileSpanExporter} class using the specified path.
+     *
+     * @param path the path to be used in construction
+     * @throws NullPointerException if the specified path is {@code null}
+     */
+    FileSpanExporter(Path path) {
+        this.path = Objects.requireNonNull(path, "the specified path is null");
+
+        this.writer = null;
+
+        this.shutdown = false;
+    } //FileSpanExporter
+
+    /**
+     * Returns the JSON representation of the specified span.
+     *
+     * @param span the span to be used in the operation
+     * @return the JSON representation of the specified span
+     * @throws IOException if the span could not be serialized
+     */
+    private static String toJson(SpanData span) throws IOException {
+        Map<String, Object> fields = new LinkedHashMap<>();
+
+        fields.put("traceId", span.getTraceId());
+
+        fields.put("spanId", span.getSpanId());
+
+        fields.put("parentSpanId", span.getParentSpanId());
+
+        fields.put("name", span.getName());
+
+        fields.put("kind", span.getKind());
+
+        fields.put("status", span.getStatus()
+                                 .getStatusCode());
+
+        long startMicros = TimeUnit.NANOSECONDS.toMicros(span.getStartEpochNanos());
+
+        fields.put("startMicros", startMicros);
+
+        long durationNanos = span.getEndEpochNanos() - span.getStartEpochNanos();
+
+        fields.put("durationMicros", TimeUnit.NANOSECONDS.toMicros(durationNanos));
+
+        Map<String, Object> attributes = new LinkedHashMap<>();
+
+        Attributes spanAttributes = span.getAttributes();
+
+        spanAttributes.forEach((key, value) -> attributes.put(key.getKey(), value));
+
+        fields.put("attributes", attributes);
+
+        return OBJECT_MAPPER.writeValueAsString(fields);
+    } //toJson
+
+    /**
+     * Appends the specified spans to the file of this exporter.
+     *
+     * @param spans the spans to be used in the operation
+     * @return the result of the export operation
+     */
+    @Override
+    public synchronized CompletableResultCode export(Collection<SpanData> spans) {
+        if (this.shutdown) {
+            return CompletableResultCode.ofFailure();
+        } //end if
+
+        try {
+            if (this.writer == null) {
+                this.writer = Files.newBufferedWriter(this.path, StandardOpenOption.CREATE,
+                                                      StandardOpenOption.APPEND);
+            } //end if
+
+            for (SpanData span : spans) {
+                String json = FileSpanExporter.toJson(span);
+
+                this.writer.write(json);
+
+                this.writer.newLine();
+            } //end for
+
+            this.writer.flush();
+        } catch (IOException e) {
+            LOGGER.atError()
+                  .withThrowable(e)
+                  .log();
+
+            return CompletableResultCode.ofFailure();
+        } //end try catch
+
+        return CompletableResultCode.ofSuccess();
+    } //export
+
+    /**
+     * Flushes this exporter. Spans are flushed as they are exported, so this is a no-op.
+     *
+     * @return the result of the flush operation
+     */
+    @Override
+    public CompletableResultCode flush() {
+        return CompletableResultCode.ofSuccess();
+    } //flush
+
+    /**
+     * Shuts down this exporter, closing its file.
+     *
+     * @return the result of the shutdown operation
+     */
+    @Override
+    public synchronized CompletableResultCode shutdown() {
+        this.shutdown = true;
+
+        if (this.writer == null) {
+            return CompletableResultCode.ofSuccess();
+        } //end if
+
+        try {
+            this.writer.close();
+        } catch (IOException e) {
+            LOGGER.atError()
+                  .withThrowable(e)
+                  .log();
+
+            return CompletableResultCode.ofFailure();
+        } finally {
+            this.writer = null;
+        } //end try catch finally
+
+        return CompletableResultCode.ofSuccess();
+    } //shutdown
+}
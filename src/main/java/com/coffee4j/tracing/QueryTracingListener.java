@@ -0,0 +1,112 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Logan Kulinski
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.coffee4j.tracing;
+
+import com.coffee4j.metrics.QueryMetricsListener;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanKind;
+import org.jooq.ExecuteContext;
+import org.jooq.ExecuteListener;
+import org.jooq.Result;
+
+/**
+ * The jOOQ execute listener used to trace the queries of the Coffee4j application. Every query is a client span
+ * named by its kind, such as {@code select count}, and carrying its SQL with bind placeholders and its row count.
+ *
+ * @author Logan Kulinski, rashes_lineage02@icloud.com
+ * @version October 18, 2026
+ */
+public final class QueryTracingListener implements ExecuteListener {
+    /**
+     * The key of the span in the data of an execute context.
+     */
+    private static final String SPAN_KEY;
+
+    static {
+        SPAN_KEY = "coffee4j.span";
+    } //static
+
+    /**
+     * Starts the span of the query of the specified execute context.
+     *
+     * @param context the execute context to be used in the operation
+     */
+    @Override
+    public void start(ExecuteContext context) {
+        Span span = Tracing.getTracer()
+                           .spanBuilder("query")
+                           .setSpanKind(SpanKind.CLIENT)
+                           .setAttribute("db.system", "postgresql")
+                           .startSpan();
+
+        context.data(SPAN_KEY, span);
+    } //start
+
+    /**
+     * Records the exception of the specified execute context on its span.
+     *
+     * @param context the execute context to be used in the operation
+     */
+    @Override
+    public void exception(ExecuteContext context) {
+        if ((context.data(SPAN_KEY) instanceof Span span) && (context.exception() != null)) {
+            Tracing.recordError(span, context.exception());
+        } //end if
+    } //exception
+
+    /**
+     * Ends the span of the query of the specified execute context.
+     *
+     * @param context the execute context to be used in the operation
+     */
+    @Override
+    public void end(ExecuteContext context) {
+        if (!(context.data(SPAN_KEY) instanceof Span span)) {
+            return;
+        } //end if
+
+        String sql = context.sql();
+
+        String kind = QueryMetricsListener.getKind(sql);
+
+        span.updateName(kind);
+
+        span.setAttribute("db.operation", kind);
+
+        if (sql != null) {
+            span.setAttribute("db.statement", sql);
+        } //end if
+
+        Result<?> result = context.result();
+
+        if (result != null) {
+            span.setAttribute("db.rows", result.size());
+        } else if (context.rows() >= 0) {
+            span.setAttribute("db.rows", context.rows());
+        } //end if
+
+        span.end();
+    } //end
+}
@@ -0,0 +1,195 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Logan Kulinski
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.coffee4j.tracing;
+
+import com.coffee4j.Utilities;
+import io.opentelemetry.api.OpenTelemetry;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.exporter.otlp.trace.OtlpGrpcSpanExporter;
+import io.opentelemetry.sdk.OpenTelemetrySdk;
+import io.opentelemetry.sdk.resources.Resource;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.export.BatchSpanProcessor;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import io.opentelemetry.sdk.trace.samplers.Sampler;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.Objects;
+
+/**
+ * The OpenTelemetry tracing of the Coffee4j application. Spans are exported according to the
+ * {@code coffee4j.tracing.exporter} property, which is either {@code none}, {@code file}, or {@code otlp}. The
+ * {@code file} exporter appends one JSON object per span to the {@code coffee4j.tracing.file} file for local use, and
+ * the {@code otlp} exporter sends spans to the collector at {@code coffee4j.tracing.otlp-endpoint}. New traces are
+ * sampled by {@code coffee4j.tracing.sample-percent}. When tracing is disabled, every span is a no-op.
+ *
+ * @author Logan Kulinski, rashes_lineage02@icloud.com
+ * @version October 18, 2026
+ */
+public final class Tracing {
+    /**
+     * The {@link Tracer} of the {@link Tracing} class.
+     */
+    private static final Tracer TRACER;
+
+    /**
+     * The {@link Logger} of the {@link Tracing} class.
+     */
+    private static final Logger LOGGER;
+
+    static {
+        LOGGER = LogManager.getLogger();
+
+        SpanExporter exporter = Tracing.getExporter();
+
+        OpenTelemetry openTelemetry;
+
+        if (exporter == null) {
+            openTelemetry = OpenTelemetry.noop();
+        } else {
+            Attributes attributes = Attributes.of(AttributeKey.stringKey("service.name"), "coffee4j");
+
+            Resource resource = Resource.getDefault()
+                                        .merge(Resource.create(attributes));
+
+            long samplePercent = Utilities.getLongProperty("coffee4j.tracing.sample-percent", 100);
+
+            Sampler sampler = Sampler.parentBased(Sampler.traceIdRatioBased(samplePercent / 100.0));
+
+            BatchSpanProcessor processor = BatchSpanProcessor.builder(exporter)
+                                                             .build();
+
+            SdkTracerProvider tracerProvider = SdkTracerProvider.builder()
+                                                                .setResource(resource)
+                                                                .setSampler(sampler)
+                                                                .addSpanProcessor(processor)
+                                                                .build();
+
+            Runtime.getRuntime()
+                   .addShutdownHook(new Thread(tracerProvider::close));
+
+            openTelemetry = OpenTelemetrySdk.builder()
+                                            .setTracerProvider(tracerProvider)
+                                            .build();
+        } //end if
+
+        TRACER = openTelemetry.getTracer("com.coffee4j");
+    } //static
+
+    /**
+     * Throws an {@link InstantiationException}, as an instance of the {@link Tracing} class cannot be created.
+     *
+     * @throws InstantiationException if this constructor is invoked, as an instance of the {@link Tracing} class
+     * cannot be created
+     */
+    private Tracing() throws InstantiationException {
+        throw new InstantiationException("an instance of the Tracing class cannot be created");
+    } //Tracing
+
+    /**
+     * Returns the span exporter configured by the {@code coffee4j.tracing.exporter} property, or {@code null} if
+     * tracing is disabled.
+     *
+     * @return the configured span exporter, or {@code null} if tracing is disabled
+     */
+    private static SpanExporter getExporter() {
+        String exporterName = Utilities.getProperty("coffee4j.tracing.exporter", "none")
+                                       .strip()
+                                       .toLowerCase(Locale.ROOT);
+
+        switch (exporterName) {
+            case "none" -> {
+                return null;
+            }
+            case "file" -> {
+                String pathString = Utilities.getProperty("coffee4j.tracing.file", "traces.jsonl");
+
+                Path path = Path.of(pathString);
+
+                return new FileSpanExporter(path);
+            }
+            case "otlp" -> {
+                String endpoint = Utilities.getProperty("coffee4j.tracing.otlp-endpoint", "http://localhost:4317");
+
+                return OtlpGrpcSpanExporter.builder()
+                                           .setEndpoint(endpoint)
+                                           .build();
+            }
+            default -> {
+                LOGGER.atError()
+                      .log("Unknown tracing exporter \"{}\"; tracing is disabled", exporterName);
+
+                return null;
+            }
+        } //end switch
+    } //getExporter
+
+    /**
+     * Returns the {@link Tracer} of the Coffee4j application.
+     *
+     * @return the {@link Tracer} of the Coffee4j application
+     */
+    public static Tracer getTracer() {
+        return TRACER;
+    } //getTracer
+
+    /**
+     * Starts a span with the specified name as a child of the current span. The span must be ended by the caller.
+     *
+     * @param name the name to be used in the operation
+     * @return the started span
+     * @throws NullPointerException if the specified name is {@code null}
+     */
+    public static Span startSpan(String name) {
+        Objects.requireNonNull(name, "the specified name is null");
+
+        return TRACER.spanBuilder(name)
+                     .startSpan();
+    } //startSpan
+
+    /**
+     * Records the specified throwable on the specified span, and marks the span as failed.
+     *
+     * @param span the span to be used in the operation
+     * @param throwable the throwable to be used in the operation
+     * @throws NullPointerException if the specified span or throwable is {@code null}
+     */
+    public static void recordError(Span span, Throwable throwable) {
+        Objects.requireNonNull(span, "the specified span is null");
+
+        Objects.requireNonNull(throwable, "the specified throwable is null");
+
+        span.recordException(throwable);
+
+        span.setStatus(StatusCode.ERROR);
+    } //recordError
+}
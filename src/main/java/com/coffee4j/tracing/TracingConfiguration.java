@@ -0,0 +1,272 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Logan Kulinski
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.coffee4j.tracing;
+
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.context.Scope;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.ListIterator;
+
+/**
+ * A tracing configuration of the Coffee4j application. Every request is a server span, which wraps Spring Security so
+ * that form logins are traced. Within it, the handling controller method and the JSON serialization of the response
+ * body are child spans.
+ *
+ * @author Logan Kulinski, rashes_lineage02@icloud.com
+ * @version October 18, 2026
+ */
+@Configuration
+public class TracingConfiguration implements WebMvcConfigurer {
+    /**
+     * The servlet filter that traces every request as a server span.
+     */
+    private static final class TracingFilter extends OncePerRequestFilter {
+        /**
+         * Traces the specified request as a server span named by its method and route.
+         *
+         * @param request the request to be used in the operation
+         * @param response the response to be used in the operation
+         * @param filterChain the filter chain to be used in the operation
+         * @throws ServletException if a servlet error occurs
+         * @throws IOException if an I/O error occurs
+         */
+        @Override
+        protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                        FilterChain filterChain) throws ServletException, IOException {
+            String method = request.getMethod();
+
+            String target = request.getRequestURI();
+
+            Span span = Tracing.getTracer()
+                               .spanBuilder(method)
+                               .setSpanKind(SpanKind.SERVER)
+                               .setAttribute("http.method", method)
+                               .setAttribute("http.target", target)
+                               .startSpan();
+
+            try (Scope scope = span.makeCurrent()) {
+                filterChain.doFilter(request, response);
+            } catch (ServletException | IOException | RuntimeException e) {
+                Tracing.recordError(span, e);
+
+                throw e;
+            } finally {
+                Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+
+                String route = (pattern == null) ? target : pattern.toString();
+
+                span.updateName("%s %s".formatted(method, route));
+
+                span.setAttribute("http.route", route);
+
+                span.setAttribute("http.status_code", response.getStatus());
+
+                span.end();
+            } //end try catch finally
+        } //doFilterInternal
+    } //TracingFilter
+
+    /**
+     * The handler interceptor that traces every controller method invocation as a span.
+     */
+    private static final class TracingInterceptor implements HandlerInterceptor {
+        /**
+         * The name of the request attribute holding the handler span.
+         */
+        private static final String SPAN_ATTRIBUTE;
+
+        /**
+         * The name of the request attribute holding the scope of the handler span.
+         */
+        private static final String SCOPE_ATTRIBUTE;
+
+        static {
+            SPAN_ATTRIBUTE = TracingInterceptor.class.getName() + ".span";
+
+            SCOPE_ATTRIBUTE = TracingInterceptor.class.getName() + ".scope";
+        } //static
+
+        /**
+         * Starts the span of the specified handler, and makes it current.
+         *
+         * @param request the request to be used in the operation
+         * @param response the response to be used in the operation
+         * @param handler the handler to be used in the operation
+         * @return {@code true}, as the request is always handled
+         */
+        @Override
+        public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+            if (!(handler instanceof HandlerMethod handlerMethod)) {
+                return true;
+            } //end if
+
+            String controller = handlerMethod.getBeanType()
+                                             .getSimpleName();
+
+            String methodName = handlerMethod.getMethod()
+                                             .getName();
+
+            Span span = Tracing.startSpan("%s.%s".formatted(controller, methodName));
+
+            Scope scope = span.makeCurrent();
+
+            request.setAttribute(SPAN_ATTRIBUTE, span);
+
+            request.setAttribute(SCOPE_ATTRIBUTE, scope);
+
+            return true;
+        } //preHandle
+
+        /**
+         * Ends the span of the specified handler.
+         *
+         * @param request the request to be used in the operation
+         * @param response the response to be used in the operation
+         * @param handler the handler to be used in the operation
+         * @param exception the exception thrown by the handler, or {@code null} if there is none
+         */
+        @Override
+        public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                    Exception exception) {
+            if (request.getAttribute(SCOPE_ATTRIBUTE) instanceof Scope scope) {
+                scope.close();
+            } //end if
+
+            if (!(request.getAttribute(SPAN_ATTRIBUTE) instanceof Span span)) {
+                return;
+            } //end if
+
+            if (exception != null) {
+                Tracing.recordError(span, exception);
+            } //end if
+
+            span.end();
+        } //afterCompletion
+    } //TracingInterceptor
+
+    /**
+     * The Jackson message converter that traces the serialization of every response body as a span.
+     */
+    private static final class TracingJacksonConverter extends MappingJackson2HttpMessageConverter {
+        /**
+         * Constructs an instance of the {@link TracingJacksonConverter} class using the object mapper of the specified
+         * converter.
+         *
+         * @param converter the converter to be used in construction
+         */
+        private TracingJacksonConverter(MappingJackson2HttpMessageConverter converter) {
+            super(converter.getObjectMapper());
+        } //TracingJacksonConverter
+
+        /**
+         * Serializes the specified object within a span.
+         *
+         * @param object the object to be used in the operation
+         * @param type the type to be used in the operation
+         * @param outputMessage the output message to be used in the operation
+         * @throws IOException if an I/O error occurs
+         * @throws HttpMessageNotWritableException if the object could not be serialized
+         */
+        @Override
+        protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+            Span span = Tracing.startSpan("json.serialize");
+
+            try (Scope scope = span.makeCurrent()) {
+                super.writeInternal(object, type, outputMessage);
+            } catch (IOException | RuntimeException e) {
+                Tracing.recordError(span, e);
+
+                throw e;
+            } finally {
+                span.end();
+            } //end try catch finally
+        } //writeInternal
+    } //TracingJacksonConverter
+
+    /**
+     * Returns the registration of the request tracing filter. The filter runs before Spring Security.
+     *
+     * @return the registration of the request tracing filter
+     */
+    @Bean
+    public FilterRegistrationBean<OncePerRequestFilter> tracingFilter() {
+        FilterRegistrationBean<OncePerRequestFilter> registration = new FilterRegistrationBean<>(new TracingFilter());
+
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 2);
+
+        return registration;
+    } //tracingFilter
+
+    /**
+     * Adds the handler tracing interceptor to the specified registry.
+     *
+     * @param registry the registry to be used in the operation
+     */
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new TracingInterceptor());
+    } //addInterceptors
+
+    /**
+     * Replaces the Jackson message converters of the specified list with tracing ones.
+     *
+     * @param converters the converters to be used in the operation
+     */
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        ListIterator<HttpMessageConverter<?>> iterator = converters.listIterator();
+
+        while (iterator.hasNext()) {
+            HttpMessageConverter<?> converter = iterator.next();
+
+            if (converter instanceof MappingJackson2HttpMessageConverter jacksonConverter) {
+                iterator.set(new TracingJacksonConverter(jacksonConverter));
+            } //end if
+        } //end while
+    } //extendMessageConverters
+}
@@ -0,0 +1,9 @@
+-- One KLL sketch of brew ratios per user and coffee. Sketches are rebuilt from brew when missing, so an existing
+-- database starts with none.
+
+create table if not exists brew_ratio_sketch (
+    user_id   integer not null references "user" on update cascade on delete cascade,
+    coffee_id integer not null references coffee on update cascade on delete cascade,
+    sketch    bytea   not null,
+    primary key (user_id, coffee_id)
+);
@@ -0,0 +1,5 @@
+-- Every brew read filters by user_id and orders by id desc, and the latest brew is read from this index alone.
+
+create index concurrently if not exists brew_user_id_id_index
+    on brew (user_id asc, id desc) include (coffee_id, water_id, brewer_id, filter_id, vessel_id, timestamp,
+                                            coffee_mass, water_mass);
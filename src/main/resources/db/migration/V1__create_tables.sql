@@ -0,0 +1,51 @@
+-- The original tables, exactly as the application first created them. An existing database is baselined at this
+-- version, so anything added later belongs in a later migration.
+
+create table "user" (
+    id            serial primary key,
+    username      varchar(15) not null unique,
+    password_hash varchar(60) not null
+);
+
+create table coffee (
+    id      serial primary key,
+    user_id integer     not null references "user" on update cascade on delete cascade,
+    name    varchar(45) not null
+);
+
+create table water (
+    id      serial primary key,
+    user_id integer     not null references "user" on update cascade on delete cascade,
+    name    varchar(45) not null
+);
+
+create table brewer (
+    id      serial primary key,
+    user_id integer     not null references "user" on update cascade on delete cascade,
+    name    varchar(45) not null
+);
+
+create table filter (
+    id      serial primary key,
+    user_id integer     not null references "user" on update cascade on delete cascade,
+    name    varchar(45) not null
+);
+
+create table vessel (
+    id      serial primary key,
+    user_id integer     not null references "user" on update cascade on delete cascade,
+    name    varchar(45) not null
+);
+
+create table brew (
+    id          serial primary key,
+    user_id     integer        not null references "user" on update cascade on delete cascade,
+    timestamp   timestamp      not null,
+    coffee_id   integer        not null references coffee on update cascade on delete cascade,
+    water_id    integer        not null references water on update cascade on delete cascade,
+    brewer_id   integer        not null references brewer on update cascade on delete cascade,
+    filter_id   integer        not null references filter on update cascade on delete cascade,
+    vessel_id   integer        not null references vessel on update cascade on delete cascade,
+    coffee_mass numeric(10, 4) not null,
+    water_mass  numeric(10, 4) not null
+);
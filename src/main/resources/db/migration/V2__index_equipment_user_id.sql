@@ -0,0 +1,11 @@
+-- Every equipment read filters by user_id and orders by id desc.
+
+create index concurrently if not exists coffee_user_id_id_index on coffee (user_id asc, id desc);
+
+create index concurrently if not exists water_user_id_id_index on water (user_id asc, id desc);
+
+create index concurrently if not exists brewer_user_id_id_index on brewer (user_id asc, id desc);
+
+create index concurrently if not exists filter_user_id_id_index on filter (user_id asc, id desc);
+
+create index concurrently if not exists vessel_user_id_id_index on vessel (user_id asc, id desc);
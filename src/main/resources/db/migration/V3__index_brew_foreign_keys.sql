@@ -0,0 +1,13 @@
+-- Deleting or re-keying a piece of equipment cascades to brew through these columns.
+
+create index concurrently if not exists brew_coffee_id_index on brew (coffee_id);
+
+create index concurrently if not exists brew_water_id_index on brew (water_id);
+
+create index concurrently if not exists brew_brewer_id_index on brew (brewer_id);
+
+create index concurrently if not exists brew_filter_id_index on brew (filter_id);
+
+create index concurrently if not exists brew_vessel_id_index on brew (vessel_id);
+
+create index concurrently if not exists brew_ratio_sketch_coffee_id_index on brew_ratio_sketch (coffee_id);
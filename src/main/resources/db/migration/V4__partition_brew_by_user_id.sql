@@ -0,0 +1,60 @@
+-- Every brew query is scoped to one user, so hash partitioning by user_id lets the planner prune each query to a single
+-- partition, and keeps each partition's heap and indexes a sixteenth of the size. The brews are copied into the new
+-- table while the old one is locked, so this migration should be run during a quiet period.
+
+lock table brew in access exclusive mode;
+
+alter table brew
+    rename to brew_unpartitioned;
+
+create table brew (
+    id          integer        not null default nextval('brew_id_seq'),
+    user_id     integer        not null references "user" on update cascade on delete cascade,
+    timestamp   timestamp      not null,
+    coffee_id   integer        not null references coffee on update cascade on delete cascade,
+    water_id    integer        not null references water on update cascade on delete cascade,
+    brewer_id   integer        not null references brewer on update cascade on delete cascade,
+    filter_id   integer        not null references filter on update cascade on delete cascade,
+    vessel_id   integer        not null references vessel on update cascade on delete cascade,
+    coffee_mass numeric(10, 4) not null,
+    water_mass  numeric(10, 4) not null
+) partition by hash (user_id);
+
+do $$
+    begin
+        for remainder in 0..15
+            loop
+                execute format('create table brew_p%s partition of brew for values with (modulus 16, remainder %s)',
+                               remainder, remainder);
+            end loop;
+    end
+$$;
+
+insert into brew (id, user_id, timestamp, coffee_id, water_id, brewer_id, filter_id, vessel_id, coffee_mass,
+                  water_mass)
+select id, user_id, timestamp, coffee_id, water_id, brewer_id, filter_id, vessel_id, coffee_mass, water_mass
+from brew_unpartitioned;
+
+alter sequence brew_id_seq owned by brew.id;
+
+drop table brew_unpartitioned;
+
+-- A unique constraint on a partitioned table must include the partition key.
+alter table brew
+    add primary key (user_id, id);
+
+create index brew_user_id_id_index
+    on brew (user_id asc, id desc) include (coffee_id, water_id, brewer_id, filter_id, vessel_id, timestamp,
+                                            coffee_mass, water_mass);
+
+create index brew_coffee_id_index on brew (coffee_id);
+
+create index brew_water_id_index on brew (water_id);
+
+create index brew_brewer_id_index on brew (brewer_id);
+
+create index brew_filter_id_index on brew (filter_id);
+
+create index brew_vessel_id_index on brew (vessel_id);
+
+analyze brew;
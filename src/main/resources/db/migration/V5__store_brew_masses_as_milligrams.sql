@@ -0,0 +1,17 @@
+-- Brew masses are stored as whole milligrams in 4-byte integers instead of numeric(10, 4), which halves their width in
+-- the heap and in the covering index, and lets aggregates run on integer arithmetic. Masses that were recorded with a
+-- fourth decimal place of a gram are rounded half up to the nearest milligram. Changing the column types rewrites every
+-- partition and its indexes in a single pass while the table is locked, so this migration should be run during a quiet
+-- period.
+
+alter table brew
+    alter column coffee_mass type integer using round(coffee_mass * 1000),
+    alter column water_mass type integer using round(water_mass * 1000);
+
+alter table brew
+    rename column coffee_mass to coffee_mass_mg;
+
+alter table brew
+    rename column water_mass to water_mass_mg;
+
+analyze brew;
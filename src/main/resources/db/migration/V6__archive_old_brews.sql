@@ -0,0 +1,99 @@
+-- Old brews are moved out of brew into brew_archive by the archival job, so the hot table and its covering index only
+-- hold recent history. Every brew in brew_archive has a lower ID than every brew of the same user left in brew, which
+-- lets a newest-first page read the archive only once it runs out of hot brews. The archive is never indexed beyond
+-- its keys, and its partitions are packed full, as archived brews are rarely changed.
+
+create table brew_archive (
+    id             integer   not null,
+    user_id        integer   not null references "user" on update cascade on delete cascade,
+    timestamp      timestamp not null,
+    coffee_id      integer   not null references coffee on update cascade on delete cascade,
+    water_id       integer   not null references water on update cascade on delete cascade,
+    brewer_id      integer   not null references brewer on update cascade on delete cascade,
+    filter_id      integer   not null references filter on update cascade on delete cascade,
+    vessel_id      integer   not null references vessel on update cascade on delete cascade,
+    coffee_mass_mg integer   not null,
+    water_mass_mg  integer   not null,
+    primary key (user_id, id)
+) partition by hash (user_id);
+
+do $$
+    begin
+        for remainder in 0..15
+            loop
+                execute format('create table brew_archive_p%s partition of brew_archive '
+                                   || 'for values with (modulus 16, remainder %s) with (fillfactor = 100)',
+                               remainder, remainder);
+            end loop;
+    end
+$$;
+
+create index brew_archive_coffee_id_index on brew_archive (coffee_id);
+
+create index brew_archive_water_id_index on brew_archive (water_id);
+
+create index brew_archive_brewer_id_index on brew_archive (brewer_id);
+
+create index brew_archive_filter_id_index on brew_archive (filter_id);
+
+create index brew_archive_vessel_id_index on brew_archive (vessel_id);
+
+-- The number of archived brews and the latest archived timestamp of each user, so that a read can tell whether it
+-- needs the archive without touching it. The triggers below keep this table in step with brew_archive, including
+-- deletes that cascade from equipment.
+
+create table brew_archive_user (
+    user_id        integer   not null primary key references "user" on update cascade on delete cascade,
+    brew_count     integer   not null,
+    max_timestamp  timestamp not null
+);
+
+create function brew_archive_user_update() returns trigger
+    language plpgsql as
+$$
+begin
+    if tg_op = 'DELETE' then
+        update brew_archive_user
+        set brew_count = brew_archive_user.brew_count - deleted.brew_count
+        from (select user_id, count(*) brew_count from old_brews group by user_id) deleted
+        where brew_archive_user.user_id = deleted.user_id;
+    else
+        insert into brew_archive_user (user_id, brew_count, max_timestamp)
+        select user_id, case when tg_op = 'INSERT' then count(*) else 0 end, max(timestamp)
+        from new_brews
+        group by user_id
+        on conflict (user_id) do update
+            set brew_count    = brew_archive_user.brew_count + excluded.brew_count,
+                max_timestamp = greatest(brew_archive_user.max_timestamp, excluded.max_timestamp);
+    end if;
+
+    return null;
+end
+$$;
+
+create trigger brew_archive_insert
+    after insert on brew_archive
+    referencing new table as new_brews
+    for each statement
+execute function brew_archive_user_update();
+
+create trigger brew_archive_update
+    after update on brew_archive
+    referencing new table as new_brews
+    for each statement
+execute function brew_archive_user_update();
+
+create trigger brew_archive_delete
+    after delete on brew_archive
+    referencing old table as old_brews
+    for each statement
+execute function brew_archive_user_update();
+
+-- Every brew, hot or archived. Predicates on user_id and id are pushed down into both branches.
+
+create view brew_all as
+select id, user_id, timestamp, coffee_id, water_id, brewer_id, filter_id, vessel_id, coffee_mass_mg, water_mass_mg
+from brew
+union all
+select id, user_id, timestamp, coffee_id, water_id, brewer_id, filter_id, vessel_id, coffee_mass_mg, water_mass_mg
+from brew_archive;
@@ -0,0 +1,38 @@
+-- Users and equipment are deleted in two steps. The row is marked with deleted_at at once, which hides it from reads,
+-- and a deletion is queued. The deletion worker then removes the dependent brews in bounded chunks, each in its own
+-- short transaction, and finally deletes the row itself, whose cascades by then have little left to do. Adding a
+-- nullable column without a default does not rewrite the table.
+
+alter table "user"
+    add column deleted_at timestamp;
+
+alter table coffee
+    add column deleted_at timestamp;
+
+alter table water
+    add column deleted_at timestamp;
+
+alter table brewer
+    add column deleted_at timestamp;
+
+alter table filter
+    add column deleted_at timestamp;
+
+alter table vessel
+    add column deleted_at timestamp;
+
+-- A deletion outlives the user who requested it, so that its progress can still be read while the user is removed.
+
+create table deletion (
+    id            serial primary key,
+    user_id       integer     not null,
+    entity        varchar(15) not null,
+    entity_id     integer     not null,
+    created_at    timestamp   not null,
+    brews_deleted integer     not null default 0,
+    completed_at  timestamp
+);
+
+create index deletion_pending_index on deletion (id) where completed_at is null;
+
+create index deletion_user_id_id_index on deletion (user_id asc, id desc);
@@ -0,0 +1,11 @@
+-- The shard directory. A user's equipment and brews live on the shard named by their row, and a user without a row
+-- lives on the home database. Only the home database's copy of this table is read. While moving is set, the user is
+-- being copied to another shard, and their writes are refused.
+
+create table user_shard (
+    user_id integer not null primary key references "user" on update cascade on delete cascade,
+    shard   integer not null,
+    moving  boolean not null default false
+);
+
+create index user_shard_shard_index on user_shard (shard);
@@ -0,0 +1,43 @@
+-- Every shard allocates equipment IDs from its own range of 2^27 IDs, shard n from n * 2^27 + 1, so that a user's
+-- equipment keeps its IDs when the user is moved to another shard. The shard placeholder is set by the application for
+-- each database it migrates. Equipment that an earlier move renumbered into the home database's range is shifted into
+-- this shard's range, and its brews and sketches follow through their cascading foreign keys. At most 16 shards fit in
+-- the integer key space.
+
+do $$
+    declare
+        first_id  bigint := ${shard}::bigint * 134217728 + 1;
+        last_id   bigint := (${shard}::bigint + 1) * 134217728 - 1;
+        equipment text;
+        max_id    bigint;
+    begin
+        if ${shard} > 15 then
+            raise exception 'shard % is outside the 16 supported equipment ID ranges', ${shard};
+        end if;
+
+        foreach equipment in array array ['coffee', 'water', 'brewer', 'filter', 'vessel']
+            loop
+                if ${shard} > 0 then
+                    execute format('update %I set id = id + %s where id < %s', equipment, first_id - 1, first_id);
+
+                    update deletion
+                    set entity_id = entity_id + first_id - 1
+                    where deletion.entity = equipment
+                      and entity_id < first_id;
+                end if;
+
+                execute format('select coalesce(max(id), 0) from %I', equipment) into max_id;
+
+                if max_id > last_id then
+                    raise exception '% ID % is outside the range of shard %', equipment, max_id, ${shard};
+                end if;
+
+                execute format('alter sequence %I minvalue %s maxvalue %s start with %s restart with %s',
+                               equipment || '_id_seq', first_id, last_id, first_id, first_id);
+
+                if max_id >= first_id then
+                    perform setval(equipment || '_id_seq', max_id);
+                end if;
+            end loop;
+    end
+$$;
@@ -27,7 +27,7 @@ package com.coffee4j;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.junit.jupiter.api.Test;
 
-@SpringBootTest
+@SpringBootTest(properties = "coffee4j.migrations.enabled=false")
 class ApplicationTests {
     @Test
     void contextLoads() {
@@ -131,9 +131,9 @@ public final class CsvParser {
 
                 int vesselId = vesselToId.get(vessel);
 
-                BigDecimal coffeeMass = new BigDecimal(parts[7]);
+                int coffeeMass = Masses.toMilligrams(new BigDecimal(parts[7]));
 
-                BigDecimal waterMass = new BigDecimal(parts[8]);
+                int waterMass = Masses.toMilligrams(new BigDecimal(parts[8]));
 
                 valuesList.add(List.of(1, timestamp, coffeeId, waterId, brewerId, filterId, vesselId, coffeeMass,
                                        waterMass));
@@ -197,8 +197,8 @@ public final class CsvParser {
             for (List<?> values : valuesList) {
                 context.insertInto(Brew.BREW)
                        .columns(Brew.BREW.USER_ID, Brew.BREW.TIMESTAMP, Brew.BREW.COFFEE_ID, Brew.BREW.WATER_ID,
-                                Brew.BREW.BREWER_ID, Brew.BREW.FILTER_ID, Brew.BREW.VESSEL_ID, Brew.BREW.COFFEE_MASS,
-                                Brew.BREW.WATER_MASS)
+                                Brew.BREW.BREWER_ID, Brew.BREW.FILTER_ID, Brew.BREW.VESSEL_ID, Masses.COFFEE_MASS_MG,
+                                Masses.WATER_MASS_MG)
                        .values(values)
                        .execute();
             } //end for
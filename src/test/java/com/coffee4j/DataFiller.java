@@ -1,288 +1,268 @@
 package com.coffee4j;
 
 import org.jooq.DSLContext;
+import org.jooq.InsertValuesStep2;
 import org.jooq.Record;
+import org.jooq.Record2;
 import org.jooq.Result;
-import org.jooq.SQLDialect;
-import org.jooq.exception.DataAccessException;
-import org.jooq.impl.DSL;
+import org.jooq.Table;
+import org.jooq.TableField;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.PGCopyOutputStream;
+import org.springframework.security.crypto.bcrypt.BCrypt;
 import schema.generated.tables.*;
 
-import java.math.BigDecimal;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.SQLException;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.time.ZoneId;
-import java.time.ZonedDateTime;
-import java.util.UUID;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.random.RandomGenerator;
 
+/*
+ * Generates a synthetic dataset for benchmarking. Users are inserted with one shared password hash, equipment and brews
+ * are streamed in with COPY, and brews are generated in parallel with one connection per worker. Equipment ids are
+ * loaded into memory once, and equipment popularity follows coffee4j.fill.skew (1 is uniform, larger values favour
+ * the first few rows of each user). Timestamps are spread over [coffee4j.fill.start, coffee4j.fill.end) and ascend
+ * with the brew id, as they do for real users.
+ */
 public final class DataFiller {
-    private static int getRandomCoffeeId(int userId) {
-        Result<? extends Record> result;
+    private static final String USERNAME_PREFIX = "fill_";
 
-        try (Connection connection = DriverManager.getConnection(Utilities.DATABASE_URL)) {
-            DSLContext context = DSL.using(connection, SQLDialect.POSTGRES);
+    private static final String PASSWORD = "fill-password";
 
-            result = context.select(Coffee.COFFEE.ID)
-                            .from(Coffee.COFFEE)
-                            .where(Coffee.COFFEE.USER_ID.eq(userId))
-                            .fetch();
-        } catch (SQLException e) {
-            throw new IllegalStateException(e);
-        } //end try catch
+    private static final int USER_BATCH_SIZE = 1_000;
 
-        int origin = 0;
+    private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
 
-        int bound = result.size();
+    private static final String BREW_COPY_SQL = "COPY brew (user_id, timestamp, coffee_id, water_id, brewer_id, "
+        + "filter_id, vessel_id, coffee_mass_mg, water_mass_mg) FROM STDIN (FORMAT csv)";
 
-        RandomGenerator generator = RandomGenerator.getDefault();
+    private static int[] createUsers(int users) throws SQLException {
+        String salt = BCrypt.gensalt();
 
-        int index = generator.nextInt(origin, bound);
+        String passwordHash = BCrypt.hashpw(PASSWORD, salt);
 
-        return result.getValue(index, Coffee.COFFEE.ID);
-    } //getRandomCoffeeId
+        int[] userIds = new int[users];
 
-    private static int getRandomWaterId(int userId) {
-        Result<? extends Record> result;
+        try (Connection connection = Utilities.getConnection()) {
+            DSLContext context = Utilities.getContext(connection);
 
-        try (Connection connection = DriverManager.getConnection(Utilities.DATABASE_URL)) {
-            DSLContext context = DSL.using(connection, SQLDialect.POSTGRES);
-
-            result = context.select(Water.WATER.ID)
-                            .from(Water.WATER)
-                            .where(Water.WATER.USER_ID.eq(userId))
-                            .fetch();
-        } catch (SQLException e) {
-            throw new IllegalStateException(e);
-        } //end try catch
-
-        int origin = 0;
-
-        int bound = result.size();
-
-        RandomGenerator generator = RandomGenerator.getDefault();
-
-        int index = generator.nextInt(origin, bound);
-
-        return result.getValue(index, Water.WATER.ID);
-    } //getRandomWaterId
+            context.deleteFrom(User.USER)
+                   .where(User.USER.USERNAME.startsWith(USERNAME_PREFIX))
+                   .execute();
 
-    private static int getRandomBrewerId(int userId) {
-        Result<? extends Record> result;
+            for (int offset = 0; offset < users; offset += USER_BATCH_SIZE) {
+                InsertValuesStep2<?, String, String> step = context.insertInto(User.USER, User.USER.USERNAME,
+                                                                               User.USER.PASSWORD_HASH);
 
-        try (Connection connection = DriverManager.getConnection(Utilities.DATABASE_URL)) {
-            DSLContext context = DSL.using(connection, SQLDialect.POSTGRES);
+                int end = Math.min(offset + USER_BATCH_SIZE, users);
 
-            result = context.select(Brewer.BREWER.ID)
-                            .from(Brewer.BREWER)
-                            .where(Brewer.BREWER.USER_ID.eq(userId))
-                            .fetch();
-        } catch (SQLException e) {
-            throw new IllegalStateException(e);
-        } //end try catch
+                for (int i = offset; i < end; i++) {
+                    step = step.values(USERNAME_PREFIX + i, passwordHash);
+                } //end for
 
-        int origin = 0;
+                List<Integer> ids = step.returningResult(User.USER.ID)
+                                        .fetch()
+                                        .getValues(User.USER.ID);
 
-        int bound = result.size();
+                for (int i = 0; i < ids.size(); i++) {
+                    userIds[offset + i] = ids.get(i);
+                } //end for
+            } //end for
+        } //end try
 
-        RandomGenerator generator = RandomGenerator.getDefault();
+        return userIds;
+    } //createUsers
 
-        int index = generator.nextInt(origin, bound);
+    private static <R extends Record> int[][] createEquipment(Table<R> table, TableField<R, Integer> idField,
+                                                              TableField<R, Integer> userIdField, int[] userIds,
+                                                              int equipmentPerUser)
+        throws SQLException, IOException {
+        String sql = "COPY %s (user_id, name) FROM STDIN (FORMAT csv)".formatted(table.getName());
 
-        return result.getValue(index, Brewer.BREWER.ID);
-    } //getRandomBrewerId
+        try (Connection connection = Utilities.getConnection()) {
+            PGConnection pgConnection = connection.unwrap(PGConnection.class);
 
-    private static int getRandomFilterId(int userId) {
-        Result<? extends Record> result;
+            try (Writer writer = DataFiller.getCopyWriter(pgConnection, sql)) {
+                for (int userId : userIds) {
+                    for (int i = 0; i < equipmentPerUser; i++) {
+                        writer.write("%d,%s %d\n".formatted(userId, table.getName(), i));
+                    } //end for
+                } //end for
+            } //end try
 
-        try (Connection connection = DriverManager.getConnection(Utilities.DATABASE_URL)) {
-            DSLContext context = DSL.using(connection, SQLDialect.POSTGRES);
+            DSLContext context = Utilities.getContext(connection);
 
-            result = context.select(Filter.FILTER.ID)
-                            .from(Filter.FILTER)
-                            .where(Filter.FILTER.USER_ID.eq(userId))
-                            .fetch();
-        } catch (SQLException e) {
-            throw new IllegalStateException(e);
-        } //end try catch
+            Result<Record2<Integer, Integer>> result = context.select(userIdField, idField)
+                                                              .from(table)
+                                                              .where(userIdField.in(Arrays.stream(userIds)
+                                                                                          .boxed()
+                                                                                          .toList()))
+                                                              .orderBy(idField)
+                                                              .fetch();
 
-        int origin = 0;
+            Map<Integer, Integer> userIdToIndex = new HashMap<>();
 
-        int bound = result.size();
+            for (int i = 0; i < userIds.length; i++) {
+                userIdToIndex.put(userIds[i], i);
+            } //end for
 
-        RandomGenerator generator = RandomGenerator.getDefault();
+            int[][] userToIds = new int[userIds.length][equipmentPerUser];
 
-        int index = generator.nextInt(origin, bound);
+            int[] counts = new int[userIds.length];
 
-        return result.getValue(index, Filter.FILTER.ID);
-    } //getRandomFilterId
+            for (Record2<Integer, Integer> record : result) {
+                int index = userIdToIndex.get(record.value1());
 
-    private static int getRandomVesselId(int userId) {
-        Result<? extends Record> result;
+                userToIds[index][counts[index]++] = record.value2();
+            } //end for
 
-        try (Connection connection = DriverManager.getConnection(Utilities.DATABASE_URL)) {
-            DSLContext context = DSL.using(connection, SQLDialect.POSTGRES);
+            return userToIds;
+        } //end try
+    } //createEquipment
 
-            result = context.select(Vessel.VESSEL.ID)
-                            .from(Vessel.VESSEL)
-                            .where(Vessel.VESSEL.USER_ID.eq(userId))
-                            .fetch();
-        } catch (SQLException e) {
-            throw new IllegalStateException(e);
-        } //end try catch
+    private static Writer getCopyWriter(PGConnection pgConnection, String sql) throws SQLException {
+        PGCopyOutputStream outputStream = new PGCopyOutputStream(pgConnection, sql, 1 << 16);
 
-        int origin = 0;
+        OutputStreamWriter writer = new OutputStreamWriter(outputStream, StandardCharsets.UTF_8);
 
-        int bound = result.size();
+        return new BufferedWriter(writer, 1 << 16);
+    } //getCopyWriter
 
-        RandomGenerator generator = RandomGenerator.getDefault();
+    private static int pick(int[] ids, double skew, RandomGenerator generator) {
+        double value = Math.pow(generator.nextDouble(), skew);
 
-        int index = generator.nextInt(origin, bound);
+        int index = (int) (value * ids.length);
 
-        return result.getValue(index, Vessel.VESSEL.ID);
-    } //getRandomVesselId
+        return ids[index];
+    } //pick
 
-    private static void createRandomBrew() {
-        RandomGenerator generator = RandomGenerator.getDefault();
+    private static long createBrews(int from, int to, int[] userIds, int[][][] equipmentIds, int brewsPerUser,
+                                    double skew, long startSecond, long endSecond) throws SQLException, IOException {
+        RandomGenerator generator = ThreadLocalRandom.current();
 
-        int userId = generator.nextInt(1, 4);
+        long[] seconds = new long[brewsPerUser];
 
-        LocalDateTime timestamp = ZonedDateTime.now(ZoneId.of("UTC"))
-                                               .toLocalDateTime();
+        StringBuilder builder = new StringBuilder();
 
-        int coffeeId = DataFiller.getRandomCoffeeId(userId);
+        try (Connection connection = Utilities.getConnection()) {
+            PGConnection pgConnection = connection.unwrap(PGConnection.class);
 
-        int waterId = DataFiller.getRandomWaterId(userId);
+            try (Writer writer = DataFiller.getCopyWriter(pgConnection, BREW_COPY_SQL)) {
+                for (int user = from; user < to; user++) {
+                    for (int i = 0; i < brewsPerUser; i++) {
+                        seconds[i] = generator.nextLong(startSecond, endSecond);
+                    } //end for
 
-        int brewerId = DataFiller.getRandomBrewerId(userId);
+                    Arrays.sort(seconds);
 
-        int filterId = DataFiller.getRandomFilterId(userId);
+                    for (int i = 0; i < brewsPerUser; i++) {
+                        LocalDateTime timestamp = LocalDateTime.ofEpochSecond(seconds[i], 0, ZoneOffset.UTC);
 
-        int vesselId = DataFiller.getRandomVesselId(userId);
+                        builder.setLength(0);
 
-        BigDecimal coffeeMass = new BigDecimal("30.0000");
+                        builder.append(userIds[user])
+                               .append(',')
+                               .append(FORMATTER.format(timestamp));
 
-        BigDecimal waterMass = new BigDecimal("500.0000");
+                        for (int[][] userToIds : equipmentIds) {
+                            builder.append(',')
+                                   .append(DataFiller.pick(userToIds[user], skew, generator));
+                        } //end for
 
-        try (Connection connection = DriverManager.getConnection(Utilities.DATABASE_URL)) {
-            DSLContext context = DSL.using(connection, SQLDialect.POSTGRES);
+                        builder.append(',')
+                               .append(generator.nextInt(150, 400) * 100)
+                               .append(',')
+                               .append(generator.nextInt(2_500, 6_500) * 100)
+                               .append('\n');
 
-            context.insertInto(Brew.BREW)
-                   .columns(Brew.BREW.USER_ID, Brew.BREW.TIMESTAMP, Brew.BREW.COFFEE_ID, Brew.BREW.WATER_ID,
-                            Brew.BREW.BREWER_ID, Brew.BREW.FILTER_ID, Brew.BREW.VESSEL_ID, Brew.BREW.COFFEE_MASS,
-                            Brew.BREW.WATER_MASS)
-                   .values(userId, timestamp, coffeeId, waterId, brewerId, filterId, vesselId, coffeeMass, waterMass)
-                   .execute();
-        } catch (SQLException | DataAccessException e) {
-            e.printStackTrace();
-        } //end try catch
-    } //createRandomBrew
+                        writer.append(builder);
+                    } //end for
+                } //end for
+            } //end try
+        } //end try
 
-    private static void createRandomCoffee() {
-        RandomGenerator generator = RandomGenerator.getDefault();
+        return (long) (to - from) * brewsPerUser;
+    } //createBrews
 
-        int userId = generator.nextInt(1, 4);
+    public static void main(String[] args) throws Exception {
+        int users = Integer.getInteger("coffee4j.fill.users", 100);
 
-        String coffee = UUID.randomUUID()
-                            .toString();
+        int equipmentPerUser = Integer.getInteger("coffee4j.fill.equipment-per-user", 10);
 
-        try (Connection connection = DriverManager.getConnection(Utilities.DATABASE_URL)) {
-            DSLContext context = DSL.using(connection, SQLDialect.POSTGRES);
+        int brewsPerUser = Integer.getInteger("coffee4j.fill.brews-per-user", 10_000);
 
-            context.insertInto(Coffee.COFFEE)
-                   .columns(Coffee.COFFEE.USER_ID, Coffee.COFFEE.NAME)
-                   .values(userId, coffee)
-                   .execute();
-        } catch (SQLException | DataAccessException e) {
-            e.printStackTrace();
-        } //end try catch
-    } //createRandomCoffee
+        double skew = Double.parseDouble(System.getProperty("coffee4j.fill.skew", "2.0"));
 
-    private static void createRandomWater() {
-        RandomGenerator generator = RandomGenerator.getDefault();
+        LocalDate today = LocalDate.now(ZoneOffset.UTC);
 
-        int userId = generator.nextInt(1, 4);
+        LocalDate start = LocalDate.parse(System.getProperty("coffee4j.fill.start", today.minusYears(1)
+                                                                                         .toString()));
 
-        String water = UUID.randomUUID()
-                            .toString();
+        LocalDate end = LocalDate.parse(System.getProperty("coffee4j.fill.end", today.toString()));
 
-        try (Connection connection = DriverManager.getConnection(Utilities.DATABASE_URL)) {
-            DSLContext context = DSL.using(connection, SQLDialect.POSTGRES);
+        int threads = Integer.getInteger("coffee4j.fill.threads", Runtime.getRuntime()
+                                                                         .availableProcessors());
 
-            context.insertInto(Water.WATER)
-                   .columns(Water.WATER.USER_ID, Water.WATER.NAME)
-                   .values(userId, water)
-                   .execute();
-        } catch (SQLException | DataAccessException e) {
-            e.printStackTrace();
-        } //end try catch
-    } //createRandomWater
+        long startSecond = start.toEpochSecond(LocalTime.MIDNIGHT, ZoneOffset.UTC);
 
-    private static void createRandomBrewer() {
-        RandomGenerator generator = RandomGenerator.getDefault();
+        long endSecond = end.toEpochSecond(LocalTime.MIDNIGHT, ZoneOffset.UTC);
 
-        int userId = generator.nextInt(1, 4);
+        long startNanos = System.nanoTime();
 
-        String brewer = UUID.randomUUID()
-                            .toString();
+        int[] userIds = DataFiller.createUsers(users);
 
-        try (Connection connection = DriverManager.getConnection(Utilities.DATABASE_URL)) {
-            DSLContext context = DSL.using(connection, SQLDialect.POSTGRES);
+        int[][][] equipmentIds = {
+            DataFiller.createEquipment(Coffee.COFFEE, Coffee.COFFEE.ID, Coffee.COFFEE.USER_ID, userIds,
+                                       equipmentPerUser),
+            DataFiller.createEquipment(Water.WATER, Water.WATER.ID, Water.WATER.USER_ID, userIds, equipmentPerUser),
+            DataFiller.createEquipment(Brewer.BREWER, Brewer.BREWER.ID, Brewer.BREWER.USER_ID, userIds,
+                                       equipmentPerUser),
+            DataFiller.createEquipment(Filter.FILTER, Filter.FILTER.ID, Filter.FILTER.USER_ID, userIds,
+                                       equipmentPerUser),
+            DataFiller.createEquipment(Vessel.VESSEL, Vessel.VESSEL.ID, Vessel.VESSEL.USER_ID, userIds,
+                                       equipmentPerUser)
+        };
 
-            context.insertInto(Brewer.BREWER)
-                   .columns(Brewer.BREWER.USER_ID, Brewer.BREWER.NAME)
-                   .values(userId, brewer)
-                   .execute();
-        } catch (SQLException | DataAccessException e) {
-            e.printStackTrace();
-        } //end try catch
-    } //createRandomBrewer
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
 
-    private static void createRandomFilter() {
-        RandomGenerator generator = RandomGenerator.getDefault();
+        List<Future<Long>> futures = new ArrayList<>();
 
-        int userId = generator.nextInt(1, 4);
+        int usersPerTask = Math.max(1, users / (threads * 4));
 
-        String filter = UUID.randomUUID()
-                            .toString();
+        for (int from = 0; from < users; from += usersPerTask) {
+            int taskFrom = from;
 
-        try (Connection connection = DriverManager.getConnection(Utilities.DATABASE_URL)) {
-            DSLContext context = DSL.using(connection, SQLDialect.POSTGRES);
+            int taskTo = Math.min(from + usersPerTask, users);
 
-            context.insertInto(Filter.FILTER)
-                   .columns(Filter.FILTER.USER_ID, Filter.FILTER.NAME)
-                   .values(userId, filter)
-                   .execute();
-        } catch (SQLException | DataAccessException e) {
-            e.printStackTrace();
-        } //end try catch
-    } //createRandomFilter
+            futures.add(executor.submit(() -> DataFiller.createBrews(taskFrom, taskTo, userIds, equipmentIds,
+                                                                     brewsPerUser, skew, startSecond, endSecond)));
+        } //end for
 
-    private static void createRandomVessel() {
-        RandomGenerator generator = RandomGenerator.getDefault();
+        long rows = 0;
 
-        int userId = generator.nextInt(1, 4);
+        for (Future<Long> future : futures) {
+            rows += future.get();
+        } //end for
 
-        String vessel = UUID.randomUUID()
-                            .toString();
+        executor.shutdown();
 
-        try (Connection connection = DriverManager.getConnection(Utilities.DATABASE_URL)) {
-            DSLContext context = DSL.using(connection, SQLDialect.POSTGRES);
+        double seconds = (System.nanoTime() - startNanos) / 1_000_000_000.0;
 
-            context.insertInto(Vessel.VESSEL)
-                   .columns(Vessel.VESSEL.USER_ID, Vessel.VESSEL.NAME)
-                   .values(userId, vessel)
-                   .execute();
-        } catch (SQLException | DataAccessException e) {
-            e.printStackTrace();
-        } //end try catch
-    } //createRandomVessel
-
-    public static void main(String[] args) {
-        for (int i = 0; i < 100_000; i++) {
-            DataFiller.createRandomBrew();
-        } //end for
+        System.out.printf("Created %d users and %d brews in %.1fs (%.0f brews/s)%n", users, rows, seconds,
+                          rows / seconds);
     } //main
-}
\ No newline at end of file
+}
@@ -0,0 +1,440 @@
+package com.coffee4j;
+
+import org.jooq.DSLContext;
+import org.jooq.InsertValuesStep2;
+import org.jooq.InsertValuesStep9;
+import org.jooq.Record;
+import org.jooq.Table;
+import org.jooq.TableField;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.crypto.bcrypt.BCrypt;
+import schema.generated.tables.*;
+
+import java.math.BigDecimal;
+import java.net.CookieManager;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.random.RandomGenerator;
+
+/*
+ * Seeds the database named by -Dcoffee4j.database-url with synthetic users, boots the application on a random port
+ * (or targets -Dcoffee4j.load.base-url) and drives a weighted mix of requests with Poisson arrivals at a fixed rate.
+ * Latency is measured from each request's scheduled start, so a stalled server is not hidden by a stalled client.
+ */
+public final class LoadRunner {
+    private static final String USERNAME_PREFIX = "load_";
+
+    private static final String PASSWORD = "load-test-password";
+
+    private static final int EQUIPMENT_PER_USER = 5;
+
+    private static final int BATCH_SIZE = 1_000;
+
+    private static final String[] OPERATIONS = {"brew-read", "brew-create", "typeahead", "login"};
+
+    private static final Map<String, List<Long>> OPERATION_TO_LATENCIES = new ConcurrentHashMap<>();
+
+    private static final Map<String, AtomicLong> OPERATION_TO_ERRORS = new ConcurrentHashMap<>();
+
+    private static final int[][][] USER_TO_EQUIPMENT_IDS;
+
+    private static final String[] USERNAMES;
+
+    private static final HttpClient[] CLIENTS;
+
+    static {
+        int users = Integer.getInteger("coffee4j.load.users", 50);
+
+        USER_TO_EQUIPMENT_IDS = new int[users][][];
+
+        USERNAMES = new String[users];
+
+        CLIENTS = new HttpClient[users];
+
+        for (String operation : OPERATIONS) {
+            OPERATION_TO_LATENCIES.put(operation, Collections.synchronizedList(new ArrayList<>()));
+
+            OPERATION_TO_ERRORS.put(operation, new AtomicLong());
+        } //end for
+    } //static
+
+    private static <R extends Record> int[] insertEquipment(DSLContext context, Table<R> table,
+                                                            TableField<R, Integer> userIdField,
+                                                            TableField<R, String> nameField,
+                                                            TableField<R, Integer> idField, int userId) {
+        InsertValuesStep2<R, Integer, String> step = context.insertInto(table, userIdField, nameField);
+
+        for (int i = 0; i < EQUIPMENT_PER_USER; i++) {
+            String name = "%s %d".formatted(table.getName(), i);
+
+            step = step.values(userId, name);
+        } //end for
+
+        return step.returningResult(idField)
+                   .fetch()
+                   .getValues(idField)
+                   .stream()
+                   .mapToInt(Integer::intValue)
+                   .toArray();
+    } //insertEquipment
+
+    private static void seed(int brewsPerUser) throws SQLException {
+        String salt = BCrypt.gensalt();
+
+        String passwordHash = BCrypt.hashpw(PASSWORD, salt);
+
+        RandomGenerator generator = RandomGenerator.getDefault();
+
+        try (Connection connection = Utilities.getConnection()) {
+            DSLContext context = Utilities.getContext(connection);
+
+            context.deleteFrom(User.USER)
+                   .where(User.USER.USERNAME.startsWith(USERNAME_PREFIX))
+                   .execute();
+
+            for (int i = 0; i < USERNAMES.length; i++) {
+                USERNAMES[i] = USERNAME_PREFIX + i;
+
+                int userId = context.insertInto(User.USER)
+                                    .set(User.USER.USERNAME, USERNAMES[i])
+                                    .set(User.USER.PASSWORD_HASH, passwordHash)
+                                    .returning(User.USER.ID)
+                                    .fetchOne()
+                                    .getId();
+
+                int[][] equipmentIds = {
+                    LoadRunner.insertEquipment(context, Coffee.COFFEE, Coffee.COFFEE.USER_ID, Coffee.COFFEE.NAME,
+                                             Coffee.COFFEE.ID, userId),
+                    LoadRunner.insertEquipment(context, Water.WATER, Water.WATER.USER_ID, Water.WATER.NAME,
+                                             Water.WATER.ID, userId),
+                    LoadRunner.insertEquipment(context, Brewer.BREWER, Brewer.BREWER.USER_ID, Brewer.BREWER.NAME,
+                                             Brewer.BREWER.ID, userId),
+                    LoadRunner.insertEquipment(context, Filter.FILTER, Filter.FILTER.USER_ID, Filter.FILTER.NAME,
+                                             Filter.FILTER.ID, userId),
+                    LoadRunner.insertEquipment(context, Vessel.VESSEL, Vessel.VESSEL.USER_ID, Vessel.VESSEL.NAME,
+                                             Vessel.VESSEL.ID, userId)
+                };
+
+                USER_TO_EQUIPMENT_IDS[i] = equipmentIds;
+
+                LocalDateTime start = LocalDateTime.now()
+                                                   .minusMinutes(brewsPerUser);
+
+                for (int offset = 0; offset < brewsPerUser; offset += BATCH_SIZE) {
+                    InsertValuesStep9<?, Integer, LocalDateTime, Integer, Integer, Integer, Integer, Integer,
+                        Integer, Integer> step = context.insertInto(Brew.BREW, Brew.BREW.USER_ID,
+                                                                    Brew.BREW.TIMESTAMP, Brew.BREW.COFFEE_ID,
+                                                                    Brew.BREW.WATER_ID, Brew.BREW.BREWER_ID,
+                                                                    Brew.BREW.FILTER_ID, Brew.BREW.VESSEL_ID,
+                                                                    Masses.COFFEE_MASS_MG, Masses.WATER_MASS_MG);
+
+                    int end = Math.min(offset + BATCH_SIZE, brewsPerUser);
+
+                    for (int j = offset; j < end; j++) {
+                        LocalDateTime timestamp = start.plusMinutes(j);
+
+                        int coffeeMass = generator.nextInt(150, 400) * 100;
+
+                        int waterMass = generator.nextInt(2_500, 6_500) * 100;
+
+                        step = step.values(userId, timestamp, LoadRunner.pick(equipmentIds[0], generator),
+                                           LoadRunner.pick(equipmentIds[1], generator),
+                                           LoadRunner.pick(equipmentIds[2], generator),
+                                           LoadRunner.pick(equipmentIds[3], generator),
+                                           LoadRunner.pick(equipmentIds[4], generator), coffeeMass, waterMass);
+                    } //end for
+
+                    step.execute();
+                } //end for
+            } //end for
+        } //end try
+    } //seed
+
+    private static int pick(int[] ids, RandomGenerator generator) {
+        int index = generator.nextInt(ids.length);
+
+        return ids[index];
+    } //pick
+
+    private static String encode(Map<String, Object> parameters) {
+        StringJoiner joiner = new StringJoiner("&");
+
+        parameters.forEach((key, value) -> {
+            String encodedValue = URLEncoder.encode(String.valueOf(value), StandardCharsets.UTF_8);
+
+            joiner.add(key + "=" + encodedValue);
+        });
+
+        return joiner.toString();
+    } //encode
+
+    private static HttpRequest getLoginRequest(String baseUrl, String username) {
+        Map<String, Object> parameters = new LinkedHashMap<>();
+
+        parameters.put("username", username);
+
+        parameters.put("password", PASSWORD);
+
+        String form = LoadRunner.encode(parameters);
+
+        return HttpRequest.newBuilder(URI.create(baseUrl + "/perform_login"))
+                          .header("Content-Type", "application/x-www-form-urlencoded")
+                          .POST(HttpRequest.BodyPublishers.ofString(form))
+                          .build();
+    } //getLoginRequest
+
+    private static boolean isLoggedIn(HttpResponse<?> response) {
+        String location = response.headers()
+                                  .firstValue("Location")
+                                  .orElse("error");
+
+        return (response.statusCode() == 302) && !location.contains("error");
+    } //isLoggedIn
+
+    private static HttpRequest getRequest(String operation, String baseUrl, int user, RandomGenerator generator) {
+        switch (operation) {
+            case "brew-read" -> {
+                return HttpRequest.newBuilder(URI.create(baseUrl + "/api/brew?limit=10"))
+                                  .GET()
+                                  .build();
+            }
+            case "brew-create" -> {
+                int[][] equipmentIds = USER_TO_EQUIPMENT_IDS[user];
+
+                Map<String, Object> parameters = new LinkedHashMap<>();
+
+                parameters.put("coffeeId", LoadRunner.pick(equipmentIds[0], generator));
+
+                parameters.put("waterId", LoadRunner.pick(equipmentIds[1], generator));
+
+                parameters.put("brewerId", LoadRunner.pick(equipmentIds[2], generator));
+
+                parameters.put("filterId", LoadRunner.pick(equipmentIds[3], generator));
+
+                parameters.put("vesselId", LoadRunner.pick(equipmentIds[4], generator));
+
+                parameters.put("coffeeMass", BigDecimal.valueOf(generator.nextInt(150, 400), 1));
+
+                parameters.put("waterMass", BigDecimal.valueOf(generator.nextInt(2_500, 6_500), 1));
+
+                String form = LoadRunner.encode(parameters);
+
+                return HttpRequest.newBuilder(URI.create(baseUrl + "/api/brew"))
+                                  .header("Content-Type", "application/x-www-form-urlencoded")
+                                  .POST(HttpRequest.BodyPublishers.ofString(form))
+                                  .build();
+            }
+            case "typeahead" -> {
+                String searchTerm = "coffee %d".formatted(generator.nextInt(EQUIPMENT_PER_USER))
+                                               .substring(0, generator.nextInt(1, 9));
+
+                String query = URLEncoder.encode(searchTerm, StandardCharsets.UTF_8);
+
+                return HttpRequest.newBuilder(URI.create(baseUrl + "/api/typeahead/coffee?searchTerm=" + query))
+                                  .GET()
+                                  .build();
+            }
+            default -> {
+                return LoadRunner.getLoginRequest(baseUrl, USERNAMES[user]);
+            }
+        } //end switch
+    } //getRequest
+
+    private static String chooseOperation(double[] weights, RandomGenerator generator) {
+        double value = generator.nextDouble();
+
+        for (int i = 0; i < weights.length; i++) {
+            value -= weights[i];
+
+            if (value < 0.0) {
+                return OPERATIONS[i];
+            } //end if
+        } //end for
+
+        return OPERATIONS[OPERATIONS.length - 1];
+    } //chooseOperation
+
+    private static long getPercentile(long[] latencies, double percentile) {
+        int index = (int) Math.ceil(percentile / 100.0 * latencies.length) - 1;
+
+        index = Math.max(index, 0);
+
+        return latencies[index];
+    } //getPercentile
+
+    private static void report(double seconds) {
+        System.out.printf("%-12s %8s %7s %9s %9s %9s %9s %9s %9s%n", "operation", "count", "errors", "req/s",
+                          "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+
+        for (String operation : OPERATIONS) {
+            long[] latencies = OPERATION_TO_LATENCIES.get(operation)
+                                                     .stream()
+                                                     .mapToLong(Long::longValue)
+                                                     .sorted()
+                                                     .toArray();
+
+            long errors = OPERATION_TO_ERRORS.get(operation)
+                                             .get();
+
+            if (latencies.length == 0) {
+                System.out.printf("%-12s %8d %7d%n", operation, 0, errors);
+
+                continue;
+            } //end if
+
+            double[] millis = new double[5];
+
+            double[] percentiles = {50.0, 90.0, 99.0, 99.9, 100.0};
+
+            for (int i = 0; i < percentiles.length; i++) {
+                millis[i] = LoadRunner.getPercentile(latencies, percentiles[i]) / 1_000_000.0;
+            } //end for
+
+            System.out.printf("%-12s %8d %7d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n", operation, latencies.length,
+                              errors, latencies.length / seconds, millis[0], millis[1], millis[2], millis[3],
+                              millis[4]);
+        } //end for
+    } //report
+
+    public static void main(String[] args) throws Exception {
+        int brewsPerUser = Integer.getInteger("coffee4j.load.brews-per-user", 1_000);
+
+        double rate = Double.parseDouble(System.getProperty("coffee4j.load.rate", "200"));
+
+        int durationSeconds = Integer.getInteger("coffee4j.load.duration-seconds", 60);
+
+        int warmupSeconds = Integer.getInteger("coffee4j.load.warmup-seconds", 10);
+
+        String mix = System.getProperty("coffee4j.load.mix", "70,10,15,5");
+
+        double[] weights = Arrays.stream(mix.split(","))
+                                 .mapToDouble(Double::parseDouble)
+                                 .toArray();
+
+        double totalWeight = Arrays.stream(weights)
+                                   .sum();
+
+        for (int i = 0; i < weights.length; i++) {
+            weights[i] /= totalWeight;
+        } //end for
+
+        System.out.printf("Seeding %d users with %d brews each%n", USERNAMES.length, brewsPerUser);
+
+        LoadRunner.seed(brewsPerUser);
+
+        String baseUrl = System.getProperty("coffee4j.load.base-url");
+
+        ConfigurableApplicationContext applicationContext = null;
+
+        if (baseUrl == null) {
+            applicationContext = SpringApplication.run(Application.class, "--server.port=0");
+
+            int port = ((ServletWebServerApplicationContext) applicationContext).getWebServer()
+                                                                                .getPort();
+
+            baseUrl = "http://localhost:" + port;
+        } //end if
+
+        for (int i = 0; i < CLIENTS.length; i++) {
+            CLIENTS[i] = HttpClient.newBuilder()
+                                   .cookieHandler(new CookieManager())
+                                   .followRedirects(HttpClient.Redirect.NEVER)
+                                   .connectTimeout(Duration.ofSeconds(10))
+                                   .build();
+
+            HttpRequest request = LoadRunner.getLoginRequest(baseUrl, USERNAMES[i]);
+
+            HttpResponse<Void> response = CLIENTS[i].send(request, HttpResponse.BodyHandlers.discarding());
+
+            if (!LoadRunner.isLoggedIn(response)) {
+                throw new IllegalStateException("%s could not log in".formatted(USERNAMES[i]));
+            } //end if
+        } //end for
+
+        System.out.printf("Driving %.0f req/s for %ds (%ds warmup) against %s%n", rate, durationSeconds,
+                          warmupSeconds, baseUrl);
+
+        RandomGenerator generator = RandomGenerator.getDefault();
+
+        long start = System.nanoTime();
+
+        long warmupEnd = start + TimeUnit.SECONDS.toNanos(warmupSeconds);
+
+        long end = warmupEnd + TimeUnit.SECONDS.toNanos(durationSeconds);
+
+        double meanGapNanos = 1_000_000_000.0 / rate;
+
+        double scheduled = start;
+
+        List<CompletableFuture<?>> futures = new ArrayList<>();
+
+        while (scheduled < end) {
+            scheduled += -Math.log(1.0 - generator.nextDouble()) * meanGapNanos;
+
+            long intended = (long) scheduled;
+
+            long delay = intended - System.nanoTime();
+
+            if (delay > 0) {
+                LockSupport.parkNanos(delay);
+            } //end if
+
+            String operation = LoadRunner.chooseOperation(weights, generator);
+
+            int user = generator.nextInt(CLIENTS.length);
+
+            HttpRequest request = LoadRunner.getRequest(operation, baseUrl, user, generator);
+
+            CompletableFuture<?> future = CLIENTS[user].sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                                                       .handle((response, throwable) -> {
+                                                           if (intended < warmupEnd) {
+                                                               return null;
+                                                           } //end if
+
+                                                           long latency = System.nanoTime() - intended;
+
+                                                           boolean success = (throwable == null) && (
+                                                               operation.equals("login")
+                                                                   ? LoadRunner.isLoggedIn(response)
+                                                                   : response.statusCode() < 400);
+
+                                                           if (success) {
+                                                               OPERATION_TO_LATENCIES.get(operation)
+                                                                                     .add(latency);
+                                                           } else {
+                                                               OPERATION_TO_ERRORS.get(operation)
+                                                                                  .incrementAndGet();
+                                                           } //end if
+
+                                                           return null;
+                                                       });
+
+            futures.add(future);
+        } //end while
+
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new))
+                         .join();
+
+        LoadRunner.report(durationSeconds);
+
+        if (applicationContext != null) {
+            SpringApplication.exit(applicationContext);
+        } //end if
+    } //main
+}
@@ -0,0 +1,78 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Logan Kulinski
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.coffee4j;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MassesTest {
+    @Test
+    void wholeMilligramsConvertExactly() {
+        assertEquals(18_000, Masses.toMilligrams(new BigDecimal("18")));
+
+        assertEquals(18_250, Masses.toMilligrams(new BigDecimal("18.25")));
+
+        assertEquals(0, Masses.toMilligrams(BigDecimal.ZERO));
+    } //wholeMilligramsConvertExactly
+
+    @Test
+    void fourthDecimalPlaceRoundsHalfUp() {
+        assertEquals(18_001, Masses.toMilligrams(new BigDecimal("18.0005")));
+
+        assertEquals(18_000, Masses.toMilligrams(new BigDecimal("18.0004")));
+
+        assertEquals(-1, Masses.toMilligrams(new BigDecimal("-0.0005")));
+    } //fourthDecimalPlaceRoundsHalfUp
+
+    @Test
+    void massesBeyondIntegerRangeAreRejected() {
+        BigDecimal largest = BigDecimal.valueOf(Integer.MAX_VALUE, 3);
+
+        assertEquals(Integer.MAX_VALUE, Masses.toMilligrams(largest));
+
+        BigDecimal tooLarge = largest.add(new BigDecimal("0.001"));
+
+        assertThrows(ArithmeticException.class, () -> Masses.toMilligrams(tooLarge));
+
+        assertThrows(ArithmeticException.class, () -> Masses.toMilligrams(new BigDecimal("1e7")));
+    } //massesBeyondIntegerRangeAreRejected
+
+    @Test
+    void nullMassIsRejected() {
+        assertThrows(NullPointerException.class, () -> Masses.toMilligrams(null));
+    } //nullMassIsRejected
+
+    @Test
+    void gramsRoundTrip() {
+        assertEquals(new BigDecimal("18.0010"), Masses.toGrams(18_001));
+
+        assertEquals(18_001, Masses.toMilligrams(Masses.toGrams(18_001)));
+
+        assertEquals(18.001, Masses.toGramsDouble(18_001), 0.0);
+    } //gramsRoundTrip
+}
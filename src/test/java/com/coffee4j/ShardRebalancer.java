@@ -0,0 +1,154 @@
+package com.coffee4j;
+
+import com.coffee4j.archive.BrewArchive;
+import com.coffee4j.shard.ShardMover;
+import com.coffee4j.shard.Shards;
+import org.jooq.DSLContext;
+import org.jooq.Field;
+import org.jooq.Record2;
+import org.jooq.impl.DSL;
+import schema.generated.tables.Brew;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/*
+ * Moves users between the shards named by -Dcoffee4j.database-url and -Dcoffee4j.shard.database-urls while the
+ * application keeps running. With -Dcoffee4j.rebalance.user-id and -Dcoffee4j.rebalance.shard, that one user is
+ * moved. Otherwise the brews of every shard are counted, and up to coffee4j.rebalance.max-moves users are moved from
+ * the fullest shard to the emptiest, each chosen to bring the two closest to even.
+ */
+public final class ShardRebalancer {
+    private static Map<Integer, Long> getBrewCounts(int shard) throws SQLException {
+        Map<Integer, Long> userIdToBrewCount = new HashMap<>();
+
+        List<Integer> userIds;
+
+        try (Connection connection = Utilities.getConnection()) {
+            DSLContext context = Utilities.getContext(connection);
+
+            userIds = Shards.getUserIds(context, shard);
+        } //end try
+
+        for (int userId : userIds) {
+            userIdToBrewCount.put(userId, 0L);
+        } //end for
+
+        Field<Integer> userIdField = Brew.BREW.USER_ID;
+
+        try (Connection connection = Utilities.getShardConnection(shard)) {
+            DSLContext context = Utilities.getContext(connection);
+
+            for (Record2<Integer, Integer> record : context.select(userIdField, DSL.count())
+                                                          .from(BrewArchive.ALL_BREWS)
+                                                          .groupBy(userIdField)
+                                                          .fetch()) {
+                userIdToBrewCount.computeIfPresent(record.value1(), (userId, count) -> (long) record.value2());
+            } //end for
+        } //end try
+
+        return userIdToBrewCount;
+    } //getBrewCounts
+
+    private static void rebalance(int maxMoves) throws SQLException, InterruptedException {
+        int shardCount = Utilities.getShardCount();
+
+        List<Map<Integer, Long>> shardToBrewCounts = new ArrayList<>();
+
+        long[] loads = new long[shardCount];
+
+        for (int shard = 0; shard < shardCount; shard++) {
+            Map<Integer, Long> userIdToBrewCount = ShardRebalancer.getBrewCounts(shard);
+
+            shardToBrewCounts.add(userIdToBrewCount);
+
+            loads[shard] = userIdToBrewCount.values()
+                                            .stream()
+                                            .mapToLong(Long::longValue)
+                                            .sum();
+        } //end for
+
+        for (int move = 0; move < maxMoves; move++) {
+            int fullest = 0;
+
+            int emptiest = 0;
+
+            for (int shard = 1; shard < shardCount; shard++) {
+                if (loads[shard] > loads[fullest]) {
+                    fullest = shard;
+                } //end if
+
+                if (loads[shard] < loads[emptiest]) {
+                    emptiest = shard;
+                } //end if
+            } //end for
+
+            long gap = loads[fullest] - loads[emptiest];
+
+            Integer bestUserId = null;
+
+            long bestCount = 0;
+
+            for (Map.Entry<Integer, Long> entry : shardToBrewCounts.get(fullest)
+                                                                   .entrySet()) {
+                long count = entry.getValue();
+
+                boolean closer = Math.abs(gap - (2 * count)) < Math.abs(gap - (2 * bestCount));
+
+                if ((count > 0) && (count < gap) && ((bestUserId == null) || closer)) {
+                    bestUserId = entry.getKey();
+
+                    bestCount = count;
+                } //end if
+            } //end for
+
+            if (bestUserId == null) {
+                break;
+            } //end if
+
+            shardToBrewCounts.get(fullest)
+                             .remove(bestUserId);
+
+            try {
+                ShardMover.move(bestUserId, emptiest);
+            } catch (RuntimeException e) {
+                System.out.printf("Skipped user %d: %s%n", bestUserId, e.getMessage());
+
+                continue;
+            } //end try catch
+
+            loads[fullest] -= bestCount;
+
+            loads[emptiest] += bestCount;
+
+            System.out.printf("Moved user %d (%d brews) from shard %d to shard %d%n", bestUserId, bestCount, fullest,
+                              emptiest);
+        } //end for
+
+        for (int shard = 0; shard < shardCount; shard++) {
+            System.out.printf("Shard %d: %d brews%n", shard, loads[shard]);
+        } //end for
+    } //rebalance
+
+    public static void main(String[] args) throws Exception {
+        Integer userId = Integer.getInteger("coffee4j.rebalance.user-id");
+
+        if (userId != null) {
+            int shard = Integer.getInteger("coffee4j.rebalance.shard", 0);
+
+            int brewCount = ShardMover.move(userId, shard);
+
+            System.out.printf("Moved user %d (%d brews) to shard %d%n", userId, brewCount, shard);
+
+            return;
+        } //end if
+
+        int maxMoves = Integer.getInteger("coffee4j.rebalance.max-moves", 10);
+
+        ShardRebalancer.rebalance(maxMoves);
+    } //main
+}
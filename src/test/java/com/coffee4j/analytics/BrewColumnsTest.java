@@ -0,0 +1,127 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Logan Kulinski
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.coffee4j.analytics;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BrewColumnsTest {
+    private static BrewColumns.Row getRow(int id, int coffeeId, float coffeeMass, float waterMass) {
+        return new BrewColumns.Row(id, id * 60L, coffeeId, 1, 1, 1, 1, Math.round(coffeeMass * 1_000.0F),
+                                   Math.round(waterMass * 1_000.0F));
+    } //getRow
+
+    @Test
+    void rowsStayOrderedById() {
+        BrewColumns columns = new BrewColumns();
+
+        for (int id = 1; id <= 100; id += 2) {
+            columns.add(BrewColumnsTest.getRow(id, 1, 20.0F, 320.0F));
+        } //end for
+
+        columns.add(BrewColumnsTest.getRow(50, 2, 20.0F, 300.0F));
+
+        columns.add(BrewColumnsTest.getRow(51, 2, 20.0F, 300.0F));
+
+        assertEquals(51, columns.size());
+
+        assertTrue(columns.remove(50));
+
+        assertFalse(columns.remove(50));
+
+        BrewColumns.Summary summary = columns.summarize(new BrewColumns.Filter(Long.MIN_VALUE, Long.MAX_VALUE, 2));
+
+        assertEquals(1, summary.count());
+
+        assertEquals(15.0, summary.averageRatio(), 1e-6);
+    } //rowsStayOrderedById
+
+    @Test
+    void summaryAndHistogramRespectFilter() {
+        BrewColumns columns = new BrewColumns();
+
+        for (int id = 1; id <= 10; id++) {
+            columns.add(BrewColumnsTest.getRow(id, 1, 10.0F, 100.0F + (10.0F * id)));
+        } //end for
+
+        BrewColumns.Filter filter = new BrewColumns.Filter(3 * 60L, 8 * 60L, null);
+
+        BrewColumns.Summary summary = columns.summarize(filter);
+
+        assertEquals(5, summary.count());
+
+        assertEquals(50.0, summary.totalCoffeeMass(), 1e-6);
+
+        assertEquals(3 * 60L, summary.firstTimestamp());
+
+        assertEquals(7 * 60L, summary.lastTimestamp());
+
+        float[] range = columns.getRange(BrewColumns.Measure.WATER_MASS, filter);
+
+        assertArrayEquals(new float[] {130.0F, 170.0F}, range);
+
+        long[] counts = columns.getHistogram(BrewColumns.Measure.WATER_MASS, filter, range[0], range[1], 4);
+
+        assertArrayEquals(new long[] {1, 1, 1, 2}, counts);
+    } //summaryAndHistogramRespectFilter
+
+    @Test
+    void addAllMergesPartitions() {
+        BrewColumns lower = new BrewColumns();
+
+        BrewColumns upper = new BrewColumns();
+
+        for (int id = 1; id <= 40; id++) {
+            BrewColumns.Row row = BrewColumnsTest.getRow(id, 1, 20.0F, 320.0F);
+
+            if (id <= 20) {
+                lower.add(row);
+            } else {
+                upper.add(row);
+            } //end if
+        } //end for
+
+        lower.addAll(upper);
+
+        assertEquals(40, lower.size());
+
+        BrewColumns overlapping = new BrewColumns();
+
+        overlapping.add(BrewColumnsTest.getRow(10, 2, 20.0F, 300.0F));
+
+        overlapping.add(BrewColumnsTest.getRow(41, 2, 20.0F, 300.0F));
+
+        lower.addAll(overlapping);
+
+        assertEquals(41, lower.size());
+
+        BrewColumns.Summary summary = lower.summarize(new BrewColumns.Filter(Long.MIN_VALUE, Long.MAX_VALUE, 2));
+
+        assertEquals(2, summary.count());
+
+        assertEquals(41 * 60L, summary.lastTimestamp());
+    } //addAllMergesPartitions
+}
@@ -0,0 +1,81 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Logan Kulinski
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.coffee4j.analytics;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HyperLogLogTest {
+    @Test
+    void smallCardinalitiesAreExact() {
+        HyperLogLog sketch = new HyperLogLog();
+
+        for (int i = 0; i < 50; i++) {
+            sketch.add(HyperLogLog.hash(i));
+
+            sketch.add(HyperLogLog.hash(i));
+        } //end for
+
+        assertEquals(50, sketch.estimate());
+    } //smallCardinalitiesAreExact
+
+    @Test
+    void largeCardinalitiesAreWithinError() {
+        HyperLogLog sketch = new HyperLogLog();
+
+        int count = 200_000;
+
+        for (int i = 0; i < count; i++) {
+            sketch.add(HyperLogLog.hash(i));
+        } //end for
+
+        assertEquals(count, sketch.estimate(), count * 0.05);
+    } //largeCardinalitiesAreWithinError
+
+    @Test
+    void mergeEstimatesTheUnion() {
+        HyperLogLog left = new HyperLogLog();
+
+        HyperLogLog right = new HyperLogLog();
+
+        for (int i = 0; i < 30_000; i++) {
+            left.add(HyperLogLog.hash(i));
+        } //end for
+
+        for (int i = 20_000; i < 50_000; i++) {
+            right.add(HyperLogLog.hash(i));
+        } //end for
+
+        left.merge(right);
+
+        assertEquals(50_000, left.estimate(), 50_000 * 0.05);
+    } //mergeEstimatesTheUnion
+
+    @Test
+    void namesAreNormalized() {
+        assertEquals("cafe de olla", Leaderboard.normalize("  Café   de\tOlla "));
+    } //namesAreNormalized
+}
@@ -0,0 +1,130 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Logan Kulinski
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.coffee4j.analytics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class KllSketchTest {
+    private static float[] getValues(int count) {
+        Random random = new Random(42);
+
+        float[] values = new float[count];
+
+        for (int i = 0; i < count; i++) {
+            values[i] = (float) (10.0 + (10.0 * random.nextDouble()));
+        } //end for
+
+        return values;
+    } //getValues
+
+    private static void assertQuantilesWithinError(KllSketch sketch, float[] values) {
+        float[] sorted = values.clone();
+
+        Arrays.sort(sorted);
+
+        double[] quantiles = {0.1, 0.5, 0.9};
+
+        float[] estimates = sketch.getQuantiles(quantiles);
+
+        double tolerance = 2 * sketch.getNormalizedRankError();
+
+        for (int i = 0; i < quantiles.length; i++) {
+            int rank = Arrays.binarySearch(sorted, estimates[i]);
+
+            double normalizedRank = (double) Math.abs(rank) / sorted.length;
+
+            assertEquals(quantiles[i], normalizedRank, tolerance);
+        } //end for
+    } //assertQuantilesWithinError
+
+    @Test
+    void quantilesAreWithinRankError() {
+        float[] values = KllSketchTest.getValues(100_000);
+
+        KllSketch sketch = new KllSketch();
+
+        for (float value : values) {
+            sketch.update(value);
+        } //end for
+
+        assertEquals(values.length, sketch.getCount());
+
+        KllSketchTest.assertQuantilesWithinError(sketch, values);
+    } //quantilesAreWithinRankError
+
+    @Test
+    void mergedSketchesAreWithinRankError() {
+        float[] values = KllSketchTest.getValues(50_000);
+
+        KllSketch left = new KllSketch();
+
+        KllSketch right = new KllSketch();
+
+        for (int i = 0; i < values.length; i++) {
+            KllSketch sketch = (i % 3 == 0) ? left : right;
+
+            sketch.update(values[i]);
+        } //end for
+
+        left.merge(right);
+
+        assertEquals(values.length, left.getCount());
+
+        KllSketchTest.assertQuantilesWithinError(left, values);
+    } //mergedSketchesAreWithinRankError
+
+    @Test
+    void serializationRoundTrips() {
+        KllSketch sketch = new KllSketch();
+
+        for (float value : KllSketchTest.getValues(10_000)) {
+            sketch.update(value);
+        } //end for
+
+        byte[] bytes = sketch.toByteArray();
+
+        KllSketch copy = KllSketch.fromByteArray(bytes);
+
+        assertEquals(sketch.getCount(), copy.getCount());
+
+        assertArrayEquals(sketch.getQuantiles(0.1, 0.5, 0.9), copy.getQuantiles(0.1, 0.5, 0.9));
+
+        assertArrayEquals(bytes, copy.toByteArray());
+    } //serializationRoundTrips
+
+    @Test
+    void emptySketchHasNoQuantiles() {
+        KllSketch sketch = KllSketch.fromByteArray(new KllSketch().toByteArray());
+
+        assertTrue(sketch.isEmpty());
+
+        assertTrue(Float.isNaN(sketch.getQuantiles(0.5)[0]));
+    } //emptySketchHasNoQuantiles
+}
@@ -0,0 +1,243 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Logan Kulinski
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.coffee4j.cache;
+
+import org.jooq.Table;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+import schema.generated.tables.Brew;
+import schema.generated.tables.Coffee;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResultCacheTest {
+    private static ResultCache.Page getPage(int length) {
+        Map<String, Object> row = Map.of("name", "x".repeat(length));
+
+        return new ResultCache.Page(List.of(row), 1);
+    } //getPage
+
+    @Test
+    void remoteVersionsOnlyMoveForward() {
+        int userId = -1;
+
+        long version = ResultCache.getVersion(userId, Brew.BREW);
+
+        long coffeeVersion = ResultCache.getVersion(userId, Coffee.COFFEE);
+
+        ResultCache.advance(userId, Brew.BREW.getName(), version - 1_000_000);
+
+        assertEquals(version + 1, ResultCache.getVersion(userId, Brew.BREW));
+
+        ResultCache.advance(userId, Brew.BREW.getName(), version + 5_000);
+
+        assertEquals(version + 5_000, ResultCache.getVersion(userId, Brew.BREW));
+
+        assertEquals(coffeeVersion, ResultCache.getVersion(userId, Coffee.COFFEE));
+    } //remoteVersionsOnlyMoveForward
+
+    @Test
+    void combinedVersionChangesWithAnyTable() {
+        int userId = -2;
+
+        List<Object> query = List.of("combined");
+
+        List<Table<?>> tables = List.of(Brew.BREW, Coffee.COFFEE);
+
+        long version = ResultCache.getVersion(userId, tables);
+
+        ResultCache.put(userId, version, query, ResultCacheTest.getPage(1));
+
+        assertNotNull(ResultCache.get(userId, version, query));
+
+        ResultCache.advance(userId, Coffee.COFFEE.getName(), 0);
+
+        long updatedVersion = ResultCache.getVersion(userId, tables);
+
+        assertTrue(updatedVersion > version);
+
+        assertNull(ResultCache.get(userId, updatedVersion, query));
+    } //combinedVersionChangesWithAnyTable
+
+    @Test
+    void advanceAllRaisesEveryVersionPastThoseSeen() {
+        int userId = -3;
+
+        List<Object> query = List.of("advance-all");
+
+        long futureVersion = ResultCache.getVersion(userId, Brew.BREW) + 10_000_000_000L;
+
+        ResultCache.advance(userId, Brew.BREW.getName(), futureVersion);
+
+        long version = ResultCache.getVersion(userId, Coffee.COFFEE);
+
+        ResultCache.put(userId, version, query, ResultCacheTest.getPage(1));
+
+        ResultCache.advanceAll();
+
+        assertNull(ResultCache.get(userId, version, query));
+
+        assertTrue(ResultCache.getVersion(userId, Brew.BREW) > futureVersion);
+
+        assertTrue(ResultCache.getVersion(userId, Coffee.COFFEE) > futureVersion);
+
+        assertTrue(ResultCache.getVersion(-4, Brew.BREW) > futureVersion);
+
+        long baseVersion = ResultCache.getVersion(userId, Brew.BREW);
+
+        ResultCache.advance(userId, Brew.BREW.getName(), futureVersion);
+
+        assertEquals(baseVersion + 1, ResultCache.getVersion(userId, Brew.BREW));
+    } //advanceAllRaisesEveryVersionPastThoseSeen
+
+    @Test
+    void leastRecentlyUsedPagesAreEvictedPastMaxEntries() {
+        int userId = -5;
+
+        long version = ResultCache.getVersion(userId, Brew.BREW);
+
+        int maxEntries = 10_000;
+
+        for (int i = 0; i < maxEntries; i++) {
+            ResultCache.put(userId, version, List.of(i), ResultCacheTest.getPage(1));
+        } //end for
+
+        assertNotNull(ResultCache.get(userId, version, List.of(0)));
+
+        ResultCache.put(userId, version, List.of(maxEntries), ResultCacheTest.getPage(1));
+
+        assertNotNull(ResultCache.get(userId, version, List.of(0)));
+
+        assertNull(ResultCache.get(userId, version, List.of(1)));
+
+        assertNotNull(ResultCache.get(userId, version, List.of(maxEntries)));
+    } //leastRecentlyUsedPagesAreEvictedPastMaxEntries
+
+    @Test
+    void leastRecentlyUsedPagesAreEvictedPastMaxBytes() {
+        int userId = -6;
+
+        long version = ResultCache.getVersion(userId, Brew.BREW);
+
+        ResultCache.Page page = ResultCacheTest.getPage(1_100_000);
+
+        for (int i = 0; i < 15; i++) {
+            ResultCache.put(userId, version, List.of(i), page);
+        } //end for
+
+        assertNotNull(ResultCache.get(userId, version, List.of(0)));
+
+        ResultCache.put(userId, version, List.of(15), page);
+
+        assertNotNull(ResultCache.get(userId, version, List.of(0)));
+
+        assertNull(ResultCache.get(userId, version, List.of(1)));
+
+        assertNotNull(ResultCache.get(userId, version, List.of(15)));
+    } //leastRecentlyUsedPagesAreEvictedPastMaxBytes
+
+    @Test
+    void pagesLargerThanTheBudgetAreNotCached() {
+        int userId = -7;
+
+        long version = ResultCache.getVersion(userId, Brew.BREW);
+
+        ResultCache.put(userId, version, List.of("oversized"), ResultCacheTest.getPage(17_000_000));
+
+        assertNull(ResultCache.get(userId, version, List.of("oversized")));
+    } //pagesLargerThanTheBudgetAreNotCached
+
+    @Test
+    void matchingEntityTagIsNotModified() {
+        int userId = -8;
+
+        List<Brew> tables = List.of(Brew.BREW);
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        ServletWebRequest request = new ServletWebRequest(new MockHttpServletRequest("GET", "/brews"), response);
+
+        assertFalse(ResultCache.checkNotModified(request, userId, tables));
+
+        assertEquals(200, response.getStatus());
+
+        String eTag = response.getHeader(HttpHeaders.ETAG);
+
+        assertNotNull(eTag);
+
+        assertEquals("private, no-cache", response.getHeader(HttpHeaders.CACHE_CONTROL));
+
+        assertNotNull(response.getHeader(HttpHeaders.LAST_MODIFIED));
+
+        MockHttpServletRequest conditionalRequest = new MockHttpServletRequest("GET", "/brews");
+
+        conditionalRequest.addHeader(HttpHeaders.IF_NONE_MATCH, eTag);
+
+        response = new MockHttpServletResponse();
+
+        request = new ServletWebRequest(conditionalRequest, response);
+
+        assertTrue(ResultCache.checkNotModified(request, userId, tables));
+
+        assertEquals(304, response.getStatus());
+
+        ResultCache.advance(userId, Brew.BREW.getName(), 0);
+
+        response = new MockHttpServletResponse();
+
+        request = new ServletWebRequest(conditionalRequest, response);
+
+        assertFalse(ResultCache.checkNotModified(request, userId, tables));
+
+        assertEquals(200, response.getStatus());
+
+        assertNotEquals(eTag, response.getHeader(HttpHeaders.ETAG));
+    } //matchingEntityTagIsNotModified
+
+    @Test
+    void ifModifiedSinceAloneIsNotEnough() {
+        int userId = -9;
+
+        List<Brew> tables = List.of(Brew.BREW);
+
+        MockHttpServletRequest conditionalRequest = new MockHttpServletRequest("GET", "/brews");
+
+        conditionalRequest.addHeader(HttpHeaders.IF_MODIFIED_SINCE, System.currentTimeMillis() + 60_000);
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        ServletWebRequest request = new ServletWebRequest(conditionalRequest, response);
+
+        assertFalse(ResultCache.checkNotModified(request, userId, tables));
+
+        assertEquals(200, response.getStatus());
+    } //ifModifiedSinceAloneIsNotEnough
+}
@@ -0,0 +1,416 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Logan Kulinski
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.coffee4j.controller;
+
+import com.coffee4j.Utilities;
+import com.coffee4j.security.CustomUserDetailsService;
+import com.coffee4j.security.User;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.jooq.DSLContext;
+import org.jooq.impl.DSL;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.context.request.ServletWebRequest;
+import schema.generated.tables.Brew;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class QueryPlanTest {
+    private static final String USERNAME_PREFIX = "plan_";
+
+    private static final String[] EQUIPMENT_TABLES = {"coffee", "water", "brewer", "filter", "vessel"};
+
+    private static final Pattern BREW_RELATION = Pattern.compile("brew(_p\\d+)?");
+
+    private static final double MAX_COST = Double.parseDouble(System.getProperty("coffee4j.plan.max-cost", "5000"));
+
+    private static User user;
+
+    private static int[] equipmentIds;
+
+    private static int[] unusedEquipmentIds;
+
+    private static int brewId;
+
+    @BeforeAll
+    static void seed() throws SQLException {
+        assumeTrue(System.getProperty("coffee4j.database-url") != null,
+                   "set -Dcoffee4j.database-url to a local database to check query plans");
+
+        try (Connection connection = Utilities.getConnection()) {
+            DSLContext context = Utilities.getContext(connection);
+
+            context.deleteFrom(schema.generated.tables.User.USER)
+                   .where(schema.generated.tables.User.USER.USERNAME.startsWith(USERNAME_PREFIX))
+                   .execute();
+
+            context.execute("insert into \"user\" (username, password_hash) "
+                                + "select 'plan_' || g, '' from generate_series(0, 49) g");
+
+            for (String table : EQUIPMENT_TABLES) {
+                context.execute(("insert into %1$s (user_id, name) select u.id, '%1$s ' || g from \"user\" u "
+                                     + "cross join generate_series(0, 9) g where left(u.username, 5) = 'plan_'")
+                                    .formatted(table));
+            } //end for
+
+            context.execute("insert into brew (user_id, timestamp, coffee_id, water_id, brewer_id, filter_id, "
+                                + "vessel_id, coffee_mass_mg, water_mass_mg) "
+                                + "select u.id, localtimestamp - g * interval '1 hour', c.id, w.id, b.id, f.id, v.id, "
+                                + "18000, 300000 from \"user\" u "
+                                + "cross join lateral (select min(id) id from coffee where user_id = u.id) c "
+                                + "cross join lateral (select min(id) id from water where user_id = u.id) w "
+                                + "cross join lateral (select min(id) id from brewer where user_id = u.id) b "
+                                + "cross join lateral (select min(id) id from filter where user_id = u.id) f "
+                                + "cross join lateral (select min(id) id from vessel where user_id = u.id) v "
+                                + "cross join generate_series(1, 2000) g where left(u.username, 5) = 'plan_'");
+
+            context.execute("analyze \"user\", coffee, water, brewer, filter, vessel, brew");
+
+            int userId = context.select(schema.generated.tables.User.USER.ID)
+                                .from(schema.generated.tables.User.USER)
+                                .where(schema.generated.tables.User.USER.USERNAME.eq(USERNAME_PREFIX + 0))
+                                .fetchOne(schema.generated.tables.User.USER.ID);
+
+            user = new User(userId, USERNAME_PREFIX + 0, "");
+
+            equipmentIds = new int[EQUIPMENT_TABLES.length];
+
+            unusedEquipmentIds = new int[EQUIPMENT_TABLES.length];
+
+            for (int i = 0; i < EQUIPMENT_TABLES.length; i++) {
+                String table = EQUIPMENT_TABLES[i];
+
+                equipmentIds[i] = context.fetchOne("select min(id) from %s where user_id = %d".formatted(table,
+                                                                                                         userId))
+                                         .get(0, Integer.class);
+
+                unusedEquipmentIds[i] = context.fetchOne("insert into %s (user_id, name) values (%d, 'unused') "
+                                                             .formatted(table, userId) + "returning id")
+                                               .get(0, Integer.class);
+            } //end for
+
+            brewId = context.select(DSL.max(Brew.BREW.ID))
+                            .from(Brew.BREW)
+                            .where(Brew.BREW.USER_ID.eq(userId))
+                            .fetchOne(0, Integer.class);
+        } //end try
+    } //seed
+
+    @AfterAll
+    static void clean() throws SQLException {
+        if (user == null) {
+            return;
+        } //end if
+
+        try (Connection connection = Utilities.getConnection()) {
+            DSLContext context = Utilities.getContext(connection);
+
+            context.deleteFrom(schema.generated.tables.User.USER)
+                   .where(schema.generated.tables.User.USER.USERNAME.startsWith(USERNAME_PREFIX))
+                   .execute();
+        } //end try
+    } //clean
+
+    @BeforeEach
+    void logIn() {
+        UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(user, null,
+                                                                                                     List.of());
+
+        SecurityContextHolder.getContext()
+                             .setAuthentication(authentication);
+    } //logIn
+
+    @AfterEach
+    void logOut() {
+        SecurityContextHolder.clearContext();
+    } //logOut
+
+    static Stream<Arguments> invocations() {
+        BrewController brews = new BrewController();
+
+        CoffeeController coffees = new CoffeeController();
+
+        WaterController waters = new WaterController();
+
+        BrewerController brewers = new BrewerController();
+
+        FilterController filters = new FilterController();
+
+        VesselController vessels = new VesselController();
+
+        TypeaheadController typeahead = new TypeaheadController();
+
+        UserController users = new UserController();
+
+        DeletionController deletions = new DeletionController();
+
+        BigDecimal mass = new BigDecimal("18.0000");
+
+        return Stream.of(
+            Arguments.of("brew read", (Runnable) () -> brews.read(null, null, null, null, null, null, null, null, null,
+                                                                  null, 10, QueryPlanTest.getRequest())),
+            Arguments.of("brew read by coffee", (Runnable) () -> brews.read(null, null, equipmentIds[0], null, null,
+                                                                            null, null, null, null, brewId, 10,
+                                                                            QueryPlanTest.getRequest())),
+            Arguments.of("brew read by id", (Runnable) () -> brews.read(brewId, null, null, null, null, null, null,
+                                                                        null, null, null, 10,
+                                                                        QueryPlanTest.getRequest())),
+            Arguments.of("brew read latest", (Runnable) () -> brews.readLatest(QueryPlanTest.getRequest())),
+            Arguments.of("brew create", (Runnable) () -> brews.create(equipmentIds[0], equipmentIds[1],
+                                                                      equipmentIds[2], equipmentIds[3],
+                                                                      equipmentIds[4], mass, mass)),
+            Arguments.of("brew update", (Runnable) () -> brews.update(brewId, null, null, null, null, null, null, mass,
+                                                                      null)),
+            Arguments.of("brew delete", (Runnable) () -> brews.delete(brewId)),
+            Arguments.of("coffee read", (Runnable) () -> coffees.read(null, null, null, 10,
+                                                                      QueryPlanTest.getRequest())),
+            Arguments.of("coffee create", (Runnable) () -> coffees.create("created")),
+            Arguments.of("coffee update", (Runnable) () -> coffees.update(unusedEquipmentIds[0], "updated")),
+            Arguments.of("coffee delete", (Runnable) () -> coffees.delete(unusedEquipmentIds[0])),
+            Arguments.of("water read", (Runnable) () -> waters.read(null, null, null, 10,
+                                                                    QueryPlanTest.getRequest())),
+            Arguments.of("water create", (Runnable) () -> waters.create("created")),
+            Arguments.of("water update", (Runnable) () -> waters.update(unusedEquipmentIds[1], "updated")),
+            Arguments.of("water delete", (Runnable) () -> waters.delete(unusedEquipmentIds[1])),
+            Arguments.of("brewer read", (Runnable) () -> brewers.read(null, null, null, 10,
+                                                                      QueryPlanTest.getRequest())),
+            Arguments.of("brewer create", (Runnable) () -> brewers.create("created")),
+            Arguments.of("brewer update", (Runnable) () -> brewers.update(unusedEquipmentIds[2], "updated")),
+            Arguments.of("brewer delete", (Runnable) () -> brewers.delete(unusedEquipmentIds[2])),
+            Arguments.of("filter read", (Runnable) () -> filters.read(null, null, null, 10,
+                                                                      QueryPlanTest.getRequest())),
+            Arguments.of("filter create", (Runnable) () -> filters.create("created")),
+            Arguments.of("filter update", (Runnable) () -> filters.update(unusedEquipmentIds[3], "updated")),
+            Arguments.of("filter delete", (Runnable) () -> filters.delete(unusedEquipmentIds[3])),
+            Arguments.of("vessel read", (Runnable) () -> vessels.read(null, null, null, 10,
+                                                                      QueryPlanTest.getRequest())),
+            Arguments.of("vessel create", (Runnable) () -> vessels.create("created")),
+            Arguments.of("vessel update", (Runnable) () -> vessels.update(unusedEquipmentIds[4], "updated")),
+            Arguments.of("vessel delete", (Runnable) () -> vessels.delete(unusedEquipmentIds[4])),
+            Arguments.of("coffee typeahead", (Runnable) () -> typeahead.searchCoffee("cof", 10)),
+            Arguments.of("water typeahead", (Runnable) () -> typeahead.searchWater("wat", 10)),
+            Arguments.of("brewer typeahead", (Runnable) () -> typeahead.searchBrewer("bre", 10)),
+            Arguments.of("filter typeahead", (Runnable) () -> typeahead.searchFilter("fil", 10)),
+            Arguments.of("vessel typeahead", (Runnable) () -> typeahead.searchVessel("ves", 10)),
+            Arguments.of("user read", (Runnable) () -> users.read(QueryPlanTest.getRequest())),
+            Arguments.of("user update", (Runnable) () -> users.update(user.username(), null)),
+            Arguments.of("deletion read", (Runnable) () -> deletions.read(null, 10)),
+            Arguments.of("login", (Runnable) () -> new CustomUserDetailsService().loadUserByUsername(user.username()))
+        );
+    } //invocations
+
+    private static ServletWebRequest getRequest() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/");
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        return new ServletWebRequest(request, response);
+    } //getRequest
+
+    private static List<String> capture(Runnable invocation) throws IOException {
+        Path path = Files.createTempFile("queries", ".jfr");
+
+        try (Recording recording = new Recording()) {
+            recording.enable("com.coffee4j.QueryExecuted")
+                     .withThreshold(Duration.ZERO);
+
+            recording.start();
+
+            invocation.run();
+
+            recording.stop();
+
+            recording.dump(path);
+
+            return RecordingFile.readAllEvents(path)
+                                .stream()
+                                .filter(event -> event.getEventType()
+                                                      .getName()
+                                                      .equals("com.coffee4j.QueryExecuted"))
+                                .map(event -> event.getString("sql"))
+                                .toList();
+        } finally {
+            Files.delete(path);
+        } //end try finally
+    } //capture
+
+    private static String toPositional(String sql, int[] count) {
+        StringBuilder builder = new StringBuilder();
+
+        char quote = 0;
+
+        for (char character : sql.toCharArray()) {
+            if (quote != 0) {
+                if (character == quote) {
+                    quote = 0;
+                } //end if
+            } else if ((character == '\'') || (character == '"')) {
+                quote = character;
+            } else if (character == '?') {
+                builder.append('$')
+                       .append(++count[0]);
+
+                continue;
+            } //end if
+
+            builder.append(character);
+        } //end for
+
+        return builder.toString();
+    } //toPositional
+
+    private static JsonNode explain(Connection connection, String sql, boolean pruning)
+        throws SQLException, IOException {
+        int[] count = new int[1];
+
+        String positional = QueryPlanTest.toPositional(sql, count);
+
+        String arguments = (count[0] == 0) ? "" : "(" + String.join(", ", Collections.nCopies(count[0], "null")) + ")";
+
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("set plan_cache_mode = force_generic_plan");
+
+            statement.execute("set enable_partition_pruning = " + pruning);
+
+            statement.execute("prepare plan_check as " + positional);
+
+            try (ResultSet resultSet = statement.executeQuery("explain (format json) execute plan_check"
+                                                                  + arguments)) {
+                resultSet.next();
+
+                return new ObjectMapper().readTree(resultSet.getString(1))
+                                         .get(0)
+                                         .get("Plan");
+            } finally {
+                statement.execute("deallocate plan_check");
+            } //end try finally
+        } //end try
+    } //explain
+
+    private static void collectProblems(JsonNode plan, List<String> problems) {
+        String nodeType = plan.path("Node Type")
+                              .asText();
+
+        String relationName = plan.path("Relation Name")
+                                  .asText();
+
+        if (nodeType.equals("Seq Scan") && BREW_RELATION.matcher(relationName)
+                                                         .matches()) {
+            problems.add("sequential scan on " + relationName);
+        } //end if
+
+        for (JsonNode child : plan.path("Plans")) {
+            QueryPlanTest.collectProblems(child, problems);
+        } //end for
+    } //collectProblems
+
+    private static void collectPartitions(JsonNode plan, Set<String> partitions) {
+        String relationName = plan.path("Relation Name")
+                                  .asText();
+
+        if (relationName.startsWith("brew_p") && BREW_RELATION.matcher(relationName)
+                                                              .matches()) {
+            partitions.add(relationName);
+        } //end if
+
+        for (JsonNode child : plan.path("Plans")) {
+            QueryPlanTest.collectPartitions(child, partitions);
+        } //end for
+    } //collectPartitions
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("invocations")
+    void planAvoidsBrewScansAndStaysUnderCost(String name, Runnable invocation) throws SQLException, IOException {
+        List<String> queries = QueryPlanTest.capture(invocation);
+
+        assertFalse(queries.isEmpty(), "%s issued no queries".formatted(name));
+
+        List<String> problems = new ArrayList<>();
+
+        try (Connection connection = Utilities.getConnection()) {
+            for (String query : queries) {
+                JsonNode prunedPlan = QueryPlanTest.explain(connection, query, true);
+
+                Set<String> partitions = new HashSet<>();
+
+                QueryPlanTest.collectPartitions(prunedPlan, partitions);
+
+                JsonNode plan = QueryPlanTest.explain(connection, query, false);
+
+                List<String> queryProblems = new ArrayList<>();
+
+                if (partitions.size() > 1) {
+                    queryProblems.add("%d brew partitions are not pruned".formatted(partitions.size()));
+                } //end if
+
+                QueryPlanTest.collectProblems(plan, queryProblems);
+
+                double cost = plan.path("Total Cost")
+                                  .asDouble();
+
+                if (cost > MAX_COST) {
+                    queryProblems.add("cost %.0f exceeds %.0f".formatted(cost, MAX_COST));
+                } //end if
+
+                if (!queryProblems.isEmpty()) {
+                    problems.add("%s: %s%n  %s%n  %s".formatted(name, queryProblems, query, plan));
+                } //end if
+            } //end for
+        } //end try
+
+        assertTrue(problems.isEmpty(), String.join("\n", problems));
+    } //planAvoidsBrewScansAndStaysUnderCost
+}
@@ -0,0 +1,75 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Logan Kulinski
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.coffee4j.events;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CacheAccessEventTest {
+    @Test
+    void eventsAreRecordedOnlyWhileEnabled(@TempDir Path directory) throws IOException {
+        CacheAccessEvent.emit("brew-columns", 1, false);
+
+        Path path = directory.resolve("events.jfr");
+
+        try (Recording recording = new Recording()) {
+            recording.enable(CacheAccessEvent.class);
+
+            recording.start();
+
+            CacheAccessEvent.emit("brew-columns", 2, true);
+
+            recording.stop();
+
+            recording.dump(path);
+        } //end try
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(path)
+                                                  .stream()
+                                                  .filter(event -> event.getEventType()
+                                                                        .getName()
+                                                                        .equals("com.coffee4j.CacheAccess"))
+                                                  .toList();
+
+        assertEquals(1, events.size());
+
+        RecordedEvent event = events.get(0);
+
+        assertEquals("brew-columns", event.getString("cache"));
+
+        assertEquals(2, event.getInt("userId"));
+
+        assertTrue(event.getBoolean("hit"));
+    } //eventsAreRecordedOnlyWhileEnabled
+}
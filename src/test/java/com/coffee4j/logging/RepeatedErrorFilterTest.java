@@ -0,0 +1,81 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Logan Kulinski
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.coffee4j.logging;
+
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.core.Filter;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.impl.Log4jLogEvent;
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RepeatedErrorFilterTest {
+    private static LogEvent getEvent(Level level, Throwable throwable) {
+        return Log4jLogEvent.newBuilder()
+                            .setLoggerName("com.coffee4j.controller.BrewController")
+                            .setLevel(level)
+                            .setThrown(throwable)
+                            .build();
+    } //getEvent
+
+    @Test
+    void repeatedErrorsAreSampledAfterBurst() {
+        RepeatedErrorFilter filter = RepeatedErrorFilter.createFilter(3_600, 5, 10);
+
+        SQLException exception = new SQLException("connection refused");
+
+        int loggedCount = 0;
+
+        for (int i = 0; i < 105; i++) {
+            LogEvent event = RepeatedErrorFilterTest.getEvent(Level.ERROR, exception);
+
+            if (filter.filter(event) != Filter.Result.DENY) {
+                loggedCount++;
+            } //end if
+        } //end for
+
+        assertEquals(5 + 10, loggedCount);
+
+        assertEquals(105 - loggedCount, filter.getSuppressedTotal());
+    } //repeatedErrorsAreSampledAfterBurst
+
+    @Test
+    void otherEventsAreNeverFiltered() {
+        RepeatedErrorFilter filter = RepeatedErrorFilter.createFilter(3_600, 0, 1_000);
+
+        for (int i = 0; i < 10; i++) {
+            LogEvent warning = RepeatedErrorFilterTest.getEvent(Level.WARN, new SQLException());
+
+            LogEvent message = RepeatedErrorFilterTest.getEvent(Level.ERROR, null);
+
+            assertEquals(Filter.Result.NEUTRAL, filter.filter(warning));
+
+            assertEquals(Filter.Result.NEUTRAL, filter.filter(message));
+        } //end for
+    } //otherEventsAreNeverFiltered
+}
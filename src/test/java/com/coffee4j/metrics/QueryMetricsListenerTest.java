@@ -0,0 +1,89 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Logan Kulinski
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.coffee4j.metrics;
+
+import com.coffee4j.Utilities;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.jooq.DSLContext;
+import org.jooq.SQLDialect;
+import org.jooq.impl.DSL;
+import org.jooq.tools.jdbc.MockConnection;
+import org.jooq.tools.jdbc.MockResult;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QueryMetricsListenerTest {
+    private SimpleMeterRegistry registry;
+
+    @BeforeEach
+    void addRegistry() {
+        this.registry = new SimpleMeterRegistry();
+
+        Metrics.addRegistry(this.registry);
+    } //addRegistry
+
+    @AfterEach
+    void removeRegistry() {
+        Metrics.removeRegistry(this.registry);
+    } //removeRegistry
+
+    @Test
+    void phasesAreTaggedByCallerAndKind() {
+        DSLContext mockContext = DSL.using(SQLDialect.POSTGRES);
+
+        Connection connection = new MockConnection(context -> new MockResult[] {
+            new MockResult(1, mockContext.newResult(DSL.field("count", Integer.class)))
+        });
+
+        DSLContext context = Utilities.getContext(connection);
+
+        context.selectCount()
+               .from(DSL.table("brew"))
+               .where(DSL.field("user_id", Integer.class)
+                         .eq(1))
+               .fetch();
+
+        Timer executeTimer = this.registry.find("coffee4j.jooq.query")
+                                          .tag("phase", "execute")
+                                          .tag("kind", "select count")
+                                          .tag("caller", "QueryMetricsListenerTest.phasesAreTaggedByCallerAndKind")
+                                          .timer();
+
+        assertNotNull(executeTimer);
+
+        assertEquals(1, executeTimer.count());
+
+        assertNotNull(this.registry.find("coffee4j.jooq.query")
+                                   .tag("phase", "render")
+                                   .timer());
+    } //phasesAreTaggedByCallerAndKind
+}
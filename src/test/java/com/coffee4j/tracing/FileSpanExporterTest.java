@@ -0,0 +1,84 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Logan Kulinski
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.coffee4j.tracing;
+
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.export.SimpleSpanProcessor;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FileSpanExporterTest {
+    @Test
+    void spansAreAppendedAsJsonLines(@TempDir Path directory) throws IOException {
+        Path path = directory.resolve("traces.jsonl");
+
+        FileSpanExporter exporter = new FileSpanExporter(path);
+
+        SdkTracerProvider tracerProvider = SdkTracerProvider.builder()
+                                                            .addSpanProcessor(SimpleSpanProcessor.create(exporter))
+                                                            .build();
+
+        Tracer tracer = tracerProvider.get("test");
+
+        Span parent = tracer.spanBuilder("GET /api/brew")
+                            .startSpan();
+
+        Span child = tracer.spanBuilder("select count")
+                           .setParent(Context.current()
+                                             .with(parent))
+                           .setAttribute("db.statement", "select count(*) from brew where user_id = ?")
+                           .startSpan();
+
+        child.end();
+
+        parent.end();
+
+        tracerProvider.close();
+
+        List<String> lines = Files.readAllLines(path);
+
+        assertEquals(2, lines.size());
+
+        assertTrue(lines.get(0)
+                        .contains("\"name\":\"select count\""));
+
+        assertTrue(lines.get(0)
+                        .contains("\"db.statement\":\"select count(*) from brew where user_id = ?\""));
+
+        assertTrue(lines.get(0)
+                        .contains("\"parentSpanId\":\"%s\"".formatted(parent.getSpanContext()
+                                                                          .getSpanId())));
+    } //spansAreAppendedAsJsonLines
+}